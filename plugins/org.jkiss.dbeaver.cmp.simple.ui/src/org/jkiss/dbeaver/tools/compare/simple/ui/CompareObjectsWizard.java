@@ -138,6 +138,8 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
     private CompareReport generateReport(DBRProgressMonitor monitor, CompareObjectsExecutor executor)
     throws DBException, InterruptedException {
         monitor.beginTask("Compare objects", 1000);
+        executor.setReportListener((structure, depth, lineCount, hasDifference) ->
+            monitor.subTask("Compared " + lineCount + " object(s): " + structure.getNodeFullName()));
         CompareReport report = executor.compareObjects(monitor, getSettings().getNodes());
         monitor.done();
         return report;
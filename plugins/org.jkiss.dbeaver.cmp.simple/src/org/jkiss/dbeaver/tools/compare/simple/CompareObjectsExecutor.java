@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.tools.compare.simple;
 
 import org.eclipse.core.runtime.IStatus;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
@@ -35,11 +36,15 @@ import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.properties.*;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class CompareObjectsExecutor {
 
     private static final Log log = Log.getLog(CompareObjectsExecutor.class);
 
+    private static final int MAX_PREFETCH_THREADS = 8;
+
     private final Object PROPS_LOCK = new Object();
 
     private CompareObjectsSettings settings;
@@ -50,9 +55,12 @@ public class CompareObjectsExecutor {
     private final DBRProgressListener initializeFinisher;
     private final ILazyPropertyLoadListener lazyPropertyLoadListener;
 
-    private volatile int initializedCount = 0;
+    private volatile CountDownLatch initializeLatch;
     private volatile IStatus initializeError;
     private final Map<Object, Map<DBPPropertyDescriptor, Object>> propertyValues = new IdentityHashMap<>();
+    private final CompareObjectsPrefetcher prefetcher = new CompareObjectsPrefetcher(MAX_PREFETCH_THREADS);
+    @Nullable
+    private CompareReportListener reportListener;
 
     private final List<CompareReportLine> reportLines = new ArrayList<>();
     private int reportDepth = 0;
@@ -82,7 +90,7 @@ public class CompareObjectsExecutor {
         reportLines.add(lastLine);
     }
 
-    private void reportPropertyCompare(ObjectPropertyDescriptor property)
+    private void reportPropertyCompare(ObjectPropertyDescriptor property, boolean checkDifference)
     {
         CompareReportProperty reportProperty = new CompareReportProperty(property);
         reportProperty.values = new Object[rootNodes.size()];
@@ -101,6 +109,9 @@ public class CompareObjectsExecutor {
         }
         lastLine.properties.add(reportProperty);
 
+        if (!checkDifference) {
+            return;
+        }
         Object firstValue = reportProperty.values[0];
         for (int i = 1; i < rootNodes.size(); i++) {
             if (!CompareUtils.equalPropertyValues(reportProperty.values[i], firstValue)) {
@@ -126,8 +137,10 @@ public class CompareObjectsExecutor {
             {
                 if (!status.isOK()) {
                     initializeError = status;
-                } else {
-                    initializedCount++;
+                }
+                CountDownLatch latch = initializeLatch;
+                if (latch != null) {
+                    latch.countDown();
                 }
             }
         };
@@ -146,6 +159,11 @@ public class CompareObjectsExecutor {
         PropertiesContributor.getInstance().addLazyListener(lazyPropertyLoadListener);
     }
 
+    public void setReportListener(@Nullable CompareReportListener reportListener)
+    {
+        this.reportListener = reportListener;
+    }
+
     public IStatus getInitializeError()
     {
         return initializeError;
@@ -177,6 +195,9 @@ public class CompareObjectsExecutor {
                 if (!(nodes.get(0) instanceof DBNDatabaseFolder)) {
                     compareProperties(monitor, nodes);
                 }
+                if (reportListener != null) {
+                    reportListener.onObjectCompared(lastLine.structure, lastLine.depth, reportLines.size(), lastLine.hasDifference);
+                }
 
                 compareChildren(monitor, nodes);
             }
@@ -190,7 +211,7 @@ public class CompareObjectsExecutor {
         boolean onlyStruct = settings.isCompareOnlyStructure();
 
         // Clear compare singletons
-        this.initializedCount = 0;
+        this.initializeLatch = new CountDownLatch(nodes.size());
         this.initializeError = null;
         this.propertyValues.clear();
 
@@ -204,15 +225,18 @@ public class CompareObjectsExecutor {
                 node.initializeNode(null, initializeFinisher);
                 monitor.worked(1);
             }
-            while (initializedCount != nodes.size()) {
+            // Wake up as soon as all nodes are initialized, but keep checking for errors and cancel
+            while (!initializeLatch.await(50, TimeUnit.MILLISECONDS)) {
                 if (initializeError != null) {
-                    throw new DBException(initializeError.getMessage());
+                    break;
                 }
-                Thread.sleep(50);
                 if (monitor.isCanceled()) {
                     throw new InterruptedException();
                 }
             }
+            if (initializeError != null) {
+                throw new DBException(initializeError.getMessage());
+            }
         }
 
         monitor.subTask("Compare " + title.toString());
@@ -282,12 +306,38 @@ public class CompareObjectsExecutor {
             monitor.worked(1);
         }
 
+        boolean sameValues = nodes.size() == rootNodes.size() && haveSameFingerprints(nodes, properties);
+        if (sameValues && settings.isShowOnlyDifferences()) {
+            // Equal properties are not rendered, so don't keep their values in the report
+            return;
+        }
+
         // Compare properties
         for (ObjectPropertyDescriptor prop : properties) {
-            reportPropertyCompare(prop);
+            reportPropertyCompare(prop, !sameValues);
         }
     }
 
+    /**
+     * Checks whether all nodes have equal values of all properties
+     */
+    private boolean haveSameFingerprints(List<DBNDatabaseNode> nodes, List<ObjectPropertyDescriptor> properties)
+    {
+        String firstFingerprint = null;
+        for (DBNDatabaseNode node : nodes) {
+            String fingerprint = CompareUtils.makePropertiesFingerprint(properties, propertyValues.get(node.getObject()));
+            if (fingerprint == null) {
+                return false;
+            }
+            if (firstFingerprint == null) {
+                firstFingerprint = fingerprint;
+            } else if (!firstFingerprint.equals(fingerprint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
     {
         // Compare children
@@ -295,12 +345,12 @@ public class CompareObjectsExecutor {
         List<DBNDatabaseNode[]> allChildren = new ArrayList<>(nodeCount);
         // Use submonitor to avoid huge number of tasks
         DBRProgressMonitor subMonitor = new SubTaskProgressMonitor(monitor);
+        if (reportDepth == 1 || nodes.get(0).getObject() instanceof DBSObjectContainer) {
+            // Cache structure and read children of all sides in parallel
+            prefetcher.prefetch(subMonitor, nodes);
+        }
         for (int i = 0; i < nodeCount; i++) {
             DBNDatabaseNode node = nodes.get(i);
-            // Cache structure if possible
-            if (node.getObject() instanceof DBSObjectContainer) {
-                ((DBSObjectContainer) node.getObject()).cacheStructure(subMonitor, DBSObjectContainer.STRUCT_ALL);
-            }
             try {
                 DBNDatabaseNode[] children = node.getChildren(subMonitor);
                 allChildren.add(children);
@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads metadata of all compared sides concurrently.
+ * <p>
+ * One job per side caches container structure in bulk and reads child nodes,
+ * then one job per side and per object type (navigator folder) reads folder contents.
+ * Loaded children stay in navigator node caches, so the following sequential compare
+ * pass doesn't go to the database for them.
+ */
+class CompareObjectsPrefetcher {
+
+    private static final Log log = Log.getLog(CompareObjectsPrefetcher.class);
+
+    private static final int JOIN_TIMEOUT = 100;
+
+    private final int maxThreads;
+
+    CompareObjectsPrefetcher(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    void prefetch(@NotNull DBRProgressMonitor monitor, @NotNull List<DBNDatabaseNode> nodes) throws InterruptedException {
+        if (nodes.size() < 2) {
+            return;
+        }
+        monitor.subTask("Prefetch metadata");
+        // Per-side stage: bulk structure cache and first level of children
+        JobGroup sideGroup = new JobGroup("Compare metadata prefetch", Math.min(maxThreads, nodes.size()), nodes.size());
+        List<List<DBNDatabaseFolder>> sideFolders = new ArrayList<>(nodes.size());
+        for (DBNDatabaseNode node : nodes) {
+            List<DBNDatabaseFolder> folders = new ArrayList<>();
+            sideFolders.add(folders);
+            scheduleJob(sideGroup, "Prefetch " + node.getNodeFullName(), jobMonitor -> {
+                if (node.getObject() instanceof DBSObjectContainer container) {
+                    container.cacheStructure(jobMonitor, DBSObjectContainer.STRUCT_ALL);
+                }
+                DBNDatabaseNode[] children = node.getChildren(jobMonitor);
+                if (children != null) {
+                    for (DBNDatabaseNode child : children) {
+                        if (child instanceof DBNDatabaseFolder folder && !folder.getMeta().isVirtual()) {
+                            folders.add(folder);
+                        }
+                    }
+                }
+            });
+        }
+        joinGroup(monitor, sideGroup);
+
+        // Per-side and per-type stage: read each folder (tables, views, procedures, etc.) separately
+        int folderCount = sideFolders.stream().mapToInt(List::size).sum();
+        if (folderCount == 0) {
+            return;
+        }
+        JobGroup typeGroup = new JobGroup("Compare metadata prefetch by type", Math.min(maxThreads, folderCount), folderCount);
+        for (List<DBNDatabaseFolder> folders : sideFolders) {
+            for (DBNDatabaseFolder folder : folders) {
+                scheduleJob(typeGroup, "Prefetch " + folder.getNodeFullName(), folder::getChildren);
+            }
+        }
+        joinGroup(monitor, typeGroup);
+    }
+
+    private static void scheduleJob(@NotNull JobGroup group, @NotNull String name, @NotNull PrefetchTask task) {
+        AbstractJob job = new AbstractJob(name) {
+            {
+                setSystem(true);
+                setUser(false);
+            }
+
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    task.run(monitor);
+                } catch (Exception e) {
+                    // Not fatal: compare will try to read the same metadata again and report the error
+                    log.debug("Error prefetching compare metadata: " + e.getMessage());
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setJobGroup(group);
+        job.schedule();
+    }
+
+    private static void joinGroup(@NotNull DBRProgressMonitor monitor, @NotNull JobGroup group) throws InterruptedException {
+        while (!group.join(JOIN_TIMEOUT, new NullProgressMonitor())) {
+            if (monitor.isCanceled()) {
+                group.cancel();
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private interface PrefetchTask {
+        void run(DBRProgressMonitor monitor) throws Exception;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+
+/**
+ * Receives compare results as soon as each object is compared
+ */
+public interface CompareReportListener {
+
+    /**
+     * Called after object properties were compared (before its children are compared).
+     *
+     * @param structure     first of compared nodes
+     * @param depth         depth of the object in the compared tree
+     * @param lineCount     number of report lines produced so far
+     * @param hasDifference true if object is missing on some side or its properties differ
+     */
+    void onObjectCompared(@NotNull DBNDatabaseNode structure, int depth, int lineCount, boolean hasDifference);
+
+}
@@ -16,15 +16,30 @@
  */
 package org.jkiss.dbeaver.tools.compare.simple;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.utils.CommonUtils;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Compare utils
  */
 public class CompareUtils {
 
+    // Value types which string form is equal only for equal values
+    private static final Set<Class<?>> FINGERPRINT_TYPES = Set.of(
+        String.class, Boolean.class, Character.class,
+        Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        BigInteger.class, BigDecimal.class);
+
     public static boolean equalPropertyValues(Object value1, Object value2)
     {
         if (value1 instanceof DBSObject && value2 instanceof DBSObject) {
@@ -48,4 +63,44 @@ public class CompareUtils {
         }
     }
 
+    /**
+     * Makes fingerprint of object property values.
+     * Objects with equal fingerprints have equal values of all properties, so their values don't need
+     * to be compared one by one. Fingerprint is made only of values which type has exact string form.
+     *
+     * @return fingerprint or null if some value can't be fingerprinted
+     */
+    @Nullable
+    public static String makePropertiesFingerprint(
+        @NotNull List<? extends DBPPropertyDescriptor> properties,
+        @Nullable Map<DBPPropertyDescriptor, Object> values
+    ) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (DBPPropertyDescriptor property : properties) {
+            Object value = values == null ? null : values.get(property);
+            String valueString;
+            if (value == null) {
+                valueString = null;
+            } else if (value instanceof Enum<?> enumValue) {
+                valueString = enumValue.getDeclaringClass().getName() + ':' + enumValue.name();
+            } else if (FINGERPRINT_TYPES.contains(value.getClass())) {
+                valueString = value.getClass().getName() + ':' + value;
+            } else {
+                return null;
+            }
+            // Lengths keep boundaries of the parts, so different values never make the same string
+            appendFingerprintPart(fingerprint, property.getId());
+            appendFingerprintPart(fingerprint, valueString);
+        }
+        return fingerprint.toString();
+    }
+
+    private static void appendFingerprintPart(@NotNull StringBuilder fingerprint, @Nullable String part) {
+        if (part == null) {
+            fingerprint.append("-;");
+        } else {
+            fingerprint.append(part.length()).append(':').append(part).append(';');
+        }
+    }
+
 }
@@ -82,6 +82,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceListener {
     private static final Log log = Log.getLog(GISLeafletViewer.class);
@@ -107,6 +108,7 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
     private int sourceSRID = UNDEFINED_SRID; // Explicitly set SRID
     private int actualSourceSRID; // SRID taken from geometry value
     private Path scriptFile;
+    private GisFeatureIndex featureIndex; // Index of big result set, features are loaded by the page on demand
     private final Composite statusBar;
     private final ToolBarManager toolBarManager;
     private int defaultSRID; // Target SRID used to render map
@@ -153,6 +155,21 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                 }
             };
 
+            new BrowserFunction(browser, "loadFeatures") {
+                @Override
+                public Object function(Object[] arguments) {
+                    if (featureIndex == null || arguments.length < 5) {
+                        return null;
+                    }
+                    return featureIndex.queryFeatures(
+                        CommonUtils.toDouble(arguments[0]),
+                        CommonUtils.toDouble(arguments[1]),
+                        CommonUtils.toDouble(arguments[2]),
+                        CommonUtils.toDouble(arguments[3]),
+                        CommonUtils.toInt(arguments[4]));
+                }
+            };
+
             if (presentation instanceof SpreadsheetPresentation) {
                 new BrowserFunction(browser, "setPresentationSelection") {
                     @Override
@@ -293,19 +310,14 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (maxObjects <= 0) {
             maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
         }
-        if (values != null && values.length > maxObjects) {
-            // Truncate value list
-            DBGeometry[] truncValues = new DBGeometry[maxObjects];
-            System.arraycopy(values, 0, truncValues, 0, maxObjects);
-            values = truncValues;
-        }
         if (browser != null) {
             try {
+                featureIndex = null;
                 if (ArrayUtils.isEmpty(values)) {
                     browser.setUrl("about:blank");
                 } else {
                     final Bounds bounds = recenter ? null : Bounds.tryExtractFromBrowser(browser);
-                    final Path file = generateViewScript(values, bounds);
+                    final Path file = generateViewScript(values, bounds, maxObjects);
                     browser.setUrl(file.toFile().toURI().toURL().toString());
                 }
             } catch (IOException e) {
@@ -316,7 +328,7 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         populateToolbar();
     }
 
-    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds) throws IOException {
+    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds, int maxObjects) throws IOException {
         if (scriptFile == null) {
             Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
             checkIncludesExistence(tempDir);
@@ -334,8 +346,8 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             }
         }
 
-        List<String> geomValues = new ArrayList<>();
-        List<String> geomTipValues = new ArrayList<>();
+        List<Object> targetValues = new ArrayList<>();
+        List<Map<String, Object>> targetProperties = new ArrayList<>();
         boolean showMap = false;
         for (int i = 0; i < values.length; i++) {
             DBGeometry value = values[i];
@@ -397,22 +409,43 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             if (targetValue == null) {
                 continue;
             }
-            geomValues.add("'" + targetValue + "'");
-            try {
-                if (CommonUtils.isEmpty(value.getProperties())) {
-                    geomTipValues.add("null");
-                } else {
-                    geomTipValues.add(gson.toJson(value.getProperties()));
+            targetValues.add(targetValue);
+            targetProperties.add(value.getProperties());
+        }
+        this.defaultSRID = actualSourceSRID;
+        String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
+        boolean isShowMap = showMap;
+
+        List<String> geomValues = new ArrayList<>();
+        List<String> geomTipValues = new ArrayList<>();
+        if (targetValues.size() > maxObjects) {
+            // Too many objects to render them all. Page loads simplified features of its view from the index.
+            GisFeatureIndex index = new GisFeatureIndex(gson, actualSourceSRID == GisConstants.SRID_SIMPLE, maxObjects);
+            for (int i = 0; i < targetValues.size(); i++) {
+                Geometry geometry = GisTransformUtils.getJtsGeometry(targetValues.get(i));
+                if (geometry != null) {
+                    index.addFeature(geometry, targetProperties.get(i));
+                }
+            }
+            featureIndex = index;
+        } else {
+            for (int i = 0; i < targetValues.size(); i++) {
+                geomValues.add("'" + targetValues.get(i) + "'");
+                try {
+                    Map<String, Object> properties = targetProperties.get(i);
+                    if (CommonUtils.isEmpty(properties)) {
+                        geomTipValues.add("null");
+                    } else {
+                        geomTipValues.add(gson.toJson(properties));
+                    }
+                } catch (Exception e) {
+                    log.debug(e);
                 }
-            } catch (Exception e) {
-                log.debug(e);
             }
         }
-        this.defaultSRID = actualSourceSRID;
         String geomValuesString = String.join(",", geomValues);
         String geomTipValuesString = String.join(",", geomTipValues);
-        String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
-        boolean isShowMap = showMap;
+        GisFeatureIndex index = featureIndex;
 
         InputStream fis = GISViewerActivator.getDefault().getResourceStream(GISBrowserViewerConstants.VIEW_TEMPLATE_PATH);
         if (fis == null) {
@@ -426,6 +459,12 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                         return geomValuesString;
                     case "geomTipValues":
                         return geomTipValuesString;
+                    case "dynamicLoading":
+                        return String.valueOf(index != null);
+                    case "dataBounds":
+                        return index == null ? "undefined" : index.getBoundsExpression();
+                    case "overviewFeatures":
+                        return index == null ? "null" : index.getOverviewFeatures();
                     case "geomSRID":
                         return String.valueOf(defaultSRID);
                     case "showMap":
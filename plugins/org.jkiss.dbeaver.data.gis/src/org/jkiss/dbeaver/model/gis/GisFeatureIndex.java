@@ -0,0 +1,225 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+import java.util.*;
+
+/**
+ * Spatial index of all geometries of a big result set.
+ * <p>
+ * Leaflet page requests features of its current view. Geometries are simplified for the view zoom level
+ * (lines with Douglas-Peucker, polygons with topology preserving simplifier) so the page doesn't render
+ * vertices smaller than a pixel. If view contains more features than the render limit, features are grouped
+ * into grid clusters and only clusters with a single feature are rendered as is.
+ * <p>
+ * Not thread safe.
+ */
+public class GisFeatureIndex {
+
+    private static final double TILE_SIZE = 256;
+    private static final int CLUSTER_CELL_PIXELS = 48;
+    private static final double SIMPLIFY_TOLERANCE_PIXELS = 0.5;
+    // Viewport size assumed for the initial overview
+    private static final int OVERVIEW_PIXELS = 1024;
+    private static final int MIN_ZOOM_LEVEL = -5;
+    private static final int MAX_ZOOM_LEVEL = 22;
+    private static final int MAX_CACHED_ZOOM_LEVELS = 3;
+
+    private final Gson gson;
+    private final boolean simpleCRS;
+    private final int maxFeatures;
+    private final List<Feature> features = new ArrayList<>();
+    private final Quadtree quadtree = new Quadtree();
+    private final Envelope bounds = new Envelope();
+    private final Map<Integer, Geometry[]> simplifiedGeometries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Geometry[]> eldest) {
+            return size() > MAX_CACHED_ZOOM_LEVELS;
+        }
+    };
+
+    /**
+     * @param simpleCRS   coordinates are plain map units (Leaflet simple CRS) instead of degrees
+     * @param maxFeatures max number of features rendered at once
+     */
+    public GisFeatureIndex(@NotNull Gson gson, boolean simpleCRS, int maxFeatures) {
+        this.gson = gson;
+        this.simpleCRS = simpleCRS;
+        this.maxFeatures = maxFeatures;
+    }
+
+    public void addFeature(@NotNull Geometry geometry, @Nullable Map<String, Object> properties) {
+        if (geometry.isEmpty()) {
+            return;
+        }
+        Feature feature = new Feature(features.size(), geometry, CommonUtils.isEmpty(properties) ? null : properties);
+        features.add(feature);
+        quadtree.insert(geometry.getEnvelopeInternal(), feature);
+        bounds.expandToInclude(geometry.getEnvelopeInternal());
+    }
+
+    public int getFeatureCount() {
+        return features.size();
+    }
+
+    /**
+     * Returns bounds of all features as a Leaflet LatLngBounds expression
+     */
+    @NotNull
+    public String getBoundsExpression() {
+        return String.format(
+            Locale.ENGLISH,
+            "L.latLngBounds(L.latLng(%f, %f), L.latLng(%f, %f))",
+            bounds.getMinY(), bounds.getMinX(), bounds.getMaxY(), bounds.getMaxX());
+    }
+
+    /**
+     * Returns features of the whole index for a zoom level at which all features fit into the overview viewport
+     */
+    @NotNull
+    public String getOverviewFeatures() {
+        double unitsPerPixel = Math.max(bounds.getWidth(), bounds.getHeight()) / OVERVIEW_PIXELS;
+        int zoom = MAX_ZOOM_LEVEL;
+        if (unitsPerPixel > 0) {
+            zoom = (int) Math.floor(Math.log(getUnitsPerPixel(0) / unitsPerPixel) / Math.log(2));
+        }
+        return queryFeatures(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), zoom);
+    }
+
+    /**
+     * Returns JSON object with features and clusters intersecting the view.
+     * Features have WKT of geometry simplified for the zoom level and tip (properties),
+     * clusters have center coordinates, number of features and bounds.
+     */
+    @NotNull
+    public String queryFeatures(double west, double south, double east, double north, int zoom) {
+        zoom = Math.max(MIN_ZOOM_LEVEL, Math.min(MAX_ZOOM_LEVEL, zoom));
+        Envelope view = new Envelope(west, east, south, north);
+        // Take a bit more than visible area so small pans don't show empty edges
+        view.expandBy(view.getWidth() * 0.1, view.getHeight() * 0.1);
+
+        List<Feature> visibleFeatures = new ArrayList<>();
+        for (Object item : quadtree.query(view)) {
+            Feature feature = (Feature) item;
+            if (feature.geometry.getEnvelopeInternal().intersects(view)) {
+                visibleFeatures.add(feature);
+            }
+        }
+        // Keep result set order
+        visibleFeatures.sort(Comparator.comparingInt(Feature::index));
+
+        double unitsPerPixel = getUnitsPerPixel(zoom);
+        List<Map<String, Object>> featureList = new ArrayList<>();
+        List<Map<String, Object>> clusterList = new ArrayList<>();
+        if (visibleFeatures.size() <= maxFeatures) {
+            for (Feature feature : visibleFeatures) {
+                featureList.add(makeFeatureInfo(feature, zoom, unitsPerPixel));
+            }
+        } else {
+            double cellSize = unitsPerPixel * CLUSTER_CELL_PIXELS;
+            Map<Long, List<Feature>> cells = new LinkedHashMap<>();
+            for (Feature feature : visibleFeatures) {
+                Envelope envelope = feature.geometry.getEnvelopeInternal();
+                long cellX = (long) Math.floor(envelope.centre().x / cellSize);
+                long cellY = (long) Math.floor(envelope.centre().y / cellSize);
+                cells.computeIfAbsent((cellX << 32) ^ (cellY & 0xffffffffL), key -> new ArrayList<>()).add(feature);
+            }
+            for (List<Feature> cellFeatures : cells.values()) {
+                if (cellFeatures.size() == 1) {
+                    featureList.add(makeFeatureInfo(cellFeatures.get(0), zoom, unitsPerPixel));
+                } else {
+                    clusterList.add(makeClusterInfo(cellFeatures));
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("features", featureList);
+        result.put("clusters", clusterList);
+        return gson.toJson(result);
+    }
+
+    private double getUnitsPerPixel(int zoom) {
+        // Simple CRS maps one unit to one pixel at zoom 0, spherical mercator maps 360 degrees to one tile
+        return (simpleCRS ? 1 : 360 / TILE_SIZE) / Math.pow(2, zoom);
+    }
+
+    @NotNull
+    private Map<String, Object> makeFeatureInfo(@NotNull Feature feature, int zoom, double unitsPerPixel) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("wkt", getSimplifiedGeometry(feature, zoom, unitsPerPixel).toText());
+        info.put("tip", feature.properties);
+        return info;
+    }
+
+    @NotNull
+    private static Map<String, Object> makeClusterInfo(@NotNull List<Feature> cellFeatures) {
+        Envelope clusterBounds = new Envelope();
+        double sumX = 0, sumY = 0;
+        for (Feature feature : cellFeatures) {
+            Envelope envelope = feature.geometry.getEnvelopeInternal();
+            clusterBounds.expandToInclude(envelope);
+            sumX += envelope.centre().x;
+            sumY += envelope.centre().y;
+        }
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("lat", sumY / cellFeatures.size());
+        info.put("lng", sumX / cellFeatures.size());
+        info.put("count", cellFeatures.size());
+        info.put("bounds", new double[]{
+            clusterBounds.getMinY(), clusterBounds.getMinX(), clusterBounds.getMaxY(), clusterBounds.getMaxX()});
+        return info;
+    }
+
+    @NotNull
+    private Geometry getSimplifiedGeometry(@NotNull Feature feature, int zoom, double unitsPerPixel) {
+        Geometry geometry = feature.geometry;
+        if (geometry.getDimension() == 0) {
+            return geometry;
+        }
+        Geometry[] zoomGeometries = simplifiedGeometries.computeIfAbsent(zoom, z -> new Geometry[features.size()]);
+        Geometry simplified = zoomGeometries[feature.index];
+        if (simplified == null) {
+            double tolerance = unitsPerPixel * SIMPLIFY_TOLERANCE_PIXELS;
+            if (geometry.getDimension() == 2) {
+                simplified = TopologyPreservingSimplifier.simplify(geometry, tolerance);
+            } else {
+                simplified = DouglasPeuckerSimplifier.simplify(geometry, tolerance);
+            }
+            if (simplified.isEmpty()) {
+                // Feature is smaller than a pixel, but it must remain visible
+                simplified = geometry;
+            }
+            zoomGeometries[feature.index] = simplified;
+        }
+        return simplified;
+    }
+
+    private record Feature(int index, @NotNull Geometry geometry, @Nullable Map<String, Object> properties) {
+    }
+
+}
@@ -34,7 +34,9 @@ import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.stream.IAppendableDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
@@ -91,13 +93,16 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     enum FontStyleProp {NONE, BOLD, ITALIC, STRIKEOUT, UNDERLINE}
 
     private static final int ROW_WINDOW = 100;
+    private static final String TEMP_FOLDER_NAME = "xlsx-export";
 
     private String nullString;
 
     private DBDAttributeBinding[] columns;
     private DBDAttributeDecorator decorator;
 
+    // Workbook model. Used only to append to existing files, new files are written by streamWriter
     private SXSSFWorkbook wb;
+    private XLSXStreamWriter streamWriter;
 
     private HeaderFormat headerFormat = HeaderFormat.LABEL;
     private boolean rowNumber = false;
@@ -161,12 +166,9 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         String dateFormat = CommonUtils.toString(properties.get(PROP_DATE_FORMAT), "");
         appendStrategy = AppendStrategy.of(CommonUtils.toString(properties.get(PROP_APPEND_STRATEGY)));
 
-        if (wb == null) {
-            wb = new SXSSFWorkbook(ROW_WINDOW);
-        }
-
         worksheets = new HashMap<>(1);
-        styleHeader = (XSSFCellStyle) wb.createCellStyle();
+        this.rowCount = 0;
+        this.sheetIndex = 0;
 
         BorderStyle border = CommonUtils.valueOf(
             BorderStyle.class,
@@ -178,6 +180,23 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             CommonUtils.toString(properties.get(PROP_HEADER_FONT), FontStyleProp.BOLD.name()),
             FontStyleProp.BOLD);
 
+        if (wb == null) {
+            // New file. Sheets are written as they are exported, without workbook model
+            try {
+                streamWriter = new XLSXStreamWriter(
+                    DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), TEMP_FOLDER_NAME),
+                    border,
+                    fontStyle,
+                    dateFormat,
+                    MINIMUM_LENGTH / 256);
+            } catch (IOException e) {
+                throw new DBException("Error creating XLSX writer", e);
+            }
+            super.init(site);
+            return;
+        }
+
+        styleHeader = (XSSFCellStyle) wb.createCellStyle();
         styleHeader.setBorderTop(border);
         styleHeader.setBorderBottom(border);
         styleHeader.setBorderLeft(border);
@@ -222,14 +241,24 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             styleDate.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat(dateFormat));
         }
 
-        this.rowCount = 0;
-        this.sheetIndex = 0;
-
         super.init(site);
     }
 
     @Override
     public void dispose() {
+        if (streamWriter != null) {
+            try {
+                if (exportSql) {
+                    writeSqlSheet();
+                }
+                streamWriter.write(getSite().getOutputStream());
+            } catch (IOException e) {
+                log.error("Dispose error", e);
+            } finally {
+                streamWriter.close();
+                streamWriter = null;
+            }
+        }
         try {
             if (exportSql && wb != null) {
                 try {
@@ -297,7 +326,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private void printHeader(DBCResultSet resultSet, Worksheet wsh) throws DBException {
         final SXSSFSheet sh = (SXSSFSheet) wsh.getSh();
 
-        if (appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && getPhysicalNumberOfRows(sh) > 0) {
+        if (sh != null && appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && getPhysicalNumberOfRows(sh) > 0) {
             return;
         }
 
@@ -333,6 +362,11 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             return;
         }
 
+        if (wsh.getStreamSheet() != null) {
+            printStreamHeader(wsh, hasDescription);
+            return;
+        }
+
         sh.trackAllColumnsForAutoSizing();
 
         int startCol = rowNumber ? 1 : 0;
@@ -377,7 +411,49 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         sh.untrackAllColumnsForAutoSizing();
     }
 
-    private void writeCellValue(Cell cell, Reader reader) throws IOException {
+    private void printStreamHeader(@NotNull Worksheet wsh, boolean hasDescription) throws DBException {
+        final XLSXStreamWriter.Sheet sheet = wsh.getStreamSheet();
+        final int startCol = rowNumber ? 1 : 0;
+        try {
+            if (headerFormat.hasLabel()) {
+                sheet.startRow();
+                for (int i = 0; i < columns.length; i++) {
+                    String colName = columns[i].getLabel();
+                    if (CommonUtils.isEmpty(colName)) {
+                        colName = columns[i].getName();
+                    }
+                    sheet.writeString(i + startCol, colName, XLSXStreamWriter.STYLE_HEADER);
+                }
+                sheet.endRow();
+                wsh.incRow();
+            }
+            if (hasDescription) {
+                sheet.startRow();
+                for (int i = 0; i < columns.length; i++) {
+                    sheet.writeString(i + startCol, CommonUtils.notEmpty(columns[i].getDescription()), XLSXStreamWriter.STYLE_HEADER);
+                }
+                sheet.endRow();
+                wsh.incRow();
+            }
+        } catch (IOException e) {
+            throw new DBException("Error processing header", e);
+        }
+    }
+
+    private void writeSqlSheet() throws IOException {
+        final XLSXStreamWriter.Sheet sheet = streamWriter.createSheet(
+            WorksheetUtils.makeUniqueSheetName(streamWriter::hasSheet, "Sheet" + (sheetIndex + 1)));
+        final String sqlText = getSite().getSource().getName();
+        final String[] lines = splitSqlText ? sqlText.split("\n", EXCEL2007MAXROWS) : new String[]{sqlText};
+        for (String line : lines) {
+            sheet.startRow();
+            sheet.writeString(0, line, XLSXStreamWriter.STYLE_DEFAULT);
+            sheet.endRow();
+        }
+    }
+
+    @NotNull
+    private String readCellValue(@NotNull Reader reader) throws IOException {
         try {
             StringBuilder sb = new StringBuilder();
             char buffer[] = new char[2000];
@@ -388,13 +464,34 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
                 }
                 sb.append(buffer, 0, count);
             }
-            cell.setCellValue(getPreparedString(sb.toString()));
+            return getPreparedString(sb.toString());
         } finally {
             ContentUtils.close(reader);
         }
     }
 
+    private void writeCellValue(Cell cell, Reader reader) throws IOException {
+        cell.setCellValue(readCellValue(reader));
+    }
+
     private Worksheet createSheet(DBCResultSet resultSet, Object colValue) throws DBException {
+        if (streamWriter != null) {
+            final Worksheet worksheet;
+            try {
+                final String sheetName;
+                if (CommonUtils.toBoolean(getSite().getProperties().get(PROP_USE_DEFAULT_SPREADSHEET_NAMES))) {
+                    sheetName = WorksheetUtils.makeUniqueSheetName(streamWriter::hasSheet, "Sheet" + (sheetIndex + 1));
+                } else {
+                    sheetName = WorksheetUtils.makeUniqueSheetName(streamWriter::hasSheet, exportTableName);
+                }
+                worksheet = new Worksheet(streamWriter.createSheet(sheetName), colValue);
+            } catch (IOException e) {
+                throw new DBException("Error creating sheet", e);
+            }
+            sheetIndex++;
+            printHeader(resultSet, worksheet);
+            return worksheet;
+        }
         final Sheet sheet;
         final Worksheet worksheet;
         if (appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && sheetIndex < wb.getNumberOfSheets()) {
@@ -433,6 +530,10 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         throws DBException, IOException {
 
         Worksheet wsh = getWsh(resultSet, row);
+        if (wsh.getStreamSheet() != null) {
+            exportStreamRow(session, wsh, row);
+            return;
+        }
         Row rowX = wsh.getSh().createRow(wsh.getCurrentRow());
 
         int startCol = 0;
@@ -497,6 +598,74 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         rowCount++;
     }
 
+    private void exportStreamRow(DBCSession session, Worksheet wsh, Object[] row) throws IOException, DBException {
+        final XLSXStreamWriter.Sheet sheet = wsh.getStreamSheet();
+        sheet.startRow();
+        int startCol = 0;
+        if (rowNumber) {
+            sheet.writeNumber(startCol, wsh.getCurrentRow(), XLSXStreamWriter.STYLE_CELL);
+            startCol++;
+        }
+        for (int i = 0; i < row.length; i++) {
+            final DBDAttributeBinding column = columns[i];
+            final int cellStyle = getStreamCellStyle(column, rowCount);
+            final int col = i + startCol;
+            final Object value = row[i];
+
+            if (DBUtils.isNullValue(value)) {
+                sheet.writeString(col, nullString, cellStyle);
+            } else if (value instanceof DBDContent content) {
+                try {
+                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                    if (cs == null) {
+                        sheet.writeString(col, DBConstants.NULL_VALUE_LABEL, cellStyle);
+                    } else if (ContentUtils.isTextContent(content)) {
+                        sheet.writeString(col, readCellValue(cs.getContentReader()), cellStyle);
+                    } else {
+                        sheet.writeString(col, BINARY_FIXED, cellStyle);
+                    }
+                } finally {
+                    content.release();
+                }
+            } else if (value instanceof Boolean booleanValue) {
+                if (booleRedefined) {
+                    sheet.writeString(col, booleanValue ? boolTrue : boolFalse, cellStyle);
+                } else {
+                    sheet.writeBoolean(col, booleanValue, cellStyle);
+                }
+            } else if (value instanceof Number number) {
+                sheet.writeNumber(col, number, cellStyle);
+            } else if (value instanceof Date date) {
+                sheet.writeDate(col, date, getStreamDateStyle(column, rowCount));
+            } else {
+                sheet.writeString(col, getPreparedString(super.getValueDisplayString(column, value)), cellStyle);
+            }
+        }
+        sheet.endRow();
+        wsh.incRow();
+        rowCount++;
+    }
+
+    private int getStreamCellStyle(@NotNull DBDAttributeBinding attribute, int row) {
+        if (decorator != null) {
+            final String bg = decorator.getCellBackground(attribute, row);
+            if (bg != null) {
+                return streamWriter.getCellStyle(bg);
+            }
+        }
+        return XLSXStreamWriter.STYLE_CELL;
+    }
+
+    private int getStreamDateStyle(@NotNull DBDAttributeBinding attribute, int row) {
+        if (decorator != null) {
+            final String bg = decorator.getCellBackground(attribute, row);
+            if (bg != null) {
+                return streamWriter.getDateStyle(bg);
+            }
+        }
+        return XLSXStreamWriter.STYLE_DATE;
+    }
+
     private CellType getCellType(DBDAttributeBinding column) {
         switch (column.getDataKind()) {
         case NUMERIC:
@@ -540,7 +709,8 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         try {
             wb = new SXSSFWorkbook(
                 new XSSFWorkbook(
-                    Files.newInputStream(file)));
+                    Files.newInputStream(file)),
+                ROW_WINDOW);
         } catch (Exception e) {
             throw new DBException("Error opening workbook", e);
         }
@@ -22,6 +22,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 public class Worksheet {
 	
 	private Sheet sh;
+	private XLSXStreamWriter.Sheet streamSheet;
 	private Object columnVal;
 	private int currentRow;
 	
@@ -32,11 +33,24 @@ public class Worksheet {
 		this.columnVal = columnVal;
 		this.currentRow = currentRow;
 	}
+
+	public Worksheet(XLSXStreamWriter.Sheet streamSheet, Object columnVal)
+	{
+		super();
+		this.streamSheet = streamSheet;
+		this.columnVal = columnVal;
+		this.currentRow = 0;
+	}
 	
 	public Sheet getSh()
 	{
 		return sh;
 	}
+
+	public XLSXStreamWriter.Sheet getStreamSheet()
+	{
+		return streamSheet;
+	}
 	
 	public Object getColumnVal()
 	{
@@ -54,5 +68,6 @@ public class Worksheet {
 	
 	public void dispose(){
 		sh = null;
+		streamSheet = null;
 	}
 }
@@ -0,0 +1,525 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.export;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes XLSX (SpreadsheetML) workbook without building a workbook model.
+ * <p>
+ * Rows are written as sheet XML into temporary files (one per sheet) as they come, strings are inline,
+ * so memory usage doesn't depend on number of rows. The workbook package is assembled in {@link #write}.
+ * Cell styles are a fixed set created from export settings, plus background fill variants created on demand.
+ */
+public class XLSXStreamWriter implements Closeable {
+
+    private static final Log log = Log.getLog(XLSXStreamWriter.class);
+
+    public static final int STYLE_DEFAULT = 0;
+    public static final int STYLE_HEADER = 1;
+    public static final int STYLE_CELL = 2;
+    public static final int STYLE_DATE = 3;
+
+    // Number of the first custom number format
+    private static final int CUSTOM_NUMBER_FORMAT_ID = 164;
+    // Built-in "m/d/yy" format
+    private static final int DEFAULT_DATE_FORMAT_ID = 14;
+    private static final int EXCEL_MAX_COLUMN_WIDTH = 255;
+
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    public class Sheet {
+        private final String name;
+        private final Path dataFile;
+        private final Writer out;
+        private final StringBuilder cellBuffer = new StringBuilder();
+        // Max text length per column, used for column widths
+        private int[] columnWidths = new int[16];
+        private int rowCount;
+        private int currentColumn = -1;
+
+        private Sheet(@NotNull String name, @NotNull Path dataFile) throws IOException {
+            this.name = name;
+            this.dataFile = dataFile;
+            this.out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(dataFile), StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public void startRow() throws IOException {
+            out.write("<row r=\"");
+            out.write(Integer.toString(rowCount + 1));
+            out.write("\">");
+            currentColumn = -1;
+        }
+
+        public void endRow() throws IOException {
+            out.write("</row>\n");
+            rowCount++;
+        }
+
+        public void writeBlank(int column, int style) throws IOException {
+            startCell(column, style, null);
+            out.write("/>");
+        }
+
+        public void writeString(int column, @Nullable String value, int style) throws IOException {
+            if (value == null || value.isEmpty()) {
+                writeBlank(column, style);
+                return;
+            }
+            startCell(column, style, "inlineStr");
+            out.write("><is><t xml:space=\"preserve\">");
+            cellBuffer.setLength(0);
+            escapeCellText(cellBuffer, value);
+            out.append(cellBuffer);
+            out.write("</t></is></c>");
+            updateWidth(column, value.length());
+        }
+
+        public void writeNumber(int column, @NotNull Number value, int style) throws IOException {
+            final String text;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                text = value.toString();
+            } else {
+                double doubleValue = value.doubleValue();
+                if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                    // Not representable as a number cell
+                    writeString(column, value.toString(), style);
+                    return;
+                }
+                text = Double.toString(doubleValue);
+            }
+            startCell(column, style, null);
+            out.write("><v>");
+            out.write(text);
+            out.write("</v></c>");
+            updateWidth(column, text.length());
+        }
+
+        public void writeBoolean(int column, boolean value, int style) throws IOException {
+            startCell(column, style, "b");
+            out.write(value ? "><v>1</v></c>" : "><v>0</v></c>");
+            updateWidth(column, 5);
+        }
+
+        public void writeDate(int column, @NotNull Date value, int style) throws IOException {
+            startCell(column, style, null);
+            out.write("><v>");
+            out.write(Double.toString(DateUtil.getExcelDate(value)));
+            out.write("</v></c>");
+            updateWidth(column, 10);
+        }
+
+        private void startCell(int column, int style, @Nullable String type) throws IOException {
+            if (column <= currentColumn) {
+                throw new IOException("Cells must be written in column order");
+            }
+            currentColumn = column;
+            out.write("<c r=\"");
+            out.write(getColumnName(column));
+            out.write(Integer.toString(rowCount + 1));
+            out.write('"');
+            if (style != STYLE_DEFAULT) {
+                out.write(" s=\"");
+                out.write(Integer.toString(style));
+                out.write('"');
+            }
+            if (type != null) {
+                out.write(" t=\"");
+                out.write(type);
+                out.write('"');
+            }
+        }
+
+        private void updateWidth(int column, int length) {
+            if (column >= columnWidths.length) {
+                columnWidths = Arrays.copyOf(columnWidths, Math.max(column + 1, columnWidths.length * 2));
+            }
+            if (length > columnWidths[column]) {
+                columnWidths[column] = length;
+            }
+        }
+
+        private void writeTo(@NotNull OutputStream stream) throws IOException {
+            out.flush();
+            Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            writer.write(XML_HEADER);
+            writer.write("<worksheet xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\">");
+            if (rowCount > 0) {
+                writer.write("<cols>");
+                for (int i = 0; i < columnWidths.length; i++) {
+                    if (columnWidths[i] == 0) {
+                        continue;
+                    }
+                    int width = Math.min(Math.max(columnWidths[i] + 2, minColumnWidth), EXCEL_MAX_COLUMN_WIDTH);
+                    writer.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\"" + width + "\" customWidth=\"1\"/>");
+                }
+                writer.write("</cols>");
+            }
+            writer.write("<sheetData>");
+            writer.flush();
+            Files.copy(dataFile, stream);
+            writer.write("</sheetData></worksheet>");
+            writer.flush();
+        }
+
+        private void dispose() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+            try {
+                Files.deleteIfExists(dataFile);
+            } catch (IOException e) {
+                log.debug("Error deleting sheet data file " + dataFile, e);
+            }
+        }
+    }
+
+    private final Path tempFolder;
+    private final String borderStyle;
+    private final DataExporterXLSX.FontStyleProp headerFont;
+    @Nullable
+    private final String dateFormat;
+    private final int minColumnWidth;
+    private final List<Sheet> sheets = new ArrayList<>();
+    // Background color (ARGB) -> fill index
+    private final Map<String, Integer> fills = new LinkedHashMap<>();
+    // Background color and cell kind -> cell style index
+    private final Map<FillStyle, Integer> fillStyles = new HashMap<>();
+    private final List<String> columnNames = new ArrayList<>();
+
+    /**
+     * @param minColumnWidth minimal column width, in characters
+     */
+    public XLSXStreamWriter(
+        @NotNull Path tempFolder,
+        @NotNull BorderStyle borderStyle,
+        @NotNull DataExporterXLSX.FontStyleProp headerFont,
+        @Nullable String dateFormat,
+        int minColumnWidth
+    ) {
+        this.tempFolder = tempFolder;
+        this.borderStyle = toBorderStyleName(borderStyle);
+        this.headerFont = headerFont;
+        this.dateFormat = dateFormat;
+        this.minColumnWidth = minColumnWidth;
+    }
+
+    @NotNull
+    public Sheet createSheet(@NotNull String name) throws IOException {
+        Sheet sheet = new Sheet(name, Files.createTempFile(tempFolder, "sheet", ".xml"));
+        sheets.add(sheet);
+        return sheet;
+    }
+
+    public boolean hasSheet(@NotNull String name) {
+        for (Sheet sheet : sheets) {
+            if (sheet.name.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns style of regular cell with the specified background color
+     *
+     * @param color color as "r,g,b"
+     */
+    public int getCellStyle(@NotNull String color) {
+        return getFillStyle(new FillStyle(color, false));
+    }
+
+    /**
+     * Returns style of date cell with the specified background color
+     *
+     * @param color color as "r,g,b"
+     */
+    public int getDateStyle(@NotNull String color) {
+        return getFillStyle(new FillStyle(color, true));
+    }
+
+    private int getFillStyle(@NotNull FillStyle fillStyle) {
+        Integer style = fillStyles.get(fillStyle);
+        if (style == null) {
+            String argb = toArgb(fillStyle.color);
+            if (!fills.containsKey(argb)) {
+                // Fills 0 and 1 are reserved
+                fills.put(argb, fills.size() + 2);
+            }
+            style = STYLE_DATE + fillStyles.size() + 1;
+            fillStyles.put(fillStyle, style);
+        }
+        return style;
+    }
+
+    /**
+     * Writes workbook package into the stream. Stream is not closed.
+     */
+    public void write(@NotNull OutputStream stream) throws IOException {
+        if (sheets.isEmpty()) {
+            createSheet(WorksheetUtils.DEFAULT_SHEET_NAME);
+        }
+        ZipOutputStream zip = new ZipOutputStream(stream);
+        writeEntry(zip, "[Content_Types].xml", getContentTypes());
+        writeEntry(zip, "_rels/.rels", XML_HEADER +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+            "</Relationships>");
+        writeEntry(zip, "xl/workbook.xml", getWorkbook());
+        writeEntry(zip, "xl/_rels/workbook.xml.rels", getWorkbookRelationships());
+        writeEntry(zip, "xl/styles.xml", getStyles());
+        for (int i = 0; i < sheets.size(); i++) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + (i + 1) + ".xml"));
+            sheets.get(i).writeTo(zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    @Override
+    public void close() {
+        for (Sheet sheet : sheets) {
+            sheet.dispose();
+        }
+        sheets.clear();
+    }
+
+    private String getContentTypes() {
+        StringBuilder xml = new StringBuilder(XML_HEADER);
+        xml.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 0; i < sheets.size(); i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i + 1)
+                .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private String getWorkbook() {
+        StringBuilder xml = new StringBuilder(XML_HEADER);
+        xml.append("<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\"><sheets>");
+        for (int i = 0; i < sheets.size(); i++) {
+            xml.append("<sheet name=\"");
+            escapeText(xml, sheets.get(i).name);
+            xml.append("\" sheetId=\"").append(i + 1).append("\" r:id=\"rId").append(i + 1).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String getWorkbookRelationships() {
+        StringBuilder xml = new StringBuilder(XML_HEADER);
+        xml.append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 0; i < sheets.size(); i++) {
+            xml.append("<Relationship Id=\"rId").append(i + 1)
+                .append("\" Type=\"" + NS_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet").append(i + 1).append(".xml\"/>");
+        }
+        xml.append("<Relationship Id=\"rId").append(sheets.size() + 1)
+            .append("\" Type=\"" + NS_RELATIONSHIPS + "/styles\" Target=\"styles.xml\"/>");
+        return xml.append("</Relationships>").toString();
+    }
+
+    private String getStyles() {
+        StringBuilder xml = new StringBuilder(XML_HEADER);
+        xml.append("<styleSheet xmlns=\"" + NS_MAIN + "\">");
+        int dateFormatId = DEFAULT_DATE_FORMAT_ID;
+        if (dateFormat != null && !dateFormat.isEmpty()) {
+            dateFormatId = CUSTOM_NUMBER_FORMAT_ID;
+            xml.append("<numFmts count=\"1\"><numFmt numFmtId=\"").append(CUSTOM_NUMBER_FORMAT_ID).append("\" formatCode=\"");
+            escapeText(xml, dateFormat);
+            xml.append("\"/></numFmts>");
+        }
+        xml.append("<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font><font>");
+        switch (headerFont) {
+            case BOLD -> xml.append("<b/>");
+            case ITALIC -> xml.append("<i/>");
+            case STRIKEOUT -> xml.append("<strike/>");
+            case UNDERLINE -> xml.append("<u val=\"singleAccounting\"/>");
+            default -> {
+            }
+        }
+        xml.append("<sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>");
+
+        xml.append("<fills count=\"").append(fills.size() + 2).append("\">")
+            .append("<fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill>");
+        for (String argb : fills.keySet()) {
+            xml.append("<fill><patternFill patternType=\"solid\"><fgColor rgb=\"").append(argb).append("\"/></patternFill></fill>");
+        }
+        xml.append("</fills>");
+
+        xml.append("<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border><border>");
+        if (borderStyle == null) {
+            xml.append("<left/><right/><top/><bottom/>");
+        } else {
+            for (String side : new String[]{"left", "right", "top", "bottom"}) {
+                xml.append('<').append(side).append(" style=\"").append(borderStyle).append("\"><color indexed=\"64\"/></").append(side).append('>');
+            }
+        }
+        xml.append("<diagonal/></border></borders>");
+
+        xml.append("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        xml.append("<cellXfs count=\"").append(STYLE_DATE + 1 + fillStyles.size()).append("\">")
+            .append("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>")
+            .append("<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyFont=\"1\" applyBorder=\"1\"/>")
+            .append("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyBorder=\"1\"/>")
+            .append("<xf numFmtId=\"").append(dateFormatId)
+            .append("\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\"/>");
+        // Fill styles in the order of their indexes
+        FillStyle[] styles = new FillStyle[fillStyles.size()];
+        for (Map.Entry<FillStyle, Integer> entry : fillStyles.entrySet()) {
+            styles[entry.getValue() - STYLE_DATE - 1] = entry.getKey();
+        }
+        for (FillStyle style : styles) {
+            xml.append("<xf numFmtId=\"").append(style.date ? dateFormatId : 0)
+                .append("\" fontId=\"0\" fillId=\"").append(fills.get(toArgb(style.color)))
+                .append("\" borderId=\"1\" xfId=\"0\"")
+                .append(style.date ? " applyNumberFormat=\"1\"" : "")
+                .append(" applyFill=\"1\" applyBorder=\"1\"/>");
+        }
+        xml.append("</cellXfs>");
+        xml.append("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        return xml.append("</styleSheet>").toString();
+    }
+
+    @NotNull
+    private String getColumnName(int column) {
+        while (columnNames.size() <= column) {
+            int index = columnNames.size();
+            StringBuilder name = new StringBuilder();
+            for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+                name.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            columnNames.add(name.toString());
+        }
+        return columnNames.get(column);
+    }
+
+    private static void writeEntry(@NotNull ZipOutputStream zip, @NotNull String name, @NotNull String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Escapes XML text. Characters which are not allowed in XML are written in the SpreadsheetML escaped form (_xHHHH_).
+     */
+    /**
+     * Escapes cell text. Excel decodes {@code _xHHHH_} in cell text as a character code,
+     * so a literal {@code _xHHHH_} is written with escaped underscore: {@code _x005F_xHHHH_}.
+     */
+    private static void escapeCellText(@NotNull StringBuilder buffer, @NotNull String value) {
+        int start = 0;
+        for (int i = value.indexOf("_x"); i >= 0; i = value.indexOf("_x", i + 1)) {
+            if (isEscapedCharCode(value, i)) {
+                escapeText(buffer, value.substring(start, i));
+                buffer.append("_x005F_");
+                start = i + 1;
+            }
+        }
+        escapeText(buffer, value.substring(start));
+    }
+
+    private static boolean isEscapedCharCode(@NotNull String value, int offset) {
+        if (offset + 7 > value.length() || value.charAt(offset + 6) != '_') {
+            return false;
+        }
+        for (int i = offset + 2; i < offset + 6; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void escapeText(@NotNull StringBuilder buffer, @NotNull String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> buffer.append("&amp;");
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '"' -> buffer.append("&quot;");
+                case '\t', '\n', '\r' -> buffer.append(c);
+                default -> {
+                    if (c < 0x20 || c == 0xFFFE || c == 0xFFFF) {
+                        buffer.append("_x").append(String.format("%04X", (int) c)).append('_');
+                    } else {
+                        buffer.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String toBorderStyleName(@NotNull BorderStyle style) {
+        return switch (style) {
+            case NONE -> null;
+            case SLANTED_DASH_DOT -> "slantDashDot";
+            default -> {
+                // THIN -> thin, MEDIUM_DASH_DOT -> mediumDashDot
+                StringBuilder name = new StringBuilder();
+                for (String part : style.name().toLowerCase(Locale.ENGLISH).split("_")) {
+                    name.append(name.isEmpty() ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+                }
+                yield name.toString();
+            }
+        };
+    }
+
+    @NotNull
+    private static String toArgb(@NotNull String color) {
+        StringTokenizer tokenizer = new StringTokenizer(color, ",");
+        int r = Integer.parseInt(tokenizer.nextToken().trim());
+        int g = Integer.parseInt(tokenizer.nextToken().trim());
+        int b = Integer.parseInt(tokenizer.nextToken().trim());
+        return String.format("FF%02X%02X%02X", r, g, b);
+    }
+
+    private record FillStyle(@NotNull String color, boolean date) {
+    }
+
+}
@@ -67,6 +67,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 
 public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     
@@ -160,6 +161,8 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
 
     private static final Log log = Log.getLog(StreamConsumerPageOutput.class);
     private static final String HELP_DT_EXTERNAL_LINK = "Data-transfer-external-storage";
+    // Level used by Deflater for DEFAULT_COMPRESSION
+    private static final int DEFAULT_COMPRESSION_LEVEL = 6;
     
     private Combo encodingCombo;
     private Button encodingBOMCheckbox;
@@ -167,6 +170,9 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     private Text directoryText;
     private Text fileNameText;
     private Button compressCheckbox;
+    private Combo compressionFormatCombo;
+    private Spinner compressionLevelSpinner;
+    private Spinner compressionThreadsSpinner;
     private Button clipboardCheck;
     private Button singleFileCheck;
     private Button showFinalMessageCheckbox;
@@ -268,6 +274,42 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
                 }
             });
 
+            {
+                Composite compressionSettings = UIUtils.createComposite(generalSettings, 6);
+                compressionSettings.setLayoutData(new GridData(GridData.BEGINNING, GridData.BEGINNING, false, false, 4, 1));
+
+                compressionFormatCombo = UIUtils.createLabelCombo(
+                    compressionSettings, DTUIMessages.stream_consumer_page_output_label_compression_format, SWT.DROP_DOWN | SWT.READ_ONLY);
+                for (StreamConsumerSettings.CompressionFormat format : StreamConsumerSettings.CompressionFormat.values()) {
+                    compressionFormatCombo.add(format.extension.toUpperCase(Locale.ENGLISH));
+                }
+                compressionFormatCombo.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setCompressionFormat(StreamConsumerSettings.CompressionFormat.values()[compressionFormatCombo.getSelectionIndex()]);
+                        updateControlsEnablement();
+                    }
+                });
+                compressionLevelSpinner = UIUtils.createLabelSpinner(
+                    compressionSettings,
+                    DTUIMessages.stream_consumer_page_output_label_compression_level,
+                    DTUIMessages.stream_consumer_page_output_tooltip_compression_level,
+                    DEFAULT_COMPRESSION_LEVEL,
+                    Deflater.NO_COMPRESSION,
+                    Deflater.BEST_COMPRESSION);
+                compressionLevelSpinner.addModifyListener(e ->
+                    settings.setCompressionLevel(compressionLevelSpinner.getSelection()));
+                compressionThreadsSpinner = UIUtils.createLabelSpinner(
+                    compressionSettings,
+                    DTUIMessages.stream_consumer_page_output_label_compression_threads,
+                    DTUIMessages.stream_consumer_page_output_tooltip_compression_threads,
+                    1,
+                    1,
+                    Runtime.getRuntime().availableProcessors());
+                compressionThreadsSpinner.addModifyListener(e ->
+                    settings.setCompressionThreads(compressionThreadsSpinner.getSelection()));
+            }
+
             {
                 Composite outFilesSettings = UIUtils.createComposite(generalSettings, 3);
                 outFilesSettings.setLayoutData(new GridData(GridData.BEGINNING, GridData.BEGINNING, true, false, 5, 1));
@@ -420,6 +462,11 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setEnabled(!clipboard);
         fileNameText.setEnabled(!clipboard);
         compressCheckbox.setEnabled(!clipboard && !singleFileCheck.getSelection());
+        boolean compress = compressCheckbox.isEnabled() && compressCheckbox.getSelection();
+        compressionFormatCombo.setEnabled(compress);
+        compressionLevelSpinner.setEnabled(compress);
+        compressionThreadsSpinner.setEnabled(
+            compress && compressionFormatCombo.getSelectionIndex() == StreamConsumerSettings.CompressionFormat.GZIP.ordinal());
         if (compressCheckbox.getSelection() && dataFileConflictBehaviorSelector.getValue().equals(DataFileConflictBehavior.APPEND)) {
             dataFileConflictBehaviorSelector.setValue(DataFileConflictBehavior.PATCHNAME);
         }
@@ -449,6 +496,11 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setText(CommonUtils.toString(settings.getOutputFolder()));
         fileNameText.setText(CommonUtils.toString(settings.getOutputFilePattern()));
         compressCheckbox.setSelection(settings.isCompressResults());
+        compressionFormatCombo.select(settings.getCompressionFormat().ordinal());
+        compressionLevelSpinner.setSelection(
+            settings.getCompressionLevel() == Deflater.DEFAULT_COMPRESSION ? DEFAULT_COMPRESSION_LEVEL : settings.getCompressionLevel());
+        compressionThreadsSpinner.setSelection(
+            Math.min(settings.getCompressionThreads(), compressionThreadsSpinner.getMaximum()));
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
@@ -17,72 +17,77 @@
 package org.jkiss.dbeaver.tools.sql.task;
 
 import org.jkiss.code.NotNull;
-import org.jkiss.dbeaver.model.DBUtils;
-import org.jkiss.dbeaver.model.data.DBDDataReceiver;
-import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.data.DBDDataBatch;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.data.AbstractDataBatchReceiver;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 
 /**
- * SQLScriptDataReceiver
+ * SQLScriptDataReceiver.
+ * Dumps query results into the task log. Rows are written in batches, so numeric values are not boxed.
  */
-public class SQLScriptDataReceiver implements DBDDataReceiver {
+public class SQLScriptDataReceiver extends AbstractDataBatchReceiver {
+
+    private static final DBDAttributeBinding[] EMPTY_BINDINGS = new DBDAttributeBinding[0];
 
-    private Integer rowSize;
     private Writer dumpWriter;
-    private List<? extends DBCAttributeMetaData> attributes;
 
+    @NotNull
     @Override
-    public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
-        if (resultSet == null) {
-            return;
+    protected DBDAttributeBinding[] startFetch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+        if (resultSet == null || dumpWriter == null) {
+            // Nothing to read
+            return EMPTY_BINDINGS;
         }
-        if (dumpWriter != null) {
-            DBCResultSetMetaData rsMeta = resultSet.getMeta();
-            attributes = rsMeta.getAttributes();
-            rowSize = attributes.size();
-            try {
-                dumpWriter.append("Columns:\t");
-
-                for (DBCAttributeMetaData attribute : attributes) {
-                    dumpWriter.append(attribute.getLabel() + "\t");
-                }
-                dumpWriter.append("\n");
-            } catch (IOException e1) {
-                throw new DBCException("IOException writing to dumpWriter", e1);
+        List<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+        DBDAttributeBinding[] bindings = new DBDAttributeBinding[attributes.size()];
+        try {
+            dumpWriter.append("Columns:\t");
+            for (int i = 0; i < bindings.length; i++) {
+                DBCAttributeMetaData attribute = attributes.get(i);
+                bindings[i] = new DBDAttributeBindingMeta(null, session, attribute);
+                dumpWriter.append(attribute.getLabel() + "\t");
             }
+            dumpWriter.append("\n");
+        } catch (IOException e1) {
+            throw new DBCException("IOException writing to dumpWriter", e1);
         }
+        return bindings;
     }
 
     @Override
-    public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
-        if (resultSet == null) {
+    protected void fetchBatch(@NotNull DBCSession session, @NotNull DBDDataBatch batch) throws DBCException {
+        if (dumpWriter == null) {
             return;
         }
-        if (dumpWriter != null) {
-            try {
-                for (int i = 0; i < rowSize; i++) {
-                    if (resultSet.getAttributeValue(i) != null) {
-                    	DBCAttributeMetaData type = attributes.get(i);
-                    	DBDValueHandler valueHandler = DBUtils.findValueHandler(session, type);
-                    	Object object = valueHandler.fetchValueObject(session, resultSet, type, i);
-                        dumpWriter.append(object.toString()).append("\t");
-                    } else {
+        try {
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                for (int i = 0; i < batch.getColumnCount(); i++) {
+                    DBDDataBatch.Column column = batch.getColumn(i);
+                    if (column.isNull(row)) {
                         dumpWriter.append("NULL\t");
+                    } else if (column.getKind() == DBDDataBatch.ColumnKind.DOUBLE) {
+                        dumpWriter.append(Double.toString(column.getDouble(row))).append("\t");
+                    } else if (column.getKind() == DBDDataBatch.ColumnKind.OBJECT) {
+                        dumpWriter.append(String.valueOf(column.getObject(row))).append("\t");
+                    } else {
+                        dumpWriter.append(Long.toString(column.getLong(row))).append("\t");
                     }
                 }
                 dumpWriter.append("\n");
-            } catch (IOException e) {
-                throw new DBCException("IOException writing to dumpWriter", e);
             }
+        } catch (IOException e) {
+            throw new DBCException("IOException writing to dumpWriter", e);
         }
     }
 
     @Override
-    public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+    protected void endFetch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
         if (dumpWriter != null) {
             try {
                 dumpWriter.flush();
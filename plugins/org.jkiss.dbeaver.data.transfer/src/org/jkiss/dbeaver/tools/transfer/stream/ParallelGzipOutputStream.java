@@ -0,0 +1,255 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip stream which compresses blocks of data in parallel.
+ * <p>
+ * Each block is compressed on a worker thread as a separate gzip member. Members are written in order,
+ * and concatenation of gzip members is a valid gzip file (RFC 1952), readable by gunzip and GZIPInputStream.
+ * Number of blocks in flight is limited, so memory usage doesn't depend on output size.
+ * <p>
+ * All streams share the same worker pool which has one thread per processor, so several exports
+ * or split output files do not multiply the number of compression threads.
+ * If writing or compression fails, the stream becomes broken: all subsequent calls throw the same exception.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    private static ExecutorService sharedExecutor;
+
+    private final OutputStream out;
+    private final int level;
+    private final int maxBlocksInFlight;
+    private final ExecutorService executor;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private byte[] block;
+    private int blockLength;
+    private boolean finished;
+    private boolean closed;
+    private IOException error;
+
+    /**
+     * @param level   deflate level (0-9) or {@link java.util.zip.Deflater#DEFAULT_COMPRESSION}
+     * @param threads number of blocks compressed in parallel. Limited by the number of processors.
+     */
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int level, int threads) {
+        this(out, level, threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int level, int threads, int blockSize) {
+        this.out = out;
+        this.level = level;
+        this.maxBlocksInFlight = Math.max(1, threads) * 2;
+        this.executor = getSharedExecutor();
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkOpen();
+        if (blockLength == block.length) {
+            submitBlock();
+        }
+        block[blockLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        checkOpen();
+        while (len > 0) {
+            if (blockLength == block.length) {
+                submitBlock();
+            }
+            int count = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Flush doesn't end the current block (it would make compression worse),
+     * it writes all blocks which are already compressed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeCompressedBlock();
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    /**
+     * Compresses remaining data and writes all blocks. Doesn't close the underlying stream.
+     *
+     * @throws IOException if the stream is broken by a previous error
+     */
+    public void finish() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+        if (finished) {
+            return;
+        }
+        try {
+            if (blockLength > 0) {
+                submitBlock();
+            }
+            while (!pendingBlocks.isEmpty()) {
+                writeCompressedBlock();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw fail(e);
+        } finally {
+            finished = true;
+            cancelPendingBlocks();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+        if (finished) {
+            throw new IOException("Compression stream is finished");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] data = block;
+        final int length = blockLength;
+        try {
+            pendingBlocks.addLast(executor.submit(() -> compress(data, length)));
+        } catch (RejectedExecutionException e) {
+            throw fail(new IOException("Can't schedule data block compression", e));
+        }
+        block = new byte[data.length];
+        blockLength = 0;
+        while (pendingBlocks.size() >= maxBlocksInFlight) {
+            writeCompressedBlock();
+        }
+    }
+
+    private void writeCompressedBlock() throws IOException {
+        Future<byte[]> future = pendingBlocks.removeFirst();
+        byte[] compressed;
+        try {
+            compressed = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw fail(new InterruptedIOException("Compression interrupted"));
+        } catch (ExecutionException e) {
+            throw fail(new IOException("Error compressing data block", e.getCause()));
+        }
+        try {
+            out.write(compressed);
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    /**
+     * Breaks the stream. Blocks which weren't written are cancelled.
+     */
+    private IOException fail(@NotNull IOException e) {
+        if (error == null) {
+            error = e;
+        }
+        cancelPendingBlocks();
+        return error;
+    }
+
+    private void cancelPendingBlocks() {
+        for (Future<byte[]> future : pendingBlocks) {
+            future.cancel(true);
+        }
+        pendingBlocks.clear();
+    }
+
+    private byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 64 * 1024) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data, 0, length);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static synchronized ExecutorService getSharedExecutor() {
+        if (sharedExecutor == null) {
+            int threadCount = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                WORKER_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Export compression " + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            // Do not keep idle threads when nothing is exported
+            executor.allowCoreThreadTimeOut(true);
+            sharedExecutor = executor;
+        }
+        return sharedExecutor;
+    }
+
+}
@@ -42,6 +42,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 
 /**
  * Stream transfer settings
@@ -86,6 +87,19 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         NATIVE
     }
     
+    public enum CompressionFormat {
+        // Zip archive with a single entry, compressed in the export thread
+        ZIP("zip"),
+        // Gzip file, blocks are compressed in parallel
+        GZIP("gz");
+
+        public final String extension;
+
+        CompressionFormat(String extension) {
+            this.extension = extension;
+        }
+    }
+
     public enum DataFileConflictBehavior {
         ASK(DTMessages.data_transfer_file_conflict_ask),
         APPEND(DTMessages.data_transfer_file_conflict_append),
@@ -135,6 +149,10 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
     private boolean outputClipboard = false;
     private boolean useSingleFile = false;
     private boolean compressResults = false;
+    @NotNull
+    private CompressionFormat compressionFormat = CompressionFormat.ZIP;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int compressionThreads = Runtime.getRuntime().availableProcessors();
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
     private final Map<DBSDataContainer, StreamMappingContainer> dataMappings = new LinkedHashMap<>();
@@ -244,6 +262,34 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.compressResults = compressResults;
     }
 
+    @NotNull
+    public CompressionFormat getCompressionFormat() {
+        return compressionFormat;
+    }
+
+    public void setCompressionFormat(@NotNull CompressionFormat compressionFormat) {
+        this.compressionFormat = compressionFormat;
+    }
+
+    /**
+     * Deflate level (0-9) or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    public void setCompressionThreads(int compressionThreads) {
+        this.compressionThreads = compressionThreads;
+    }
+
     public boolean isSplitOutFiles() {
         return splitOutFiles;
     }
@@ -329,6 +375,16 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         );
 
         compressResults = CommonUtils.getBoolean(settings.get("compressResults"), compressResults);
+        compressionFormat = CommonUtils.valueOf(
+            CompressionFormat.class,
+            CommonUtils.toString(settings.get("compressionFormat")),
+            CompressionFormat.ZIP
+        );
+        compressionLevel = CommonUtils.toInt(settings.get("compressionLevel"), compressionLevel);
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            compressionLevel = Deflater.DEFAULT_COMPRESSION;
+        }
+        compressionThreads = Math.max(1, CommonUtils.toInt(settings.get("compressionThreads"), compressionThreads));
         splitOutFiles = CommonUtils.getBoolean(settings.get("splitOutFiles"), splitOutFiles);
         maxOutFileSize = CommonUtils.toLong(settings.get("maxOutFileSize"), maxOutFileSize);
 
@@ -416,6 +472,9 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("useSingleFile", useSingleFile);
 
         settings.put("compressResults", compressResults);
+        settings.put("compressionFormat", compressionFormat.name());
+        settings.put("compressionLevel", compressionLevel);
+        settings.put("compressionThreads", compressionThreads);
         settings.put("splitOutFiles", splitOutFiles);
         settings.put("maxOutFileSize", maxOutFileSize);
 
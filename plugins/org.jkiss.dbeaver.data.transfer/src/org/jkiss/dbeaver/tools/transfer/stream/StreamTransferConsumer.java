@@ -64,6 +64,7 @@ import org.jkiss.utils.IOUtils;
 import org.jkiss.utils.io.ByteOrderMark;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -132,6 +133,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private OutputStream outputStream;
     private ZipOutputStream zipStream;
+    private ParallelGzipOutputStream gzipStream;
     private PrintWriter writer;
     private int multiFileNumber;
     private long bytesWritten = 0;
@@ -510,13 +512,24 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         this.outputStream = this.statStream = new StatOutputStream(outputStream);
 
         if (settings.isCompressResults()) {
-            log.debug("\tUse ZIP compression");
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+            if (settings.getCompressionFormat() == StreamConsumerSettings.CompressionFormat.GZIP) {
+                log.debug("\tUse parallel GZIP compression");
+                this.gzipStream = new ParallelGzipOutputStream(
+                    this.outputStream,
+                    settings.getCompressionLevel(),
+                    settings.getCompressionThreads());
+                this.outputStream = gzipStream;
+            } else {
+                log.debug("\tUse ZIP compression");
+                this.zipStream = new ZipOutputStream(this.outputStream);
+                this.zipStream.setLevel(settings.getCompressionLevel());
+                this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
+                this.outputStream = zipStream;
+            }
         }
 
-        // If we need to split files - use stream wrapper to calculate file size
+        // If we need to split files - use stream wrapper to calculate file size.
+        // Each split file is a complete archive: compression stream is finished when next file is started.
         if (settings.isSplitOutFiles()) {
             this.outputStream = new OutputStreamStatProxy(this.outputStream);
         }
@@ -534,7 +547,23 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         if (!parameters.isBinary) {
-            this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
+            if (isUtf8Encoding(settings.getOutputEncoding())) {
+                // Encode directly into the buffer, without charset encoder
+                this.writer = new PrintWriter(new Utf8OutputWriter(this.outputStream), true);
+            } else {
+                this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
+            }
+        }
+    }
+
+    private static boolean isUtf8Encoding(@Nullable String encoding) {
+        if (CommonUtils.isEmpty(encoding)) {
+            return false;
+        }
+        try {
+            return Charset.forName(encoding).equals(StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return false;
         }
     }
 
@@ -558,6 +587,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
             zipStream = null;
         }
+        // Write remaining compressed blocks
+        if (gzipStream != null) {
+            try {
+                gzipStream.finish();
+            } catch (IOException e) {
+                log.error("Error finishing compressed output", e);
+            }
+            gzipStream = null;
+        }
 
         if (outputStream != null) {
             try {
@@ -797,7 +835,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
         String fileName = getOutputFileName(suffix);
         if (settings.isCompressResults()) {
-            fileName += ".zip";
+            fileName += "." + settings.getCompressionFormat().extension;
         }
         return dir.resolve(fileName);
     }
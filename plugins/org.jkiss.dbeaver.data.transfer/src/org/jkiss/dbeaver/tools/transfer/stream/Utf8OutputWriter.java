@@ -0,0 +1,175 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writer which encodes characters to UTF-8 directly into its own byte buffer.
+ * <p>
+ * Replaces {@code OutputStreamWriter} for UTF-8 exports: there is no charset encoder and no intermediate
+ * char buffer, strings are encoded in place and ASCII characters take a single store.
+ * Malformed surrogates are written as '?', the same way UTF-8 charset encoder replaces them.
+ * Not thread safe.
+ */
+public class Utf8OutputWriter extends Writer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Longest encoded character (surrogate pair)
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    // High surrogate from the end of the previous write
+    private char pendingSurrogate;
+
+    public Utf8OutputWriter(@NotNull OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8OutputWriter(@NotNull OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, MAX_CHAR_BYTES * 4)];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (buffer.length - position < MAX_CHAR_BYTES) {
+            flushBuffer();
+        }
+        encode((char) c);
+    }
+
+    @Override
+    public void write(@NotNull char[] chars, int off, int len) throws IOException {
+        int end = off + len;
+        int i = off;
+        while (i < end) {
+            // ASCII run: no checks except buffer space
+            int asciiEnd = Math.min(end, i + buffer.length - position);
+            if (pendingSurrogate == 0) {
+                while (i < asciiEnd) {
+                    char c = chars[i];
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buffer[position++] = (byte) c;
+                    i++;
+                }
+            }
+            if (i >= end) {
+                break;
+            }
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                flushBuffer();
+            } else {
+                encode(chars[i++]);
+            }
+        }
+    }
+
+    @Override
+    public void write(@NotNull String str, int off, int len) throws IOException {
+        int end = off + len;
+        int i = off;
+        while (i < end) {
+            int asciiEnd = Math.min(end, i + buffer.length - position);
+            if (pendingSurrogate == 0) {
+                while (i < asciiEnd) {
+                    char c = str.charAt(i);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buffer[position++] = (byte) c;
+                    i++;
+                }
+            }
+            if (i >= end) {
+                break;
+            }
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                flushBuffer();
+            } else {
+                encode(str.charAt(i++));
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pendingSurrogate != 0) {
+            pendingSurrogate = 0;
+            buffer[position++] = '?';
+        }
+        flushBuffer();
+        out.close();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Encodes single char. Buffer must have at least {@link #MAX_CHAR_BYTES} free bytes.
+     */
+    private void encode(char c) {
+        if (pendingSurrogate != 0) {
+            char high = pendingSurrogate;
+            pendingSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            // Unpaired high surrogate. Replacement and the current char take at most 4 bytes
+            buffer[position++] = '?';
+        }
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+}
@@ -96,8 +96,6 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     private DBDAttributeBinding[] columns;
     private DataExporterArrayFormat dataExporterArrayFormat;
 
-    private final StringBuilder buffer = new StringBuilder();
-
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
     {
@@ -345,21 +343,14 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
             }
         }
 
+        PrintWriter out = getWriter();
+        if (quote && useQuotes) out.write(quoteChar);
         if (quote && hasQuotes) {
             // escape quotes with double quotes
-            buffer.setLength(0);
-            for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                if (c == quoteChar) {
-                    buffer.append(quoteChar);
-                }
-                buffer.append(c);
-            }
-            value = buffer.toString();
+            ExportTextUtils.writeQuotesDoubled(out, value, quoteChar);
+        } else {
+            out.write(value);
         }
-        PrintWriter out = getWriter();
-        if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
         if (quote && useQuotes) out.write(quoteChar);
     }
 
@@ -375,11 +366,10 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
                 if (count <= 0) {
                     break;
                 }
-                for (int i = 0; i < count; i++) {
-                    if (useQuotes && buffer[i] == quoteChar) {
-                        out.write(quoteChar);
-                    }
-                    out.write(buffer[i]);
+                if (useQuotes) {
+                    ExportTextUtils.writeQuotesDoubled(out, buffer, 0, count, quoteChar);
+                } else {
+                    out.write(buffer, 0, count);
                 }
             }
             if (useQuotes) out.write(quoteChar);
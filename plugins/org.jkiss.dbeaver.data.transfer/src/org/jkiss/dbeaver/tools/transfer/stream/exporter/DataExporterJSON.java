@@ -58,6 +58,8 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
 
 
     private DBDAttributeBinding[] columns;
+    // Escaped column names with indent and separator, prepared once per export
+    private String[] columnPrefixes;
     private String tableName;
     private int rowNum = 0;
 
@@ -81,6 +83,12 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     @Override
     public void exportHeader(DBCSession session) throws DBException, IOException {
         columns = getSite().getAttributes();
+        columnPrefixes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            DBDAttributeBinding column = columns[i];
+            String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
+            columnPrefixes[i] = "\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ";
+        }
         tableName = getSite().getSource().getName();
         printHeader();
     }
@@ -109,8 +117,7 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
 
             for (int i = 0; i < columns.length; i++) {
                 DBDAttributeBinding column = columns[i];
-                String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                out.write(columnPrefixes[i]);
 
                 Object cellValue = row[i];
                 if (DBUtils.isNullValue(cellValue)) {
@@ -169,7 +176,10 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         if (value == null) {
             getWriter().write("null");
         } else if (escape) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+            PrintWriter out = getWriter();
+            out.write('"');
+            ExportTextUtils.writeJsonEscaped(out, value);
+            out.write('"');
         } else {
             getWriter().write(value);
         }
@@ -227,11 +237,11 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                 break;
             }
 
-            String chunk = new String(buffer, 0, count);
-
-            getWriter().write(
-                escape ? JSONUtils.escapeJsonString(chunk) : chunk
-            );
+            if (escape) {
+                ExportTextUtils.writeJsonEscaped(getWriter(), buffer, 0, count);
+            } else {
+                getWriter().write(buffer, 0, count);
+            }
         }
     }
 
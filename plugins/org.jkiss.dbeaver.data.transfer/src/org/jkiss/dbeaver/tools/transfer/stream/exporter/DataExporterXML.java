@@ -42,6 +42,9 @@ public class DataExporterXML extends StreamExporterAbstract {
     private static final String PROP_INCLUDE_DOCTYPE_DECLARATION = "includeDoctype";
 
     private DBDAttributeBinding[] columns;
+    // Column element tags, prepared once per export
+    private String[] columnOpenTags;
+    private String[] columnCloseTags;
     private String tableName;
     private boolean includeDoctype;
 
@@ -62,6 +65,13 @@ public class DataExporterXML extends StreamExporterAbstract {
     public void exportHeader(DBCSession session) throws DBException, IOException
     {
         columns = getSite().getAttributes();
+        columnOpenTags = new String[columns.length];
+        columnCloseTags = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = escapeXmlElementName(columns[i].getName());
+            columnOpenTags[i] = "    <" + columnName + ">";
+            columnCloseTags[i] = "</" + columnName + ">\n";
+        }
         printHeader();
     }
 
@@ -101,8 +111,7 @@ public class DataExporterXML extends StreamExporterAbstract {
         out.write("  <DATA_RECORD>\n");
         for (int i = 0; i < row.length; i++) {
             DBDAttributeBinding column = columns[i];
-            String columnName = escapeXmlElementName(column.getName());
-            out.write("    <" + columnName + ">");
+            out.write(columnOpenTags[i]);
             if (DBUtils.isNullValue(row[i])) {
                 writeTextCell(null);
             } else if (row[i] instanceof DBDContent) {
@@ -127,7 +136,7 @@ public class DataExporterXML extends StreamExporterAbstract {
             } else {
                 writeTextCell(super.getValueDisplayString(column, row[i]));
             }
-            out.write("</" + columnName + ">\n");
+            out.write(columnCloseTags[i]);
         }
         out.write("  </DATA_RECORD>\n");
     }
@@ -140,8 +149,7 @@ public class DataExporterXML extends StreamExporterAbstract {
     private void writeTextCell(@Nullable String value)
     {
         if (value != null) {
-            value = value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
-            getWriter().write(value);
+            ExportTextUtils.writeXmlEscaped(getWriter(), value);
         }
     }
 
@@ -154,18 +162,7 @@ public class DataExporterXML extends StreamExporterAbstract {
             if (count <= 0) {
                 break;
             }
-            for (int i = 0; i < count; i++) {
-                if (buffer[i] == '<') {
-                    getWriter().write("&lt;");
-                }
-                else if (buffer[i] == '>') {
-                    getWriter().write("&gt;");
-                } else if (buffer[i] == '&') {
-                    getWriter().write("&amp;");
-                } else {
-                    getWriter().write(buffer[i]);
-                }
-            }
+            ExportTextUtils.writeXmlEscaped(getWriter(), buffer, 0, count);
         }
     }
 
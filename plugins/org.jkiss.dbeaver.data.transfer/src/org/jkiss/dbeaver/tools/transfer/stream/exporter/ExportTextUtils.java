@@ -0,0 +1,176 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+
+import java.io.PrintWriter;
+
+/**
+ * Escaping of exported text values.
+ * <p>
+ * Values are scanned in place and written to the output in runs between escaped characters,
+ * no intermediate strings are created.
+ */
+public final class ExportTextUtils {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ExportTextUtils() {
+    }
+
+    /**
+     * Writes JSON string content (without quotes). Escaping is the same as in {@code JSONUtils.escapeJsonString}.
+     */
+    public static void writeJsonEscaped(@NotNull PrintWriter out, @NotNull String value) {
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 32 && c != '"' && c != '\\' && c != '/') {
+                continue;
+            }
+            if (i > start) {
+                out.write(value, start, i - start);
+            }
+            writeJsonEscape(out, c);
+            start = i + 1;
+        }
+        if (start < length) {
+            out.write(value, start, length - start);
+        }
+    }
+
+    public static void writeJsonEscaped(@NotNull PrintWriter out, @NotNull char[] chars, int offset, int length) {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c >= 32 && c != '"' && c != '\\' && c != '/') {
+                continue;
+            }
+            if (i > start) {
+                out.write(chars, start, i - start);
+            }
+            writeJsonEscape(out, c);
+            start = i + 1;
+        }
+        if (start < end) {
+            out.write(chars, start, end - start);
+        }
+    }
+
+    /**
+     * Writes XML text content with '&amp;', '&lt;' and '&gt;' replaced by entities.
+     */
+    public static void writeXmlEscaped(@NotNull PrintWriter out, @NotNull String value) {
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String entity = getXmlEntity(value.charAt(i));
+            if (entity != null) {
+                if (i > start) {
+                    out.write(value, start, i - start);
+                }
+                out.write(entity);
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            out.write(value, start, length - start);
+        }
+    }
+
+    public static void writeXmlEscaped(@NotNull PrintWriter out, @NotNull char[] chars, int offset, int length) {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            String entity = getXmlEntity(chars[i]);
+            if (entity != null) {
+                if (i > start) {
+                    out.write(chars, start, i - start);
+                }
+                out.write(entity);
+                start = i + 1;
+            }
+        }
+        if (start < end) {
+            out.write(chars, start, end - start);
+        }
+    }
+
+    /**
+     * Writes value with each quote character doubled (CSV escaping).
+     */
+    public static void writeQuotesDoubled(@NotNull PrintWriter out, @NotNull String value, char quoteChar) {
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == quoteChar) {
+                // Write the run including quote, next run starts from the same quote
+                out.write(value, start, i + 1 - start);
+                start = i;
+            }
+        }
+        if (start < length) {
+            out.write(value, start, length - start);
+        }
+    }
+
+    public static void writeQuotesDoubled(@NotNull PrintWriter out, @NotNull char[] chars, int offset, int length, char quoteChar) {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            if (chars[i] == quoteChar) {
+                out.write(chars, start, i + 1 - start);
+                start = i;
+            }
+        }
+        if (start < end) {
+            out.write(chars, start, end - start);
+        }
+    }
+
+    private static void writeJsonEscape(@NotNull PrintWriter out, char c) {
+        switch (c) {
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            case '\f' -> out.write("\\f");
+            case '\b' -> out.write("\\b");
+            case '"', '\\', '/' -> {
+                out.write('\\');
+                out.write(c);
+            }
+            default -> {
+                out.write("\\u00");
+                out.write(HEX_DIGITS[(c >> 4) & 0xF]);
+                out.write(HEX_DIGITS[c & 0xF]);
+            }
+        }
+    }
+
+    private static String getXmlEntity(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            default -> null;
+        };
+    }
+
+}
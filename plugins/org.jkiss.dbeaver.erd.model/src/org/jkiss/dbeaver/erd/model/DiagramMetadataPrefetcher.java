@@ -0,0 +1,145 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.model;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads metadata of diagram entities before diagram entities are created.
+ * <p>
+ * Entities are grouped by their containers (schemas, catalogs). For each container with enough entities
+ * the whole structure (columns, keys, foreign keys, indexes) is read with owner-level cache loads,
+ * instead of per-entity catalog queries issued later by entity attributes and associations reading.
+ * Containers of different data sources are processed in parallel, containers of the same data source
+ * are processed sequentially because they share the same metadata connection.
+ */
+public class DiagramMetadataPrefetcher {
+
+    private static final Log log = Log.getLog(DiagramMetadataPrefetcher.class);
+
+    // Minimal number of diagram entities in a container to make full container structure read worthwhile
+    private static final int MIN_CONTAINER_ENTITIES = 10;
+    // Metadata kinds read per entity otherwise: attributes, constraints, foreign keys, indexes
+    private static final int METADATA_KINDS = 4;
+    private static final int MAX_PARALLEL_JOBS = 4;
+    private static final int JOIN_TIMEOUT = 100;
+
+    private final AtomicInteger prefetchedEntities = new AtomicInteger();
+    private final AtomicInteger prefetchedContainers = new AtomicInteger();
+
+    public void prefetch(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSEntity> entities) {
+        Map<DBSObjectContainer, Integer> containerEntities = new LinkedHashMap<>();
+        for (DBSEntity entity : entities) {
+            DBSObject parent = entity.getParentObject();
+            if (parent instanceof DBSObjectContainer container) {
+                containerEntities.merge(container, 1, Integer::sum);
+            }
+        }
+        Map<DBPDataSource, List<DBSObjectContainer>> dataSourceContainers = new LinkedHashMap<>();
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containerEntities.entrySet()) {
+            if (entry.getValue() < MIN_CONTAINER_ENTITIES || entry.getKey().getDataSource() == null) {
+                continue;
+            }
+            dataSourceContainers.computeIfAbsent(entry.getKey().getDataSource(), ds -> new ArrayList<>()).add(entry.getKey());
+        }
+        if (dataSourceContainers.isEmpty()) {
+            return;
+        }
+
+        monitor.subTask("Prefetch diagram metadata");
+        JobGroup group = new JobGroup(
+            "Diagram metadata prefetch",
+            Math.min(MAX_PARALLEL_JOBS, dataSourceContainers.size()),
+            dataSourceContainers.size());
+        for (Map.Entry<DBPDataSource, List<DBSObjectContainer>> entry : dataSourceContainers.entrySet()) {
+            AbstractJob job = new AbstractJob("Prefetch metadata of " + entry.getKey().getName()) {
+                {
+                    setSystem(true);
+                    setUser(false);
+                }
+
+                @Override
+                protected IStatus run(DBRProgressMonitor jobMonitor) {
+                    for (DBSObjectContainer container : entry.getValue()) {
+                        if (jobMonitor.isCanceled() || monitor.isCanceled()) {
+                            break;
+                        }
+                        prefetchContainer(jobMonitor, container, containerEntities.get(container));
+                    }
+                    return Status.OK_STATUS;
+                }
+            };
+            job.setJobGroup(group);
+            job.schedule();
+        }
+        try {
+            while (!group.join(JOIN_TIMEOUT, new NullProgressMonitor())) {
+                if (monitor.isCanceled()) {
+                    group.cancel();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Jobs which didn't finish are canceled, caller sees the interruption
+            group.cancel();
+            Thread.currentThread().interrupt();
+        }
+
+        log.debug("Diagram metadata prefetched for " + prefetchedEntities.get() + " entities in " +
+            prefetchedContainers.get() + " containers (about " + getSavedRoundTrips() + " catalog queries saved)");
+    }
+
+    /**
+     * Estimated number of catalog queries which would be issued by per-entity metadata reading.
+     */
+    public int getSavedRoundTrips() {
+        return Math.max(0, (prefetchedEntities.get() - prefetchedContainers.get()) * METADATA_KINDS);
+    }
+
+    public int getPrefetchedEntities() {
+        return prefetchedEntities.get();
+    }
+
+    private void prefetchContainer(@NotNull DBRProgressMonitor monitor, @NotNull DBSObjectContainer container, int entityCount) {
+        monitor.subTask("Read structure of " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI));
+        try {
+            container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+            prefetchedEntities.addAndGet(entityCount);
+            prefetchedContainers.incrementAndGet();
+        } catch (Exception e) {
+            // Not fatal, entities will read their metadata one by one
+            log.debug("Error prefetching structure of '" + container.getName() + "': " + e.getMessage());
+        }
+    }
+
+}
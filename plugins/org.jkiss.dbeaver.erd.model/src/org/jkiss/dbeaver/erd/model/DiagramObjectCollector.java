@@ -147,6 +147,8 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        // Read columns, keys and indexes for whole containers before entities are created
+        new DiagramMetadataPrefetcher().prefetch(monitor, tables);
         for (DBSEntity table : tables) {
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
@@ -83,6 +83,12 @@ public class ERDUIConstants {
     public static final int DEFAULT_NOTE_BORDER_WIDTH = 1;
     public static final int DEFAULT_ENTITY_BORDER_WIDTH = 2;
 
+    // Diagrams with more entities skip layout animation and place new entities without full relayout
+    public static final int LARGE_DIAGRAM_ENTITY_COUNT = 500;
+    // Below this zoom level entities are painted without attributes
+    public static final double SIMPLIFIED_RENDERING_ZOOM = 0.5;
+    public static final int INCREMENTAL_LAYOUT_SPACING = 40;
+
     public static final String ATTR_ERD_NOTATION = "notation"; // $NON-NLS-N$
     public static final String ATTR_ERD_SUPPORT_ATTRIBUTES_ASSOCIATION = "supportAttributesAssociation"; //$NON-NLS-1$
     public static final String ATTR_ERD_ROUTER = "router"; //$NON-NLS-1$
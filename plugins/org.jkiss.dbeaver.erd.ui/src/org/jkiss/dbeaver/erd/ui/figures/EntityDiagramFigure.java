@@ -27,14 +27,21 @@ import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.text.FlowPage;
 import org.eclipse.draw2d.text.TextFlow;
 import org.eclipse.jface.resource.JFaceResources;
+import org.jkiss.dbeaver.erd.ui.ERDUIConstants;
 import org.jkiss.dbeaver.erd.ui.editor.ERDGraphicalViewer;
 import org.jkiss.dbeaver.erd.ui.editor.ERDThemeSettings;
+import org.jkiss.dbeaver.erd.ui.layout.ERDSpatialIndex;
 import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
 import org.jkiss.utils.CommonUtils;
 
+import java.util.*;
+
 /**
  * Figure which represents the whole diagram - the view which corresponds to the
- * Schema model object
+ * Schema model object.
+ * <p>
+ * Large diagrams paint only figures which intersect the visible (clip) area. Figures are looked up
+ * in a spatial index, so scrolling doesn't iterate over all entities of the diagram.
  *
  * @author Serge Rider
  */
@@ -43,6 +50,16 @@ public class EntityDiagramFigure extends FreeformLayer {
     private DiagramPart part;
     private FlowPage hintFigure;
 
+    // Index of children bounds, used to cull figures outside of the visible area
+    private final ERDSpatialIndex<IFigure> childrenIndex = new ERDSpatialIndex<>();
+    private final Map<IFigure, Integer> childrenOrder = new IdentityHashMap<>();
+    private boolean childrenIndexValid;
+    private final FigureListener childMoveListener = figure -> {
+        if (childrenIndexValid) {
+            childrenIndex.add(figure, figure.getBounds());
+        }
+    };
+
     public EntityDiagramFigure(DiagramPart diagramPart) {
         this.part = diagramPart;
         hintFigure = new FlowPage();
@@ -95,5 +112,48 @@ public class EntityDiagramFigure extends FreeformLayer {
             hintFigure = null;
         }
         super.add(child, constraint, index);
+        child.addFigureListener(childMoveListener);
+        childrenIndexValid = false;
+    }
+
+    @Override
+    public void remove(IFigure child) {
+        child.removeFigureListener(childMoveListener);
+        super.remove(child);
+        childrenIndexValid = false;
+    }
+
+    @Override
+    protected void paintChildren(Graphics graphics) {
+        List<?> children = getChildren();
+        if (children.size() < ERDUIConstants.LARGE_DIAGRAM_ENTITY_COUNT) {
+            super.paintChildren(graphics);
+            return;
+        }
+        if (!childrenIndexValid) {
+            rebuildChildrenIndex(children);
+        }
+        Rectangle clip = graphics.getClip(new Rectangle());
+        List<IFigure> visibleChildren = new ArrayList<>(childrenIndex.query(clip));
+        // Keep z-order of children
+        visibleChildren.sort(Comparator.comparingInt(childrenOrder::get));
+        for (IFigure child : visibleChildren) {
+            if (child.isVisible()) {
+                graphics.clipRect(child.getBounds());
+                child.paint(graphics);
+                graphics.restoreState();
+            }
+        }
+    }
+
+    private void rebuildChildrenIndex(List<?> children) {
+        childrenIndex.clear();
+        childrenOrder.clear();
+        for (int i = 0; i < children.size(); i++) {
+            IFigure child = (IFigure) children.get(i);
+            childrenIndex.add(child, child.getBounds());
+            childrenOrder.put(child, i);
+        }
+        childrenIndexValid = true;
     }
 }
\ No newline at end of file
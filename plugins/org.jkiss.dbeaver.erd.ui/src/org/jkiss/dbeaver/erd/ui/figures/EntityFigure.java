@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.erd.ui.figures;
 
 import org.eclipse.draw2d.*;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
 import org.jkiss.code.NotNull;
@@ -246,6 +247,26 @@ public class EntityFigure extends Figure {
         return attributeFigure;
     }
 
+    /**
+     * Level of detail: zoomed out diagram shows only entity names, attribute figures are not painted.
+     */
+    @Override
+    protected void paintChildren(Graphics graphics) {
+        if (graphics.getAbsoluteScale() >= ERDUIConstants.SIMPLIFIED_RENDERING_ZOOM) {
+            super.paintChildren(graphics);
+            return;
+        }
+        if (nameLabel.isVisible() && nameLabel.intersects(graphics.getClip(new Rectangle()))) {
+            graphics.pushState();
+            try {
+                graphics.clipRect(nameLabel.getBounds());
+                nameLabel.paint(graphics);
+            } finally {
+                graphics.popState();
+            }
+        }
+    }
+
     // Workaround: attribute figures aren't direct children of entity figure
     @Override
     public void add(IFigure figure, Object constraint, int index) {
@@ -88,8 +88,9 @@ public class DelegatingLayoutManager implements LayoutManager {
 
                     } else {
 
-                        // we first have to set the constraint data
-                        if (diagram.setTableFigureBounds(true)) {
+                        // we first have to set the constraint data.
+                        // Nodes added to already arranged diagram are placed incrementally
+                        if (diagram.setTableFigureBounds(true) || (diagram.placeNewNodes() && diagram.setTableFigureBounds(true))) {
                             //we successfully set bounds for all the existing
                             // tables so we can start using xyLayout immediately
                             setLayoutManager(container, xyLayoutManager);
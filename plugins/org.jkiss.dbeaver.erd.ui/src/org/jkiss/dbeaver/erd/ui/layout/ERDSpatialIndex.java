@@ -0,0 +1,167 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+
+/**
+ * Uniform grid spatial index of diagram elements bounds.
+ * Each element is registered in all grid cells its bounds intersect,
+ * so area queries only check elements of the cells covered by the area.
+ */
+public class ERDSpatialIndex<T> {
+
+    public static final int DEFAULT_CELL_SIZE = 400;
+
+    private final int cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private final Map<T, Rectangle> elementBounds = new IdentityHashMap<>();
+
+    public ERDSpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public ERDSpatialIndex(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public int size() {
+        return elementBounds.size();
+    }
+
+    public void add(@NotNull T element, @NotNull Rectangle bounds) {
+        remove(element);
+        Rectangle copy = bounds.getCopy();
+        elementBounds.put(element, copy);
+        forEachCell(copy, key -> cells.computeIfAbsent(key, k -> new ArrayList<>()).add(element));
+    }
+
+    public void remove(@NotNull T element) {
+        Rectangle bounds = elementBounds.remove(element);
+        if (bounds == null) {
+            return;
+        }
+        forEachCell(bounds, key -> {
+            List<T> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(element);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        cells.clear();
+        elementBounds.clear();
+    }
+
+    /**
+     * Returns elements which bounds intersect specified area
+     */
+    @NotNull
+    public Set<T> query(@NotNull Rectangle area) {
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        forEachCell(area, key -> {
+            List<T> cell = cells.get(key);
+            if (cell != null) {
+                for (T element : cell) {
+                    if (!result.contains(element) && elementBounds.get(element).intersects(area)) {
+                        result.add(element);
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    public boolean intersectsAny(@NotNull Rectangle area) {
+        return !query(area).isEmpty();
+    }
+
+    /**
+     * Bounds of all indexed elements or empty rectangle
+     */
+    @NotNull
+    public Rectangle getExtent() {
+        Rectangle extent = null;
+        for (Rectangle bounds : elementBounds.values()) {
+            extent = extent == null ? bounds.getCopy() : extent.union(bounds);
+        }
+        return extent == null ? new Rectangle() : extent;
+    }
+
+    /**
+     * Finds location for an element of specified size which doesn't overlap with indexed elements.
+     * Search goes through rings of grid cells around the preferred location.
+     *
+     * @param near    preferred location
+     * @param size    element size
+     * @param spacing minimal distance to other elements
+     */
+    @NotNull
+    public Point findFreeLocation(@NotNull Point near, @NotNull Dimension size, int spacing) {
+        int stepX = Math.max(size.width + spacing, 1);
+        int stepY = Math.max(size.height + spacing, 1);
+        Rectangle extent = getExtent();
+        int maxRing = Math.max(extent.width / stepX, extent.height / stepY) + 2;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    if (Math.abs(dx) != ring && Math.abs(dy) != ring) {
+                        // Inner cells were checked on previous rings
+                        continue;
+                    }
+                    int x = near.x + dx * stepX;
+                    int y = near.y + dy * stepY;
+                    if (x < 0 || y < 0) {
+                        continue;
+                    }
+                    Rectangle candidate = new Rectangle(x - spacing, y - spacing, size.width + spacing * 2, size.height + spacing * 2);
+                    if (!intersectsAny(candidate)) {
+                        return new Point(x, y);
+                    }
+                }
+            }
+        }
+        // Everything around is occupied - put it to the right of the diagram
+        return new Point(extent.right() + spacing, Math.max(near.y, 0));
+    }
+
+    private void forEachCell(@NotNull Rectangle bounds, @NotNull CellVisitor visitor) {
+        int x1 = Math.floorDiv(bounds.x, cellSize);
+        int y1 = Math.floorDiv(bounds.y, cellSize);
+        int x2 = Math.floorDiv(bounds.x + Math.max(bounds.width, 1) - 1, cellSize);
+        int y2 = Math.floorDiv(bounds.y + Math.max(bounds.height, 1) - 1, cellSize);
+        for (int x = x1; x <= x2; x++) {
+            for (int y = y1; y <= y2; y++) {
+                visitor.visit(((long) x << 32) | (y & 0xffffffffL));
+            }
+        }
+    }
+
+    private interface CellVisitor {
+        void visit(long cellKey);
+    }
+
+}
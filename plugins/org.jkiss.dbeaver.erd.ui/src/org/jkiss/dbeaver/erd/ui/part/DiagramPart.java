@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.erd.ui.part;
 import org.eclipse.draw2d.ConnectionLayer;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.*;
@@ -41,6 +42,7 @@ import org.jkiss.dbeaver.erd.ui.figures.EntityDiagramFigure;
 import org.jkiss.dbeaver.erd.ui.internal.ERDUIActivator;
 import org.jkiss.dbeaver.erd.ui.internal.ERDUIMessages;
 import org.jkiss.dbeaver.erd.ui.layout.DelegatingLayoutManager;
+import org.jkiss.dbeaver.erd.ui.layout.ERDSpatialIndex;
 import org.jkiss.dbeaver.erd.ui.layout.GraphAnimation;
 import org.jkiss.dbeaver.erd.ui.layout.GraphLayoutAuto;
 import org.jkiss.dbeaver.erd.ui.model.EntityDiagram;
@@ -70,7 +72,7 @@ public class DiagramPart extends PropertyAwarePart {
 
         @Override
         public void stackChanged(CommandStackEvent commandStackEvent) {
-            if (delegatingLayoutManager.getActiveLayoutManager() instanceof GraphLayoutAuto) {
+            if (delegatingLayoutManager.getActiveLayoutManager() instanceof GraphLayoutAuto && !isLargeDiagram()) {
                 if (!GraphAnimation.captureLayout(getFigure())) {
                     return;
                 }
@@ -307,6 +309,89 @@ public class DiagramPart extends PropertyAwarePart {
 
     }
 
+    /**
+     * Large diagrams are not animated and new entities are placed without full diagram relayout
+     */
+    public boolean isLargeDiagram() {
+        return getChildren().size() >= ERDUIConstants.LARGE_DIAGRAM_ENTITY_COUNT;
+    }
+
+    /**
+     * Incremental layout: places nodes which have no bounds yet into free space near their related nodes.
+     * Nodes which already have bounds stay where they are.
+     *
+     * @return false if there are no new nodes or no placed nodes yet (so full layout is required)
+     */
+    public boolean placeNewNodes() {
+        List<NodePart> placedNodes = new ArrayList<>();
+        List<NodePart> newNodes = new ArrayList<>();
+        for (Object child : getChildren()) {
+            if (child instanceof NodePart nodePart) {
+                if (nodePart.getBounds() == null) {
+                    newNodes.add(nodePart);
+                } else {
+                    placedNodes.add(nodePart);
+                }
+            }
+        }
+        if (newNodes.isEmpty() || placedNodes.isEmpty()) {
+            // Nothing to place or the diagram was never arranged - full layout is required
+            return false;
+        }
+        ERDSpatialIndex<NodePart> spatialIndex = new ERDSpatialIndex<>();
+        for (NodePart nodePart : placedNodes) {
+            spatialIndex.add(nodePart, getNodeBounds(nodePart));
+        }
+        for (NodePart nodePart : newNodes) {
+            IFigure figure = nodePart.getFigure();
+            if (figure == null) {
+                return false;
+            }
+            Dimension size = figure.getPreferredSize();
+            Point near = getRelatedNodeLocation(nodePart);
+            if (near == null) {
+                Rectangle extent = spatialIndex.getExtent();
+                near = new Point(extent.right() + ERDUIConstants.INCREMENTAL_LAYOUT_SPACING, extent.y);
+            }
+            Point location = spatialIndex.findFreeLocation(near, size, ERDUIConstants.INCREMENTAL_LAYOUT_SPACING);
+            Rectangle bounds = new Rectangle(location, size);
+            nodePart.setBounds(bounds);
+            spatialIndex.add(nodePart, bounds);
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Point getRelatedNodeLocation(@NotNull NodePart nodePart) {
+        List<Object> connections = new ArrayList<>(nodePart.getSourceConnections());
+        connections.addAll(nodePart.getTargetConnections());
+        for (Object connection : connections) {
+            if (connection instanceof AbstractConnectionEditPart connectionPart) {
+                EditPart related = connectionPart.getSource() == nodePart ? connectionPart.getTarget() : connectionPart.getSource();
+                if (related instanceof AttributePart attributePart) {
+                    related = attributePart.getParent();
+                }
+                if (related instanceof NodePart relatedNode && relatedNode.getBounds() != null) {
+                    return relatedNode.getBounds().getBottomRight();
+                }
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private static Rectangle getNodeBounds(@NotNull NodePart nodePart) {
+        Rectangle bounds = nodePart.getBounds().getCopy();
+        if (bounds.width <= 0 || bounds.height <= 0) {
+            IFigure figure = nodePart.getFigure();
+            if (figure != null) {
+                Dimension size = figure.getPreferredSize();
+                bounds.setSize(size);
+            }
+        }
+        return bounds;
+    }
+
     public void changeLayout()
     {
         //Boolean layoutType = (Boolean) evt.getNewValue();
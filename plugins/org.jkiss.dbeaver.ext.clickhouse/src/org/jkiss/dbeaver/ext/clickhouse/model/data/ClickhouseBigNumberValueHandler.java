@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.ext.clickhouse.model.data;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataBatch;
 import org.jkiss.dbeaver.model.data.DBDFormatSettings;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -32,6 +34,13 @@ public class ClickhouseBigNumberValueHandler extends JDBCNumberValueHandler {
         super(type, formatSettings);
     }
 
+    @NotNull
+    @Override
+    public DBDDataBatch.ColumnKind getBatchColumnKind(@NotNull DBSTypedObject type) {
+        // Values are read as big decimals
+        return DBDDataBatch.ColumnKind.OBJECT;
+    }
+
     @Nullable
     @Override
     protected Object fetchColumnValue(
@@ -16,7 +16,9 @@
  */
 package org.jkiss.dbeaver.ext.db2.data;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataBatch;
 import org.jkiss.dbeaver.model.data.DBDFormatSettings;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -40,6 +42,13 @@ public class DB2DecFloatValueHandler extends JDBCNumberValueHandler {
         super(type, formatSettings);
     }
 
+    @NotNull
+    @Override
+    public DBDDataBatch.ColumnKind getBatchColumnKind(@NotNull DBSTypedObject type) {
+        // Values are read as big decimals
+        return DBDDataBatch.ColumnKind.OBJECT;
+    }
+
     @Nullable
     @Override
     protected Object fetchColumnValue(DBCSession session, JDBCResultSet resultSet, DBSTypedObject type, int index) throws DBCException, SQLException {
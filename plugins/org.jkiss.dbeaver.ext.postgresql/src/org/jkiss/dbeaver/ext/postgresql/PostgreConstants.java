@@ -53,6 +53,9 @@ public class PostgreConstants {
     public static final String PROP_DD_PLAIN_STRING = "postgresql.dd.plain.string";
     public static final String PROP_DD_TAG_STRING = "postgresql.dd.tag.string";
     public static final String PROP_SHOW_DATABASE_STATISTICS = "show-database-statistics";
+    public static final String PROP_BULK_METADATA_MAX_TABLES = "bulk-metadata-max-tables";
+    // Max total number of tables in schemas which structure is read with database-level queries
+    public static final int DEFAULT_BULK_METADATA_MAX_TABLES = 20000;
 
     public static final String PROP_SSL = "ssl";
 
@@ -909,6 +909,15 @@ public class PostgreDataSource extends JDBCDataSource implements DBSInstanceCont
             getContainer().getActualConnectionConfiguration().getProviderProperty(PostgreConstants.PROP_READ_KEYS_WITH_COLUMNS));
     }
 
+    /**
+     * Max total number of tables for database-level structure reading. Zero disables it.
+     */
+    public int getBulkMetadataMaxTables() {
+        return CommonUtils.toInt(
+            getContainer().getActualConnectionConfiguration().getProviderProperty(PostgreConstants.PROP_BULK_METADATA_MAX_TABLES),
+            PostgreConstants.DEFAULT_BULK_METADATA_MAX_TABLES);
+    }
+
     public boolean isNeedToReplaceLegacyTimezone() {
         return CommonUtils.toBoolean(
             getContainer().getActualConnectionConfiguration().getProviderProperty(PostgreConstants.PROP_REPLACE_LEGACY_TIMEZONE));
@@ -847,7 +847,20 @@ public class PostgreDatabase extends JDBCRemoteInstance
 
     @Override
     public void cacheStructure(@NotNull DBRProgressMonitor monitor, int scope) throws DBException {
+        if (!PostgreSchemaStructureLoader.isBulkScope(scope)) {
+            // Tables are read per schema on demand, reading them in all schemas is too expensive
+            return;
+        }
+        cacheSchemasStructure(monitor, getSchemas(monitor), scope);
+    }
 
+    /**
+     * Reads structure of specified schemas.
+     * Columns, constraints and indexes of all schemas are read with one query per metadata kind,
+     * unless total number of tables exceeds {@link PostgreDataSource#getBulkMetadataMaxTables()}.
+     */
+    public void cacheSchemasStructure(@NotNull DBRProgressMonitor monitor, @NotNull Collection<PostgreSchema> schemas, int scope) throws DBException {
+        new PostgreSchemaStructureLoader(this).loadStructure(monitor, schemas, scope);
     }
 
     @NotNull
@@ -448,7 +448,7 @@ public class PostgreSchema implements
         }
     }
 
-    private void cacheTableInheritance(DBRProgressMonitor monitor) throws DBException {
+    void cacheTableInheritance(DBRProgressMonitor monitor) throws DBException {
         for (PostgreTable table : this.getTables(monitor)) {
             table.resetSuperInheritance();
         }
@@ -889,21 +889,8 @@ public class PostgreSchema implements
         @Override
         protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @Nullable PostgreTableBase forTable)
             throws SQLException {
-            boolean supportsSequences = container.getDataSource().getServerType().supportsSequences();
-
             JDBCPreparedStatement dbStat = session.prepareStatement(
-                "SELECT c.relname,a.*,pg_catalog.pg_get_expr(ad.adbin, ad.adrelid, true) as def_value,dsc.description" +
-                    getTableColumnsQueryExtraParameters(container.getSchema(), forTable) +
-                    (supportsSequences ? ",dep.objid" : "") +
-                    "\nFROM pg_catalog.pg_attribute a" +
-                    "\nINNER JOIN pg_catalog.pg_class c ON (a.attrelid=c.oid)" +
-                    "\nLEFT OUTER JOIN pg_catalog.pg_attrdef ad ON (a.attrelid=ad.adrelid AND a.attnum = ad.adnum)" +
-                    "\nLEFT OUTER JOIN pg_catalog.pg_description dsc ON (c.oid=dsc.objoid AND a.attnum = dsc.objsubid)" +
-                    (supportsSequences ? "\nLEFT OUTER JOIN pg_depend dep on dep.refobjid = a.attrelid AND dep.deptype = 'i' " +
-                        "and dep.refobjsubid = a.attnum and dep.classid = dep.refclassid" : "") +
-                    "\nWHERE NOT a.attisdropped AND c.relkind not in ('i','I','c')" +
-                    (forTable != null ? " AND c.oid=?" : " AND c.relnamespace=?") +
-                    "\nORDER BY a.attnum");
+                getChildrenQuery(container, forTable, forTable != null ? "c.oid=?" : "c.relnamespace=?"));
             if (forTable != null) {
                 dbStat.setLong(1, forTable.getObjectId());
             } else {
@@ -912,6 +899,27 @@ public class PostgreSchema implements
             return dbStat;
         }
 
+        /**
+         * Columns query. Condition filters pg_class rows (alias c).
+         * Also used by database-level bulk loader to read columns of several schemas at once.
+         */
+        @NotNull
+        String getChildrenQuery(@NotNull PostgreTableContainer container, @Nullable PostgreTableBase forTable, @NotNull String condition) {
+            boolean supportsSequences = container.getDataSource().getServerType().supportsSequences();
+            return "SELECT c.relname,c.relnamespace,a.*,pg_catalog.pg_get_expr(ad.adbin, ad.adrelid, true) as def_value,dsc.description" +
+                getTableColumnsQueryExtraParameters(container.getSchema(), forTable) +
+                (supportsSequences ? ",dep.objid" : "") +
+                "\nFROM pg_catalog.pg_attribute a" +
+                "\nINNER JOIN pg_catalog.pg_class c ON (a.attrelid=c.oid)" +
+                "\nLEFT OUTER JOIN pg_catalog.pg_attrdef ad ON (a.attrelid=ad.adrelid AND a.attnum = ad.adnum)" +
+                "\nLEFT OUTER JOIN pg_catalog.pg_description dsc ON (c.oid=dsc.objoid AND a.attnum = dsc.objsubid)" +
+                (supportsSequences ? "\nLEFT OUTER JOIN pg_depend dep on dep.refobjid = a.attrelid AND dep.deptype = 'i' " +
+                    "and dep.refobjsubid = a.attnum and dep.classid = dep.refclassid" : "") +
+                "\nWHERE NOT a.attisdropped AND c.relkind not in ('i','I','c')" +
+                " AND " + condition +
+                "\nORDER BY a.attnum";
+        }
+
         @Override
         protected PostgreTableColumn fetchChild(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @NotNull PostgreTableBase table, @NotNull JDBCResultSet dbResult)
             throws SQLException, DBException {
@@ -940,22 +948,8 @@ public class PostgreSchema implements
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forParent) throws SQLException {
-            StringBuilder sql = new StringBuilder(
-                "SELECT c.oid,c.*,t.relname as tabrelname,rt.relnamespace as refnamespace,d.description" +
-                    (!getDataSource().getServerType().supportsPGConstraintExpressionColumn() ? ", null as consrc_copy" :
-                        ", case when c.contype='c' then \"substring\"(pg_get_constraintdef(c.oid), 7) else null end consrc_copy") +
-                    "\nFROM pg_catalog.pg_constraint c" +
-                    "\nINNER JOIN pg_catalog.pg_class t ON t.oid=c.conrelid" +
-                    "\nLEFT OUTER JOIN pg_catalog.pg_class rt ON rt.oid=c.confrelid" +
-                    "\nLEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=c.oid AND d.objsubid=0 AND d.classoid='pg_constraint'::regclass" +
-                    "\nWHERE ");
-            if (forParent == null) {
-                sql.append("t.relnamespace=?");
-            } else {
-                sql.append("c.conrelid=?");
-            }
-            sql.append("\nORDER BY c.oid");
-            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
+            JDBCPreparedStatement dbStat = session.prepareStatement(
+                getObjectsQuery(forParent == null ? "t.relnamespace=?" : "c.conrelid=?"));
             if (forParent == null) {
                 dbStat.setLong(1, container.getSchema().getObjectId());
             } else {
@@ -964,6 +958,23 @@ public class PostgreSchema implements
             return dbStat;
         }
 
+        /**
+         * Constraints query. Condition filters pg_constraint (alias c) and its table pg_class (alias t) rows.
+         * Also used by database-level bulk loader to read constraints of several schemas at once.
+         */
+        @NotNull
+        String getObjectsQuery(@NotNull String condition) {
+            return "SELECT c.oid,c.*,t.relname as tabrelname,t.relnamespace as tabrelnamespace,rt.relnamespace as refnamespace,d.description" +
+                (!getDataSource().getServerType().supportsPGConstraintExpressionColumn() ? ", null as consrc_copy" :
+                    ", case when c.contype='c' then \"substring\"(pg_get_constraintdef(c.oid), 7) else null end consrc_copy") +
+                "\nFROM pg_catalog.pg_constraint c" +
+                "\nINNER JOIN pg_catalog.pg_class t ON t.oid=c.conrelid" +
+                "\nLEFT OUTER JOIN pg_catalog.pg_class rt ON rt.oid=c.confrelid" +
+                "\nLEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=c.oid AND d.objsubid=0 AND d.classoid='pg_constraint'::regclass" +
+                "\nWHERE " + condition +
+                "\nORDER BY c.oid";
+        }
+
         @Nullable
         @Override
         protected PostgreTableConstraintBase<?> fetchObject(JDBCSession session, PostgreTableContainer container, PostgreTableBase table, String childName, JDBCResultSet resultSet) throws SQLException, DBException {
@@ -1095,6 +1106,22 @@ public class PostgreSchema implements
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forTable)
             throws SQLException {
+            JDBCPreparedStatement dbStat = session.prepareStatement(
+                getObjectsQuery(forTable != null ? "i.indrelid=?" : "c.relnamespace=?"));
+            if (forTable != null) {
+                dbStat.setLong(1, forTable.getObjectId());
+            } else {
+                dbStat.setLong(1, PostgreSchema.this.getObjectId());
+            }
+            return dbStat;
+        }
+
+        /**
+         * Indexes query. Condition filters pg_index (alias i) and index pg_class (alias c) rows.
+         * Also used by database-level bulk loader to read indexes of several schemas at once.
+         */
+        @NotNull
+        String getObjectsQuery(@NotNull String condition) {
             boolean supportsExprIndex = getDataSource().isServerVersionAtLeast(7, 4);
             StringBuilder sql = new StringBuilder();
             sql.append(
@@ -1113,21 +1140,10 @@ public class PostgreSchema implements
                     "\nINNER JOIN pg_catalog.pg_class tc ON tc.oid=i.indrelid" +
                     "\nLEFT OUTER JOIN pg_catalog.pg_description dsc ON i.indexrelid=dsc.objoid" +
                     "\nWHERE ");
-            if (forTable != null) {
-                sql.append(" i.indrelid=?");
-            } else {
-                sql.append(" c.relnamespace=?");
-            }
+            sql.append(" ").append(condition);
             //sql.append(" AND NOT i.indisprimary");
             sql.append(" ORDER BY tabrelname, c.relname");
-
-            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
-            if (forTable != null) {
-                dbStat.setLong(1, forTable.getObjectId());
-            } else {
-                dbStat.setLong(1, PostgreSchema.this.getObjectId());
-            }
-            return dbStat;
+            return sql.toString();
         }
 
         @Nullable
@@ -0,0 +1,220 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBDatabaseException;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCacheRowLoader;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reads columns, constraints and indexes of several schemas with one query per metadata kind
+ * and distributes rows over per-schema caches.
+ * <p>
+ * Schemas with too many tables in total are read one by one (with regular per-schema queries)
+ * to avoid huge result sets.
+ */
+class PostgreSchemaStructureLoader {
+
+    private static final Log log = Log.getLog(PostgreSchemaStructureLoader.class);
+
+    private final PostgreDatabase database;
+
+    PostgreSchemaStructureLoader(@NotNull PostgreDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Returns true if scope has metadata which is read in bulk. Tables are read per schema anyway.
+     */
+    static boolean isBulkScope(int scope) {
+        return (scope & (DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS)) != 0;
+    }
+
+    void loadStructure(@NotNull DBRProgressMonitor monitor, @NotNull Collection<PostgreSchema> schemas, int scope) throws DBException {
+        List<PostgreSchema> bulkSchemas = new ArrayList<>();
+        for (PostgreSchema schema : schemas) {
+            if (schema.isPersisted() && !schema.isUtility()) {
+                bulkSchemas.add(schema);
+            }
+        }
+        if (!isBulkScope(scope) || bulkSchemas.size() < 2) {
+            cacheSchemasStructure(monitor, bulkSchemas, scope);
+            return;
+        }
+        int maxTables = database.getDataSource().getBulkMetadataMaxTables();
+        if (maxTables <= 0) {
+            cacheSchemasStructure(monitor, bulkSchemas, scope);
+            return;
+        }
+
+        int totalTables = 0;
+        for (PostgreSchema schema : bulkSchemas) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            monitor.subTask("Cache tables of " + schema.getName());
+            totalTables += schema.getTableCache().getAllObjects(monitor, schema).size();
+            if (totalTables > maxTables) {
+                log.debug("Too many tables (more than " + maxTables + ") in " + bulkSchemas.size() + " schemas. Read schemas structure one by one");
+                cacheSchemasStructure(monitor, bulkSchemas, scope);
+                return;
+            }
+        }
+        loadBulk(monitor, bulkSchemas, scope);
+    }
+
+    /**
+     * Reads columns, constraints and indexes of schemas which tables are already cached
+     */
+    void loadBulk(@NotNull DBRProgressMonitor monitor, @NotNull List<PostgreSchema> bulkSchemas, int scope) throws DBException {
+        if ((scope & DBSObjectContainer.STRUCT_ATTRIBUTES) != 0) {
+            List<PostgreSchema> columnSchemas = filterSchemas(bulkSchemas, s -> !s.getTableCache().isAllChildrenCached());
+            if (!columnSchemas.isEmpty()) {
+                monitor.subTask("Cache table columns");
+                PostgreSchema schema = columnSchemas.get(0);
+                loadRows(
+                    monitor,
+                    "Load table columns",
+                    schema.getTableCache().getChildrenQuery(schema, null, "c.relnamespace IN (" + getSchemaIds(columnSchemas) + ")"),
+                    "relnamespace",
+                    columnSchemas,
+                    s -> s.getTableCache().createChildrenLoader(monitor, s));
+            }
+        }
+        if ((scope & DBSObjectContainer.STRUCT_ASSOCIATIONS) != 0) {
+            List<PostgreSchema> constraintSchemas = filterSchemas(bulkSchemas, s -> !s.getConstraintCache().isFullyCached());
+            if (!constraintSchemas.isEmpty()) {
+                monitor.subTask("Cache constraints");
+                loadRows(
+                    monitor,
+                    "Load constraints",
+                    constraintSchemas.get(0).getConstraintCache().getObjectsQuery("t.relnamespace IN (" + getSchemaIds(constraintSchemas) + ")"),
+                    "tabrelnamespace",
+                    constraintSchemas,
+                    s -> s.getConstraintCache().createObjectsLoader(monitor, s));
+            }
+            List<PostgreSchema> indexSchemas = filterSchemas(bulkSchemas, s -> s.getIndexCache() != null && !s.getIndexCache().isFullyCached());
+            if (!indexSchemas.isEmpty()) {
+                monitor.subTask("Cache indexes");
+                loadRows(
+                    monitor,
+                    "Load indexes",
+                    indexSchemas.get(0).getIndexCache().getObjectsQuery("c.relnamespace IN (" + getSchemaIds(indexSchemas) + ")"),
+                    "relnamespace",
+                    indexSchemas,
+                    s -> s.getIndexCache().createObjectsLoader(monitor, s));
+            }
+            if (database.getDataSource().getServerType().supportsInheritance()) {
+                // Inheritance is read per schema
+                for (PostgreSchema schema : bulkSchemas) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    monitor.subTask("Cache inheritance of " + schema.getName());
+                    try {
+                        schema.cacheTableInheritance(monitor);
+                    } catch (DBException e) {
+                        log.error(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadRows(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String taskName,
+        @NotNull String query,
+        @NotNull String schemaIdColumn,
+        @NotNull List<PostgreSchema> schemas,
+        @NotNull LoaderFactory loaderFactory
+    ) throws DBException {
+        Map<Long, JDBCCacheRowLoader> loaders = new HashMap<>();
+        for (PostgreSchema schema : schemas) {
+            loaders.put(schema.getObjectId(), loaderFactory.createLoader(schema));
+        }
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, database, taskName)) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(query)) {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        if (monitor.isCanceled()) {
+                            return;
+                        }
+                        JDBCCacheRowLoader loader = loaders.get(JDBCUtils.safeGetLong(dbResult, schemaIdColumn));
+                        if (loader != null) {
+                            loader.fetchRow(session, dbResult);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBDatabaseException(e, database.getDataSource());
+        }
+        for (JDBCCacheRowLoader loader : loaders.values()) {
+            loader.complete();
+        }
+    }
+
+    private static void cacheSchemasStructure(@NotNull DBRProgressMonitor monitor, @NotNull List<PostgreSchema> schemas, int scope) throws DBException {
+        for (PostgreSchema schema : schemas) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            schema.cacheStructure(monitor, scope);
+        }
+    }
+
+    @NotNull
+    private static List<PostgreSchema> filterSchemas(@NotNull List<PostgreSchema> schemas, @NotNull Function<PostgreSchema, Boolean> filter) {
+        List<PostgreSchema> result = new ArrayList<>();
+        for (PostgreSchema schema : schemas) {
+            if (filter.apply(schema)) {
+                result.add(schema);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static String getSchemaIds(@NotNull List<PostgreSchema> schemas) {
+        StringJoiner ids = new StringJoiner(",");
+        for (PostgreSchema schema : schemas) {
+            ids.add(String.valueOf(schema.getObjectId()));
+        }
+        return ids.toString();
+    }
+
+    private interface LoaderFactory {
+        JDBCCacheRowLoader createLoader(@NotNull PostgreSchema schema) throws DBException;
+    }
+
+}
@@ -22,15 +22,24 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.ext.postgresql.model.data.type.PostgreGeometryTypeHandler;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.gis.GisAttribute;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCColumnKeyType;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntityConstraintType;
 import org.jkiss.dbeaver.model.struct.DBStructUtils;
+import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -131,4 +140,52 @@ public class PostgreTableColumn extends PostgreAttribute<PostgreTableBase>
         return false;
     }
 
+    @Override
+    public boolean supportsSampledValueEnumeration() {
+        return (getTable() instanceof PostgreTable || getTable() instanceof PostgreMaterializedView)
+            && getDataSource().getServerType().supportsTableStatistics();
+    }
+
+    /**
+     * Reads most common values collected by ANALYZE (pg_stats). Counts are estimated from their frequencies.
+     */
+    @Nullable
+    @Override
+    public List<DBDLabelValuePair> getSampledValueEnumeration(
+        @NotNull DBCSession session,
+        int maxResults,
+        boolean formatValues
+    ) throws DBException {
+        if (!supportsSampledValueEnumeration() || !(session instanceof JDBCSession jdbcSession)) {
+            return null;
+        }
+        DBDValueHandler valueHandler = DBUtils.findValueHandler(session, this);
+        try (JDBCPreparedStatement dbStat = jdbcSession.prepareStatement(
+            "SELECT CAST(t.v AS " + getFullTypeName() + "), CAST(t.f * GREATEST(c.reltuples, 0) AS bigint)\n" +
+                "FROM pg_catalog.pg_class c\n" +
+                "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace\n" +
+                "JOIN pg_catalog.pg_stats s ON s.schemaname = n.nspname AND s.tablename = c.relname,\n" +
+                "unnest(s.most_common_vals::text::text[], s.most_common_freqs) AS t(v, f)\n" +
+                "WHERE c.oid = ? AND s.attname = ? AND s.inherited = (c.relkind = 'p')\n" +
+                "ORDER BY t.f DESC LIMIT " + maxResults))
+        {
+            dbStat.setLong(1, getTable().getObjectId());
+            dbStat.setString(2, getName());
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                List<DBDLabelValuePair> values = DBVUtils.readDictionaryRows(
+                    session,
+                    Collections.singletonList(this),
+                    Collections.singletonList(valueHandler),
+                    dbResult,
+                    formatValues,
+                    true);
+                // No statistics - table wasn't analyzed yet
+                return values.isEmpty() ? null : values;
+            }
+        } catch (SQLException e) {
+            log.debug("Error reading column '" + getName() + "' statistics", e);
+            return null;
+        }
+    }
+
 }
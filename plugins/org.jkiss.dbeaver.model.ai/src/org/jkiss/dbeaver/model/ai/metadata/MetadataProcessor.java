@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.ai.AICompletionConstants;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionContext;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionMessage;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionScope;
@@ -29,6 +30,7 @@ import org.jkiss.dbeaver.model.ai.format.IAIFormatter;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
@@ -36,7 +38,7 @@ import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
-import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.List;
@@ -46,6 +48,8 @@ public class MetadataProcessor {
     private static final Log log = Log.getLog(MetadataProcessor.class);
 
     private static final boolean SUPPORTS_ATTRS = true;
+    // Descriptions of tables are rarely shorter, so smaller rest of the budget isn't filled
+    private static final int MIN_ENTITY_DESCRIPTION_LENGTH = 100;
 
     public String generateObjectDescription(
         @NotNull DBRProgressMonitor monitor,
@@ -54,6 +58,22 @@ public class MetadataProcessor {
         @NotNull IAIFormatter formatter,
         int maxRequestLength,
         boolean useFullyQualifiedName
+    ) throws DBException {
+        return generateObjectDescription(monitor, object, context, formatter, maxRequestLength, useFullyQualifiedName, null);
+    }
+
+    /**
+     * Generates description of an entity or of all entities of a container.
+     * Container entities are ordered by relevance to the question and added while they fit into the request length.
+     */
+    public String generateObjectDescription(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObject object,
+        @Nullable DBCExecutionContext context,
+        @NotNull IAIFormatter formatter,
+        int maxRequestLength,
+        boolean useFullyQualifiedName,
+        @Nullable String question
     ) throws DBException {
         if (DBNUtils.getNodeByObject(monitor, object, false) == null) {
             // Skip hidden objects
@@ -66,35 +86,54 @@ public class MetadataProcessor {
                 object,
                 DBPEvaluationContext.DDL
             ) : DBUtils.getQuotedIdentifier(object);
-            description.append('\n');
-            formatter.addObjectDescriptionIfNeeded(description, object, monitor);
-            if (object instanceof DBSTable table) {
-                description.append(table.isView() ? "CREATE VIEW" : "CREATE TABLE");
+            // Entity description doesn't depend on name, so it is rendered once per formatter settings
+            SchemaContextCache.EntityInfo entityInfo = SchemaContextCache.INSTANCE.getEntityInfo(monitor, entity);
+            String formatKey = getFormatKey(formatter);
+            String[] parts = entityInfo.getDescription(formatKey);
+            if (parts == null) {
+                StringBuilder prefix = new StringBuilder();
+                prefix.append('\n');
+                formatter.addObjectDescriptionIfNeeded(prefix, object, monitor);
+                if (object instanceof DBSTable table) {
+                    prefix.append(table.isView() ? "CREATE VIEW" : "CREATE TABLE");
+                }
+                prefix.append(" ");
+                StringBuilder suffix = new StringBuilder();
+                suffix.append("(");
+                DBSEntityAttribute firstAttr = addPromptAttributes(monitor, entity, suffix, formatter);
+                formatter.addExtraDescription(monitor, entity, suffix, firstAttr);
+                suffix.append(");");
+                parts = new String[]{prefix.toString(), suffix.toString()};
+                entityInfo.setDescription(formatKey, parts);
             }
-            description.append(" ").append(name).append("(");
-            DBSEntityAttribute firstAttr = addPromptAttributes(monitor, entity, description, formatter);
-            formatter.addExtraDescription(monitor, entity, description, firstAttr);
-            description.append(");");
+            description.append(parts[0]).append(name).append(parts[1]);
         } else if (object instanceof DBSObjectContainer objectContainer) {
-            monitor.subTask("Load cache of " + object.getName());
-            objectContainer.cacheStructure(
+            List<DBSEntity> entities = SchemaEntityRanker.rankEntities(
                 monitor,
-                DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES);
-            for (DBSObject child : objectContainer.getChildren(monitor)) {
-                if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
-                    continue;
+                SchemaContextCache.INSTANCE.getEntities(monitor, objectContainer),
+                question);
+            int maxLength = maxRequestLength * 3;
+            for (DBSEntity entity : entities) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (maxLength - description.length() < MIN_ENTITY_DESCRIPTION_LENGTH) {
+                    log.debug("Trim AI metadata prompt at table '" + entity.getName() + "' - too long request");
+                    break;
                 }
                 String childText = generateObjectDescription(
                     monitor,
-                    child,
+                    entity,
                     context,
                     formatter,
                     maxRequestLength,
-                    isRequiresFullyQualifiedName(child, context)
+                    isRequiresFullyQualifiedName(entity, context),
+                    null
                 );
-                if (description.length() + childText.length() > maxRequestLength * 3) {
-                    log.debug("Trim AI metadata prompt  at table '" + child.getName() + "' - too long request");
-                    break;
+                if (description.length() + childText.length() > maxLength) {
+                    // Entities are ordered by relevance, but a shorter one may still fit
+                    log.debug("Skip table '" + entity.getName() + "' in AI metadata prompt - too long request");
+                    continue;
                 }
                 description.append(childText);
             }
@@ -113,6 +152,24 @@ public class MetadataProcessor {
         @NotNull IAIFormatter formatter,
         @NotNull String instructions,
         int maxRequestTokens
+    ) throws DBException {
+        return createMetadataMessage(monitor, context, mainObject, formatter, instructions, maxRequestTokens, null);
+    }
+
+    /**
+     * Creates a new message containing completion metadata for the request.
+     *
+     * @param question user request text. Tables which are relevant to it are described first.
+     */
+    @NotNull
+    public DAICompletionMessage createMetadataMessage(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DAICompletionContext context,
+        @Nullable DBSObjectContainer mainObject,
+        @NotNull IAIFormatter formatter,
+        @NotNull String instructions,
+        int maxRequestTokens,
+        @Nullable String question
     ) throws DBException {
         if (mainObject == null || mainObject.getDataSource() == null) {
             throw new DBException("Invalid completion request");
@@ -157,7 +214,8 @@ public class MetadataProcessor {
                 executionContext,
                 formatter,
                 remainingRequestTokens,
-                false
+                false,
+                question
             ));
         }
 
@@ -195,6 +253,14 @@ public class MetadataProcessor {
         return prevAttribute;
     }
 
+    @NotNull
+    private static String getFormatKey(@NotNull IAIFormatter formatter) {
+        DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
+        return formatter.getClass().getName() +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_DESCRIPTION) +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_TYPE_INFO);
+    }
+
     private boolean isRequiresFullyQualifiedName(@NotNull DBSObject object, @Nullable DBCExecutionContext context) {
         if (context == null || context.getContextDefaults() == null) {
             return false;
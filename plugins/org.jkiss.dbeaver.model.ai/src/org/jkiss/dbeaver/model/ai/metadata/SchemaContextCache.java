@@ -0,0 +1,308 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.navigator.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Cache of schema metadata used in AI completion prompts.
+ * <p>
+ * Keeps entities of containers (with nested containers) and per entity info: name and column terms used for
+ * ranking, entities related by foreign keys and rendered prompt descriptions. Entries of an object and
+ * of all its children are dropped when its navigator node is refreshed or removed. Objects are weakly referenced,
+ * so entries of disconnected data sources are collected.
+ */
+public final class SchemaContextCache {
+
+    private static final Log log = Log.getLog(SchemaContextCache.class);
+
+    public static final SchemaContextCache INSTANCE = new SchemaContextCache();
+
+    private final Map<DBSObjectContainer, List<WeakReference<DBSEntity>>> containerEntities = new WeakHashMap<>();
+    private final Map<DBSEntity, EntityInfo> entityInfos = new WeakHashMap<>();
+    private final Map<DBNModel, Boolean> listenedModels = new WeakHashMap<>();
+    private final INavigatorListener navigatorListener = this::handleNavigatorEvent;
+
+    private SchemaContextCache() {
+    }
+
+    /**
+     * Returns visible entities of a container and its nested containers, in navigator order
+     */
+    @NotNull
+    public List<DBSEntity> getEntities(@NotNull DBRProgressMonitor monitor, @NotNull DBSObjectContainer container) throws DBException {
+        synchronized (this) {
+            List<WeakReference<DBSEntity>> cached = containerEntities.get(container);
+            if (cached != null) {
+                List<DBSEntity> result = dereference(cached);
+                if (result.size() == cached.size()) {
+                    return result;
+                }
+            }
+        }
+        addNavigatorListener(container);
+        List<DBSEntity> result = new ArrayList<>();
+        collectEntities(monitor, container, result);
+        if (!monitor.isCanceled()) {
+            List<WeakReference<DBSEntity>> references = new ArrayList<>(result.size());
+            for (DBSEntity entity : result) {
+                references.add(new WeakReference<>(entity));
+            }
+            synchronized (this) {
+                containerEntities.put(container, references);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    public EntityInfo getEntityInfo(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity) {
+        synchronized (this) {
+            EntityInfo info = entityInfos.get(entity);
+            if (info != null) {
+                return info;
+            }
+        }
+        addNavigatorListener(entity);
+        EntityInfo info = new EntityInfo(monitor, entity);
+        synchronized (this) {
+            entityInfos.put(entity, info);
+        }
+        return info;
+    }
+
+    /**
+     * Drops cached info of the object and all its children
+     */
+    public void invalidate(@NotNull DBSObject object) {
+        synchronized (this) {
+            containerEntities.keySet().removeIf(container -> isSameOrChild(container, object) || isSameOrChild(object, container));
+            entityInfos.keySet().removeIf(entity -> isSameOrChild(entity, object));
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        containerEntities.clear();
+        entityInfos.clear();
+    }
+
+    private void collectEntities(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObjectContainer container,
+        @NotNull List<DBSEntity> result
+    ) throws DBException {
+        monitor.subTask("Load cache of " + container.getName());
+        // Foreign keys are read later for relevant entities only
+        container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES);
+        Collection<? extends DBSObject> children = container.getChildren(monitor);
+        if (children == null) {
+            return;
+        }
+        for (DBSObject child : children) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
+                continue;
+            }
+            if (!(child instanceof DBSEntity) && !(child instanceof DBSObjectContainer)) {
+                continue;
+            }
+            if (DBNUtils.getNodeByObject(monitor, child, false) == null) {
+                // Skip objects hidden by navigator filters
+                continue;
+            }
+            if (child instanceof DBSEntity entity) {
+                result.add(entity);
+            } else {
+                collectEntities(monitor, (DBSObjectContainer) child, result);
+            }
+        }
+    }
+
+    private void addNavigatorListener(@NotNull DBSObject object) {
+        DBNModel model = DBNUtils.getNavigatorModel(object);
+        if (model == null) {
+            return;
+        }
+        synchronized (this) {
+            if (listenedModels.put(model, Boolean.TRUE) != null) {
+                return;
+            }
+        }
+        model.addListener(navigatorListener);
+    }
+
+    private void handleNavigatorEvent(@NotNull DBNEvent event) {
+        if (!(event.getNode() instanceof DBNDatabaseNode databaseNode)) {
+            return;
+        }
+        boolean changed = switch (event.getAction()) {
+            case UPDATE -> event.getNodeChange() == DBNEvent.NodeChange.REFRESH || event.getNodeChange() == DBNEvent.NodeChange.STRUCT_REFRESH;
+            case ADD -> event.getNodeChange() != DBNEvent.NodeChange.LOAD;
+            case REMOVE -> true;
+        };
+        DBSObject object = databaseNode.getObject();
+        if (changed && object != null) {
+            invalidate(object);
+            if (event.getAction() != DBNEvent.Action.UPDATE && object.getParentObject() != null) {
+                // Container children have changed
+                invalidate(object.getParentObject());
+            }
+        }
+    }
+
+    private static boolean isSameOrChild(@NotNull DBSObject object, @NotNull DBSObject parent) {
+        for (DBSObject o = object; o != null; o = o.getParentObject()) {
+            if (o == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static List<DBSEntity> dereference(@NotNull List<WeakReference<DBSEntity>> references) {
+        List<DBSEntity> result = new ArrayList<>(references.size());
+        for (WeakReference<DBSEntity> reference : references) {
+            DBSEntity entity = reference.get();
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Precomputed info of an entity
+     */
+    public static class EntityInfo {
+        // Info is a value of a weak map keyed by the entity, so it must not keep the entity
+        private final WeakReference<DBSEntity> entity;
+        private final String name;
+        private final Set<String> nameTerms;
+        private final Set<String> columnTerms = new HashSet<>();
+        // Null until associations are read
+        private List<WeakReference<DBSEntity>> relatedEntities;
+        // Rendered descriptions by format key
+        private final Map<String, String[]> descriptions = new HashMap<>();
+
+        EntityInfo(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity) {
+            this.entity = new WeakReference<>(entity);
+            this.name = entity.getName().toLowerCase(Locale.ROOT);
+            this.nameTerms = SchemaEntityRanker.splitTerms(entity.getName());
+            try {
+                List<? extends DBSEntityAttribute> attributes = entity.getAttributes(monitor);
+                if (attributes != null) {
+                    for (DBSEntityAttribute attribute : attributes) {
+                        if (!DBUtils.isHiddenObject(attribute)) {
+                            columnTerms.addAll(SchemaEntityRanker.splitTerms(attribute.getName()));
+                        }
+                    }
+                }
+            } catch (DBException e) {
+                log.debug("Error reading attributes of '" + entity.getName() + "'", e);
+            }
+        }
+
+        /**
+         * Lower case entity name
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public Set<String> getNameTerms() {
+            return nameTerms;
+        }
+
+        @NotNull
+        public Set<String> getColumnTerms() {
+            return columnTerms;
+        }
+
+        /**
+         * Returns entities referenced by foreign keys of this entity and entities referencing it.
+         * Associations are read on the first call.
+         */
+        @NotNull
+        public synchronized List<DBSEntity> getRelatedEntities(@NotNull DBRProgressMonitor monitor) {
+            if (relatedEntities == null) {
+                relatedEntities = readRelatedEntities(monitor);
+            }
+            return dereference(relatedEntities);
+        }
+
+        @NotNull
+        private List<WeakReference<DBSEntity>> readRelatedEntities(@NotNull DBRProgressMonitor monitor) {
+            List<WeakReference<DBSEntity>> result = new ArrayList<>();
+            DBSEntity entity = this.entity.get();
+            if (entity == null) {
+                return result;
+            }
+            try {
+                Collection<? extends DBSEntityAssociation> associations = entity.getAssociations(monitor);
+                if (associations != null) {
+                    for (DBSEntityAssociation association : associations) {
+                        DBSEntity associatedEntity = association.getAssociatedEntity();
+                        if (associatedEntity != null && associatedEntity != entity) {
+                            result.add(new WeakReference<>(associatedEntity));
+                        }
+                    }
+                }
+                Collection<? extends DBSEntityAssociation> references = entity.getReferences(monitor);
+                if (references != null) {
+                    for (DBSEntityAssociation reference : references) {
+                        DBSEntity referencingEntity = reference.getParentObject();
+                        if (referencingEntity != null && referencingEntity != entity) {
+                            result.add(new WeakReference<>(referencingEntity));
+                        }
+                    }
+                }
+            } catch (DBException e) {
+                // Foreign keys are used for ranking only
+                log.debug("Error reading associations of '" + entity.getName() + "'", e);
+            }
+            return result;
+        }
+
+        /**
+         * Returns description rendered for the format (prefix and suffix around entity name) or null
+         */
+        @Nullable
+        public synchronized String[] getDescription(@NotNull String formatKey) {
+            return descriptions.get(formatKey);
+        }
+
+        public synchronized void setDescription(@NotNull String formatKey, @NotNull String[] description) {
+            descriptions.put(formatKey, description);
+        }
+    }
+}
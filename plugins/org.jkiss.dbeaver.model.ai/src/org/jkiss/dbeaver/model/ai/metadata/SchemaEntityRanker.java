@@ -0,0 +1,145 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Orders entities by relevance to the completion request.
+ * <p>
+ * Entity score is based on matches of its name and column names with request words.
+ * Entities referenced by foreign keys of (or referencing) matched entities get a part of their score,
+ * so join tables and dictionaries of mentioned tables get into the prompt before unrelated ones.
+ * Foreign keys are read for matched entities only.
+ */
+class SchemaEntityRanker {
+
+    private static final int FULL_NAME_SCORE = 10;
+    private static final int NAME_TERM_SCORE = 3;
+    private static final int MAX_COLUMN_SCORE = 3;
+    private static final double NEIGHBOR_SCORE_FACTOR = 0.5;
+
+    private SchemaEntityRanker() {
+    }
+
+    /**
+     * Returns entities ordered by relevance. Entities with the same score keep their original order.
+     */
+    @NotNull
+    static List<DBSEntity> rankEntities(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull List<DBSEntity> entities,
+        @Nullable String question
+    ) {
+        if (CommonUtils.isEmptyTrimmed(question) || entities.size() < 2) {
+            return entities;
+        }
+        String text = question.toLowerCase(Locale.ROOT);
+        Set<String> questionTerms = splitTerms(question);
+
+        Map<DBSEntity, Double> baseScores = new IdentityHashMap<>();
+        for (DBSEntity entity : entities) {
+            SchemaContextCache.EntityInfo info = SchemaContextCache.INSTANCE.getEntityInfo(monitor, entity);
+            baseScores.put(entity, getScore(info, text, questionTerms));
+        }
+        // Related entity gets a part of the best score of matched entities it is related to
+        Map<DBSEntity, Double> neighborScores = new IdentityHashMap<>();
+        for (DBSEntity entity : entities) {
+            double score = baseScores.get(entity);
+            if (score <= 0 || monitor.isCanceled()) {
+                continue;
+            }
+            SchemaContextCache.EntityInfo info = SchemaContextCache.INSTANCE.getEntityInfo(monitor, entity);
+            for (DBSEntity related : info.getRelatedEntities(monitor)) {
+                if (baseScores.containsKey(related)) {
+                    neighborScores.merge(related, score, Math::max);
+                }
+            }
+        }
+
+        Map<DBSEntity, Double> scores = new IdentityHashMap<>();
+        for (DBSEntity entity : entities) {
+            scores.put(entity, baseScores.get(entity) + neighborScores.getOrDefault(entity, 0.0) * NEIGHBOR_SCORE_FACTOR);
+        }
+        List<DBSEntity> result = new ArrayList<>(entities);
+        result.sort(Comparator.comparingDouble((DBSEntity entity) -> scores.get(entity)).reversed());
+        return result;
+    }
+
+    private static double getScore(@NotNull SchemaContextCache.EntityInfo info, @NotNull String text, @NotNull Set<String> questionTerms) {
+        double score = 0;
+        if (text.contains(info.getName())) {
+            score += FULL_NAME_SCORE;
+        }
+        for (String term : info.getNameTerms()) {
+            if (questionTerms.contains(term)) {
+                score += NAME_TERM_SCORE;
+            }
+        }
+        int columnMatches = 0;
+        for (String term : info.getColumnTerms()) {
+            if (questionTerms.contains(term)) {
+                columnMatches++;
+            }
+        }
+        return score + Math.min(MAX_COLUMN_SCORE, columnMatches);
+    }
+
+    /**
+     * Splits identifier or text into lower case terms: by non-alphanumeric characters and camel case.
+     * Plural endings are removed, so "order_items" and "OrderItem" give the same terms.
+     */
+    @NotNull
+    static Set<String> splitTerms(@NotNull String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                addTerm(terms, term);
+                continue;
+            }
+            if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(text.charAt(i - 1))) {
+                addTerm(terms, term);
+            }
+            term.append(Character.toLowerCase(c));
+        }
+        addTerm(terms, term);
+        return terms;
+    }
+
+    private static void addTerm(@NotNull Set<String> terms, @NotNull StringBuilder term) {
+        if (term.length() < 2) {
+            term.setLength(0);
+            return;
+        }
+        String value = term.toString();
+        term.setLength(0);
+        if (value.length() > 4 && value.endsWith("ies")) {
+            value = value.substring(0, value.length() - 3) + "y";
+        } else if (value.length() > 3 && value.endsWith("s") && !value.endsWith("ss")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        terms.add(value);
+    }
+}
@@ -156,13 +156,21 @@ public class OpenAICompletionEngine extends AbstractAICompletionEngine<GPTComple
         final DBCExecutionContext executionContext = context.getExecutionContext();
         DBSObjectContainer mainObject = getScopeObject(context, executionContext);
 
+        // User messages are used to choose tables relevant to the request
+        final StringJoiner question = new StringJoiner("\n");
+        for (DAICompletionMessage message : messages) {
+            if (message.getRole() == DAICompletionMessage.Role.USER) {
+                question.add(message.getContent());
+            }
+        }
         final DAICompletionMessage metadataMessage = MetadataProcessor.INSTANCE.createMetadataMessage(
             monitor,
             context,
             mainObject,
             formatter,
             getInstructions(chatCompletion),
-            getMaxTokens() - AIConstants.MAX_RESPONSE_TOKENS
+            getMaxTokens() - AIConstants.MAX_RESPONSE_TOKENS,
+            question.toString()
         );
 
         final List<DAICompletionMessage> mergedMessages = new ArrayList<>();
@@ -73,6 +73,24 @@ public interface JDBCSession extends DBCSession, Connection {
     JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException;
 
+    /**
+     * Prepares statement using statement cache of the execution context (if it is enabled).
+     * On close the statement is returned to the cache and reused by following calls with the same query.
+     */
+    @NotNull
+    default JDBCPreparedStatement prepareCachedStatement(@NotNull String sql)
+        throws SQLException
+    {
+        return prepareStatement(sql);
+    }
+
+    /**
+     * Makes {@link #prepareStatement(String)} use statement cache of the execution context.
+     * Used by metadata readers which execute the same queries many times.
+     */
+    default void setUseStatementCache(boolean useStatementCache) {
+    }
+
     @Override
     @NotNull
     JDBCCallableStatement prepareCall(String sql)
@@ -22,12 +22,14 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPAdaptable;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
@@ -40,6 +42,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -65,6 +69,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
     private final ReentrantLock queryExecutionLock;
+    private final Object statementCacheLock = new Object();
+    private volatile JDBCStatementCache statementCache;
+    // Actions to run once the current transaction is committed
+    private final List<Runnable> commitActions = new ArrayList<>();
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -205,6 +213,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            // Cached statements must be closed before their connection
+            closeStatementCache();
+            // Transaction state is unknown after close, so run pending actions anyway
+            runCommitActions();
             // If we cannot determine if connection is in autocommit mode, assume that it is not
             if (connection != null && !dataSource.closeConnection(connection, purpose, !isAutoCommit(false))) {
                 log.debug("Connection close timeout");
@@ -215,6 +227,55 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         super.closeContext();
     }
 
+    /**
+     * Returns prepared statements cache of the specified connection.
+     * Cache is recreated if connection was changed (e.g. after reconnect).
+     *
+     * @return cache or null if statement caching is disabled
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache(@NotNull Connection connection) {
+        int cacheSize = dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.STATEMENT_CACHE_SIZE);
+        if (cacheSize <= 0) {
+            return null;
+        }
+        JDBCStatementCache cache = this.statementCache;
+        if (cache == null || cache.getConnection() != connection) {
+            JDBCStatementCache oldCache = null;
+            synchronized (statementCacheLock) {
+                cache = this.statementCache;
+                if (cache == null || cache.getConnection() != connection) {
+                    oldCache = cache;
+                    cache = new JDBCStatementCache(connection, cacheSize);
+                    this.statementCache = cache;
+                }
+            }
+            if (oldCache != null) {
+                oldCache.close();
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Current statement cache (for statistics)
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    private void closeStatementCache() {
+        JDBCStatementCache cache;
+        synchronized (statementCacheLock) {
+            cache = this.statementCache;
+            this.statementCache = null;
+        }
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
     @NotNull
     public Connection getConnection(DBRProgressMonitor monitor) throws SQLException {
         Connection result = getConnection(monitor, true);
@@ -403,6 +464,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
             Connection dbCon = getConnection();
             dbCon.setAutoCommit(autoCommit);
             this.autoCommit = dbCon.getAutoCommit();
+            if (this.autoCommit) {
+                // Switch to auto-commit commits the current transaction
+                runCommitActions();
+            }
             if (!this.autoCommit) {
                 try {
                     transactionIsolationLevel = getConnection().getTransactionIsolation();
@@ -464,6 +529,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         throws DBCException {
         try {
             getConnection().commit();
+            runCommitActions();
         } catch (SQLException e) {
             throw new JDBCException(e, this);
         } finally {
@@ -488,7 +554,12 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 }
             } else {
                 dbCon.rollback();
+                synchronized (commitActions) {
+                    commitActions.clear();
+                }
             }
+            // Cached statements may have been prepared against rolled back DDL changes
+            closeStatementCache();
         } catch (SQLException e) {
             if (JDBCUtils.isRollbackWarning(e)) {
                 log.debug("Rollback warning: " + e.getMessage());
@@ -502,6 +573,34 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         }
     }
 
+    /**
+     * Adds action which will be run after the current transaction is committed.
+     * Actions are dropped on rollback.
+     */
+    public void runAfterCommit(@NotNull Runnable action) {
+        synchronized (commitActions) {
+            commitActions.add(action);
+        }
+    }
+
+    private void runCommitActions() {
+        List<Runnable> actions;
+        synchronized (commitActions) {
+            if (commitActions.isEmpty()) {
+                return;
+            }
+            actions = new ArrayList<>(commitActions);
+            commitActions.clear();
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Throwable e) {
+                log.debug("Error running post-commit action", e);
+            }
+        }
+    }
+
     @Override
     public boolean isSupportsTransactions() {
         return instance.getDataSource().getInfo().supportsTransactions();
@@ -297,13 +297,14 @@ public abstract class JDBCCompositeCache<
             parentCache.loadChildren(monitor, owner, null);
         }
 
-        Map<PARENT, Map<String, ObjectInfo>> parentObjectMap = new LinkedHashMap<>();
+        ObjectsLoader loader = new ObjectsLoader(monitor, owner, forParent);
 
         // Load index columns
         DBPDataSource dataSource = owner.getDataSource();
         assert (dataSource != null);
         monitor.beginTask("Load composite cache", 1);
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load composite objects")) {
+            session.setUseStatementCache(true);
 
             JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
             dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
@@ -315,73 +316,7 @@ public abstract class JDBCCompositeCache<
                         if (monitor.isCanceled()) {
                             return;
                         }
-                        String parentName = forParent != null ?
-                            forParent.getName() :
-                            (parentColumnName instanceof Number ?
-                                JDBCUtils.safeGetString(dbResult, ((Number)parentColumnName).intValue()) :
-                                JDBCUtils.safeGetStringTrimmed(dbResult, parentColumnName.toString()));
-                        String objectName = objectColumnName instanceof Number ?
-                            JDBCUtils.safeGetString(dbResult, ((Number)objectColumnName).intValue()) :
-                            JDBCUtils.safeGetStringTrimmed(dbResult, objectColumnName.toString());
-
-                        if (CommonUtils.isEmpty(objectName)) {
-                            // Use default name
-                            objectName = getDefaultObjectName(dbResult, parentName);
-                        }
-
-                        if (forParent == null && CommonUtils.isEmpty(parentName)) {
-                            // No parent - can't evaluate it
-                            log.debug("Empty parent name in " + this);
-                            continue;
-                        }
-
-                        PARENT parent = forParent;
-                        if (parent == null) {
-                            parent = parentCache.getObject(monitor, owner, parentName, parentType);
-                            if (parent == null) {
-                                log.debug("Object '" + objectName + "' owner '" + parentName + "' not found");
-                                continue;
-                            }
-                        }
-                        synchronized (objectCache) {
-                            if (objectCache.containsKey(parent)) {
-                                // Already cached
-                                continue;
-                            }
-                        }
-                        // Add to map
-                        Map<String, ObjectInfo> objectMap = parentObjectMap.get(parent);
-                        if (objectMap == null) {
-                            objectMap = new TreeMap<>();
-                            parentObjectMap.put(parent, objectMap);
-                        }
-
-                        ObjectInfo objectInfo = objectMap.get(objectName);
-                        if (objectInfo == null) {
-                            OBJECT object = fetchObject(session, owner, parent, objectName, dbResult);
-                            if (object == null || !isValidObject(monitor, owner, object)) {
-                                // Can't fetch object
-                                continue;
-                            }
-                            objectName = object.getName();
-                            objectInfo = new ObjectInfo(object);
-                            objectMap.put(objectName, objectInfo);
-                        }
-                        ROW_REF[] rowRef = fetchObjectRow(session, parent, objectInfo.object, dbResult);
-                        if (rowRef == null || rowRef.length == 0) {
-                            if (!isEmptyObjectRowsAllowed()) {
-                                // At least one of rows is broken.
-                                // So entire object is broken, let's just skip it.
-                                objectInfo.broken = true;
-                                //log.debug("Object '" + objectName + "' metadata corrupted - NULL child returned");
-                            }
-                            continue;
-                        }
-                        for (ROW_REF row : rowRef) {
-                            if (row != null) {
-                                objectInfo.rows.add(row);
-                            }
-                        }
+                        loader.fetchRow(session, dbResult);
                     }
                 }
                 finally {
@@ -407,82 +342,189 @@ public abstract class JDBCCompositeCache<
             return;
         }
 
-        // Fill global cache
-        synchronized (this) {
+        loader.complete();
+    }
+
+    /**
+     * Creates loader of composite objects of all parents of the specified owner.
+     * Bulk loaders use it to distribute rows of a single query (which reads objects of several owners)
+     * over caches of individual owners. Rows must contain the same columns as rows of the objects statement.
+     */
+    @NotNull
+    public ObjectsLoader createObjectsLoader(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner) throws DBException {
+        parentCache.loadObjects(monitor, owner);
+        parentCache.loadChildren(monitor, owner, null);
+        return new ObjectsLoader(monitor, owner, null);
+    }
+
+    /**
+     * Reads composite objects from result set rows and puts them into the cache
+     */
+    public class ObjectsLoader implements JDBCCacheRowLoader {
+        private final DBRProgressMonitor monitor;
+        private final OWNER owner;
+        @Nullable
+        private final PARENT forParent;
+        private final Map<PARENT, Map<String, ObjectInfo>> parentObjectMap = new LinkedHashMap<>();
+
+        private ObjectsLoader(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, @Nullable PARENT forParent) {
+            this.monitor = monitor;
+            this.owner = owner;
+            this.forParent = forParent;
+        }
+
+        @Override
+        public void fetchRow(@NotNull JDBCSession session, @NotNull JDBCResultSet dbResult) throws SQLException, DBException {
+            String parentName = forParent != null ?
+                forParent.getName() :
+                (parentColumnName instanceof Number ?
+                    JDBCUtils.safeGetString(dbResult, ((Number)parentColumnName).intValue()) :
+                    JDBCUtils.safeGetStringTrimmed(dbResult, parentColumnName.toString()));
+            String objectName = objectColumnName instanceof Number ?
+                JDBCUtils.safeGetString(dbResult, ((Number)objectColumnName).intValue()) :
+                JDBCUtils.safeGetStringTrimmed(dbResult, objectColumnName.toString());
+
+            if (CommonUtils.isEmpty(objectName)) {
+                // Use default name
+                objectName = getDefaultObjectName(dbResult, parentName);
+            }
+
+            if (forParent == null && CommonUtils.isEmpty(parentName)) {
+                // No parent - can't evaluate it
+                log.debug("Empty parent name in " + JDBCCompositeCache.this);
+                return;
+            }
+
+            PARENT parent = forParent;
+            if (parent == null) {
+                parent = parentCache.getObject(monitor, owner, parentName, parentType);
+                if (parent == null) {
+                    log.debug("Object '" + objectName + "' owner '" + parentName + "' not found");
+                    return;
+                }
+            }
             synchronized (objectCache) {
-                if (forParent != null || !parentObjectMap.isEmpty()) {
-                    if (forParent == null) {
-                        // Cache global object list
-                        List<OBJECT> globalCache = new ArrayList<>();
-                        for (Map<String, ObjectInfo> objMap : parentObjectMap.values()) {
-                            if (objMap != null) {
-                                for (ObjectInfo info : objMap.values()) {
-                                    if (!info.broken) {
-                                        globalCache.add(info.object);
+                if (objectCache.containsKey(parent)) {
+                    // Already cached
+                    return;
+                }
+            }
+            // Add to map
+            Map<String, ObjectInfo> objectMap = parentObjectMap.get(parent);
+            if (objectMap == null) {
+                objectMap = new TreeMap<>();
+                parentObjectMap.put(parent, objectMap);
+            }
+
+            ObjectInfo objectInfo = objectMap.get(objectName);
+            if (objectInfo == null) {
+                OBJECT object = fetchObject(session, owner, parent, objectName, dbResult);
+                if (object == null || !isValidObject(monitor, owner, object)) {
+                    // Can't fetch object
+                    return;
+                }
+                objectName = object.getName();
+                objectInfo = new ObjectInfo(object);
+                objectMap.put(objectName, objectInfo);
+            }
+            ROW_REF[] rowRef = fetchObjectRow(session, parent, objectInfo.object, dbResult);
+            if (rowRef == null || rowRef.length == 0) {
+                if (!isEmptyObjectRowsAllowed()) {
+                    // At least one of rows is broken.
+                    // So entire object is broken, let's just skip it.
+                    objectInfo.broken = true;
+                    //log.debug("Object '" + objectName + "' metadata corrupted - NULL child returned");
+                }
+                return;
+            }
+            for (ROW_REF row : rowRef) {
+                if (row != null) {
+                    objectInfo.rows.add(row);
+                }
+            }
+        }
+
+        /**
+         * All rows are read. Fill global cache and assign objects to parents
+         */
+        @Override
+        public void complete() throws DBException {
+            // Fill global cache
+            synchronized (JDBCCompositeCache.this) {
+                synchronized (objectCache) {
+                    if (forParent != null || !parentObjectMap.isEmpty()) {
+                        if (forParent == null) {
+                            // Cache global object list
+                            List<OBJECT> globalCache = new ArrayList<>();
+                            for (Map<String, ObjectInfo> objMap : parentObjectMap.values()) {
+                                if (objMap != null) {
+                                    for (ObjectInfo info : objMap.values()) {
+                                        if (!info.broken) {
+                                            globalCache.add(info.object);
+                                        }
                                     }
                                 }
                             }
+                            // Save precached objects in global cache
+                            for (List<OBJECT> objects : objectCache.values()) {
+                                globalCache.addAll(objects);
+                            }
+                            // Add precached objects to global cache too
+                            JDBCCompositeCache.super.setCache(globalCache);
+                            invalidateObjects(monitor, owner, new CacheIterator());
                         }
-                        // Save precached objects in global cache
-                        for (List<OBJECT> objects : objectCache.values()) {
-                            globalCache.addAll(objects);
-                        }
-                        // Add precached objects to global cache too
-                        super.setCache(globalCache);
-                        this.invalidateObjects(monitor, owner, new CacheIterator());
                     }
-                }
 
-                // Cache data in individual objects only if we have read something or have certain parent object
-                // Otherwise we assume that this function is not supported for mass data reading
+                    // Cache data in individual objects only if we have read something or have certain parent object
+                    // Otherwise we assume that this function is not supported for mass data reading
 
-                // All objects are read. Now assign them to parents
-                for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                    if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
-                        // Do not overwrite this object's cache
-                        continue;
-                    }
-                    Collection<ObjectInfo> objectInfos = colEntry.getValue().values();
-                    List<OBJECT> objects = new ArrayList<>(objectInfos.size());
-                    for (ObjectInfo objectInfo : objectInfos) {
-                        objectInfo.needsCaching = true;
-                        objects.add(objectInfo.object);
+                    // All objects are read. Now assign them to parents
+                    for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
+                        if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
+                            // Do not overwrite this object's cache
+                            continue;
+                        }
+                        Collection<ObjectInfo> objectInfos = colEntry.getValue().values();
+                        List<OBJECT> objects = new ArrayList<>(objectInfos.size());
+                        for (ObjectInfo objectInfo : objectInfos) {
+                            objectInfo.needsCaching = true;
+                            objects.add(objectInfo.object);
+                        }
+                        objectCache.put(colEntry.getKey(), objects);
                     }
-                    objectCache.put(colEntry.getKey(), objects);
-                }
-                // Now set empty object list for other parents
-                if (forParent == null) {
-                    for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
-                        if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
-                            objectCache.put(tmpParent, new ArrayList<>());
+                    // Now set empty object list for other parents
+                    if (forParent == null) {
+                        for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
+                            if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
+                                objectCache.put(tmpParent, new ArrayList<>());
+                            }
                         }
+                    } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
+                        objectCache.put(forParent, new ArrayList<>());
                     }
-                } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
-                    objectCache.put(forParent, new ArrayList<>());
                 }
-            }
-            // Cache children lists (we do it in the end because children caching may operate with other model objects)
-            for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                for (ObjectInfo objectInfo : colEntry.getValue().values()) {
-                    // Sort rows using order comparator
-                    if (objectInfo.rows.size() > 1 && objectInfo.rows.get(0) instanceof DBPObjectWithOrdinalPosition) {
-                        objectInfo.rows.sort((Comparator<? super ROW_REF>) DBUtils.orderComparator());
-                    }
+                // Cache children lists (we do it in the end because children caching may operate with other model objects)
+                for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
+                    for (ObjectInfo objectInfo : colEntry.getValue().values()) {
+                        // Sort rows using order comparator
+                        if (objectInfo.rows.size() > 1 && objectInfo.rows.get(0) instanceof DBPObjectWithOrdinalPosition) {
+                            objectInfo.rows.sort((Comparator<? super ROW_REF>) DBUtils.orderComparator());
+                        }
 
-                    if (objectInfo.needsCaching) {
-                        cacheChildren(monitor, objectInfo.object, objectInfo.rows);
+                        if (objectInfo.needsCaching) {
+                            cacheChildren(monitor, objectInfo.object, objectInfo.rows);
+                        }
                     }
                 }
-            }
-            for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                for (ObjectInfo objectInfo : colEntry.getValue().values()) {
-                    if (objectInfo.needsCaching) {
-                        cacheChildren2(monitor, objectInfo.object, objectInfo.rows);
+                for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
+                    for (ObjectInfo objectInfo : colEntry.getValue().values()) {
+                        if (objectInfo.needsCaching) {
+                            cacheChildren2(monitor, objectInfo.object, objectInfo.rows);
+                        }
                     }
                 }
             }
         }
-
     }
 
     protected String getDefaultObjectName(JDBCResultSet dbResult, String parentName) {
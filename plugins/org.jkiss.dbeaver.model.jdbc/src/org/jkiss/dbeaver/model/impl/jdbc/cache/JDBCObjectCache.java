@@ -109,6 +109,7 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
             // Load cache from database only for persisted objects
             try {
                 try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
+                    session.setUseStatementCache(true);
                     beforeCacheLoading(session, owner);
                     try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
                         monitor.subTask("Load " + getCacheName());
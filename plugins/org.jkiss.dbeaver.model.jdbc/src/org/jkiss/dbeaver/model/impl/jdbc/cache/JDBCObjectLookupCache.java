@@ -107,6 +107,7 @@ public abstract class JDBCObjectLookupCache<OWNER extends DBSObject, OBJECT exte
                 "Load object '" + objectName + "' from " + owner.getName() :
                 "Reload object '" + object + "' from " + owner.getName()))
         {
+            session.setUseStatementCache(true);
             try (JDBCStatement dbStat = prepareLookupStatement(session, owner, object, objectName)) {
                 dbStat.setFetchSize(1);
                 dbStat.executeStatement();
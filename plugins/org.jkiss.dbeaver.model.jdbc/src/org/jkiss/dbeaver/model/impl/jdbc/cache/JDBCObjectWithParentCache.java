@@ -203,6 +203,7 @@ public abstract class JDBCObjectWithParentCache<OWNER extends DBSObject, PARENT
 
         monitor.beginTask("Load parent and object cache", 1);
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load parent and object objects")) {
+            session.setUseStatementCache(true);
 
             JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
             dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
@@ -89,7 +89,8 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             throw new DBException(ModelMessages.error_not_connected_to_database);
         }
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load child objects")) {
-            Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
+            session.setUseStatementCache(true);
+            ChildrenLoader loader = new ChildrenLoader(monitor, owner, forObject);
 
             // Load columns
             try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
@@ -102,67 +103,14 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
                             if (monitor.isCanceled()) {
                                 return;
                             }
-                            OBJECT object = forObject;
-                            if (object == null) {
-                                String objectName;
-                                if (objectNameColumn instanceof Number) {
-                                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
-                                } else {
-                                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
-                                }
-                                if (objectName == null) {
-                                    log.debug("NULL object name in " + this);
-                                    continue;
-                                }
-
-                                object = super.getCachedObject(objectName);
-                                if (object == null) {
-                                    log.debug("Object '" + objectName + "' not found in struct cache (" + getClass().getSimpleName() + ")");
-                                    continue;
-                                }
-                            }
-                            if (isChildrenCached(object)) {
-                                // Already read
-                                continue;
-                            }
-                            CHILD child = fetchChild(session, owner, object, dbResult);
-                            if (child == null) {
-                                continue;
-                            }
-
-                            // Add to map
-                            List<CHILD> children = objectMap.computeIfAbsent(object, k -> new ArrayList<>());
-                            children.add(child);
+                            loader.fetchRow(session, dbResult);
                         }
 
                         if (monitor.isCanceled()) {
                             return;
                         }
 
-                        // All children are read. Now assign them to parents
-                        for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
-                            if (!isChildrenCached(colEntry.getKey())) {
-                                // isChildrenCached may return true if the same cache was read in other thread
-                                // just skip
-                                cacheChildren(colEntry.getKey(), colEntry.getValue());
-                            }
-                        }
-                        if (forObject == null) {
-                            if (objectMap.isEmpty()) {
-                                // Nothing was read. May be it means empty list of children
-                                // but possibly this feature is not supported [JDBC: SQLite]
-                            } else {
-                                // Now set empty column list for other tables
-                                for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
-                                    if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
-                                        cacheChildren(tmpObject, new ArrayList<>());
-                                    }
-                                }
-                                this.childrenCached = true;
-                            }
-                        } else if (!objectMap.containsKey(forObject)) {
-                            cacheChildren(forObject, new ArrayList<>());
-                        }
+                        loader.complete();
                     } finally {
                         dbResult.close();
                     }
@@ -173,6 +121,101 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
+    /**
+     * Creates loader of children of all objects of the specified owner.
+     * Bulk loaders use it to distribute rows of a single query (which reads children of several owners)
+     * over caches of individual owners. Rows must contain the same columns as rows of the children statement.
+     */
+    @NotNull
+    public ChildrenLoader createChildrenLoader(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner) throws DBException {
+        super.loadObjects(monitor, owner);
+        return new ChildrenLoader(monitor, owner, null);
+    }
+
+    /**
+     * Reads child objects from result set rows and assigns them to their parents
+     */
+    public class ChildrenLoader implements JDBCCacheRowLoader {
+        private final DBRProgressMonitor monitor;
+        private final OWNER owner;
+        @Nullable
+        private final OBJECT forObject;
+        private final Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
+
+        private ChildrenLoader(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, @Nullable OBJECT forObject) {
+            this.monitor = monitor;
+            this.owner = owner;
+            this.forObject = forObject;
+        }
+
+        @Override
+        public void fetchRow(@NotNull JDBCSession session, @NotNull JDBCResultSet dbResult) throws SQLException, DBException {
+            OBJECT object = forObject;
+            if (object == null) {
+                String objectName;
+                if (objectNameColumn instanceof Number) {
+                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
+                } else {
+                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
+                }
+                if (objectName == null) {
+                    log.debug("NULL object name in " + JDBCStructCache.this);
+                    return;
+                }
+
+                object = JDBCStructCache.super.getCachedObject(objectName);
+                if (object == null) {
+                    log.debug("Object '" + objectName + "' not found in struct cache (" + JDBCStructCache.this.getClass().getSimpleName() + ")");
+                    return;
+                }
+            }
+            if (isChildrenCached(object)) {
+                // Already read
+                return;
+            }
+            CHILD child = fetchChild(session, owner, object, dbResult);
+            if (child == null) {
+                return;
+            }
+
+            // Add to map
+            List<CHILD> children = objectMap.computeIfAbsent(object, k -> new ArrayList<>());
+            children.add(child);
+        }
+
+        /**
+         * All children are read. Now assign them to parents
+         */
+        @Override
+        public void complete() throws DBException {
+            synchronized (JDBCStructCache.this) {
+                for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
+                    if (!isChildrenCached(colEntry.getKey())) {
+                        // isChildrenCached may return true if the same cache was read in other thread
+                        // just skip
+                        cacheChildren(colEntry.getKey(), colEntry.getValue());
+                    }
+                }
+                if (forObject == null) {
+                    if (objectMap.isEmpty()) {
+                        // Nothing was read. May be it means empty list of children
+                        // but possibly this feature is not supported [JDBC: SQLite]
+                    } else {
+                        // Now set empty column list for other tables
+                        for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
+                            if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
+                                cacheChildren(tmpObject, new ArrayList<>());
+                            }
+                        }
+                        childrenCached = true;
+                    }
+                } else if (!objectMap.containsKey(forObject)) {
+                    cacheChildren(forObject, new ArrayList<>());
+                }
+            }
+        }
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache) {
         super.removeObject(object, resetFullCache);
@@ -239,6 +282,13 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
+    /**
+     * Returns true if children of all objects were read
+     */
+    public boolean isAllChildrenCached() {
+        return childrenCached;
+    }
+
     protected boolean isChildrenCached(OBJECT parent) {
         synchronized (childrenCache) {
             return childrenCache.containsKey(parent);
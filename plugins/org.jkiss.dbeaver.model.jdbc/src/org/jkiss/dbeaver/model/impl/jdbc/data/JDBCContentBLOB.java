@@ -23,9 +23,12 @@ import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.data.DBDContentCached;
+import org.jkiss.dbeaver.model.data.DBDContentRandomAccess;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.storage.BytesContentStorage;
+import org.jkiss.dbeaver.model.data.storage.CachedContentStorage;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.data.storage.TemporaryContentStorage;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -52,7 +55,7 @@ import java.sql.SQLFeatureNotSupportedException;
  *
  * @author Serge Rider
  */
-public class JDBCContentBLOB extends JDBCContentLOB {
+public class JDBCContentBLOB extends JDBCContentLOB implements DBDContentRandomAccess {
 
     private static final Log log = Log.getLog(JDBCContentBLOB.class);
 
@@ -104,6 +107,14 @@ public class JDBCContentBLOB extends JDBCContentLOB {
                     } catch (Throwable e) {
                         throw new DBCException(e, executionContext);
                     }
+                } else if ((storage = lookupCachedContents(contentLength)) != null) {
+                    // The same cell was read before
+                } else if (ContentDiskCache.getInstance().isEnabled()) {
+                    storage = spoolContents(monitor, contentLength, os -> {
+                        try (InputStream bs = blob.getBinaryStream()) {
+                            ContentUtils.copyStreams(bs, contentLength, os, monitor);
+                        }
+                    });
                 } else {
                     // Create new local storage
                     Path tempFile;
@@ -134,6 +145,42 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         return storage;
     }
 
+    /**
+     * Reads part of the value. If content wasn't read yet then only requested range is read from the database.
+     */
+    @Override
+    public int readContent(
+        @NotNull DBRProgressMonitor monitor,
+        long offset,
+        @NotNull byte[] buffer,
+        int bufferOffset,
+        int length
+    ) throws DBCException {
+        if (offset >= getContentLength()) {
+            return -1;
+        }
+        try {
+            if (storage instanceof CachedContentStorage cachedStorage) {
+                return cachedStorage.read(offset, buffer, bufferOffset, length);
+            } else if (storage == null && blob != null) {
+                // Blob positions are 1-based
+                byte[] bytes = blob.getBytes(offset + 1, length);
+                System.arraycopy(bytes, 0, buffer, bufferOffset, bytes.length);
+                return bytes.length;
+            } else if (storage != null) {
+                try (InputStream is = storage.getContentStream()) {
+                    is.skipNBytes(offset);
+                    return Math.max(is.readNBytes(buffer, bufferOffset, length), 0);
+                }
+            }
+            return -1;
+        } catch (IOException e) {
+            throw new DBCException("IO error while reading content", e);
+        } catch (Throwable e) {
+            throw new DBCException(e, executionContext);
+        }
+    }
+
     @Override
     public void release()
     {
@@ -168,6 +215,7 @@ public class JDBCContentBLOB extends JDBCContentLOB {
     {
         try {
             if (storage != null) {
+                invalidateCachedContents();
                 // Write new blob value
                 releaseTempStream();
                 tmpStream = storage.getContentStream();
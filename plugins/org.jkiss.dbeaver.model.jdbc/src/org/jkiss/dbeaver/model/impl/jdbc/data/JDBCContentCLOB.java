@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.data.storage.ExternalContentStorage;
 import org.jkiss.dbeaver.model.data.storage.StringContentStorage;
 import org.jkiss.dbeaver.model.data.storage.TemporaryContentStorage;
@@ -39,6 +40,7 @@ import org.jkiss.dbeaver.utils.MimeTypes;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -106,6 +108,14 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
                             throw new DBCException(e, executionContext);
                         }
                     }
+                } else if ((storage = lookupCachedContents(contentLength)) != null) {
+                    // The same cell was read before
+                } else if (ContentDiskCache.getInstance().isEnabled()) {
+                    storage = spoolContents(monitor, contentLength, os -> {
+                        try (Writer writer = new OutputStreamWriter(os, Charset.forName(getDefaultEncoding()))) {
+                            ContentUtils.copyStreams(clob.getCharacterStream(), contentLength, writer, monitor);
+                        }
+                    });
                 } else {
                     // Create new local storage
                     Path tempFile;
@@ -168,6 +178,7 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
     {
         try {
             if (storage != null) {
+                invalidateCachedContents();
 //                String stringValue = ContentUtils.getContentStringValue(session.getProgressMonitor(), this);
 //                preparedStatement.setString(paramIndex, stringValue);
                 // Try 3 jdbc methods to set character stream
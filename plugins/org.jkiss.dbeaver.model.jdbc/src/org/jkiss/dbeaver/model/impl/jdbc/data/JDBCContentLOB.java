@@ -17,31 +17,43 @@
 package org.jkiss.dbeaver.model.impl.jdbc.data;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentCacheable;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDValueCloneable;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
 /**
  * JDBCContentLOB
  *
  * @author Serge Rider
  */
-public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDContent {
+public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDContent, DBDContentCacheable {
 
     private static final String ERROR_MESSAGE_PARAM_IS_SHOWN = "lob-reading-error-message-is-shown";
 
     private DBDContentStorage originalStorage;
     protected DBDContentStorage storage;
+    // Identifies table cell of this value in content disk cache
+    @Nullable
+    private String cacheKey;
 
     protected JDBCContentLOB(DBCExecutionContext dataSource)
     {
@@ -62,6 +74,74 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
 
     protected abstract long getLOBLength() throws DBCException;
 
+    @Nullable
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    @Override
+    public void setCacheKey(@Nullable String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * Returns content of the same table cell read before or null
+     */
+    @Nullable
+    protected DBDContentStorage lookupCachedContents(long lobLength) {
+        ContentDiskCache cache = ContentDiskCache.getInstance();
+        if (cacheKey == null || !cache.isEnabled()) {
+            return null;
+        }
+        return cache.lookup(cacheKey, lobLength, getDefaultEncoding());
+    }
+
+    /**
+     * Writes content into content disk cache. Content with the same hash is stored only once.
+     */
+    @NotNull
+    protected DBDContentStorage spoolContents(
+        @NotNull DBRProgressMonitor monitor,
+        long lobLength,
+        @NotNull ContentWriter writer
+    ) throws DBCException {
+        ContentDiskCache cache = ContentDiskCache.getInstance();
+        Path spoolFile;
+        try {
+            spoolFile = cache.createSpoolFile(monitor);
+        } catch (IOException e) {
+            throw new DBCException("Can't create temporary file", e);
+        }
+        try {
+            MessageDigest digest = ContentDiskCache.createDigest();
+            try (OutputStream os = new DigestOutputStream(Files.newOutputStream(spoolFile), digest)) {
+                writer.write(os);
+            }
+            return cache.store(cacheKey, lobLength, spoolFile, digest, getDefaultEncoding());
+        } catch (IOException e) {
+            deleteSpoolFile(spoolFile);
+            throw new DBCException("IO error while copying content", e);
+        } catch (Throwable e) {
+            deleteSpoolFile(spoolFile);
+            throw new DBCException(e, executionContext);
+        }
+    }
+
+    private static void deleteSpoolFile(@NotNull Path spoolFile) {
+        if (Files.exists(spoolFile)) {
+            ContentUtils.deleteTempFile(spoolFile);
+        }
+    }
+
+    /**
+     * Removes cached content of the table cell. Called when new value is written in the database.
+     */
+    protected void invalidateCachedContents() {
+        if (cacheKey != null) {
+            ContentDiskCache.getInstance().invalidate(cacheKey);
+        }
+    }
+
     @Override
     public boolean updateContents(
         @NotNull DBRProgressMonitor monitor,
@@ -121,6 +201,10 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
 
     protected abstract JDBCContentLOB createNewContent();
 
+    protected interface ContentWriter {
+        void write(@NotNull OutputStream stream) throws Exception;
+    }
+
     void handleContentReadingException(DBCException e) throws DBCException {
         DBCTransactionManager transactionManager = DBUtils.getTransactionManager(executionContext);
         boolean errorMessageIsShown = CommonUtils.toBoolean(
@@ -20,12 +20,15 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBValueFormatting;
+import org.jkiss.dbeaver.model.data.DBDDataBatch;
 import org.jkiss.dbeaver.model.data.DBDDataFormatter;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.DBDFormatSettings;
+import org.jkiss.dbeaver.model.data.DBDValueBatchHandler;
 import org.jkiss.dbeaver.model.data.DBDValueDefaultGenerator;
 import org.jkiss.dbeaver.model.data.DBDValueHandlerConfigurable;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
@@ -43,7 +46,7 @@ import java.util.Date;
 /**
  * JDBC number value handler
  */
-public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements DBDValueHandlerConfigurable, DBDValueDefaultGenerator {
+public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements DBDValueHandlerConfigurable, DBDValueDefaultGenerator, DBDValueBatchHandler {
 
     private static final Log log = Log.getLog(JDBCNumberValueHandler.class);
 
@@ -213,6 +216,60 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         return false;
     }
 
+    /**
+     * Types which {@link #fetchColumnValue} reads as primitives are read into primitive batch columns.
+     * Other numbers (decimals, big integers) stay objects.
+     */
+    @NotNull
+    @Override
+    public DBDDataBatch.ColumnKind getBatchColumnKind(@NotNull DBSTypedObject type) {
+        return switch (type.getTypeID()) {
+            case Types.INTEGER -> DBDDataBatch.ColumnKind.LONG;
+            case Types.SMALLINT -> DBDDataBatch.ColumnKind.INTEGER;
+            case Types.TINYINT -> DBDDataBatch.ColumnKind.SHORT;
+            case Types.DOUBLE, Types.REAL, Types.FLOAT ->
+                isReadDecimalsAsDouble() ? DBDDataBatch.ColumnKind.DOUBLE : DBDDataBatch.ColumnKind.OBJECT;
+            default -> DBDDataBatch.ColumnKind.OBJECT;
+        };
+    }
+
+    @Override
+    public void fetchBatchValue(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBSTypedObject type,
+        int index,
+        @NotNull DBDDataBatch.Column column,
+        int row
+    ) throws DBCException {
+        if (!(resultSet instanceof JDBCResultSet dbResults)) {
+            column.setObject(row, resultSet.getAttributeValue(index));
+            return;
+        }
+        try {
+            try {
+                // JDBC uses 1-based indexes
+                if (column.getKind() == DBDDataBatch.ColumnKind.DOUBLE) {
+                    column.setDouble(row, dbResults.getDouble(index + 1));
+                } else {
+                    column.setLong(row, dbResults.getLong(index + 1));
+                }
+                if (dbResults.wasNull()) {
+                    column.setNull(row);
+                }
+            } catch (SQLException | ClassCastException | NumberFormatException e) {
+                // Read it the usual way (it will try getObject)
+                Object value = fetchColumnValue(session, dbResults, type, index + 1);
+                if (value != null && !(value instanceof Number)) {
+                    throw new DBCException("Non-numeric value '" + value + "' in numeric column");
+                }
+                column.setObject(row, value);
+            }
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+    }
+
     @Override
     protected void bindParameter(JDBCSession session, JDBCPreparedStatement statement, DBSTypedObject paramType,
                                  int paramIndex, Object value) throws SQLException, DBCException {
@@ -47,6 +47,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     @NotNull
     final JDBCExecutionContext context;
     private volatile Thread blockThread;
+    private boolean useStatementCache;
 
     public JDBCConnectionImpl(@NotNull JDBCExecutionContext context, @NotNull DBRProgressMonitor monitor, @NotNull DBCExecutionPurpose purpose, @NotNull String taskTitle)
     {
@@ -187,6 +188,8 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                         throw e;
                     }
                 }
+            } else if (useStatementCache && !scrollable && !updatable) {
+                return prepareCachedStatement(sqlQuery);
             } else {
                 JDBCPreparedStatement dbStat;
                 try {
@@ -261,9 +264,37 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException
     {
+        if (useStatementCache) {
+            return prepareCachedStatement(sql);
+        }
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
     }
 
+    @NotNull
+    @Override
+    public JDBCPreparedStatement prepareCachedStatement(@NotNull String sql)
+        throws SQLException
+    {
+        Connection original = getOriginal();
+        JDBCStatementCache cache = context.getStatementCache(original);
+        if (cache == null) {
+            return createPreparedStatementImpl(original.prepareStatement(sql), sql);
+        }
+        PreparedStatement statement = cache.acquire(sql);
+        if (isLoggingEnabled()) {
+            QMUtils.getDefaultHandler().handleStatementCacheAccess(context, statement != null);
+        }
+        if (statement == null) {
+            statement = original.prepareStatement(sql);
+        }
+        return new JDBCPreparedStatementCachedImpl(this, statement, sql, !isLoggingEnabled(), cache);
+    }
+
+    @Override
+    public void setUseStatementCache(boolean useStatementCache) {
+        this.useStatementCache = useStatementCache;
+    }
+
     @NotNull
     @Override
     public JDBCCallableStatement prepareCall(String sql)
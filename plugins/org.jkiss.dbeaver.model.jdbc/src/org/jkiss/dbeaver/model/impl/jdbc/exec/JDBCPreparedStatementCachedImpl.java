@@ -16,20 +16,85 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement from the statement cache.
+ * On close the original statement is returned to the cache instead of being closed.
+ * Statements which failed to execute or to add a batch are closed.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
-	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
-		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
-	}
-
-	@Override
-	public void close() {
-		// For cached statement close() do nothing
-	}
-	
-	public void drop(){
-		super.close();
-	}
-	
+    @Nullable
+    private final JDBCStatementCache cache;
+    private boolean dropped;
+
+    public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment) {
+        super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
+        this.cache = null;
+    }
+
+    public JDBCPreparedStatementCachedImpl(
+        @NotNull JDBCSession session,
+        @NotNull PreparedStatement original,
+        @NotNull String query,
+        boolean disableLogging,
+        @NotNull JDBCStatementCache cache)
+    {
+        super(session, original, query, disableLogging);
+        this.cache = cache;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        try {
+            super.addBatch();
+        } catch (SQLException | RuntimeException e) {
+            // Statement may keep a partially built batch
+            dropped = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        try {
+            super.clearBatch();
+        } catch (SQLException | RuntimeException e) {
+            dropped = true;
+            throw e;
+        }
+    }
+
+    @Override
+    protected SQLException handleExecuteError(Throwable ex) {
+        // Statement state after a failed execution is driver specific, so never return it to the cache
+        dropped = true;
+        return super.handleExecuteError(ex);
+    }
+
+    @Override
+    protected void closeOriginal() {
+        if (dropped) {
+            super.closeOriginal();
+        } else if (cache != null && !cache.release(query, getOriginal())) {
+            // Not accepted by the cache
+            super.closeOriginal();
+        }
+        // Statement without cache is kept open until drop()
+    }
+
+    /**
+     * Closes original statement instead of returning it to the cache
+     */
+    public void drop() {
+        dropped = true;
+        close();
+    }
+
 }
@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements of a single connection, keyed by query text.
+ * <p>
+ * A statement is taken out of the cache while it is used, so concurrent sessions never share
+ * the same statement: the second session which prepares the same query just gets a new statement.
+ * Closed statements are returned to the cache. Least recently used statements are closed when cache
+ * exceeds its size.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    private final int maxSize;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private volatile boolean closed;
+
+    public JDBCStatementCache(@NotNull Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(maxSize, 0.75f, true);
+    }
+
+    /**
+     * Connection which statements are cached
+     */
+    @NotNull
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Takes cached statement for the query out of the cache.
+     *
+     * @return cached statement or null if there is no statement for this query
+     */
+    @Nullable
+    public synchronized PreparedStatement acquire(@NotNull String query) {
+        PreparedStatement statement = statements.remove(query);
+        if (statement != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return statement;
+    }
+
+    /**
+     * Returns statement to the cache.
+     *
+     * @return false if statement wasn't cached (and thus must be closed by caller)
+     */
+    public boolean release(@NotNull String query, @NotNull PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return false;
+            }
+            resetStatement(statement);
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement: " + e.getMessage());
+            return false;
+        }
+        List<PreparedStatement> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (closed || statements.containsKey(query)) {
+                return false;
+            }
+            statements.put(query, statement);
+            Iterator<PreparedStatement> iterator = statements.values().iterator();
+            while (statements.size() > maxSize && iterator.hasNext()) {
+                evicted.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        for (PreparedStatement evictedStatement : evicted) {
+            closeStatement(evictedStatement);
+        }
+        return true;
+    }
+
+    public int size() {
+        synchronized (this) {
+            return statements.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Closes all cached statements. Statements which are in use are closed by their sessions.
+     */
+    public void close() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        for (PreparedStatement statement : toClose) {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Statement cache: " + size() + " statements, " + hitCount.get() + " hits, " + missCount.get() + " misses";
+    }
+
+    /**
+     * Resets statement state which may be changed by the previous user, so the next session gets
+     * the statement in the same state as a newly prepared one.
+     */
+    private static void resetStatement(@NotNull PreparedStatement statement) throws SQLException {
+        try {
+            statement.clearBatch();
+        } catch (SQLFeatureNotSupportedException | UnsupportedOperationException e) {
+            // Batches are not supported, so there is nothing to clear
+        }
+        statement.clearParameters();
+        statement.clearWarnings();
+        if (statement.getMaxRows() != 0) {
+            statement.setMaxRows(0);
+        }
+        if (statement.getQueryTimeout() != 0) {
+            statement.setQueryTimeout(0);
+        }
+        if (statement.getFetchSize() != 0) {
+            statement.setFetchSize(0);
+        }
+    }
+
+    private static void closeStatement(@NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+}
@@ -22,13 +22,19 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
+import org.jkiss.dbeaver.model.impl.data.AttributeEnumerationCache;
+import org.jkiss.dbeaver.model.impl.data.DictionaryLabelResolver;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchWithMultipleInsert;
 import org.jkiss.dbeaver.model.impl.data.ExecuteInsertBatchImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCException;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStringValueHandler;
@@ -48,6 +54,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -359,10 +366,10 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         boolean multiRowInsertSupported = getDataSource().getSQLDialect().getDefaultMultiValueInsertMode() == SQLDialect.MultiValueInsertMode.GROUP_ROWS;
         if (CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_USE_MULTI_INSERT)) && multiRowInsertSupported) {
-            return new ExecuteBatchWithMultipleInsert(attributes, keysReceiver, true, session, source, JDBCTable.this);
+            return new DataChangeBatch(new ExecuteBatchWithMultipleInsert(attributes, keysReceiver, true, session, source, JDBCTable.this));
         }
 
-        return new ExecuteInsertBatchImpl(attributes, keysReceiver, true, session, source, JDBCTable.this, useUpsert(session));
+        return new DataChangeBatch(new ExecuteInsertBatchImpl(attributes, keysReceiver, true, session, source, JDBCTable.this, useUpsert(session)));
     }
 
     ////////////////////////////////////////////////////////////////////
@@ -389,7 +396,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, false) {
+        return new DataChangeBatch(new ExecuteBatchImpl(attributes, keysReceiver, false) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
@@ -438,7 +445,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 }
 
                 // Execute
-                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, keysReceiver != null);
+                DBCStatement dbStat = prepareDataStatement(session, query.toString(), keysReceiver != null);
 
                 dbStat.setStatementSource(source);
                 return dbStat;
@@ -456,7 +463,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                     handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
                 }
             }
-        };
+        });
     }
 
     ////////////////////////////////////////////////////////////////////
@@ -469,7 +476,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(keyAttributes, null, false) {
+        return new DataChangeBatch(new ExecuteBatchImpl(keyAttributes, null, false) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
@@ -497,7 +504,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 }
 
                 // Execute
-                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false);
+                DBCStatement dbStat = prepareDataStatement(session, query.toString(), false);
                 dbStat.setStatementSource(source);
                 return dbStat;
             }
@@ -514,7 +521,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                     handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
                 }
             }
-        };
+        });
     }
 
     ////////////////////////////////////////////////////////////////////
@@ -1029,6 +1036,70 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         return "DELETE FROM " + tableName;
     }
 
+    /**
+     * Prepares data modification statement. Statements without generated keys are taken from the context statement cache,
+     * so repeated edits of the same table don't make server parse the same query again.
+     */
+    @NotNull
+    private static DBCStatement prepareDataStatement(@NotNull DBCSession session, @NotNull String query, boolean returnKeys) throws DBCException {
+        if (!returnKeys && session instanceof JDBCSession jdbcSession) {
+            try {
+                return jdbcSession.prepareCachedStatement(query);
+            } catch (SQLException e) {
+                throw new JDBCException(e, session.getExecutionContext());
+            }
+        }
+        return session.prepareStatement(DBCStatementType.QUERY, query, false, false, returnKeys);
+    }
+
+    /**
+     * Drops cached dictionary labels, value enumerations and LOB contents of this table
+     */
+    protected void invalidateDataCaches() {
+        DictionaryLabelResolver.getInstance().invalidate(this);
+        AttributeEnumerationCache.getInstance().invalidate(this);
+        ContentDiskCache.getInstance().invalidateTable(this);
+    }
+
+    /**
+     * Invalidates data caches after successful execution, so the same connection won't read old values from cache.
+     * Caches are invalidated once more after commit: other connections could have cached old data
+     * while the transaction was not committed yet.
+     */
+    private class DataChangeBatch implements ExecuteBatch {
+        private final ExecuteBatch batch;
+
+        DataChangeBatch(@NotNull ExecuteBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void add(@NotNull Object[] attributeValues) throws DBCException {
+            batch.add(attributeValues);
+        }
+
+        @NotNull
+        @Override
+        public DBCStatistics execute(@NotNull DBCSession session, Map<String, Object> options) throws DBCException {
+            DBCStatistics statistics = batch.execute(session, options);
+            invalidateDataCaches();
+            if (session.getExecutionContext() instanceof JDBCExecutionContext context && !context.isAutoCommit()) {
+                context.runAfterCommit(JDBCTable.this::invalidateDataCaches);
+            }
+            return statistics;
+        }
+
+        @Override
+        public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
+            batch.generatePersistActions(session, actions, options);
+        }
+
+        @Override
+        public void close() {
+            batch.close();
+        }
+    }
+
     private static class AttrInfo<T> {
         public final T attr;
         public final DBDValueHandler handler;
@@ -1119,6 +1190,17 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         @NotNull
         @Override
         public List<DBDLabelValuePair> getValueEntry(@NotNull Object keyValue) throws DBException {
+            if (preceedingKeysInfo.isEmpty()) {
+                // Single key lookup goes through shared labels cache, missing labels are read in this session
+                DBDLabelValuePair label = DictionaryLabelResolver.getInstance().resolveLabel(
+                    session.getProgressMonitor(), JDBCTable.this, keyColumn, keyValue, this::readValueEntry);
+                return label == null ? new ArrayList<>() : new ArrayList<>(List.of(label));
+            }
+            return readValueEntry(keyValue);
+        }
+
+        @NotNull
+        private List<DBDLabelValuePair> readValueEntry(@NotNull Object keyValue) throws DBException {
             DBDDataFilter filter = new DBDDataFilter(this.filter);
             List<DBDAttributeConstraint> constraints = filter.getConstraints();
             DBDAttributeConstraint constraint = new DBDAttributeConstraint(keyColumn, constraints.size());
@@ -16,26 +16,48 @@
  */
 package org.jkiss.dbeaver.model.lsm;
 
-import org.antlr.v4.runtime.ConsoleErrorListener;
-import org.antlr.v4.runtime.Lexer;
-import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
-import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.stm.STMErrorListener;
 import org.jkiss.dbeaver.model.stm.STMParserOverrides;
 import org.jkiss.dbeaver.model.stm.STMSource;
 import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
 import org.jkiss.utils.Pair;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base analyzer implementation.
+ * <p>
+ * Queries are parsed in two stages: fast SLL prediction with bailing error strategy first,
+ * and full LL prediction with error reporting only if SLL parsing failed.
+ * Lexer and parser instances are reused by the thread which parses queries.
+ * Prediction DFA and prediction context cache are shared by all parsers of the same grammar,
+ * they are cleared when DFA grows over {@link #MAX_DFA_STATES} states.
+ */
 public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMParserOverrides> implements LSMAnalyzer {
 
     private static final Log log = Log.getLog(LSMAnalyzerImpl.class);
-    
+
+    private static final int MAX_DFA_STATES = 200_000;
+    private static final int DFA_CHECK_INTERVAL = 256;
+
+    private static final Map<ATN, PredictionContextCache> sharedContextCaches = new ConcurrentHashMap<>();
+    private static final AtomicLong parseCounter = new AtomicLong();
+
     private final LSMAnalyzerParameters parameters;
-    
+    private final ThreadLocal<PooledParser> pooledParser = new ThreadLocal<>();
+
     public LSMAnalyzerImpl(@NotNull LSMAnalyzerParameters parameters) {
         this.parameters = parameters;
     }
@@ -51,30 +73,115 @@ public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMP
         Pair<TLexer, TParser> pair = this.createParser(source, this.parameters);
         TLexer lexer = pair.getFirst();
         TParser parser = pair.getSecond();
-        
-        if (errorListener != null) {
-            lexer.removeErrorListener(ConsoleErrorListener.INSTANCE);
-            lexer.addErrorListener(errorListener);
-            parser.removeErrorListener(ConsoleErrorListener.INSTANCE);
-            parser.addErrorListener(errorListener);
-        }
-        
+        setErrorListener(lexer, errorListener);
+        setErrorListener(parser, errorListener);
+        useSharedContextCache(parser);
         parser.getInterpreter().setPredictionMode(PredictionMode.LL);
-        
         return parser;
     }
 
     @Nullable
     @Override
     public STMTreeRuleNode parseSqlQueryTree(@NotNull STMSource source, @Nullable STMErrorListener errorListener) {
+        PooledParser pooled = pooledParser.get();
+        if (pooled == null) {
+            pooled = new PooledParser(this.createParser(source, this.parameters));
+            pooledParser.set(pooled);
+        } else if (pooled.inUse) {
+            // Nested parse on the same thread - do not touch the pooled instance
+            pooled = new PooledParser(this.createParser(source, this.parameters));
+        }
+        pooled.inUse = true;
         try {
-            TParser parser = prepareParser(source, errorListener);
-            STMTreeRuleNode result = parseSqlQueryImpl(parser);
+            TParser parser = pooled.reset(source, errorListener);
+            STMTreeRuleNode result = parseTwoStage(parser, errorListener);
             result.fixup(parser);
             return result;
         } catch (RecognitionException e) {
             log.debug("Recognition exception occurred while trying to parse the query", e);
             return null;
+        } finally {
+            pooled.release();
+            checkPredictionCacheSize(pooled.parser);
+        }
+    }
+
+    @NotNull
+    private STMTreeRuleNode parseTwoStage(@NotNull TParser parser, @Nullable STMErrorListener errorListener) {
+        ParserATNSimulator interpreter = parser.getInterpreter();
+        // Stage 1: SLL without error recovery. Succeeds for most valid queries.
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        interpreter.setPredictionMode(PredictionMode.SLL);
+        try {
+            return parseSqlQueryImpl(parser);
+        } catch (ParseCancellationException e) {
+            // Stage 2: syntax error or SLL conflict, re-parse in full LL with error recovery and reporting
+            parser.getTokenStream().seek(0);
+            parser.reset();
+            setErrorListener(parser, errorListener);
+            parser.setErrorHandler(new DefaultErrorStrategy());
+            interpreter.setPredictionMode(PredictionMode.LL);
+            return parseSqlQueryImpl(parser);
+        }
+    }
+
+    private static void setErrorListener(@NotNull Recognizer<?, ?> recognizer, @Nullable STMErrorListener errorListener) {
+        recognizer.removeErrorListeners();
+        recognizer.addErrorListener(errorListener != null ? errorListener : ConsoleErrorListener.INSTANCE);
+    }
+
+    private static void useSharedContextCache(@NotNull Parser parser) {
+        ParserATNSimulator interpreter = parser.getInterpreter();
+        PredictionContextCache contextCache = sharedContextCaches.computeIfAbsent(parser.getATN(), atn -> new PredictionContextCache());
+        if (interpreter.getSharedContextCache() != contextCache) {
+            parser.setInterpreter(new ParserATNSimulator(parser, parser.getATN(), interpreter.decisionToDFA, contextCache));
+        }
+    }
+
+    private static void checkPredictionCacheSize(@NotNull Parser parser) {
+        if (parseCounter.incrementAndGet() % DFA_CHECK_INTERVAL != 0) {
+            return;
+        }
+        ParserATNSimulator interpreter = parser.getInterpreter();
+        int statesCount = 0;
+        for (DFA dfa : interpreter.decisionToDFA) {
+            statesCount += dfa.states.size();
+        }
+        if (statesCount > MAX_DFA_STATES) {
+            log.debug("Parser prediction DFA has " + statesCount + " states, clear it");
+            interpreter.clearDFA();
+            // Pooled parsers pick up new context cache on next parse
+            sharedContextCaches.put(parser.getATN(), new PredictionContextCache());
+        }
+    }
+
+    private class PooledParser {
+        private final TLexer lexer;
+        private final TParser parser;
+        private boolean inUse;
+
+        PooledParser(@NotNull Pair<TLexer, TParser> pair) {
+            this.lexer = pair.getFirst();
+            this.parser = pair.getSecond();
+        }
+
+        @NotNull
+        TParser reset(@NotNull STMSource source, @Nullable STMErrorListener errorListener) {
+            lexer.setInputStream(source.getStream());
+            setErrorListener(lexer, errorListener);
+            parser.setTokenStream(new CommonTokenStream(lexer));
+            useSharedContextCache(parser);
+            return parser;
+        }
+
+        void release() {
+            inUse = false;
+            // Do not hold query text and tokens till the next parse
+            parser.setTokenStream(null);
+            lexer.setInputStream(null);
+            lexer.removeErrorListeners();
+            parser.removeErrorListeners();
         }
     }
 
@@ -22,8 +22,16 @@ import org.jkiss.dbeaver.model.lsm.LSMAnalyzerFactory;
 import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SQLStandardAnalyzerFactory implements LSMAnalyzerFactory {
 
+    // Analyzers keep per-thread parser instances, so they are reused for the same parameters
+    private static final int MAX_CACHED_ANALYZERS = 32;
+
+    private final Map<LSMAnalyzerParameters, SQLStandardAnalyzer> analyzers = new ConcurrentHashMap<>();
+
     public SQLStandardAnalyzerFactory() {
         // do nothing
     }
@@ -31,6 +39,9 @@ public class SQLStandardAnalyzerFactory implements LSMAnalyzerFactory {
     @NotNull
     @Override
     public LSMAnalyzer createAnalyzer(@NotNull LSMAnalyzerParameters parameters) {
-        return new SQLStandardAnalyzer(parameters);
+        if (analyzers.size() > MAX_CACHED_ANALYZERS) {
+            analyzers.clear();
+        }
+        return analyzers.computeIfAbsent(parameters, SQLStandardAnalyzer::new);
     }
 }
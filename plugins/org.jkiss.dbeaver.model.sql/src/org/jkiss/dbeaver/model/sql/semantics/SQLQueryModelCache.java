@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.semantics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.semantics.model.SQLQueryModel;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memo cache of recognized query models.
+ * <p>
+ * Models are keyed by query text, dialect class, execution context with its default catalog and schema
+ * and metadata version. Dialect instances are not compared, because a new dialect instance is created
+ * for each parse of a script without connection. Positions of model symbols are relative to the query start,
+ * so a cached model is valid for the same query text at any document offset.
+ * Least recently used models are evicted when cache exceeds its entries count or total text length.
+ */
+public class SQLQueryModelCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 5000;
+    private static final long DEFAULT_MAX_TEXT_LENGTH = 10_000_000;
+
+    public record Key(
+        @NotNull String queryText,
+        @NotNull Class<? extends SQLDialect> dialectClass,
+        @Nullable DBCExecutionContext executionContext,
+        @Nullable String defaultCatalog,
+        @Nullable String defaultSchema,
+        boolean useRealMetadata,
+        long metadataVersion
+    ) {
+    }
+
+    public record Entry(
+        @NotNull SQLQueryModel model,
+        @NotNull List<SQLQueryRecognitionProblemInfo> problems
+    ) {
+    }
+
+    private final int maxEntries;
+    private final long maxTextLength;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long textLength;
+    private long hitCount;
+    private long missCount;
+
+    public SQLQueryModelCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TEXT_LENGTH);
+    }
+
+    public SQLQueryModelCache(int maxEntries, long maxTextLength) {
+        this.maxEntries = maxEntries;
+        this.maxTextLength = maxTextLength;
+    }
+
+    /**
+     * Makes cache key for the query recognized in the specified context
+     */
+    @NotNull
+    public static Key makeKey(
+        @NotNull String queryText,
+        @NotNull SQLDialect dialect,
+        @Nullable DBCExecutionContext executionContext,
+        boolean useRealMetadata,
+        long metadataVersion
+    ) {
+        String defaultCatalog = null;
+        String defaultSchema = null;
+        DBCExecutionContextDefaults<?, ?> contextDefaults = executionContext == null ? null : executionContext.getContextDefaults();
+        if (contextDefaults != null) {
+            defaultCatalog = getObjectName(contextDefaults.getDefaultCatalog());
+            defaultSchema = getObjectName(contextDefaults.getDefaultSchema());
+        }
+        return new Key(queryText, dialect.getClass(), executionContext, defaultCatalog, defaultSchema, useRealMetadata, metadataVersion);
+    }
+
+    @Nullable
+    public synchronized Entry get(@NotNull Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    public synchronized void put(@NotNull Key key, @NotNull SQLQueryModel model, @NotNull List<SQLQueryRecognitionProblemInfo> problems) {
+        Entry oldEntry = entries.put(key, new Entry(model, List.copyOf(problems)));
+        if (oldEntry == null) {
+            textLength += key.queryText().length();
+        }
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while ((entries.size() > maxEntries || textLength > maxTextLength) && iterator.hasNext()) {
+            textLength -= iterator.next().queryText().length();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        textLength = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Nullable
+    private static String getObjectName(@Nullable DBSObject object) {
+        return object == null ? null : object.getName();
+    }
+}
@@ -173,6 +173,13 @@ public final class ModelPreferences
     public static final String NOTIFICATIONS_SOUND_VOLUME = "notifications.soundVolume"; //$NON-NLS-1$
 
     public static final String DICTIONARY_MAX_ROWS = "dictionary.max.rows";
+    // Max number of resolved dictionary labels cached per entity. 0 disables cache
+    public static final String DICTIONARY_CACHE_MAX_SIZE = "dictionary.cache.maxsize"; //$NON-NLS-1$
+    // Time (in seconds) resolved dictionary labels and value enumerations are kept in cache. 0 disables cache
+    public static final String DICTIONARY_CACHE_TTL = "dictionary.cache.ttl"; //$NON-NLS-1$
+
+    // Max number of scheduled tasks running against the same connection at once. 0 means no limit
+    public static final String TASK_MAX_CONCURRENT_PER_DATASOURCE = "task.scheduler.maxPerDataSource"; //$NON-NLS-1$
 
     public static final String QUERY_ROLLBACK_ON_ERROR = "query.rollback-on-error"; //$NON-NLS-1$
 
@@ -196,11 +203,17 @@ public final class ModelPreferences
     public static final String CONTENT_CACHE_CLOB = "content.cache.clob"; //$NON-NLS-1$
     public static final String CONTENT_CACHE_BLOB = "content.cache.blob"; //$NON-NLS-1$
     public static final String CONTENT_CACHE_MAX_SIZE = "content.cache.maxsize"; //$NON-NLS-1$
+    // Max total size (in bytes) of LOB files kept in disk cache. 0 disables disk cache
+    public static final String CONTENT_DISK_CACHE_MAX_SIZE = "content.disk.cache.maxsize"; //$NON-NLS-1$
+    // Max time (in seconds) LOB file is kept in disk cache after last access
+    public static final String CONTENT_DISK_CACHE_TTL = "content.disk.cache.ttl"; //$NON-NLS-1$
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_DISABLE_EXTRA_READ = "database.meta.disableAdditionalRead"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
     public static final String META_EXTRA_DDL_INFO = "database.meta.extra.ddl.info"; //$NON-NLS-1$
+    // Max number of cached prepared statements per execution context. 0 disables statement cache
+    public static final String STATEMENT_CACHE_SIZE = "database.statement.cache.size"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -302,6 +315,9 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NOTIFICATIONS_SOUND_ENABLED, true);
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.NOTIFICATIONS_SOUND_VOLUME, 100);
         PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_MAX_ROWS, 200);
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_CACHE_MAX_SIZE, 10000);
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.DICTIONARY_CACHE_TTL, 300);
+        PrefUtils.setDefaultPreferenceValue(store, ModelPreferences.TASK_MAX_CONCURRENT_PER_DATASOURCE, 2);
         // Common
         PrefUtils.setDefaultPreferenceValue(store, QUERY_ROLLBACK_ON_ERROR, false);
         PrefUtils.setDefaultPreferenceValue(store, EXECUTE_RECOVER_ENABLED, true);
@@ -327,6 +343,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_DISABLE_EXTRA_READ, false);
         PrefUtils.setDefaultPreferenceValue(store, META_EXTRA_DDL_INFO, true);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, STATEMENT_CACHE_SIZE, 32);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -348,6 +365,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, true);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_BLOB, false);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_MAX_SIZE, 1000000);
+        PrefUtils.setDefaultPreferenceValue(store, CONTENT_DISK_CACHE_MAX_SIZE, 256L * 1024 * 1024);
+        PrefUtils.setDefaultPreferenceValue(store, CONTENT_DISK_CACHE_TTL, 3600);
 
         // Network
         PrefUtils.setDefaultPreferenceValue(store, NET_TUNNEL_PORT_MIN, 10000);
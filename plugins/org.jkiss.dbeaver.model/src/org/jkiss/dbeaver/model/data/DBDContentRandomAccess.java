@@ -0,0 +1,42 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+/**
+ * Content which can read part of its value without reading the whole value.
+ * Value viewers may use it to read only the visible range of big binary values.
+ */
+public interface DBDContentRandomAccess {
+
+    /**
+     * Reads content bytes starting at specified position.
+     *
+     * @param offset zero-based position in content
+     * @return number of bytes read or -1 if offset is beyond the end of content
+     */
+    int readContent(
+        @NotNull DBRProgressMonitor monitor,
+        long offset,
+        @NotNull byte[] buffer,
+        int bufferOffset,
+        int length) throws DBCException;
+
+}
@@ -0,0 +1,192 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Block of fetched rows stored by columns.
+ * <p>
+ * Integral and floating point columns read by {@link DBDValueBatchHandler} are kept in primitive arrays,
+ * so consumers which understand column kinds may process them without boxing.
+ * Other columns keep value objects as they were returned by value handlers.
+ */
+public class DBDDataBatch {
+
+    public enum ColumnKind {
+        // Values are stored in long array and boxed as Long
+        LONG,
+        // Values are stored in long array and boxed as Integer
+        INTEGER,
+        // Values are stored in long array and boxed as Short
+        SHORT,
+        // Values are stored in double array and boxed as Double
+        DOUBLE,
+        // Values are stored as objects
+        OBJECT
+    }
+
+    public static class Column {
+        private final ColumnKind kind;
+        private final long[] longs;
+        private final double[] doubles;
+        private final Object[] objects;
+        private final boolean[] nulls;
+
+        Column(@NotNull ColumnKind kind, int capacity) {
+            this.kind = kind;
+            this.longs = kind == ColumnKind.LONG || kind == ColumnKind.INTEGER || kind == ColumnKind.SHORT ? new long[capacity] : null;
+            this.doubles = kind == ColumnKind.DOUBLE ? new double[capacity] : null;
+            this.objects = kind == ColumnKind.OBJECT ? new Object[capacity] : null;
+            this.nulls = kind == ColumnKind.OBJECT ? null : new boolean[capacity];
+        }
+
+        @NotNull
+        public ColumnKind getKind() {
+            return kind;
+        }
+
+        public boolean isNull(int row) {
+            return nulls == null ? objects[row] == null : nulls[row];
+        }
+
+        public long getLong(int row) {
+            return longs[row];
+        }
+
+        public double getDouble(int row) {
+            return doubles[row];
+        }
+
+        /**
+         * Returns value object. Primitive values are boxed the same way value handler boxes them.
+         */
+        @Nullable
+        public Object getObject(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return switch (kind) {
+                case LONG -> longs[row];
+                case INTEGER -> (int) longs[row];
+                case SHORT -> (short) longs[row];
+                case DOUBLE -> doubles[row];
+                case OBJECT -> objects[row];
+            };
+        }
+
+        public void setLong(int row, long value) {
+            longs[row] = value;
+            nulls[row] = false;
+        }
+
+        public void setDouble(int row, double value) {
+            doubles[row] = value;
+            nulls[row] = false;
+        }
+
+        public void setObject(int row, @Nullable Object value) {
+            if (objects != null) {
+                objects[row] = value;
+            } else if (value == null) {
+                setNull(row);
+            } else if (kind == ColumnKind.DOUBLE) {
+                setDouble(row, ((Number) value).doubleValue());
+            } else {
+                setLong(row, ((Number) value).longValue());
+            }
+        }
+
+        public void setNull(int row) {
+            if (nulls == null) {
+                objects[row] = null;
+            } else {
+                nulls[row] = true;
+            }
+        }
+
+        void clear(int rowCount) {
+            if (objects != null) {
+                // Do not keep references to values of processed rows
+                Arrays.fill(objects, 0, rowCount, null);
+            }
+        }
+    }
+
+    private final Column[] columns;
+    private final int capacity;
+    private int rowCount;
+
+    public DBDDataBatch(@NotNull ColumnKind[] columnKinds, int capacity) {
+        this.capacity = capacity;
+        this.columns = new Column[columnKinds.length];
+        for (int i = 0; i < columnKinds.length; i++) {
+            columns[i] = new Column(columnKinds[i], capacity);
+        }
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @NotNull
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isFull() {
+        return rowCount >= capacity;
+    }
+
+    /**
+     * Marks next row as filled and returns its index
+     */
+    public int addRow() {
+        return rowCount++;
+    }
+
+    /**
+     * Copies row values into a new array (for consumers which process rows one by one)
+     */
+    @NotNull
+    public Object[] getRow(int row) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].getObject(row);
+        }
+        return values;
+    }
+
+    public void clear() {
+        for (Column column : columns) {
+            column.clear(rowCount);
+        }
+        rowCount = 0;
+    }
+
+}
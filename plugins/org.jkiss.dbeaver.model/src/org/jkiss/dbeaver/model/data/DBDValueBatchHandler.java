@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+/**
+ * Value handler which can read values directly into typed column buffers of {@link DBDDataBatch}.
+ */
+public interface DBDValueBatchHandler extends DBDValueHandler {
+
+    /**
+     * Kind of column buffer this handler fills for the specified type.
+     * {@link DBDDataBatch.ColumnKind#OBJECT} means that values are read with {@link #fetchValueObject}.
+     */
+    @NotNull
+    DBDDataBatch.ColumnKind getBatchColumnKind(@NotNull DBSTypedObject type);
+
+    /**
+     * Reads value of the current result set row into the column buffer.
+     * Called only for types with non-object column kind.
+     */
+    void fetchBatchValue(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBSTypedObject type,
+        int index,
+        @NotNull DBDDataBatch.Column column,
+        int row) throws DBCException;
+
+}
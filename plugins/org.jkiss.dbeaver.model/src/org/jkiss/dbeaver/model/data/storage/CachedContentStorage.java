@@ -0,0 +1,123 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.storage;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only storage of a file from the LOB disk cache.
+ * <p>
+ * Cache files are shared between all storages with the same content, so this storage
+ * doesn't expose its file (it isn't {@link org.jkiss.dbeaver.model.data.DBDContentStorageLocal}):
+ * editors copy its content instead of editing cache file in place.
+ */
+public class CachedContentStorage implements DBDContentStorage {
+
+    private final ContentDiskCache cache;
+    private final ContentDiskCache.CacheFile file;
+    private final String charset;
+    private boolean released;
+
+    CachedContentStorage(@NotNull ContentDiskCache cache, @NotNull ContentDiskCache.CacheFile file, @Nullable String charset) {
+        this.cache = cache;
+        this.file = file;
+        this.charset = CommonUtils.toString(charset, GeneralUtils.DEFAULT_ENCODING);
+    }
+
+    /**
+     * Content SHA-256 hash (hex)
+     */
+    @NotNull
+    public String getContentHash() {
+        return file.getHash();
+    }
+
+    @Override
+    public InputStream getContentStream() throws IOException {
+        return Files.newInputStream(file.getPath());
+    }
+
+    @Override
+    public Reader getContentReader() throws IOException {
+        return Files.newBufferedReader(file.getPath(), Charset.forName(charset));
+    }
+
+    @Override
+    public long getContentLength() {
+        return file.getLength();
+    }
+
+    @Override
+    public String getCharset() {
+        return charset;
+    }
+
+    /**
+     * Reads content bytes starting at specified position without reading preceding content.
+     *
+     * @return number of bytes read or -1 if offset is beyond the end of content
+     */
+    public int read(long offset, @NotNull byte[] buffer, int bufferOffset, int length) throws IOException {
+        if (offset >= file.getLength()) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            ByteBuffer target = ByteBuffer.wrap(buffer, bufferOffset, length);
+            long position = offset;
+            while (target.hasRemaining()) {
+                int count = channel.read(target, position);
+                if (count < 0) {
+                    break;
+                }
+                position += count;
+            }
+            return (int) (position - offset);
+        }
+    }
+
+    @Override
+    public DBDContentStorage cloneStorage(DBRProgressMonitor monitor) {
+        // Cache files are never modified, so copy may share the same file
+        return cache.acquire(file, charset);
+    }
+
+    @Override
+    public void release() {
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            released = true;
+        }
+        cache.release(file);
+    }
+
+}
@@ -0,0 +1,355 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.storage;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Disk cache of big LOB values.
+ * <p>
+ * Files are content-addressed: file name is a SHA-256 hash of the content, so equal values
+ * read from different rows or queries share the same file. Additionally, a value may be
+ * registered under a row key (data source, table, unique key values and column) so the same
+ * cell may be read again without downloading it from the database. Row keys of a table are dropped
+ * when its data is changed or refreshed, so a row key never outlives the data it was read from.
+ * <p>
+ * Total cache size is limited by {@link ModelPreferences#CONTENT_DISK_CACHE_MAX_SIZE}, files which weren't
+ * accessed for {@link ModelPreferences#CONTENT_DISK_CACHE_TTL} seconds are removed. Files which are used by
+ * some storage are never removed.
+ */
+public class ContentDiskCache {
+
+    private static final Log log = Log.getLog(ContentDiskCache.class);
+
+    private static final String CACHE_DIR = ".lob-cache"; //$NON-NLS-1$
+    private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static ContentDiskCache instance;
+
+    private final Map<String, CacheFile> files = new HashMap<>();
+    private final Map<String, RowValue> keyIndex = new HashMap<>();
+    private Path folder;
+    private long totalSize;
+    private long hitCount;
+    private long missCount;
+
+    public static synchronized ContentDiskCache getInstance() {
+        if (instance == null) {
+            instance = new ContentDiskCache();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return getMaxSize() > 0;
+    }
+
+    /**
+     * Makes row key prefix of the table. Row keys passed to {@link #lookup} and {@link #store} must start with it.
+     */
+    @NotNull
+    public static String makeTableKey(@NotNull DBPDataSourceContainer container, @NotNull DBSEntity table) {
+        return container.getId() + "/" + DBUtils.getObjectFullName(table, DBPEvaluationContext.DML);
+    }
+
+    /**
+     * Makes row key of a table cell.
+     * Column name and key values are prefixed with their lengths, so values which contain
+     * the separator don't produce the same key as other values.
+     *
+     * @param tableKey  key made by {@link #makeTableKey}
+     * @param keyValues values of the row unique key, must not be null
+     */
+    @NotNull
+    public static String makeRowKey(@NotNull String tableKey, @NotNull String column, @NotNull List<?> keyValues) {
+        StringBuilder key = new StringBuilder(tableKey);
+        appendKeyPart(key, column);
+        for (Object keyValue : keyValues) {
+            appendKeyPart(key, String.valueOf(keyValue));
+        }
+        return key.toString();
+    }
+
+    private static void appendKeyPart(@NotNull StringBuilder key, @NotNull String part) {
+        key.append('/').append(part.length()).append(':').append(part);
+    }
+
+    /**
+     * Creates digest which must be used to calculate hash of the content passed to {@link #store}
+     */
+    @NotNull
+    public static MessageDigest createDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Creates new file in cache folder. Content should be written in it and then passed to {@link #store}.
+     */
+    @NotNull
+    public Path createSpoolFile(@NotNull DBRProgressMonitor monitor) throws IOException {
+        return Files.createTempFile(getFolder(monitor), "spool", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Finds content previously stored with the specified row key.
+     * Value length (as reported by the database) is only a sanity check: row keys are removed
+     * by {@link #invalidateTable} and {@link #invalidateDataSource} when data may be changed.
+     *
+     * @return new storage or null if there is no such content in cache
+     */
+    @Nullable
+    public synchronized CachedContentStorage lookup(@NotNull String key, long valueLength, @Nullable String charset) {
+        RowValue value = keyIndex.get(key);
+        CacheFile file = value == null || value.length != valueLength ? null : files.get(value.hash);
+        if (file == null || isExpired(file, System.currentTimeMillis()) || !Files.exists(file.path)) {
+            if (value != null) {
+                keyIndex.remove(key);
+            }
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return acquire(file, charset);
+    }
+
+    /**
+     * Moves spool file into the cache. If the cache already has the same content then spool file is deleted.
+     *
+     * @param key         row key or null if value has no row identity
+     * @param valueLength value length as reported by the database
+     * @param spoolFile   file created by {@link #createSpoolFile}
+     * @param digest      content digest created by {@link #createDigest}
+     */
+    @NotNull
+    public synchronized CachedContentStorage store(
+        @Nullable String key,
+        long valueLength,
+        @NotNull Path spoolFile,
+        @NotNull MessageDigest digest,
+        @Nullable String charset
+    ) throws IOException {
+        String hash = toHex(digest.digest());
+        CacheFile file = files.get(hash);
+        if (file != null && Files.exists(file.path)) {
+            Files.deleteIfExists(spoolFile);
+        } else {
+            if (file != null) {
+                removeFile(file);
+            }
+            Path target = spoolFile.resolveSibling(hash + ".data"); //$NON-NLS-1$
+            Files.move(spoolFile, target, StandardCopyOption.REPLACE_EXISTING);
+            file = new CacheFile(hash, target, Files.size(target));
+            files.put(hash, file);
+            totalSize += file.length;
+        }
+        if (key != null) {
+            keyIndex.put(key, new RowValue(hash, valueLength));
+        }
+        CachedContentStorage storage = acquire(file, charset);
+        evict();
+        return storage;
+    }
+
+    /**
+     * Removes row key. Must be called when value is changed.
+     */
+    public synchronized void invalidate(@NotNull String key) {
+        keyIndex.remove(key);
+    }
+
+    /**
+     * Removes row keys of the table. Must be called when table data is changed.
+     */
+    public void invalidateTable(@NotNull DBSEntity table) {
+        DBPDataSourceContainer container = table.getDataSource() == null ? null : table.getDataSource().getContainer();
+        if (container != null) {
+            invalidateKeys(makeTableKey(container, table) + "/");
+        }
+    }
+
+    /**
+     * Removes row keys of all tables of the data source.
+     * Must be called when data is refreshed or may be changed by arbitrary statements.
+     */
+    public void invalidateDataSource(@NotNull DBPDataSourceContainer container) {
+        invalidateKeys(container.getId() + "/");
+    }
+
+    private synchronized void invalidateKeys(@NotNull String prefix) {
+        keyIndex.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public synchronized void clear() {
+        for (CacheFile file : new ArrayList<>(files.values())) {
+            removeFile(file);
+        }
+        keyIndex.clear();
+    }
+
+    public synchronized String getStatistics() {
+        return "files=" + files.size() + ", size=" + totalSize + ", hits=" + hitCount + ", misses=" + missCount;
+    }
+
+    synchronized CachedContentStorage acquire(@NotNull CacheFile file, @Nullable String charset) {
+        file.refCount++;
+        file.lastAccessTime = System.currentTimeMillis();
+        return new CachedContentStorage(this, file, charset);
+    }
+
+    synchronized void release(@NotNull CacheFile file) {
+        file.refCount--;
+        file.lastAccessTime = System.currentTimeMillis();
+        if (file.refCount <= 0) {
+            if (file.removed) {
+                // The same content may be stored again in the same file
+                CacheFile current = files.get(file.hash);
+                if (current == null || !current.path.equals(file.path)) {
+                    deleteFile(file);
+                }
+            } else if (totalSize > getMaxSize()) {
+                evict();
+            }
+        }
+    }
+
+    private void evict() {
+        long maxSize = getMaxSize();
+        long currentTime = System.currentTimeMillis();
+        List<CacheFile> unused = new ArrayList<>();
+        for (CacheFile file : files.values()) {
+            if (file.refCount <= 0) {
+                unused.add(file);
+            }
+        }
+        unused.sort(Comparator.comparingLong(f -> f.lastAccessTime));
+        for (CacheFile file : unused) {
+            if (totalSize <= maxSize && !isExpired(file, currentTime)) {
+                continue;
+            }
+            removeFile(file);
+        }
+    }
+
+    private void removeFile(@NotNull CacheFile file) {
+        files.remove(file.hash);
+        totalSize -= file.length;
+        keyIndex.values().removeIf(value -> value.hash.equals(file.hash));
+        file.removed = true;
+        if (file.refCount <= 0) {
+            deleteFile(file);
+        }
+    }
+
+    private static void deleteFile(@NotNull CacheFile file) {
+        try {
+            Files.deleteIfExists(file.path);
+        } catch (IOException e) {
+            log.debug("Can't delete cached content file '" + file.path + "': " + e.getMessage());
+        }
+    }
+
+    private boolean isExpired(@NotNull CacheFile file, long currentTime) {
+        return file.refCount <= 0 && currentTime - file.lastAccessTime > getTtl();
+    }
+
+    @NotNull
+    private synchronized Path getFolder(@NotNull DBRProgressMonitor monitor) throws IOException {
+        if (folder == null) {
+            // Cache folder may be shared by several running instances, so each one uses its own sub-folder
+            Path cacheFolder = DBWorkbench.getPlatform().getTempFolder(monitor, CACHE_DIR);
+            Files.createDirectories(cacheFolder);
+            folder = Files.createTempDirectory(cacheFolder, "session"); //$NON-NLS-1$
+        }
+        return folder;
+    }
+
+    private static long getMaxSize() {
+        return getPreferenceStore().getLong(ModelPreferences.CONTENT_DISK_CACHE_MAX_SIZE);
+    }
+
+    private static long getTtl() {
+        return getPreferenceStore().getLong(ModelPreferences.CONTENT_DISK_CACHE_TTL) * 1000;
+    }
+
+    private static DBPPreferenceStore getPreferenceStore() {
+        return DBWorkbench.getPlatform().getPreferenceStore();
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private record RowValue(@NotNull String hash, long length) {
+    }
+
+    static class CacheFile {
+        private final String hash;
+        private final Path path;
+        private final long length;
+        private int refCount;
+        private long lastAccessTime;
+        private boolean removed;
+
+        CacheFile(@NotNull String hash, @NotNull Path path, long length) {
+            this.hash = hash;
+            this.path = path;
+            this.length = length;
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        String getHash() {
+            return hash;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        long getLength() {
+            return length;
+        }
+    }
+
+}
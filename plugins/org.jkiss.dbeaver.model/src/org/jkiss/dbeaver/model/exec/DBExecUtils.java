@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.DBDatabaseException;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPErrorAssistant;
@@ -31,6 +32,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.connection.DBPConnectionType;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.edit.DBECommand;
 import org.jkiss.dbeaver.model.edit.DBECommandContext;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
@@ -914,12 +916,59 @@ public class DBExecUtils {
                     rowIdentifier.reloadAttributes(mdMonitor, bindings);
                 }
             }
+            if (rows != null) {
+                bindContentCacheKeys(container, bindings, rows);
+            }
         }
         finally {
             monitor.done();
         }
     }
 
+    /**
+     * Assigns table cell keys to content values, so big values which were read before are taken from content disk cache.
+     * Key consists of data source, table, column and row identifier values.
+     */
+    private static void bindContentCacheKeys(
+        @NotNull DBPDataSourceContainer container,
+        @NotNull DBDAttributeBinding[] bindings,
+        @NotNull List<Object[]> rows
+    ) {
+        for (int i = 0; i < bindings.length; i++) {
+            DBDAttributeBinding binding = bindings[i];
+            DBDRowIdentifier rowIdentifier = binding.getRowIdentifier();
+            if (binding.getDataKind() != DBPDataKind.CONTENT || rowIdentifier == null || !rowIdentifier.isValidIdentifier()) {
+                continue;
+            }
+            List<DBDAttributeBinding> keyAttributes = rowIdentifier.getAttributes();
+            int[] keyIndexes = new int[keyAttributes.size()];
+            boolean keyResolved = !keyAttributes.isEmpty();
+            for (int k = 0; k < keyIndexes.length && keyResolved; k++) {
+                keyIndexes[k] = Arrays.asList(bindings).indexOf(keyAttributes.get(k));
+                keyResolved = keyIndexes[k] >= 0;
+            }
+            if (!keyResolved) {
+                continue;
+            }
+            String tableKey = ContentDiskCache.makeTableKey(container, rowIdentifier.getEntity());
+            for (Object[] row : rows) {
+                if (i >= row.length || !(row[i] instanceof DBDContentCacheable content)) {
+                    continue;
+                }
+                List<Object> keyValues = new ArrayList<>(keyIndexes.length);
+                for (int keyIndex : keyIndexes) {
+                    Object keyValue = keyIndex < row.length ? row[keyIndex] : null;
+                    if (DBUtils.isNullValue(keyValue)) {
+                        keyValues = null;
+                        break;
+                    }
+                    keyValues.add(keyValue);
+                }
+                content.setCacheKey(keyValues == null ? null : ContentDiskCache.makeRowKey(tableKey, binding.getName(), keyValues));
+            }
+        }
+    }
+
     private static boolean isSameDataTypes(@NotNull DBSEntityAttribute tableColumn, @NotNull DBCAttributeMetaData resultSetAttributeMeta) {
         if (tableColumn instanceof DBSTypedObjectEx) {
             DBSDataType columnDataType = ((DBSTypedObjectEx) tableColumn).getDataType();
@@ -0,0 +1,82 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+/**
+ * Isolated execution context of a single worker thread.
+ * Holder keeps at most one context (connection) open. When the worker moves to an object of another
+ * instance, the previous context is closed and a new one is opened.
+ * Not thread safe.
+ */
+public class IsolatedContextHolder implements AutoCloseable {
+
+    private static final Log log = Log.getLog(IsolatedContextHolder.class);
+
+    @NotNull
+    private final String purpose;
+    @Nullable
+    private DBSInstance instance;
+    @Nullable
+    private DBCExecutionContext context;
+
+    public IsolatedContextHolder(@NotNull String purpose) {
+        this.purpose = purpose;
+    }
+
+    /**
+     * Returns isolated context of the object instance or null if context can't be opened.
+     * Callers use default context of the object then.
+     */
+    @Nullable
+    public DBCExecutionContext getContext(@NotNull DBRProgressMonitor monitor, @NotNull DBSObject object) {
+        DBSInstance objectInstance = DBUtils.getObjectOwnerInstance(object);
+        if (objectInstance == null) {
+            return null;
+        }
+        if (objectInstance == instance) {
+            return context;
+        }
+        close();
+        instance = objectInstance;
+        try {
+            context = objectInstance.openIsolatedContext(monitor, purpose, DBUtils.getDefaultContext(object, false));
+        } catch (DBException e) {
+            // Failure is remembered until the instance changes, so it isn't repeated for each object
+            log.warn("Can't open isolated context for " + purpose, e);
+        }
+        return context;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+        instance = null;
+    }
+}
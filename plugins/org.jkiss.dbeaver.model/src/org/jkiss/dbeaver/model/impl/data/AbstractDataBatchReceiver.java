@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+/**
+ * Data receiver which gets rows in blocks ({@link DBDDataBatch}) instead of one by one.
+ * <p>
+ * It is a regular {@link DBDDataReceiver}, so all existing fetch loops work with it without changes:
+ * rows are read into column buffers on each {@link #fetchRow} and passed to {@link #fetchBatch}
+ * when buffer is full and at the end of fetch.
+ * Value handlers which implement {@link DBDValueBatchHandler} put values in primitive arrays without boxing.
+ */
+public abstract class AbstractDataBatchReceiver implements DBDDataReceiver {
+
+    private static final Log log = Log.getLog(AbstractDataBatchReceiver.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final int batchSize;
+    private DBDAttributeBinding[] attributes;
+    private DBSTypedObject[] types;
+    private DBDValueBatchHandler[] batchHandlers;
+    private boolean[] errorReported;
+    private DBDDataBatch batch;
+
+    protected AbstractDataBatchReceiver() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    protected AbstractDataBatchReceiver(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns bindings of the fetched attributes. Batch columns are in the same order.
+     */
+    @NotNull
+    protected abstract DBDAttributeBinding[] startFetch(
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet resultSet,
+        long offset,
+        long maxRows) throws DBCException;
+
+    protected abstract void fetchBatch(@NotNull DBCSession session, @NotNull DBDDataBatch batch) throws DBCException;
+
+    protected void endFetch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+    }
+
+    protected DBDAttributeBinding[] getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public final void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows)
+        throws DBCException {
+        attributes = startFetch(session, resultSet, offset, maxRows);
+        types = new DBSTypedObject[attributes.length];
+        batchHandlers = new DBDValueBatchHandler[attributes.length];
+        errorReported = new boolean[attributes.length];
+        DBDDataBatch.ColumnKind[] columnKinds = new DBDDataBatch.ColumnKind[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            types[i] = attributes[i].getAttribute();
+            columnKinds[i] = DBDDataBatch.ColumnKind.OBJECT;
+            if (types[i] != null && attributes[i].getValueHandler() instanceof DBDValueBatchHandler batchHandler) {
+                columnKinds[i] = batchHandler.getBatchColumnKind(types[i]);
+                if (columnKinds[i] != DBDDataBatch.ColumnKind.OBJECT) {
+                    batchHandlers[i] = batchHandler;
+                }
+            }
+        }
+        batch = new DBDDataBatch(columnKinds, batchSize);
+    }
+
+    @Override
+    public final void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        int row = batch.addRow();
+        for (int i = 0; i < attributes.length; i++) {
+            DBDDataBatch.Column column = batch.getColumn(i);
+            if (types[i] == null) {
+                column.setNull(row);
+                continue;
+            }
+            try {
+                if (batchHandlers[i] != null) {
+                    batchHandlers[i].fetchBatchValue(session, resultSet, types[i], attributes[i].getOrdinalPosition(), column, row);
+                } else {
+                    column.setObject(
+                        row,
+                        attributes[i].getValueHandler().fetchValueObject(session, resultSet, types[i], attributes[i].getOrdinalPosition()));
+                }
+            } catch (Throwable e) {
+                if (!errorReported[i]) {
+                    // Do not report the same column error for each row
+                    log.warn("Can't read column '" + attributes[i].getName() + "' value", e);
+                    errorReported[i] = true;
+                }
+                if (column.getKind() == DBDDataBatch.ColumnKind.OBJECT) {
+                    column.setObject(row, new DBDValueError(e));
+                } else {
+                    column.setNull(row);
+                }
+            }
+        }
+        if (batch.isFull()) {
+            flushBatch(session);
+        }
+    }
+
+    @Override
+    public final void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (batch != null) {
+            flushBatch(session);
+        }
+        endFetch(session, resultSet);
+    }
+
+    private void flushBatch(@NotNull DBCSession session) throws DBCException {
+        if (batch.getRowCount() > 0) {
+            try {
+                fetchBatch(session, batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePairExt;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.*;
+
+/**
+ * Cache of attribute value enumerations (distinct values), used by value filters.
+ * <p>
+ * Enumerations are cached per entity, attribute and enumeration options (value pattern, counts, etc.)
+ * for {@link ModelPreferences#DICTIONARY_CACHE_TTL} seconds. Cache of an entity must be invalidated when its data changes.
+ */
+public final class AttributeEnumerationCache {
+
+    private static final AttributeEnumerationCache INSTANCE = new AttributeEnumerationCache();
+
+    // Max number of cached enumerations per entity
+    private static final int MAX_ENTITY_ENUMERATIONS = 50;
+
+    private final Map<DBSEntity, Map<String, CacheEntry>> entityCaches = new WeakHashMap<>();
+
+    private AttributeEnumerationCache() {
+    }
+
+    @NotNull
+    public static AttributeEnumerationCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns cached enumeration or {@code null}.
+     * Returned list is a copy, so it can be modified by caller.
+     *
+     * @param options enumeration options which affect result (e.g. "pattern,count")
+     */
+    @Nullable
+    public List<DBDLabelValuePair> getValues(@NotNull DBSEntityAttribute attribute, @NotNull String options) {
+        DBSEntity entity = attribute.getParentObject();
+        long ttl = getTTL(attribute.getDataSource());
+        synchronized (entityCaches) {
+            Map<String, CacheEntry> cache = entityCaches.get(entity);
+            if (cache == null) {
+                return null;
+            }
+            String key = makeKey(attribute, options);
+            CacheEntry entry = cache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (ttl <= 0 || System.currentTimeMillis() - entry.timestamp > ttl) {
+                cache.remove(key);
+                return null;
+            }
+            return copyValues(entry.values);
+        }
+    }
+
+    public void putValues(@NotNull DBSEntityAttribute attribute, @NotNull String options, @NotNull List<DBDLabelValuePair> values) {
+        DBSEntity entity = attribute.getParentObject();
+        if (getTTL(attribute.getDataSource()) <= 0) {
+            return;
+        }
+        List<DBDLabelValuePair> valuesCopy = copyValues(values);
+        synchronized (entityCaches) {
+            Map<String, CacheEntry> cache = entityCaches.computeIfAbsent(entity, e -> new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > MAX_ENTITY_ENUMERATIONS;
+                }
+            });
+            cache.put(makeKey(attribute, options), new CacheEntry(valuesCopy, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Drops cached enumerations of all attributes of specified entity. Must be called after entity data modification.
+     */
+    public void invalidate(@NotNull DBSEntity entity) {
+        synchronized (entityCaches) {
+            entityCaches.remove(entity);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entityCaches) {
+            entityCaches.clear();
+        }
+    }
+
+    @NotNull
+    private static String makeKey(@NotNull DBSEntityAttribute attribute, @NotNull String options) {
+        return attribute.getName() + '\n' + options;
+    }
+
+    private static long getTTL(@Nullable DBPDataSource dataSource) {
+        DBPPreferenceStore store = dataSource == null ?
+            ModelPreferences.getPreferences() : dataSource.getContainer().getPreferenceStore();
+        return store.getLong(ModelPreferences.DICTIONARY_CACHE_TTL) * 1000;
+    }
+
+    /**
+     * Value filters increment counts of cached pairs, so pairs with counts are copied.
+     */
+    @NotNull
+    private static List<DBDLabelValuePair> copyValues(@NotNull List<DBDLabelValuePair> values) {
+        List<DBDLabelValuePair> result = new ArrayList<>(values.size());
+        for (DBDLabelValuePair pair : values) {
+            if (pair instanceof DBDLabelValuePairExt pairExt) {
+                result.add(new DBDLabelValuePairExt(pairExt.getLabel(), pairExt.getValue(), pairExt.getCount()));
+            } else {
+                result.add(pair);
+            }
+        }
+        return result;
+    }
+
+    private record CacheEntry(@NotNull List<DBDLabelValuePair> values, long timestamp) {
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Texts of result set cells, used for search.
+ * <p>
+ * Rows and columns are identified by their presentation objects (e.g. grid rows and columns).
+ * Rows are indexed sequentially by {@link #addRow(String[])}, which may be called from a background thread,
+ * indexed texts are visible to other threads once {@link #getIndexedRows()} includes them.
+ * <p>
+ * Cell position is {@code row * columnCount + column}. Positions of matched cells are ordered.
+ */
+public class CellTextIndex {
+
+    private final Object[] columns;
+    private final Object[] rows;
+    private final String[][] texts;
+    private final Map<Object, Integer> columnIndexes;
+    private volatile int indexedRows;
+
+    public CellTextIndex(@NotNull Object[] columns, @NotNull Object[] rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.texts = new String[rows.length][];
+        this.columnIndexes = new IdentityHashMap<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            columnIndexes.put(columns[i], i);
+        }
+    }
+
+    /**
+     * Creates index of new rows. Texts of rows which are still in place (e.g. new page was appended) are kept.
+     */
+    public CellTextIndex(@NotNull Object[] columns, @NotNull Object[] rows, @NotNull CellTextIndex previous) {
+        this(columns, rows);
+        if (Arrays.equals(previous.columns, columns)) {
+            int keepRows = Math.min(previous.indexedRows, rows.length);
+            for (int i = 0; i < keepRows; i++) {
+                if (previous.rows[i] != rows[i]) {
+                    keepRows = i;
+                    break;
+                }
+            }
+            System.arraycopy(previous.texts, 0, texts, 0, keepRows);
+            indexedRows = keepRows;
+        }
+    }
+
+    public boolean isSameLayout(@NotNull Object[] columns, @NotNull Object[] rows) {
+        return Arrays.equals(this.columns, columns) && Arrays.equals(this.rows, rows);
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    @NotNull
+    public Object getColumn(int index) {
+        return columns[index];
+    }
+
+    @NotNull
+    public Object getRow(int index) {
+        return rows[index];
+    }
+
+    /**
+     * Returns index of the column or -1 if column is not indexed
+     */
+    public int getColumnIndex(@NotNull Object column) {
+        Integer index = columnIndexes.get(column);
+        return index == null ? -1 : index;
+    }
+
+    public int getIndexedRows() {
+        return indexedRows;
+    }
+
+    public boolean isComplete() {
+        return indexedRows == rows.length;
+    }
+
+    /**
+     * Adds texts of the next row.
+     *
+     * @param rowTexts texts of row cells. Null text means that cell wasn't read and must be checked by caller.
+     */
+    public void addRow(@NotNull String[] rowTexts) {
+        int row = indexedRows;
+        if (row >= rows.length) {
+            throw new IllegalStateException("All rows are indexed");
+        }
+        if (rowTexts.length != columns.length) {
+            throw new IllegalArgumentException("Row has " + rowTexts.length + " cells, " + columns.length + " expected");
+        }
+        texts[row] = rowTexts;
+        indexedRows = row + 1;
+    }
+
+    /**
+     * Returns indexed cell text or null if cell isn't indexed yet
+     */
+    @Nullable
+    public String getText(int row, int col) {
+        if (row < 0 || row >= indexedRows || col < 0 || col >= columns.length) {
+            return null;
+        }
+        return texts[row][col];
+    }
+
+    /**
+     * Updates text of a changed cell (e.g. after replace)
+     */
+    public void setText(int row, int col, @Nullable String text) {
+        if (row >= 0 && row < indexedRows && col >= 0 && col < columns.length) {
+            texts[row][col] = text;
+        }
+    }
+
+    /**
+     * Finds all indexed cells matching the pattern.
+     *
+     * @return ordered positions of matched cells or null if search was canceled
+     */
+    @Nullable
+    public long[] findAll(@NotNull Pattern pattern, @NotNull DBRProgressMonitor monitor) {
+        int columnCount = columns.length;
+        int rowCount = indexedRows;
+        long[] found = new long[16];
+        int foundCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            String[] rowTexts = texts[row];
+            for (int col = 0; col < columnCount; col++) {
+                String text = rowTexts[col];
+                if (text != null && pattern.matcher(text).find()) {
+                    if (foundCount == found.length) {
+                        found = Arrays.copyOf(found, foundCount * 2);
+                    }
+                    found[foundCount++] = getPosition(row, col);
+                }
+            }
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    public long getPosition(int row, int col) {
+        return (long) row * columns.length + col;
+    }
+
+    /**
+     * Checks whether cell is in the matches found by {@link #findAll}
+     */
+    public boolean isMatch(@NotNull long[] matches, int row, int col) {
+        return col >= 0 && col < columns.length && Arrays.binarySearch(matches, getPosition(row, col)) >= 0;
+    }
+
+}
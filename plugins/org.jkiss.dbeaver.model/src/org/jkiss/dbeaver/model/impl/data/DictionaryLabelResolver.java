@@ -0,0 +1,226 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDictionary;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.virtual.DBVEntity;
+import org.jkiss.dbeaver.model.virtual.DBVUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Resolves labels (description columns) of dictionary keys, e.g. in the reference value editor.
+ * <p>
+ * Resolved labels are kept in a per-entity LRU cache with TTL. Keys missing in the dictionary are cached too,
+ * so they are not queried again. Cache size and TTL are set by {@link ModelPreferences#DICTIONARY_CACHE_MAX_SIZE}
+ * and {@link ModelPreferences#DICTIONARY_CACHE_TTL}, zero value of any of them disables the cache.
+ * Cache of an entity must be invalidated when its data changes.
+ */
+public final class DictionaryLabelResolver {
+
+    private static final DictionaryLabelResolver INSTANCE = new DictionaryLabelResolver();
+
+    private final Map<DBSEntity, EntityCache> entityCaches = new WeakHashMap<>();
+
+    private DictionaryLabelResolver() {
+    }
+
+    /**
+     * Reads labels of a key value missing in the cache.
+     * Lets the caller query the dictionary in its own session.
+     */
+    public interface LabelReader {
+        @NotNull
+        List<DBDLabelValuePair> readLabels(@NotNull Object keyValue) throws DBException;
+    }
+
+    @NotNull
+    public static DictionaryLabelResolver getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Resolves label of specified key value. Labels missing in the cache are read with
+     * {@link DBSDictionary#getDictionaryValues}, which opens a new session.
+     *
+     * @param dictionary dictionary entity (table or virtual entity)
+     * @param keyColumn  dictionary key column
+     * @param keyValue   key value
+     * @return label pair or null if key is not found in the dictionary
+     */
+    @Nullable
+    public DBDLabelValuePair resolveLabel(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDictionary dictionary,
+        @NotNull DBSEntityAttribute keyColumn,
+        @Nullable Object keyValue
+    ) throws DBException {
+        return resolveLabel(monitor, dictionary, keyColumn, keyValue, null);
+    }
+
+    /**
+     * Resolves label of specified key value.
+     *
+     * @param dictionary dictionary entity (table or virtual entity)
+     * @param keyColumn  dictionary key column
+     * @param keyValue   key value
+     * @param reader     reads labels missing in the cache. If null then dictionary values are read in a new session.
+     * @return label pair or null if key is not found in the dictionary
+     */
+    @Nullable
+    public DBDLabelValuePair resolveLabel(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDictionary dictionary,
+        @NotNull DBSEntityAttribute keyColumn,
+        @Nullable Object keyValue,
+        @Nullable LabelReader reader
+    ) throws DBException {
+        if (DBUtils.isNullValue(keyValue)) {
+            return null;
+        }
+        if (dictionary instanceof DBVEntity vEntity && vEntity.getRealEntity(monitor) instanceof DBSDictionary realDictionary) {
+            // Cache labels of the real entity - it is the one which gets invalidated on data changes
+            dictionary = realDictionary;
+        }
+        if (reader == null) {
+            DBSDictionary keyDictionary = dictionary;
+            reader = value -> keyDictionary.getDictionaryValues(
+                monitor, List.of(keyColumn), List.<Object[]>of(new Object[]{value}), null, true, true, false);
+        }
+        if (!(dictionary instanceof DBSEntity entity)) {
+            return findLabel(reader.readLabels(keyValue));
+        }
+        DBPDataSource dataSource = keyColumn.getDataSource();
+        DBDValueHandler keyHandler = DBUtils.findValueHandler(dataSource, keyColumn);
+        String columnKey = keyColumn.getName() + '\n' + DBVUtils.getDictionaryDescriptionColumns(monitor, keyColumn);
+        String cacheKey = columnKey + '\n' + normalizeKey(keyHandler, keyColumn, keyValue);
+        EntityCache cache = getEntityCache(entity, dataSource);
+
+        CacheEntry entry = cache.get(cacheKey);
+        if (entry != null) {
+            return entry.label;
+        }
+        DBDLabelValuePair label = findLabel(reader.readLabels(keyValue));
+        cache.put(cacheKey, label);
+        return label;
+    }
+
+    /**
+     * Drops cached labels of specified entity. Must be called after entity data modification.
+     */
+    public void invalidate(@NotNull DBSEntity entity) {
+        synchronized (entityCaches) {
+            entityCaches.remove(entity);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entityCaches) {
+            entityCaches.clear();
+        }
+    }
+
+    @NotNull
+    private EntityCache getEntityCache(@NotNull DBSEntity entity, @Nullable DBPDataSource dataSource) {
+        DBPPreferenceStore store = dataSource == null ?
+            ModelPreferences.getPreferences() : dataSource.getContainer().getPreferenceStore();
+        int maxSize = store.getInt(ModelPreferences.DICTIONARY_CACHE_MAX_SIZE);
+        long ttl = store.getLong(ModelPreferences.DICTIONARY_CACHE_TTL) * 1000;
+        synchronized (entityCaches) {
+            EntityCache cache = entityCaches.get(entity);
+            if (cache == null || cache.maxSize != maxSize || cache.ttl != ttl) {
+                cache = new EntityCache(maxSize, ttl);
+                entityCaches.put(entity, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Makes cache key of a value. Numbers of different types (e.g. Integer FK and Long PK) get the same key,
+     * dates are compared by their display string the same way dictionary query formats them.
+     */
+    @NotNull
+    private static String normalizeKey(@NotNull DBDValueHandler keyHandler, @NotNull DBSEntityAttribute keyColumn, @Nullable Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        } else if (value instanceof Number && !(value instanceof Double) && !(value instanceof Float)) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        } else if (value instanceof Date) {
+            return keyHandler.getValueDisplayString(keyColumn, value, DBDDisplayFormat.UI);
+        } else if (value instanceof byte[] bytes) {
+            return HexFormat.of().formatHex(bytes);
+        }
+        return String.valueOf(value);
+    }
+
+    @Nullable
+    private static DBDLabelValuePair findLabel(@NotNull List<DBDLabelValuePair> labels) {
+        return labels.isEmpty() ? null : labels.get(0);
+    }
+
+    private record CacheEntry(@Nullable DBDLabelValuePair label, long timestamp) {
+    }
+
+    private static class EntityCache {
+        private final int maxSize;
+        private final long ttl;
+        private final LinkedHashMap<String, CacheEntry> entries;
+
+        EntityCache(int maxSize, long ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > EntityCache.this.maxSize;
+                }
+            };
+        }
+
+        @Nullable
+        synchronized CacheEntry get(@NotNull String key) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.timestamp > ttl) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(@NotNull String key, @Nullable DBDLabelValuePair label) {
+            if (maxSize > 0 && ttl > 0) {
+                entries.put(key, new CacheEntry(label, System.currentTimeMillis()));
+            }
+        }
+    }
+
+}
@@ -24,8 +24,10 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.time.ExtendedDateFormat;
 
 import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.FieldPosition;
 import java.text.ParseException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
@@ -37,18 +39,32 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Date/time formatter.
+ * <p>
+ * The same formatter is used by many threads (grid rendering, data export), so legacy date format is thread-confined.
+ * Dates are formatted with java.time formatter (which is immutable and thread-safe) if the pattern contains only
+ * numeric fields which are printed the same way by both formatters.
+ */
 public class DateTimeDataFormatter implements DBDDataFormatter {
 
     public static final String PROP_PATTERN = "pattern";
     public static final String PROP_TIMEZONE = "timezone";
 
+    private static final String GREGORIAN_CALENDAR_TYPE = "gregory";
+    private static final int MIN_GREGORIAN_YEAR = 1583;
+    private static final int MAX_FOUR_DIGITS_YEAR = 9999;
+
     private String pattern;
     private ZoneId zone;
     private DateFormat dateFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> formatState;
     private DateTimeFormatter dateTimeFormatter;
     private boolean hasZone;
+    // Formatter for java.util.Date values, null if pattern can't be formatted by java.time formatter
+    @Nullable
+    private DateTimeFormatter legacyDateFormatter;
+    private ZoneId legacyDateZone;
 
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
@@ -62,12 +78,83 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             locale);
         // We shouldn't use lenient formatter (#7244)
         dateFormat.setLenient(false);
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        formatState = ThreadLocal.withInitial(() -> {
+            DateFormat threadFormat = new ExtendedDateFormat(sdfPattern, locale);
+            threadFormat.setLenient(false);
+            threadFormat.setTimeZone(dateFormat.getTimeZone());
+            return new FormatState(threadFormat);
+        });
         // DateTimeFormatter pattern for nanoseconds is "n" but old "f" (ExtendedDateFormat)
         String java8DatePattern = pattern.replaceAll("f+", "n");
         dateTimeFormatter = DateTimeFormatter.ofPattern(java8DatePattern);
         hasZone = java8DatePattern.contains("Z");
+
+        legacyDateFormatter = null;
+        if (isNumericPattern(sdfPattern) &&
+            DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0' &&
+            GREGORIAN_CALENDAR_TYPE.equals(dateFormat.getCalendar().getCalendarType()))
+        {
+            legacyDateFormatter = DateTimeFormatter.ofPattern(sdfPattern, locale);
+            legacyDateZone = dateFormat.getTimeZone().toZoneId();
+        }
+    }
+
+    /**
+     * Checks that pattern has only numeric fields which are printed identically by SimpleDateFormat and DateTimeFormatter:
+     * years, months (as number), days, 24-hour clock hours, minutes, seconds and milliseconds.
+     */
+    private static boolean isNumericPattern(@NotNull String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); ) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                i++;
+                continue;
+            }
+            if (quoted) {
+                i++;
+                continue;
+            }
+            if (!Character.isLetter(c)) {
+                if ("[]{}#".indexOf(c) != -1) {
+                    // Reserved by DateTimeFormatter
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            switch (c) {
+                case 'y':
+                    if (count == 3) {
+                        return false;
+                    }
+                    break;
+                case 'M':
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                    if (count > 2) {
+                        return false;
+                    }
+                    break;
+                case 'S':
+                    // Milliseconds in SimpleDateFormat, fraction of second in DateTimeFormatter
+                    if (count != 3) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            i += count;
+        }
+        return !quoted;
     }
 
     @Nullable
@@ -75,9 +162,12 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
         return zone;
     }
 
+    /**
+     * Date format confined to the current thread
+     */
     @NotNull
     public DateFormat getDateFormat() {
-        return dateFormat;
+        return formatState.get().format;
     }
 
     @Override
@@ -106,10 +196,19 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             }
             return dateTimeFormatter.format((TemporalAccessor) value);
         }
-        synchronized (dateFormat) {
-            buffer.setLength(0);
-            return value == null ? null : dateFormat.format(value, buffer, position).toString();
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Date date && legacyDateFormatter != null) {
+            LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), legacyDateZone);
+            // Legacy format uses Julian calendar before Gregorian cutover and doesn't print sign of long years
+            if (localDateTime.getYear() >= MIN_GREGORIAN_YEAR && localDateTime.getYear() <= MAX_FOUR_DIGITS_YEAR) {
+                return legacyDateFormatter.format(localDateTime);
+            }
         }
+        FormatState state = formatState.get();
+        state.buffer.setLength(0);
+        return state.format.format(value, state.buffer, state.position).toString();
     }
 
     @Override
@@ -138,7 +237,17 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
                 return LocalDateTime.parse(value, dateTimeFormatter);
             }
         } catch (Exception e) {
-            return dateFormat.parse(value);
+            return formatState.get().format.parse(value);
+        }
+    }
+
+    private static class FormatState {
+        private final DateFormat format;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+
+        FormatState(DateFormat format) {
+            this.format = format;
         }
     }
 
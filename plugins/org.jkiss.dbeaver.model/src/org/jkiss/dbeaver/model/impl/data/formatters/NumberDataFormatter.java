@@ -26,23 +26,41 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.FieldPosition;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Number formatter.
+ * <p>
+ * The same formatter is used by many threads (grid rendering, data export), so each thread formats values
+ * with its own copy of the configured decimal format. Integral values are formatted without decimal format
+ * if the format has no prefixes, suffixes or fraction digits (i.e. only digits, minus sign and grouping).
+ */
 public class NumberDataFormatter implements DBDDataFormatter {
 
     public static final int MAX_DEFAULT_FRACTIONS_DIGITS = 16;
 
     private static final Log log = Log.getLog(NumberDataFormatter.class);
 
+    // Doubles and floats are integral numbers exactly representable in long below these values
+    private static final double MAX_EXACT_DOUBLE = 9007199254740992.0; // 2^53
+    private static final float MAX_EXACT_FLOAT = 16777216.0f; // 2^24
+
     private DecimalFormat numberFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> formatState;
     private boolean nativeSpecialValues;
 
+    // Integral values fast path
+    private boolean plainIntegers;
+    private boolean groupingUsed;
+    private int groupingSize;
+    private char groupingSeparator;
+    private char minusSign;
+
     public NumberDataFormatter() {
     }
 
@@ -113,9 +131,32 @@ public class NumberDataFormatter implements DBDDataFormatter {
                 numberFormat.setGroupingUsed(false);
             }
         }
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
         nativeSpecialValues = CommonUtils.toBoolean(properties.get(NumberFormatSample.PROP_NATIVE_SPECIAL_VALUES));
+
+        formatState = ThreadLocal.withInitial(() -> {
+            synchronized (this) {
+                return new FormatState((DecimalFormat) numberFormat.clone());
+            }
+        });
+        initPlainIntegers();
+    }
+
+    private void initPlainIntegers() {
+        DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+        minusSign = symbols.getMinusSign();
+        groupingSeparator = symbols.getGroupingSeparator();
+        groupingSize = numberFormat.getGroupingSize();
+        groupingUsed = numberFormat.isGroupingUsed() && groupingSize > 0;
+        plainIntegers = numberFormat.getMultiplier() == 1 &&
+            symbols.getZeroDigit() == '0' &&
+            numberFormat.getPositivePrefix().isEmpty() &&
+            numberFormat.getPositiveSuffix().isEmpty() &&
+            numberFormat.getNegativePrefix().equals(String.valueOf(minusSign)) &&
+            numberFormat.getNegativeSuffix().isEmpty() &&
+            numberFormat.getMinimumIntegerDigits() <= 1 &&
+            numberFormat.getMaximumIntegerDigits() >= 19 &&
+            numberFormat.getMinimumFractionDigits() == 0 &&
+            !numberFormat.isDecimalSeparatorAlwaysShown();
     }
 
     @Nullable
@@ -136,66 +177,119 @@ public class NumberDataFormatter implements DBDDataFormatter {
             if (nativeSpecialValues) {
                 return value.toString();
             }
-        } else if (value instanceof Float || value instanceof Double) {
+        } else if (plainIntegers && isIntegral(value)) {
+            return formatPlainInteger(((Number) value).longValue());
+        } else if (value instanceof Double d) {
+            if (plainIntegers && d == Math.rint(d) && Math.abs(d) < MAX_EXACT_DOUBLE) {
+                return formatPlainInteger(d.longValue());
+            }
             // Convert to BigDecimal so we don't have rounding issues with high minimum fraction digits set
-            value = new BigDecimal(value.toString());
+            value = BigDecimal.valueOf(d);
+        } else if (value instanceof Float f) {
+            if (plainIntegers && f == Math.rint(f) && Math.abs(f) < MAX_EXACT_FLOAT) {
+                return formatPlainInteger(f.longValue());
+            }
+            value = new BigDecimal(f.toString());
         } else if (!(value instanceof Number)) {
             return value.toString();
         }
+        FormatState state = formatState.get();
+        DecimalFormat format = state.format;
+        StringBuffer buffer = state.buffer;
         try {
-            synchronized (this) {
-                buffer.setLength(0);
-                try {
-                    return numberFormat.format(value, buffer, position).toString();
-                } catch (ArithmeticException e) {
-                    if (numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
-                        // This type can't use UNNECESSARY rounding. Let's set default one
-                        log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+            buffer.setLength(0);
+            try {
+                return format.format(value, buffer, state.position).toString();
+            } catch (ArithmeticException e) {
+                if (format.getRoundingMode() == RoundingMode.UNNECESSARY) {
+                    // This type can't use UNNECESSARY rounding. Let's set default one
+                    log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+                    format.setRoundingMode(RoundingMode.HALF_EVEN);
+                    synchronized (this) {
+                        // Threads which didn't create their format yet will copy it without UNNECESSARY rounding
                         numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
                     }
-                    return numberFormat.format(value, buffer, position).toString();
                 }
+                buffer.setLength(0);
+                return format.format(value, buffer, state.position).toString();
             }
         } catch (Exception e) {
             return value.toString();
         }
     }
 
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Formats integral value the same way as decimal format without prefixes, suffixes and fraction digits does.
+     */
+    private String formatPlainInteger(long value) {
+        char[] chars = formatState.get().chars;
+        int pos = chars.length;
+        long rest = value;
+        int digitCount = 0;
+        do {
+            if (groupingUsed && digitCount > 0 && digitCount % groupingSize == 0) {
+                chars[--pos] = groupingSeparator;
+            }
+            chars[--pos] = (char) ('0' + Math.abs(rest % 10));
+            rest /= 10;
+            digitCount++;
+        } while (rest != 0);
+        if (value < 0) {
+            chars[--pos] = minusSign;
+        }
+        return new String(chars, pos, chars.length - pos);
+    }
+
     @Override
     public Object parseValue(String value, @Nullable Class<?> typeHint) throws ParseException
     {
-        synchronized (this) {
-            numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
-            Number number = numberFormat.parse(value);
-            if (number != null && typeHint != null) {
-                boolean isFloat = number instanceof Double || number instanceof Float;
-                if (typeHint == Byte.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.byteValue();
-                } else if (typeHint == Short.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.shortValue();
-                } else if (typeHint == Integer.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.intValue();
-                } else if (typeHint == Long.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.longValue();
-                } else if (typeHint == Float.class) {
-                    return number.floatValue();
-                } else if (typeHint == Double.class) {
-                    return number.doubleValue();
+        DecimalFormat numberFormat = formatState.get().format;
+        numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
+        Number number = numberFormat.parse(value);
+        if (number != null && typeHint != null) {
+            boolean isFloat = number instanceof Double || number instanceof Float;
+            if (typeHint == Byte.class) {
+                if (isFloat) {
+                    return number;
                 }
+                return number.byteValue();
+            } else if (typeHint == Short.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.shortValue();
+            } else if (typeHint == Integer.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.intValue();
+            } else if (typeHint == Long.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.longValue();
+            } else if (typeHint == Float.class) {
+                return number.floatValue();
+            } else if (typeHint == Double.class) {
+                return number.doubleValue();
             }
-            return number;
+        }
+        return number;
+    }
+
+    private static class FormatState {
+        private final DecimalFormat format;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+        // Max long digits (19), minus sign and grouping separators
+        private final char[] chars = new char[64];
+
+        FormatState(DecimalFormat format) {
+            this.format = format;
         }
     }
 
@@ -63,6 +63,13 @@ public interface QMExecutionHandler {
 
     void handleStatementClose(@NotNull DBCStatement statement, long rows);
 
+    /**
+     * Called when a prepared statement is requested from the statement cache of the context.
+     *
+     * @param hit true if a cached statement was reused, false if a new one was prepared
+     */
+    void handleStatementCacheAccess(@NotNull DBCExecutionContext context, boolean hit);
+
     void handleResultSetOpen(@NotNull DBCResultSet resultSet);
 
     void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount);
@@ -44,6 +44,8 @@ public class QMMConnectionInfo extends QMMObject {
     private transient QMMStatementInfo statementStack;
     private transient QMMStatementExecuteInfo executionStack;
     private transient QMMTransactionInfo transaction;
+    private transient long statementCacheHits;
+    private transient long statementCacheMisses;
     //private Throwable stack;
 
     public QMMConnectionInfo(DBCExecutionContext context, boolean transactional) {
@@ -218,6 +220,15 @@ public class QMMConnectionInfo extends QMMObject {
         return null;
     }
 
+    public void registerStatementCacheAccess(boolean hit)
+    {
+        if (hit) {
+            statementCacheHits++;
+        } else {
+            statementCacheMisses++;
+        }
+    }
+
     public QMMStatementInfo getStatement(DBCStatement statement)
     {
         for (QMMStatementInfo stat = this.statementStack; stat != null; stat = stat.getPrevious()) {
@@ -333,6 +344,20 @@ public class QMMConnectionInfo extends QMMObject {
         return executionStack;
     }
 
+    /**
+     * Number of prepared statements reused from the statement cache
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Number of prepared statements which were not found in the statement cache
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
     public QMMTransactionInfo getTransaction()
     {
         return transaction;
@@ -58,4 +58,30 @@ public interface DBSAttributeEnumerable extends DBSEntityAttribute
      */
     @Nullable
     Long getDistinctValuesCount(@NotNull DBCSession session) throws DBException;
+
+    /**
+     * Checks that approximate enumeration can be read from database statistics (see {@link #getSampledValueEnumeration}).
+     */
+    default boolean supportsSampledValueEnumeration() {
+        return false;
+    }
+
+    /**
+     * Gets approximate most common values with estimated row counts.
+     * Values are read from database statistics instead of scanning the whole table.
+     *
+     * @param session      session
+     * @param maxResults   maximum enumeration values in result set
+     * @param formatValues Use value formatting or return raw values
+     * @return values ordered by count (desc) or {@code null} if statistics are not available
+     */
+    @Nullable
+    default List<DBDLabelValuePair> getSampledValueEnumeration(
+        @NotNull DBCSession session,
+        int maxResults,
+        boolean formatValues)
+        throws DBException
+    {
+        return null;
+    }
 }
\ No newline at end of file
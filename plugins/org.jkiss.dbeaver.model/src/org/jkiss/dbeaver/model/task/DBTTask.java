@@ -64,6 +64,20 @@ public interface DBTTask extends DBPNamedObject, DBPObjectWithDescription {
     @NotNull
     DBTTaskRun[] getAllRuns();
 
+    /**
+     * Returns a page of runs, newest runs first
+     */
+    @NotNull
+    default DBTTaskRun[] getRuns(int offset, int maxCount) {
+        DBTTaskRun[] runs = getAllRuns();
+        int count = Math.max(0, Math.min(maxCount, runs.length - offset));
+        DBTTaskRun[] result = new DBTTaskRun[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = runs[runs.length - 1 - offset - i];
+        }
+        return result;
+    }
+
     @Nullable
     Path getRunLog(@NotNull DBTTaskRun run);
 
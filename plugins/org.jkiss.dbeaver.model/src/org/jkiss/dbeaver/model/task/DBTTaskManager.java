@@ -114,6 +114,7 @@ public interface DBTTaskManager {
 
     /**
      * Schedules a task to be run at some point in the future.
+     * Task waits until its connections run less tasks than allowed. Task schedulers use this method.
      *
      * @param task     task to run
      * @param listener task execution listener
@@ -124,4 +125,23 @@ public interface DBTTaskManager {
     @NotNull
     Job scheduleTask(@NotNull DBTTask task, @NotNull DBTTaskExecutionListener listener) throws DBException;
 
+    /**
+     * Schedules a task to be run at some point in the future.
+     *
+     * @param task          task to run
+     * @param listener      task execution listener
+     * @param waitForLimits whether task waits until its connections run less tasks than allowed.
+     *                      Runs requested by user (run action, task wizard) pass false and don't wait.
+     * @throws DBException on any error
+     * @return job that will run the task
+     */
+    @NotNull
+    default Job scheduleTask(
+        @NotNull DBTTask task,
+        @NotNull DBTTaskExecutionListener listener,
+        boolean waitForLimits
+    ) throws DBException {
+        return scheduleTask(task, listener);
+    }
+
 }
@@ -265,6 +265,14 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
+    @Override
+    public synchronized void handleStatementCacheAccess(@NotNull DBCExecutionContext context, boolean hit) {
+        QMMConnectionInfo session = getConnectionInfo(context);
+        if (session != null) {
+            session.registerStatementCacheAccess(hit);
+        }
+    }
+
     @Override
     public synchronized void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
         QMMConnectionInfo session = getConnectionInfo(statement.getSession().getExecutionContext());
@@ -92,6 +92,40 @@ public class JSCHSession extends AbstractSession {
         }
     }
 
+    @NotNull
+    @Override
+    public SSHDirectChannel openDirectChannel(@NotNull String host, int port) throws DBException {
+        try {
+            final ChannelDirectTCPIP channel = (ChannelDirectTCPIP) session.openChannel("direct-tcpip");
+            channel.setHost(host);
+            channel.setPort(port);
+            // Streams must be obtained before connect
+            final InputStream in = channel.getInputStream();
+            final OutputStream out = channel.getOutputStream();
+            channel.connect(session.getTimeout());
+            return new SSHDirectChannel() {
+                @NotNull
+                @Override
+                public InputStream getInputStream() {
+                    return in;
+                }
+
+                @NotNull
+                @Override
+                public OutputStream getOutputStream() {
+                    return out;
+                }
+
+                @Override
+                public void close() {
+                    channel.disconnect();
+                }
+            };
+        } catch (Exception e) {
+            throw new DBException("Error opening direct channel", e);
+        }
+    }
+
     @Override
     public void getFile(
         @NotNull String src,
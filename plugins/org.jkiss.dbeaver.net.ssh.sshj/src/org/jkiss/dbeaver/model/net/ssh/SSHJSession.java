@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.connection.channel.direct.DirectConnection;
 import net.schmizz.sshj.connection.channel.direct.LocalPortForwarder;
 import net.schmizz.sshj.connection.channel.direct.Parameters;
 import net.schmizz.sshj.sftp.SFTPClient;
@@ -102,6 +103,35 @@ public class SSHJSession extends AbstractSession {
         listener.disconnect();
     }
 
+    @NotNull
+    @Override
+    public SSHDirectChannel openDirectChannel(@NotNull String host, int port) throws DBException {
+        final DirectConnection connection;
+        try {
+            connection = client.newDirectConnection(host, port);
+        } catch (Exception e) {
+            throw new DBException("Error opening direct channel", e);
+        }
+        return new SSHDirectChannel() {
+            @NotNull
+            @Override
+            public InputStream getInputStream() {
+                return connection.getInputStream();
+            }
+
+            @NotNull
+            @Override
+            public OutputStream getOutputStream() {
+                return connection.getOutputStream();
+            }
+
+            @Override
+            public void close() throws IOException {
+                connection.close();
+            }
+        };
+    }
+
     @Override
     public void getFile(
         @NotNull String src,
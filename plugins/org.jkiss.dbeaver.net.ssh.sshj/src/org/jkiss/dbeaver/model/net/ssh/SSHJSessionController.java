@@ -65,6 +65,16 @@ public class SSHJSessionController extends AbstractSessionController<SSHJSession
 
         client.setConnectTimeout(connectTimeout);
         client.getConnection().getKeepAlive().setKeepAliveInterval(keepAliveInterval);
+
+        // Bigger window lets a channel have more data in flight on high latency links
+        final int windowSize = configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE);
+        if (windowSize > 0) {
+            client.getConnection().setWindowSize(windowSize);
+        }
+        final int maxPacketSize = configuration.getIntProperty(SSHConstants.PROP_MAX_PACKET_SIZE);
+        if (maxPacketSize > 0) {
+            client.getConnection().setMaxPacketSize(maxPacketSize);
+        }
         client.getTransport().getConfig().setLoggerFactory(new FilterLoggerFactory());
 
         try {
@@ -93,6 +93,9 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
 
     private Text keepAliveText;
     private Text tunnelTimeout;
+    private Text tunnelStripesText;
+    private Text windowSizeText;
+    private Text maxPacketSizeText;
     private VariablesHintLabel variablesHintLabel;
 
     @Override
@@ -341,6 +344,36 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             );
             remotePortSpinner.setToolTipText(SSHUIMessages.model_ssh_configurator_label_remote_port_description);
             setNumberEditStyles(remotePortSpinner);
+
+            final Group throughputGroup = UIUtils.createControlGroup(
+                client,
+                SSHUIMessages.model_ssh_configurator_group_throughput_text,
+                6,
+                GridData.FILL_HORIZONTAL,
+                0
+            );
+            ((GridData) throughputGroup.getLayoutData()).horizontalSpan = 2;
+            tunnelStripesText = UIUtils.createLabelText(
+                throughputGroup,
+                SSHUIMessages.model_ssh_configurator_label_tunnel_stripes,
+                String.valueOf(0)
+            );
+            tunnelStripesText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_tunnel_stripes_description);
+            setNumberEditStyles(tunnelStripesText);
+            windowSizeText = UIUtils.createLabelText(
+                throughputGroup,
+                SSHUIMessages.model_ssh_configurator_label_window_size,
+                String.valueOf(0)
+            );
+            windowSizeText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_window_size_description);
+            setNumberEditStyles(windowSizeText);
+            maxPacketSizeText = UIUtils.createLabelText(
+                throughputGroup,
+                SSHUIMessages.model_ssh_configurator_label_max_packet_size,
+                String.valueOf(0)
+            );
+            maxPacketSizeText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_max_packet_size_description);
+            setNumberEditStyles(maxPacketSizeText);
         }
 
         {
@@ -547,6 +580,10 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             tunnelTimeout.setText(String.valueOf(timeoutValue));
         }
 
+        tunnelStripesText.setText(String.valueOf(configuration.getIntProperty(SSHConstants.PROP_TUNNEL_STRIPES)));
+        windowSizeText.setText(String.valueOf(configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE)));
+        maxPacketSizeText.setText(String.valueOf(configuration.getIntProperty(SSHConstants.PROP_MAX_PACKET_SIZE)));
+
         savedConfiguration = new DBWHandlerConfiguration(configuration);
 
         DBPDataSourceContainer dataSource = savedConfiguration.getDataSource();
@@ -612,6 +649,14 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
         if (conTimeout != 0 && conTimeout != SSHConstants.DEFAULT_CONNECT_TIMEOUT) {
             configuration.setProperty(SSHConstants.PROP_CONNECT_TIMEOUT, conTimeout);
         }
+        saveIntProperty(configuration, SSHConstants.PROP_TUNNEL_STRIPES,
+            Math.min(CommonUtils.toInt(tunnelStripesText.getText()), SSHConstants.MAX_TUNNEL_STRIPES));
+        saveIntProperty(configuration, SSHConstants.PROP_WINDOW_SIZE, CommonUtils.toInt(windowSizeText.getText()));
+        saveIntProperty(configuration, SSHConstants.PROP_MAX_PACKET_SIZE, CommonUtils.toInt(maxPacketSizeText.getText()));
+    }
+
+    private static void saveIntProperty(@NotNull DBWHandlerConfiguration configuration, @NotNull String name, int value) {
+        configuration.setProperty(name, value <= 0 ? null : value);
     }
 
     @Override
@@ -44,4 +44,13 @@ public abstract class AbstractSession implements SSHSession {
     public abstract void removePortForward(
         @NotNull SSHPortForwardConfiguration configuration
     ) throws DBException;
+
+    /**
+     * Opens channel connected to the specified host and port of the remote side.
+     * It is used to forward connections without built-in port forwarding of implementation.
+     */
+    @NotNull
+    public SSHDirectChannel openDirectChannel(@NotNull String host, int port) throws DBException {
+        throw new DBException("Direct channels are not supported by " + getClass().getSimpleName());
+    }
 }
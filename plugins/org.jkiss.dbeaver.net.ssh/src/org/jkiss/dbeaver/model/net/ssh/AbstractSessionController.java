@@ -33,8 +33,11 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -43,6 +46,7 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
     private static final Log log = Log.getLog(AbstractSessionController.class);
 
     protected final Map<SSHHostConfiguration, ShareableSession<T>> sessions = new ConcurrentHashMap<>();
+    protected final Set<StripedSession<T>> stripedSessions = ConcurrentHashMap.newKeySet();
     protected AgentIdentityRepository agentIdentityRepository;
 
     @NotNull
@@ -55,8 +59,12 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
         @Nullable SSHPortForwardConfiguration portForward
     ) throws DBException {
         final AbstractSession session;
+        final int stripes = Math.min(configuration.getIntProperty(SSHConstants.PROP_TUNNEL_STRIPES), SSHConstants.MAX_TUNNEL_STRIPES);
         if (origin != null) {
             session = createJumpSession(getDelegateSession(origin), destination, portForward);
+        } else if (portForward != null && stripes > 0) {
+            // Striped sessions are not shared - they are used for throughput
+            session = new StripedSession<>(this, destination, portForward, stripes);
         } else {
             session = createDirectSession(configuration, destination, portForward);
         }
@@ -121,7 +129,9 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
     @NotNull
     @Override
     public SSHSession[] getSessions() {
-        return sessions.values().toArray(SSHSession[]::new);
+        final List<SSHSession> result = new ArrayList<>(sessions.values());
+        result.addAll(stripedSessions);
+        return result.toArray(SSHSession[]::new);
     }
 
     @NotNull
@@ -130,6 +140,14 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
         return getDelegateSession(session).getDataSources();
     }
 
+    /**
+     * Returns traffic counters of a tunnel session or null if session uses built-in port forwarding
+     */
+    @Nullable
+    public SSHTunnelStatistics getTunnelStatistics(@NotNull SSHSession session) {
+        return session instanceof StripedSession<?> striped ? striped.statistics : null;
+    }
+
     @NotNull
     protected IdentityRepository createAgentIdentityRepository() throws DBException {
         if (agentIdentityRepository == null) {
@@ -292,6 +310,129 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
         }
     }
 
+    /**
+     * Session which forwards port over several own SSH sessions to the same host
+     */
+    protected static class StripedSession<T extends AbstractSession> extends DelegateSession {
+        private final AbstractSessionController<T> controller;
+        private final int stripeCount;
+        private final List<T> stripes = new ArrayList<>();
+        private final SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        private SSHPortForwardConfiguration portForward;
+        private SSHStripedPortForwarder forwarder;
+        private DBPDataSourceContainer dataSource;
+
+        public StripedSession(
+            @NotNull AbstractSessionController<T> controller,
+            @NotNull SSHHostConfiguration destination,
+            @NotNull SSHPortForwardConfiguration portForward,
+            int stripeCount
+        ) {
+            super(destination);
+            this.controller = controller;
+            this.portForward = portForward;
+            this.stripeCount = stripeCount;
+        }
+
+        @Property(viewable = true, order = 1, name = "Destination")
+        public String getDestinationInfo() {
+            return destination.toDisplayString() + " (" + stripeCount + " sessions)";
+        }
+
+        @Property(viewable = true, order = 3, name = "Port Forwards")
+        public String getPortForwardingInfo() {
+            return portForward.toDisplayString();
+        }
+
+        @Property(viewable = true, order = 4, name = "Traffic")
+        public String getStatisticsInfo() {
+            return statistics.toString();
+        }
+
+        @Override
+        public synchronized void connect(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull SSHHostConfiguration destination,
+            @NotNull DBWHandlerConfiguration configuration
+        ) throws DBException {
+            log.debug("SSHSessionController: Creating " + stripeCount + " sessions to " + destination);
+            dataSource = configuration.getDataSource();
+            try {
+                List<SSHStripedPortForwarder.ChannelOpener> openers = new ArrayList<>();
+                for (int i = 0; i < stripeCount; i++) {
+                    T stripe = controller.createSession();
+                    stripe.connect(monitor, destination, configuration);
+                    stripes.add(stripe);
+                    openers.add(stripe::openDirectChannel);
+                }
+                forwarder = new SSHStripedPortForwarder(openers, portForward, statistics);
+                portForward = forwarder.start();
+                controller.stripedSessions.add(this);
+            } catch (Exception e) {
+                try {
+                    disconnect(monitor, configuration, 0);
+                } catch (DBException e1) {
+                    log.debug("Error closing striped session", e1);
+                }
+                if (e instanceof DBException dbe) {
+                    throw dbe;
+                }
+                throw new DBException("Error setting up port forwarding", e);
+            }
+        }
+
+        @Override
+        public synchronized void disconnect(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBWHandlerConfiguration configuration,
+            long timeout
+        ) throws DBException {
+            controller.stripedSessions.remove(this);
+            if (forwarder != null) {
+                forwarder.close();
+                forwarder = null;
+            }
+            DBException error = null;
+            for (T stripe : stripes) {
+                try {
+                    stripe.disconnect(monitor, configuration, timeout);
+                } catch (DBException e) {
+                    error = e;
+                }
+            }
+            stripes.clear();
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        @NotNull
+        @Override
+        public SSHPortForwardConfiguration setupPortForward(@NotNull SSHPortForwardConfiguration configuration) throws DBException {
+            throw new DBException("Port forwarding of striped session is set up on connect");
+        }
+
+        @Override
+        public void removePortForward(@NotNull SSHPortForwardConfiguration configuration) throws DBException {
+            // Forwarding is removed on disconnect
+        }
+
+        @NotNull
+        @Override
+        protected synchronized AbstractSession getSession() {
+            if (stripes.isEmpty()) {
+                throw new IllegalStateException("Striped session is not connected");
+            }
+            return stripes.get(0);
+        }
+
+        @NotNull
+        @Override
+        protected DBPDataSourceContainer[] getDataSources() {
+            return dataSource == null ? new DBPDataSourceContainer[0] : new DBPDataSourceContainer[]{dataSource};
+        }
+    }
+
     protected static class DirectSession<T extends AbstractSession> extends WrapperSession<T> {
         private SSHPortForwardConfiguration portForward;
 
@@ -532,6 +673,12 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
             getSession().removePortForward(configuration);
         }
 
+        @NotNull
+        @Override
+        public SSHDirectChannel openDirectChannel(@NotNull String host, int port) throws DBException {
+            return getSession().openDirectChannel(host, port);
+        }
+
         @Override
         public void getFile(
             @NotNull String src,
@@ -42,6 +42,11 @@ public class SSHConstants {
     public static final String PROP_REMOTE_PORT = "remotePort";
     public static final String PROP_BYPASS_HOST_VERIFICATION = "bypassHostVerification";
     public static final String PROP_SHARE_TUNNELS = "shareTunnels";
+    // Number of SSH sessions forwarded connections are distributed over. 0 means built-in port forwarding of implementation.
+    public static final String PROP_TUNNEL_STRIPES = "tunnelStripes";
+    public static final String PROP_WINDOW_SIZE = "windowSize";
+    public static final String PROP_MAX_PACKET_SIZE = "maxPacketSize";
+    public static final int MAX_TUNNEL_STRIPES = 16;
     //private static final int CONNECT_TIMEOUT = 10000;
 
     public enum AuthType {
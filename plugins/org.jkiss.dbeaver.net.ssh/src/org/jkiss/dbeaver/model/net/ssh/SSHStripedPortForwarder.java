@@ -0,0 +1,280 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHPortForwardConfiguration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local port forwarder which distributes forwarded connections over several SSH sessions (stripes).
+ * <p>
+ * Each SSH session multiplexes its channels over a single TCP connection and each channel is limited by its window,
+ * so bulk transfers of several connections through one session slow down each other.
+ * Forwarder opens channel of a new connection in the stripe with the least number of active connections.
+ * Bytes and channel open times are counted in {@link SSHTunnelStatistics}.
+ */
+public class SSHStripedPortForwarder implements Closeable {
+
+    private static final Log log = Log.getLog(SSHStripedPortForwarder.class);
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Opens direct channel to the remote host in one stripe
+     */
+    @FunctionalInterface
+    public interface ChannelOpener {
+        @NotNull
+        SSHDirectChannel openChannel(@NotNull String host, int port) throws DBException;
+    }
+
+    private final List<ChannelOpener> stripes;
+    private final AtomicInteger[] stripeConnections;
+    private final SSHPortForwardConfiguration configuration;
+    private final SSHTunnelStatistics statistics;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final ExecutorService executor;
+    // Accepted sockets which channels are not opened yet
+    private final Set<Socket> pendingSockets = ConcurrentHashMap.newKeySet();
+    private final Set<ForwardedConnection> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private volatile boolean closed;
+
+    public SSHStripedPortForwarder(
+        @NotNull List<ChannelOpener> stripes,
+        @NotNull SSHPortForwardConfiguration configuration,
+        @NotNull SSHTunnelStatistics statistics
+    ) {
+        if (stripes.isEmpty()) {
+            throw new IllegalArgumentException("No SSH sessions to forward connections");
+        }
+        this.stripes = List.copyOf(stripes);
+        this.stripeConnections = new AtomicInteger[stripes.size()];
+        for (int i = 0; i < stripeConnections.length; i++) {
+            stripeConnections[i] = new AtomicInteger();
+        }
+        this.configuration = configuration;
+        this.statistics = statistics;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "SSH tunnel stream " + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts listening of local port.
+     *
+     * @return resolved configuration (with actual local port)
+     */
+    @NotNull
+    public SSHPortForwardConfiguration start() throws IOException {
+        serverSocket = new ServerSocket(configuration.localPort(), 0, InetAddress.getByName(configuration.localHost()));
+        SSHPortForwardConfiguration resolved = new SSHPortForwardConfiguration(
+            configuration.localHost(),
+            serverSocket.getLocalPort(),
+            configuration.remoteHost(),
+            configuration.remotePort()
+        );
+        Thread acceptThread = new Thread(this::acceptConnections, "Striped port forwarder listener (" + resolved + ")");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        return resolved;
+    }
+
+    @NotNull
+    public SSHTunnelStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            log.debug("Error closing forwarder socket", e);
+        }
+        for (Socket socket : pendingSockets) {
+            closeQuietly(socket);
+        }
+        // Pump threads stop when their streams are closed
+        for (ForwardedConnection connection : connections) {
+            connection.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.error("Error accepting forwarded connection", e);
+                }
+                break;
+            }
+            pendingSockets.add(socket);
+            try {
+                executor.execute(() -> openConnection(socket));
+            } catch (Exception e) {
+                // Forwarder was closed
+                pendingSockets.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void openConnection(@NotNull Socket socket) {
+        int stripe = chooseStripe();
+        stripeConnections[stripe].incrementAndGet();
+        SSHDirectChannel channel;
+        long startTime = System.nanoTime();
+        try {
+            socket.setTcpNoDelay(true);
+            channel = stripes.get(stripe).openChannel(configuration.remoteHost(), configuration.remotePort());
+        } catch (Exception e) {
+            log.debug("Error opening forwarded channel to " + configuration, e);
+            statistics.connectionFailed();
+            stripeConnections[stripe].decrementAndGet();
+            pendingSockets.remove(socket);
+            closeQuietly(socket);
+            return;
+        }
+        statistics.connectionOpened(System.nanoTime() - startTime);
+
+        ForwardedConnection connection = new ForwardedConnection(socket, channel, stripe);
+        connections.add(connection);
+        pendingSockets.remove(socket);
+        if (closed) {
+            // Forwarder was closed while the channel was opened
+            connection.close();
+            return;
+        }
+        try {
+            InputStream socketIn = socket.getInputStream();
+            OutputStream socketOut = socket.getOutputStream();
+            InputStream channelIn = channel.getInputStream();
+            OutputStream channelOut = channel.getOutputStream();
+            executor.execute(() -> connection.pump(socketIn, channelOut, true));
+            connection.pump(channelIn, socketOut, false);
+        } catch (Exception e) {
+            log.debug("Error starting forwarded connection", e);
+            connection.close();
+        }
+    }
+
+    private int chooseStripe() {
+        int stripeCount = stripes.size();
+        int start = Math.floorMod(nextStripe.getAndIncrement(), stripeCount);
+        int best = start;
+        for (int i = 1; i < stripeCount; i++) {
+            int stripe = (start + i) % stripeCount;
+            if (stripeConnections[stripe].get() < stripeConnections[best].get()) {
+                best = stripe;
+            }
+        }
+        return best;
+    }
+
+    private static void closeQuietly(@NotNull Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private class ForwardedConnection {
+        private final Socket socket;
+        private final SSHDirectChannel channel;
+        private final int stripe;
+        // Both directions must finish before connection is closed
+        private final AtomicInteger activeStreams = new AtomicInteger(2);
+        private volatile boolean finished;
+
+        ForwardedConnection(@NotNull Socket socket, @NotNull SSHDirectChannel channel, int stripe) {
+            this.socket = socket;
+            this.channel = channel;
+            this.stripe = stripe;
+        }
+
+        void pump(@NotNull InputStream in, @NotNull OutputStream out, boolean outgoing) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+                    out.write(buffer, 0, count);
+                    out.flush();
+                    if (outgoing) {
+                        statistics.addBytesSent(count);
+                    } else {
+                        statistics.addBytesReceived(count);
+                    }
+                }
+                // Pass EOF to the other side, it may still send its data
+                if (outgoing) {
+                    out.close();
+                } else if (!socket.isClosed()) {
+                    socket.shutdownOutput();
+                }
+            } catch (IOException e) {
+                if (!finished && !(e instanceof SocketException)) {
+                    log.debug("Error forwarding data through SSH tunnel", e);
+                }
+                close();
+            } finally {
+                if (activeStreams.decrementAndGet() == 0) {
+                    close();
+                }
+            }
+        }
+
+        synchronized void close() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            connections.remove(this);
+            closeQuietly(channel);
+            closeQuietly(socket);
+            stripeConnections[stripe].decrementAndGet();
+            statistics.connectionClosed();
+        }
+    }
+}
@@ -216,6 +216,17 @@ public class SSHTunnelImpl implements DBWTunnel {
         return controller;
     }
 
+    /**
+     * Returns traffic counters of the tunnel or null if tunnel uses built-in port forwarding of implementation
+     */
+    @Nullable
+    public SSHTunnelStatistics getStatistics() {
+        if (session != null && controller instanceof AbstractSessionController<?> sessionController) {
+            return sessionController.getTunnelStatistics(session);
+        }
+        return null;
+    }
+
     @NotNull
     private static SSHPortForwardConfiguration loadPortForwardConfiguration(
         @NotNull DBWHandlerConfiguration configuration,
@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.dbeaver.model.meta.Property;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traffic counters of a tunnel.
+ * Latency is time of opening of a forwarded channel, it takes a round trip to the SSH server.
+ */
+public class SSHTunnelStatistics {
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong totalConnections = new AtomicLong();
+    private final AtomicLong failedConnections = new AtomicLong();
+    private final AtomicLong totalOpenTime = new AtomicLong();
+    private final AtomicLong maxOpenTime = new AtomicLong();
+
+    @Property(viewable = true, order = 1, name = "Bytes Sent")
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Property(viewable = true, order = 2, name = "Bytes Received")
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Property(viewable = true, order = 3, name = "Active Connections")
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    @Property(viewable = true, order = 4, name = "Total Connections")
+    public long getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    @Property(viewable = true, order = 5, name = "Failed Connections")
+    public long getFailedConnections() {
+        return failedConnections.get();
+    }
+
+    /**
+     * Average time of channel opening in milliseconds
+     */
+    @Property(viewable = true, order = 6, name = "Average Latency (ms)")
+    public long getAverageLatency() {
+        long count = totalConnections.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalOpenTime.get() / count);
+    }
+
+    /**
+     * Max time of channel opening in milliseconds
+     */
+    @Property(viewable = true, order = 7, name = "Max Latency (ms)")
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxOpenTime.get());
+    }
+
+    void addBytesSent(int count) {
+        bytesSent.addAndGet(count);
+    }
+
+    void addBytesReceived(int count) {
+        bytesReceived.addAndGet(count);
+    }
+
+    void connectionOpened(long openTimeNanos) {
+        totalConnections.incrementAndGet();
+        activeConnections.incrementAndGet();
+        totalOpenTime.addAndGet(openTimeNanos);
+        maxOpenTime.accumulateAndGet(openTimeNanos, Math::max);
+    }
+
+    void connectionFailed() {
+        failedConnections.incrementAndGet();
+    }
+
+    void connectionClosed() {
+        activeConnections.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "sent=" + getBytesSent() + ", received=" + getBytesReceived() +
+            ", connections=" + getActiveConnections() + "/" + getTotalConnections() +
+            ", failed=" + getFailedConnections() +
+            ", latency=" + getAverageLatency() + "/" + getMaxLatency() + "ms";
+    }
+}
@@ -75,6 +75,10 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     private final List<DBWNetworkProfile> networkProfiles = new ArrayList<>();
     private final Map<String, DBAAuthProfile> authProfiles = new LinkedHashMap<>();
     private volatile boolean saveInProgress = false;
+    // Storages changed since the last save
+    private final Set<DBPDataSourceConfigurationStorage> dirtyStorages = new LinkedHashSet<>();
+    private final DataSourceSerializationCache serializationCache = new DataSourceSerializationCache();
+    private final Object saveLock = new Object();
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
     private volatile ConfigSaver configSaver;
@@ -619,6 +623,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         synchronized (dataSources) {
             this.dataSources.remove(dataSource.getId());
         }
+        if (dataSource instanceof DataSourceDescriptor descriptor) {
+            serializationCache.invalidate(descriptor);
+        }
         try {
             this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, dataSource);
         } finally {
@@ -646,7 +653,8 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceUpdate(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        setDataSourceChanged(container);
+        saveDataSources(new VoidProgressMonitor());
     }
 
     protected void persistDataFolderDelete(@NotNull String folderPath, boolean dropContents) {
@@ -654,7 +662,36 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceDelete(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        setDataSourceChanged(container);
+        saveDataSources(new VoidProgressMonitor());
+    }
+
+    /**
+     * Marks data source configuration as changed. Only changed data sources are serialized
+     * and only their storages are written on the next save.
+     */
+    protected void setDataSourceChanged(@NotNull DBPDataSourceContainer container) {
+        if (!(container instanceof DataSourceDescriptor descriptor)) {
+            return;
+        }
+        serializationCache.invalidate(descriptor);
+        // Default storage keeps virtual models, connection types and drivers of all data sources
+        DBPDataSourceConfigurationStorage defaultStorage = getDefaultStorage();
+        synchronized (dirtyStorages) {
+            dirtyStorages.add(descriptor.getStorage());
+            dirtyStorages.add(defaultStorage);
+        }
+    }
+
+    /**
+     * Marks the whole configuration as changed, e.g. after folders or profiles modification.
+     * All data sources are serialized again, but files with the same contents aren't written.
+     */
+    protected void setConfigurationChanged() {
+        serializationCache.invalidateDataSources();
+        synchronized (dirtyStorages) {
+            dirtyStorages.addAll(storages);
+        }
     }
 
     @Override
@@ -662,7 +699,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         if (project.isInMemory()) {
             return;
         }
-        // Use async config saver to avoid too frequent configuration re-save during some massive configuration update
+        setConfigurationChanged();
+        // Use async config saver to avoid too frequent configuration re-save during some massive configuration update.
+        // Changes made until it runs are saved at once.
         if (configSaver == null) {
             configSaver = new ConfigSaver();
         }
@@ -886,6 +925,8 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             } else {
                 serializer = createModernSerializer();
             }
+            // Loaded data sources and files may differ from the serialized ones
+            serializationCache.invalidateAll();
             configChanged = serializer.parseDataSources(storage, manager, parseResults, dataSourceIds);
 
             lastError = null;
@@ -903,50 +944,73 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 
     @Override
     public void saveDataSources() {
+        setConfigurationChanged();
         saveDataSources(new VoidProgressMonitor());
     }
 
+    /**
+     * Saves changed storages
+     */
     protected void saveDataSources(DBRProgressMonitor monitor) {
         if (project.isInMemory()) {
             return;
         }
 
         updateProjectNature();
-        saveInProgress = true;
-        try {
+        synchronized (saveLock) {
+            saveInProgress = true;
+            try {
+                saveChangedStorages(monitor);
+            } finally {
+                saveInProgress = false;
+            }
+        }
+    }
+
+    private void saveChangedStorages(DBRProgressMonitor monitor) {
+        List<DBPDataSourceConfigurationStorage> changedStorages = new ArrayList<>();
+        synchronized (dirtyStorages) {
             for (DBPDataSourceConfigurationStorage storage : storages) {
-                if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
-                    // Legacy storage. We must save it in the modern format
-                    ((DataSourceFileStorage) storage).convertToModern(project);
+                if (dirtyStorages.remove(storage)) {
+                    changedStorages.add(storage);
                 }
+            }
+            // Storages which are not registered anymore
+            dirtyStorages.clear();
+        }
+        for (DBPDataSourceConfigurationStorage storage : changedStorages) {
+            if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
+                // Legacy storage. We must save it in the modern format
+                ((DataSourceFileStorage) storage).convertToModern(project);
+            }
 
-                List<T> localDataSources = getDataSources(storage);
+            List<T> localDataSources = getDataSources(storage);
 
+            try {
+                DataSourceSerializer<T> serializer = createModernSerializer();
+                serializer.saveDataSources(
+                    monitor,
+                    configurationManager,
+                    storage,
+                    localDataSources);
                 try {
-                    DataSourceSerializer<T> serializer = createModernSerializer();
-                    serializer.saveDataSources(
-                        monitor,
-                        configurationManager,
-                        storage,
-                        localDataSources);
-                    try {
-                        if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
-                            DBSSecretController
-                                .getProjectSecretController(project)
-                                .flushChanges();
-                        }
-                        lastError = null;
-                    } catch (Throwable e) {
-                        log.error("Error saving secured preferences", e);
-                        lastError = e;
+                    if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
+                        DBSSecretController
+                            .getProjectSecretController(project)
+                            .flushChanges();
                     }
-                } catch (Exception ex) {
-                    log.error("Error saving datasources configuration", ex);
-                    lastError = ex;
+                    lastError = null;
+                } catch (Throwable e) {
+                    log.error("Error saving secured preferences", e);
+                    lastError = e;
+                }
+            } catch (Exception ex) {
+                log.error("Error saving datasources configuration", ex);
+                lastError = ex;
+                synchronized (dirtyStorages) {
+                    dirtyStorages.add(storage);
                 }
             }
-        } finally {
-            saveInProgress = false;
         }
     }
 
@@ -976,6 +1040,11 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         return configurationManager;
     }
 
+    @NotNull
+    DataSourceSerializationCache getSerializationCache() {
+        return serializationCache;
+    }
+
     @Override
     public String toString() {
         return project.getName() + " (" + getClass().getSimpleName() + ")";
@@ -0,0 +1,114 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Serialized data source configuration of a registry.
+ * <p>
+ * Keeps JSON of each data source (with its secure properties) until the data source is marked as changed,
+ * so saving of a single connection doesn't serialize all others again.
+ * Also keeps digests of written configuration files: a file with the same content isn't encrypted and written again.
+ * Must be invalidated when configuration is loaded from storage.
+ */
+final class DataSourceSerializationCache {
+
+    private static final byte[] NO_FILE = new byte[0];
+
+    private final Map<DataSourceDescriptor, SerializedDataSource> dataSources = new IdentityHashMap<>();
+    private final Map<String, byte[]> fileDigests = new HashMap<>();
+    // Incremented on each invalidation. Serialization which was started before it isn't cached.
+    private long generation;
+
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Nullable
+    synchronized SerializedDataSource getDataSource(@NotNull DataSourceDescriptor dataSource) {
+        return dataSources.get(dataSource);
+    }
+
+    synchronized void putDataSource(@NotNull DataSourceDescriptor dataSource, @NotNull SerializedDataSource serialized, long serializeGeneration) {
+        if (serializeGeneration == generation) {
+            dataSources.put(dataSource, serialized);
+        }
+    }
+
+    synchronized void invalidate(@NotNull DataSourceDescriptor dataSource) {
+        generation++;
+        dataSources.remove(dataSource);
+    }
+
+    /**
+     * Drops serialized data sources. Configuration files will be serialized again (but written only if changed).
+     */
+    synchronized void invalidateDataSources() {
+        generation++;
+        dataSources.clear();
+    }
+
+    synchronized void invalidateAll() {
+        invalidateDataSources();
+        fileDigests.clear();
+    }
+
+    /**
+     * Returns true if contents (or encryption) differ from the last written contents of the file
+     */
+    synchronized boolean isFileChanged(@NotNull String name, @Nullable String contents, boolean encrypted) {
+        byte[] digest = fileDigests.get(name);
+        return digest == null || !Arrays.equals(digest, getDigest(contents, encrypted));
+    }
+
+    synchronized void setFileWritten(@NotNull String name, @Nullable String contents, boolean encrypted) {
+        fileDigests.put(name, getDigest(contents, encrypted));
+    }
+
+    synchronized void resetFile(@NotNull String name) {
+        fileDigests.remove(name);
+    }
+
+    @NotNull
+    private static byte[] getDigest(@Nullable String contents, boolean encrypted) {
+        if (contents == null) {
+            return NO_FILE;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((byte) (encrypted ? 1 : 0));
+            return digest.digest(contents.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param json             data source configuration object
+     * @param secureProperties secure properties of data source (object type -> properties)
+     */
+    record SerializedDataSource(@NotNull String json, @NotNull Map<String, Map<String, String>> secureProperties) {
+    }
+
+}
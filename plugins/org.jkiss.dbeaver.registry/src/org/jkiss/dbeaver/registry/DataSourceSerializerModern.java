@@ -105,6 +105,9 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         DBPDataSourceConfigurationStorage configurationStorage,
         List<T> localDataSources
     ) throws DBException, IOException {
+        // Serialized data sources are kept for registry's own storage only
+        DataSourceSerializationCache cache = configurationManager == registry.getConfigurationManager() ?
+            registry.getSerializationCache() : null;
         ByteArrayOutputStream dsConfigBuffer = new ByteArrayOutputStream(10000);
         try (OutputStreamWriter osw = new OutputStreamWriter(dsConfigBuffer, StandardCharsets.UTF_8)) {
             try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(osw)) {
@@ -136,7 +139,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                     for (T dataSource : localDataSources) {
                         // Skip temporary
                         if (!dataSource.isDetached()) {
-                            saveDataSource(configurationManager, jsonWriter, dataSource, externalConfigurations);
+                            saveDataSource(configurationManager, jsonWriter, dataSource, externalConfigurations, cache);
                             if (dataSource.getVirtualModel().hasValuableData()) {
                                 virtualModels.put(dataSource.getVirtualModel().getId(), dataSource.getVirtualModel());
                             }
@@ -253,10 +256,11 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
             configurationManager,
             configurationStorage.getStorageName(),
             jsonString,
-            registry.getProject().isEncryptedProject());
+            registry.getProject().isEncryptedProject(),
+            cache);
 
         if (!configurationManager.isSecure()) {
-            saveSecureCredentialsFile(configurationManager, configurationStorage);
+            saveSecureCredentialsFile(configurationManager, configurationStorage, cache);
         }
     }
 
@@ -333,8 +337,13 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         DataSourceConfigurationManager configurationManager,
         String name,
         String contents,
-        boolean encrypt
+        boolean encrypt,
+        @Nullable DataSourceSerializationCache cache
     ) throws DBException, IOException {
+        if (cache != null && !cache.isFileChanged(name, contents, encrypt)) {
+            // Do not encrypt and write the same contents again
+            return;
+        }
         byte[] binaryContents = null;
         if (contents != null) {
             if (encrypt) {
@@ -347,18 +356,28 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
 
         // Save result to file
+        if (cache != null) {
+            cache.resetFile(name);
+        }
         configurationManager.writeConfiguration(name, binaryContents);
+        if (cache != null) {
+            cache.setFileWritten(name, contents, encrypt);
+        }
     }
 
-    private void saveSecureCredentialsFile(DataSourceConfigurationManager configurationManager, DBPDataSourceConfigurationStorage storage) {
+    private void saveSecureCredentialsFile(
+        DataSourceConfigurationManager configurationManager,
+        DBPDataSourceConfigurationStorage storage,
+        @Nullable DataSourceSerializationCache cache
+    ) {
         String credFile = DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_PREFIX + storage.getStorageSubId() + DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_EXT;
         try {
             if (secureProperties.isEmpty()) {
-                saveConfigFile(configurationManager, credFile, null, true);
+                saveConfigFile(configurationManager, credFile, null, true, cache);
             } else {
                 // Serialize and encrypt
                 String jsonString = CONFIG_GSON.toJson(secureProperties, Map.class);
-                saveConfigFile(configurationManager, credFile, jsonString, true);
+                saveConfigFile(configurationManager, credFile, jsonString, true, cache);
             }
         } catch (Exception e) {
             log.error("Error saving secure credentials", e);
@@ -1062,6 +1081,63 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         json.endObject();
     }
 
+    /**
+     * Writes data source configuration. Data sources which weren't changed since the previous save
+     * are written from the cache, others are serialized and cached.
+     */
+    private void saveDataSource(
+        DataSourceConfigurationManager configurationManager,
+        @NotNull JsonWriter json,
+        @NotNull T dataSource,
+        @NotNull Map<String, DBPExternalConfiguration> externalConfigurations,
+        @Nullable DataSourceSerializationCache cache
+    ) throws IOException {
+        if (cache == null) {
+            saveDataSource(configurationManager, json, dataSource, externalConfigurations);
+            return;
+        }
+        DataSourceSerializationCache.SerializedDataSource serialized = cache.getDataSource(dataSource);
+        if (serialized == null) {
+            long generation = cache.getGeneration();
+            StringWriter buffer = new StringWriter();
+            try (JsonWriter dsJson = CONFIG_GSON.newJsonWriter(buffer)) {
+                dsJson.setIndent(JSONUtils.DEFAULT_INDENT);
+                dsJson.beginObject();
+                serializeDataSource(configurationManager, dsJson, dataSource, externalConfigurations);
+                dsJson.endObject();
+            }
+            serialized = new DataSourceSerializationCache.SerializedDataSource(
+                // Data source object is nested in the connections object
+                buffer.toString().replace("\n", "\n\t\t"),
+                copySecureProperties(secureProperties.get(dataSource.getId())));
+            cache.putDataSource(dataSource, serialized, generation);
+        } else {
+            if (!serialized.secureProperties().isEmpty()) {
+                secureProperties.put(dataSource.getId(), copySecureProperties(serialized.secureProperties()));
+            }
+            if (dataSource.getOriginSource() instanceof DBPDataSourceOriginExternal externalOrigin) {
+                DBPExternalConfiguration externalConfiguration = externalOrigin.getExternalConfiguration();
+                if (externalConfiguration != null) {
+                    externalConfigurations.put(externalConfiguration.getId(), externalConfiguration);
+                }
+            }
+        }
+        json.name(dataSource.getId());
+        json.jsonValue(serialized.json());
+    }
+
+    @NotNull
+    private static Map<String, Map<String, String>> copySecureProperties(@Nullable Map<String, Map<String, String>> properties) {
+        if (properties == null) {
+            return Map.of();
+        }
+        Map<String, Map<String, String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : properties.entrySet()) {
+            copy.put(entry.getKey(), new LinkedHashMap<>(entry.getValue()));
+        }
+        return copy;
+    }
+
     protected void serializeDataSource(
         DataSourceConfigurationManager configurationManager,
         @NotNull JsonWriter json,
@@ -33,4 +33,15 @@ public class RunStatistics {
     public List<TaskRunImpl> getRuns() {
         return runs;
     }
+
+    /**
+     * Returns average time (ms) runs waited in task scheduler queue
+     */
+    public long getAverageQueueTime() {
+        return runs.isEmpty() ? 0 : runs.stream().mapToLong(TaskRunImpl::getQueueTime).sum() / runs.size();
+    }
+
+    public long getMaxQueueTime() {
+        return runs.stream().mapToLong(TaskRunImpl::getQueueTime).max().orElse(0);
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Serialized configuration of each task. Task is serialized again only after its configuration was changed.
+ * <p>
+ * Task may be changed while a save serializes it. Such configuration may be stale, so it is returned
+ * but not cached: the next save serializes the task again.
+ */
+class TaskConfigurationCache {
+
+    interface Serializer {
+        @NotNull
+        String serialize(@NotNull TaskImpl task) throws IOException;
+    }
+
+    private final Map<TaskImpl, String> configurations = new IdentityHashMap<>();
+    // Incremented on each invalidation
+    private long version;
+
+    @NotNull
+    String getConfiguration(@NotNull TaskImpl task, @NotNull Serializer serializer) throws IOException {
+        long startVersion;
+        synchronized (this) {
+            String configuration = configurations.get(task);
+            if (configuration != null) {
+                return configuration;
+            }
+            startVersion = version;
+        }
+        String configuration = serializer.serialize(task);
+        synchronized (this) {
+            if (version == startVersion) {
+                configurations.put(task, configuration);
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Must be called after task configuration was changed
+     */
+    synchronized void invalidate(@NotNull TaskImpl task) {
+        version++;
+        configurations.remove(task);
+    }
+
+    synchronized void invalidateAll() {
+        version++;
+        configurations.clear();
+    }
+}
@@ -35,6 +35,8 @@ public class TaskConstants {
 
     static final String TAG_PARENT = "parent";
     static final String TAG_MAX_EXEC_TIME = "maxExecutionTime";
+    static final String TAG_PRIORITY = "priority";
+    static final String TAG_DEPENDS_ON = "dependsOn";
 
     public static final int DEFAULT_MAX_EXECUTION_TIME = 300;
 
@@ -0,0 +1,292 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.task.DBTTaskHandler;
+import org.jkiss.dbeaver.model.task.DBTTaskInfoCollector;
+
+import java.util.*;
+
+/**
+ * Starts scheduled task jobs.
+ * <p>
+ * Job starts when each data source of its task runs less than {@link ModelPreferences#TASK_MAX_CONCURRENT_PER_DATASOURCE}
+ * tasks and all jobs it depends on have finished. Runs requested by user don't wait for data source limits,
+ * but they count toward them. Only runs of task schedulers wait, they use two-argument
+ * {@code DBTTaskManager.scheduleTask}. Waiting jobs start in order of task priority, then in order
+ * they were queued. If a dependency fails or is canceled then dependent job is skipped: it records a failed run
+ * without task execution.
+ * <p>
+ * Data sources of a task are known only if its handler implements {@link DBTTaskInfoCollector},
+ * other tasks are not limited.
+ */
+class TaskExecutionScheduler {
+
+    private static final Log log = Log.getLog(TaskExecutionScheduler.class);
+
+    private final List<QueuedJob> queue = new ArrayList<>();
+    private final Map<TaskRunJob, QueuedJob> activeJobs = new LinkedHashMap<>();
+    private final Map<DBPDataSourceContainer, Integer> runningPerDataSource = new HashMap<>();
+    private long jobSequence;
+
+    /**
+     * Queues job and starts it if limits allow.
+     *
+     * @param dependencies jobs which must finish successfully before this job starts
+     * @param waitForLimits job waits until data sources of its task run less tasks than allowed
+     */
+    void enqueue(@NotNull TaskRunJob job, @NotNull Collection<TaskRunJob> dependencies, boolean waitForLimits) {
+        addToQueue(job, collectDataSources(job.getTask()), dependencies, waitForLimits);
+        dispatch();
+    }
+
+    /**
+     * Queues job without starting it. Caller calls {@link #dispatch()} after it releases the scheduler lock,
+     * so jobs are not scheduled under the lock.
+     *
+     * @param dataSources data sources of the job task, see {@link #collectDataSources(TaskImpl)}
+     */
+    void addToQueue(
+        @NotNull TaskRunJob job,
+        @NotNull Set<DBPDataSourceContainer> dataSources,
+        @NotNull Collection<TaskRunJob> dependencies,
+        boolean waitForLimits
+    ) {
+        // Listener is added before the job is queued, another thread may start it right after that
+        addFinishListener(job);
+        job.setQueueStartTime(System.currentTimeMillis());
+        synchronized (this) {
+            List<QueuedJob> dependencyJobs = new ArrayList<>();
+            String skipReason = null;
+            for (TaskRunJob dependency : dependencies) {
+                QueuedJob dependencyJob = activeJobs.get(dependency);
+                if (dependencyJob != null) {
+                    dependencyJobs.add(dependencyJob);
+                } else if (!isSucceeded(dependency) && skipReason == null) {
+                    // Dependency has already finished
+                    skipReason = makeSkipReason(dependency);
+                }
+            }
+            QueuedJob queuedJob = new QueuedJob(job, dataSources, dependencyJobs, jobSequence++);
+            queuedJob.waitForLimits = waitForLimits;
+            queuedJob.skipReason = skipReason;
+            activeJobs.put(job, queuedJob);
+            queue.add(queuedJob);
+        }
+    }
+
+    /**
+     * Makes job count toward data source limits while it runs directly (not scheduled).
+     * Such jobs don't wait for limits.
+     */
+    void startDirect(@NotNull TaskRunJob job) {
+        Set<DBPDataSourceContainer> dataSources = collectDataSources(job.getTask());
+        synchronized (this) {
+            QueuedJob queuedJob = new QueuedJob(job, dataSources, List.of(), jobSequence++);
+            queuedJob.started = true;
+            acquireDataSources(queuedJob);
+            activeJobs.put(job, queuedJob);
+        }
+    }
+
+    void finishDirect(@NotNull TaskRunJob job) {
+        onJobFinished(job);
+    }
+
+    /**
+     * Returns queued or running job of the task
+     */
+    @Nullable
+    synchronized TaskRunJob getActiveJob(@NotNull TaskImpl task) {
+        for (TaskRunJob job : activeJobs.keySet()) {
+            if (job.getTask() == task) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    synchronized boolean hasQueuedJobs() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Removes all jobs which didn't start yet
+     */
+    void cancelQueuedJobs() {
+        synchronized (this) {
+            for (QueuedJob queuedJob : queue) {
+                queuedJob.finished = true;
+                queuedJob.succeeded = false;
+                activeJobs.remove(queuedJob.job);
+            }
+            queue.clear();
+        }
+    }
+
+    void onJobFinished(@NotNull TaskRunJob job) {
+        synchronized (this) {
+            QueuedJob queuedJob = activeJobs.remove(job);
+            if (queuedJob == null) {
+                return;
+            }
+            queuedJob.finished = true;
+            queuedJob.succeeded = isSucceeded(job);
+            if (queuedJob.acquired) {
+                releaseDataSources(queuedJob);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Starts queued jobs which are allowed to run. Must not be called under the scheduler lock.
+     */
+    void dispatch() {
+        List<TaskRunJob> jobsToStart = new ArrayList<>();
+        synchronized (this) {
+            queue.sort(Comparator
+                .comparingInt((QueuedJob queuedJob) -> -queuedJob.job.getTask().getPriority())
+                .thenComparingLong(queuedJob -> queuedJob.sequence));
+            for (Iterator<QueuedJob> iter = queue.iterator(); iter.hasNext(); ) {
+                QueuedJob queuedJob = iter.next();
+                String skipReason = queuedJob.skipReason;
+                boolean dependenciesFinished = true;
+                for (QueuedJob dependency : queuedJob.dependencies) {
+                    if (!dependency.finished) {
+                        dependenciesFinished = false;
+                    } else if (!dependency.succeeded && skipReason == null) {
+                        skipReason = makeSkipReason(dependency.job);
+                    }
+                }
+                if (skipReason != null) {
+                    // Skipped job doesn't connect anywhere, so it doesn't wait for limits
+                    queuedJob.job.setSkipReason(skipReason);
+                } else if (!dependenciesFinished || (queuedJob.waitForLimits && !canAcquireDataSources(queuedJob))) {
+                    continue;
+                } else {
+                    acquireDataSources(queuedJob);
+                }
+                iter.remove();
+                queuedJob.started = true;
+                jobsToStart.add(queuedJob.job);
+            }
+        }
+        for (TaskRunJob job : jobsToStart) {
+            startJob(job);
+        }
+    }
+
+    /**
+     * Calls {@link #onJobFinished(TaskRunJob)} when job is done
+     */
+    protected void addFinishListener(@NotNull TaskRunJob job) {
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                onJobFinished(job);
+            }
+        });
+    }
+
+    protected void startJob(@NotNull TaskRunJob job) {
+        job.schedule();
+    }
+
+    private boolean canAcquireDataSources(@NotNull QueuedJob queuedJob) {
+        for (DBPDataSourceContainer dataSource : queuedJob.dataSources) {
+            int maxTasks = dataSource.getPreferenceStore().getInt(ModelPreferences.TASK_MAX_CONCURRENT_PER_DATASOURCE);
+            if (maxTasks > 0 && runningPerDataSource.getOrDefault(dataSource, 0) >= maxTasks) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void acquireDataSources(@NotNull QueuedJob queuedJob) {
+        queuedJob.acquired = true;
+        for (DBPDataSourceContainer dataSource : queuedJob.dataSources) {
+            runningPerDataSource.merge(dataSource, 1, Integer::sum);
+        }
+    }
+
+    private void releaseDataSources(@NotNull QueuedJob queuedJob) {
+        for (DBPDataSourceContainer dataSource : queuedJob.dataSources) {
+            runningPerDataSource.computeIfPresent(dataSource, (ds, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @NotNull
+    private static String makeSkipReason(@NotNull TaskRunJob failedDependency) {
+        return "Skipped: dependency task '" + failedDependency.getTask().getName() + "' failed";
+    }
+
+    private static boolean isSucceeded(@NotNull TaskRunJob job) {
+        TaskRunImpl taskRun = job.getTaskRun();
+        return taskRun != null && taskRun.isRunSuccess();
+    }
+
+    /**
+     * Returns data sources of the task. Creates task handler, so it must not be called under the scheduler lock.
+     */
+    @NotNull
+    static Set<DBPDataSourceContainer> collectDataSources(@NotNull TaskImpl task) {
+        try {
+            DBTTaskHandler handler = task.getType().createHandler();
+            if (handler instanceof DBTTaskInfoCollector infoCollector) {
+                DBTTaskInfoCollector.TaskInformation information = new DBTTaskInfoCollector.TaskInformation();
+                infoCollector.collectTaskInfo(task, information);
+                return new LinkedHashSet<>(information.getDataSources());
+            }
+        } catch (Exception e) {
+            log.debug("Error collecting data sources of task '" + task.getName() + "'", e);
+        }
+        return Set.of();
+    }
+
+    private static class QueuedJob {
+        private final TaskRunJob job;
+        private final Set<DBPDataSourceContainer> dataSources;
+        private final List<QueuedJob> dependencies;
+        private final long sequence;
+        private String skipReason;
+        private boolean waitForLimits;
+        private boolean started;
+        private boolean acquired;
+        private boolean finished;
+        private boolean succeeded;
+
+        QueuedJob(
+            @NotNull TaskRunJob job,
+            @NotNull Set<DBPDataSourceContainer> dataSources,
+            @NotNull List<QueuedJob> dependencies,
+            long sequence
+        ) {
+            this.job = job;
+            this.dataSources = dataSources;
+            this.dependencies = dependencies;
+            this.sequence = sequence;
+        }
+    }
+}
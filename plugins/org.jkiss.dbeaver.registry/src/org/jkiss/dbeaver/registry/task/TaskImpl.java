@@ -30,11 +30,9 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -44,7 +42,6 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     public static String META_FILE_NAME = "meta.json";
 
     private static final Log log = Log.getLog(TaskImpl.class);
-    private static final int MAX_RUNS_IN_STATS = 100;
     private static final Gson gson = new GsonBuilder()
         .setStrictness(Strictness.LENIENT)
         .setDateFormat(GeneralUtils.DEFAULT_TIMESTAMP_PATTERN)
@@ -58,9 +55,11 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     private Date updateTime;
     private DBTTaskType type;
     private Map<String, Object> properties;
-    private volatile List<DBTTaskRun> runs;
+    private volatile TaskRunHistory runHistory;
     private DBTTaskFolder taskFolder;
     private int maxExecutionTime;
+    private int priority;
+    private List<String> dependencies = List.of();
 
     protected TaskImpl(
         @NotNull DBPProject project,
@@ -159,17 +158,23 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     @Nullable
     @Override
     public DBTTaskRun getLastRun() {
-        loadRunsIfNeeded();
-        return runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        return getRunHistory().getLastRun();
     }
 
     @NotNull
     @Override
     public DBTTaskRun[] getAllRuns() {
-        loadRunsIfNeeded();
+        List<TaskRunImpl> runs = getRunHistory().readRuns(0, Integer.MAX_VALUE);
+        Collections.reverse(runs);
         return runs.toArray(DBTTaskRun[]::new);
     }
 
+    @NotNull
+    @Override
+    public DBTTaskRun[] getRuns(int offset, int maxCount) {
+        return getRunHistory().readRuns(offset, maxCount).toArray(DBTTaskRun[]::new);
+    }
+
     @Nullable
     @Override
     public Path getRunLog(@NotNull DBTTaskRun run) {
@@ -184,24 +189,15 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
 
     @Override
     public void removeRun(DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
+        getRunHistory().removeRun(taskRun.getId());
 
-            if (!runs.remove(taskRun)) {
-                return;
-            }
-
-            Path runLog = getRunLog(taskRun);
-
-            if (runLog != null) {
-                try {
-                    Files.deleteIfExists(runLog);
-                } catch (IOException e) {
-                    log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
-                }
+        Path runLog = getRunLog(taskRun);
+        if (runLog != null) {
+            try {
+                Files.deleteIfExists(runLog);
+            } catch (IOException e) {
+                log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
             }
-
-            flushRunStatistics(runs);
         }
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
@@ -225,16 +221,13 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
                 log.error("Can't delete logs folder '" + statsFolder.toAbsolutePath() + "'", e);
             }
         }
-        if (runs != null) {
-            runs.clear();
-        }
-        flushRunStatistics(List.of());
+        getRunHistory().invalidate();
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     @Override
     public void refreshRunStatistics() {
-        runs = new ArrayList<>(loadRunStatistics());
+        getRunHistory().invalidate();
     }
 
     @Override
@@ -255,6 +248,29 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         this.maxExecutionTime = maxExecutionTime;
     }
 
+    /**
+     * Queued tasks with higher priority start first
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Returns IDs of tasks which must finish successfully before this task starts
+     */
+    @NotNull
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    public void setDependencies(@NotNull List<String> dependencies) {
+        this.dependencies = List.copyOf(dependencies);
+    }
+
     protected Path getTaskStatsFolder(boolean create) {
         Path taskStatsFolder = project.getTaskManager().getStatisticsFolder().resolve(id);
         if (create && !Files.exists(taskStatsFolder)) {
@@ -267,35 +283,14 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         return taskStatsFolder;
     }
 
-    void addNewRun(@NotNull DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            runs.add(taskRun);
-
-            while (runs.size() > MAX_RUNS_IN_STATS) {
-                runs.remove(0);
-            }
-
-            flushRunStatistics(runs);
-        }
+    void addNewRun(@NotNull TaskRunImpl taskRun) {
+        getRunHistory().writeRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     void updateRun(@NotNull TaskRunImpl taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            for (int i = 0; i < runs.size(); i++) {
-                if (runs.get(i).getId().equals(taskRun.getId())) {
-                    runs.set(i, taskRun);
-                    break;
-                }
-            }
-
-            flushRunStatistics(runs);
-        }
+        getRunHistory().writeRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
@@ -305,31 +300,23 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         return id + " " + label + " (" + type.getName() + ")";
     }
 
+    /**
+     * Returns statistics of the last runs
+     */
     @NotNull
-    protected List<? extends DBTTaskRun> loadRunStatistics() {
-        return TaskUtils.loadRunStatistics(getTaskStatsFolder(false).resolve(META_FILE_NAME), gson);
-    }
-
-    protected void flushRunStatistics(@NotNull List<? extends DBTTaskRun> runs) {
-        Path metaFile = getTaskStatsFolder(true).resolve(META_FILE_NAME);
-        try (Writer writer = Files.newBufferedWriter(metaFile)) {
-            final List<TaskRunImpl> filteredRuns = runs.stream()
-                .filter(run -> run instanceof TaskRunImpl)
-                .map(run -> (TaskRunImpl) run)
-                .collect(Collectors.toList());
-            writer.write(gson.toJson(new RunStatistics(filteredRuns)));
-        } catch (IOException e) {
-            log.error("Error writing task run statistics", e);
-        }
+    public RunStatistics getRunStatistics() {
+        return new RunStatistics(getRunHistory().readRuns(0, TaskRunHistory.MAX_RUNS));
     }
 
-    private void loadRunsIfNeeded() {
-        if (runs == null) {
+    @NotNull
+    private TaskRunHistory getRunHistory() {
+        if (runHistory == null) {
             synchronized (this) {
-                if (runs == null) {
-                    runs = new ArrayList<>(loadRunStatistics());
+                if (runHistory == null) {
+                    runHistory = new TaskRunHistory(getTaskStatsFolder(false), gson);
                 }
             }
         }
+        return runHistory;
     }
 }
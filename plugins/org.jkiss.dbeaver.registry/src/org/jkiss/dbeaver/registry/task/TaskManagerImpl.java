@@ -30,6 +30,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
@@ -46,11 +47,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Function;
 
 /**
  * TaskManagerImpl
@@ -68,10 +71,13 @@ public class TaskManagerImpl implements DBTTaskManager {
     final SimpleDateFormat systemDateFormat;
 
     private final Set<TaskRunJob> runningTasks = Collections.synchronizedSet(new HashSet<>());
+    private final TaskExecutionScheduler executionScheduler = new TaskExecutionScheduler();
     private Job serviceJob;
     private final BaseProjectImpl projectMetadata;
     private final List<TaskImpl> tasks = new ArrayList<>();
     private final List<TaskFolderImpl> tasksFolders = new ArrayList<>();
+    private final TaskConfigurationCache serializedTasks = new TaskConfigurationCache();
+    private final Object saveLock = new Object();
     private final Path statisticsFolder;
 
     public TaskManagerImpl(BaseProjectImpl projectMetadata, Path statisticsFolder) {
@@ -217,6 +223,7 @@ public class TaskManagerImpl implements DBTTaskManager {
         }
 
         boolean newTask = false;
+        serializedTasks.invalidate((TaskImpl) task);
         synchronized (tasks) {
             if (!tasks.contains(task)) {
                 tasks.add((TaskImpl) task);
@@ -248,6 +255,9 @@ public class TaskManagerImpl implements DBTTaskManager {
         synchronized (tasks) {
             tasks.remove(task);
         }
+        if (task instanceof TaskImpl taskImpl) {
+            serializedTasks.invalidate(taskImpl);
+        }
         saveConfiguration();
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(task, DBTTaskEvent.Action.TASK_REMOVE));
@@ -272,6 +282,7 @@ public class TaskManagerImpl implements DBTTaskManager {
             for (DBTTask task : folderTasks) {
                 if (task instanceof TaskImpl) {
                     ((TaskImpl) task).setTaskFolder(parentFolder);
+                    serializedTasks.invalidate((TaskImpl) task);
                 }
             }
         }
@@ -286,11 +297,12 @@ public class TaskManagerImpl implements DBTTaskManager {
 
     @Override
     public boolean hasRunningTasks() {
-        return !runningTasks.isEmpty();
+        return !runningTasks.isEmpty() || executionScheduler.hasQueuedJobs();
     }
 
     @Override
     public void cancelRunningTasks() {
+        executionScheduler.cancelQueuedJobs();
         final Job[] tasks = runningTasks.toArray(Job[]::new);
         for (Job task : tasks) {
             task.cancel();
@@ -318,31 +330,146 @@ public class TaskManagerImpl implements DBTTaskManager {
             serviceJob.schedule();
         }
         runningTasks.add(job);
-        final IStatus result = job.runDirectly(monitor);
+        // Direct run doesn't wait in queue, but scheduled tasks of the same data sources wait for it
+        executionScheduler.startDirect(job);
+        final IStatus result;
+        try {
+            result = job.runDirectly(monitor);
+        } finally {
+            runningTasks.remove(job);
+            executionScheduler.finishDirect(job);
+        }
         final Throwable error = result.getException();
         if (error != null) {
-            runningTasks.remove(job);
             if (error instanceof DBException e) {
                 throw e;
             } else {
                 throw new DBException("Error executing task", error);
             }
         }
-        runningTasks.remove(job);
         return job.getTaskRunStatus();
     }
 
     @NotNull
     @Override
     public TaskRunJob scheduleTask(@NotNull DBTTask task, @NotNull DBTTaskExecutionListener listener) throws DBException {
-        final TaskRunJob runJob = createJob((TaskImpl) task, listener);
-        runJob.schedule();
+        return scheduleTask(task, listener, true);
+    }
+
+    @NotNull
+    @Override
+    public TaskRunJob scheduleTask(
+        @NotNull DBTTask task,
+        @NotNull DBTTaskExecutionListener listener,
+        boolean waitForLimits
+    ) throws DBException {
+        final TaskImpl taskImpl = (TaskImpl) task;
+        checkDependencyCycles(taskImpl, this::getTaskById);
+        // Data sources are collected by task handlers, they are created before the scheduler lock is taken
+        final Map<TaskImpl, Set<DBPDataSourceContainer>> dataSources = new IdentityHashMap<>();
+        collectDataSources(taskImpl, dataSources);
+        final TaskRunJob runJob;
+        synchronized (executionScheduler) {
+            // Check of active dependency jobs and queueing of new ones is atomic, so dependencies are not run twice
+            runJob = enqueueTask(taskImpl, listener, dataSources, waitForLimits);
+        }
+        executionScheduler.dispatch();
         if (serviceJob == null) {
             serviceJob = new ServiceJob();
             serviceJob.schedule();
         }
         return runJob;
     }
+
+    /**
+     * Collects data sources of the task and of tasks it depends on
+     */
+    private void collectDataSources(@NotNull TaskImpl task, @NotNull Map<TaskImpl, Set<DBPDataSourceContainer>> dataSources) {
+        if (dataSources.containsKey(task)) {
+            return;
+        }
+        dataSources.put(task, TaskExecutionScheduler.collectDataSources(task));
+        for (String dependencyId : task.getDependencies()) {
+            if (getTaskById(dependencyId) instanceof TaskImpl dependencyImpl) {
+                collectDataSources(dependencyImpl, dataSources);
+            }
+        }
+    }
+
+    @NotNull
+    private TaskRunJob enqueueTask(
+        @NotNull TaskImpl task,
+        @NotNull DBTTaskExecutionListener listener,
+        @NotNull Map<TaskImpl, Set<DBPDataSourceContainer>> dataSources,
+        boolean waitForLimits
+    ) throws DBException {
+        final List<TaskRunJob> dependencies = scheduleDependencies(task, dataSources, waitForLimits);
+        final TaskRunJob runJob = createJob(task, listener);
+        executionScheduler.addToQueue(runJob, dataSources.getOrDefault(task, Set.of()), dependencies, waitForLimits);
+        return runJob;
+    }
+
+    /**
+     * Returns jobs of tasks the task depends on. Dependencies which are not queued or running are scheduled.
+     */
+    @NotNull
+    private List<TaskRunJob> scheduleDependencies(
+        @NotNull TaskImpl task,
+        @NotNull Map<TaskImpl, Set<DBPDataSourceContainer>> dataSources,
+        boolean waitForLimits
+    ) throws DBException {
+        List<TaskRunJob> dependencies = new ArrayList<>();
+        for (String dependencyId : task.getDependencies()) {
+            DBTTask dependency = getTaskById(dependencyId);
+            if (!(dependency instanceof TaskImpl dependencyImpl)) {
+                log.warn("Dependency task '" + dependencyId + "' of task '" + task.getName() + "' not found");
+                continue;
+            }
+            TaskRunJob dependencyJob = executionScheduler.getActiveJob(dependencyImpl);
+            if (dependencyJob == null) {
+                dependencyJob = enqueueTask(dependencyImpl, new DependencyExecutionListener(), dataSources, waitForLimits);
+            }
+            dependencies.add(dependencyJob);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Checks that tasks the task depends on (directly or indirectly) don't depend on the task itself
+     */
+    static void checkDependencyCycles(
+        @NotNull TaskImpl task,
+        @NotNull Function<String, DBTTask> taskFinder
+    ) throws DBException {
+        checkDependencyCycles(task, taskFinder, new ArrayList<>(), new HashSet<>());
+    }
+
+    private static void checkDependencyCycles(
+        @NotNull TaskImpl task,
+        @NotNull Function<String, DBTTask> taskFinder,
+        @NotNull List<TaskImpl> path,
+        @NotNull Set<TaskImpl> checkedTasks
+    ) throws DBException {
+        if (path.contains(task)) {
+            StringJoiner cycle = new StringJoiner(" -> ");
+            for (TaskImpl pathTask : path.subList(path.indexOf(task), path.size())) {
+                cycle.add(pathTask.getName());
+            }
+            cycle.add(task.getName());
+            throw new DBException("Task dependencies have a cycle: " + cycle);
+        }
+        if (!checkedTasks.add(task)) {
+            // Shared dependency, its dependencies were checked already
+            return;
+        }
+        path.add(task);
+        for (String dependencyId : task.getDependencies()) {
+            if (taskFinder.apply(dependencyId) instanceof TaskImpl dependency) {
+                checkDependencyCycles(dependency, taskFinder, path, checkedTasks);
+            }
+        }
+        path.remove(path.size() - 1);
+    }
  
     @NotNull
     private TaskRunJob createJob(@NotNull TaskImpl task, @NotNull DBTTaskExecutionListener listener) {
@@ -431,6 +558,8 @@ public class TaskManagerImpl implements DBTTaskManager {
                         state
                     );
                     taskConfig.setMaxExecutionTime(maxExecutionTime);
+                    taskConfig.setPriority(JSONUtils.getInteger(taskJSON, TaskConstants.TAG_PRIORITY));
+                    taskConfig.setDependencies(JSONUtils.deserializeStringList(taskJSON, TaskConstants.TAG_DEPENDS_ON));
                     if (taskFolder != null) {
                         taskFolder.addTaskToFolder(taskConfig);
                         if (!tasksFolders.contains(taskFolder)) {
@@ -499,48 +628,63 @@ public class TaskManagerImpl implements DBTTaskManager {
 
     public void saveConfiguration() {
         DBPProject project = getProject();
-        try {
-            if (tasks.isEmpty() && CommonUtils.isEmpty(tasksFolders)) {
-                DBWorkbench.getPlatform().getTaskController().saveTaskConfigurationFile(project.getId(), TaskConstants.CONFIG_FILE, null);
-                return;
-            }
-        } catch (Exception e) {
-            log.error("Error processing config file", e);
+        final List<TaskImpl> tasksToSave;
+        final List<TaskFolderImpl> foldersToSave;
+        synchronized (tasks) {
+            tasksToSave = new ArrayList<>(tasks);
+        }
+        synchronized (tasksFolders) {
+            foldersToSave = new ArrayList<>(tasksFolders);
         }
+        // Saves are serialized, but task list isn't locked while configuration is written
+        synchronized (saveLock) {
+            try {
+                if (tasksToSave.isEmpty() && foldersToSave.isEmpty()) {
+                    DBWorkbench.getPlatform().getTaskController().saveTaskConfigurationFile(project.getId(), TaskConstants.CONFIG_FILE, null);
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("Error processing config file", e);
+            }
 
-        ByteArrayOutputStream dsConfigBuffer = new ByteArrayOutputStream(10000);
-        try (OutputStreamWriter osw = new OutputStreamWriter(dsConfigBuffer, StandardCharsets.UTF_8)) {
-            try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(osw)) {
-                synchronized (tasks) {
-                    serializeTasks(jsonWriter);
+            ByteArrayOutputStream dsConfigBuffer = new ByteArrayOutputStream(10000);
+            try (OutputStreamWriter osw = new OutputStreamWriter(dsConfigBuffer, StandardCharsets.UTF_8)) {
+                try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(osw)) {
+                    serializeTasks(jsonWriter, tasksToSave, foldersToSave);
                 }
+            } catch (IOException e) {
+                log.error(e);
+                return;
             }
-        } catch (IOException e) {
-            log.error(e);
-            return;
-        }
 
-        try {
-            DBWorkbench.getPlatform().getTaskController().saveTaskConfigurationFile(
-                project.getId(),
-                TaskConstants.CONFIG_FILE, dsConfigBuffer.toString(StandardCharsets.UTF_8));
-        } catch (Exception e) {
-            log.error("Error saving configuration to a file " + TaskConstants.CONFIG_FILE, e);
+            try {
+                DBWorkbench.getPlatform().getTaskController().saveTaskConfigurationFile(
+                    project.getId(),
+                    TaskConstants.CONFIG_FILE, dsConfigBuffer.toString(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.error("Error saving configuration to a file " + TaskConstants.CONFIG_FILE, e);
+            }
         }
     }
 
     @Override
     public void updateConfiguration() {
+        // Tasks may be changed directly, so all of them are serialized again
+        serializedTasks.invalidateAll();
         saveConfiguration();
     }
 
-    private void serializeTasks(@NotNull JsonWriter jsonWriter) throws IOException {
+    private void serializeTasks(
+        @NotNull JsonWriter jsonWriter,
+        @NotNull List<TaskImpl> tasksToSave,
+        @NotNull List<TaskFolderImpl> foldersToSave
+    ) throws IOException {
         jsonWriter.setIndent("\t");
         jsonWriter.beginObject();
-        if (!CommonUtils.isEmpty(tasksFolders)) {
+        if (!foldersToSave.isEmpty()) {
             jsonWriter.name(TaskConstants.TASKS_FOLDERS_TAG);
             jsonWriter.beginObject();
-            for (TaskFolderImpl taskFolder : tasksFolders) {
+            for (TaskFolderImpl taskFolder : foldersToSave) {
                 jsonWriter.name(taskFolder.getName());
                 jsonWriter.beginObject();
                 if (taskFolder.getParentFolder() != null) {
@@ -550,8 +694,18 @@ public class TaskManagerImpl implements DBTTaskManager {
             }
             jsonWriter.endObject();
         }
-        for (TaskImpl task : tasks) {
+        for (TaskImpl task : tasksToSave) {
             jsonWriter.name(task.getId());
+            jsonWriter.jsonValue(serializedTasks.getConfiguration(task, this::serializeTask));
+        }
+        jsonWriter.endObject();
+    }
+
+    @NotNull
+    private String serializeTask(@NotNull TaskImpl task) throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(buffer)) {
+            jsonWriter.setIndent("\t");
             jsonWriter.beginObject();
             JSONUtils.field(jsonWriter, TaskConstants.TAG_TASK, task.getType().getId());
             JSONUtils.field(jsonWriter, TaskConstants.TAG_LABEL, task.getName());
@@ -566,9 +720,36 @@ public class TaskManagerImpl implements DBTTaskManager {
             if (task.getMaxExecutionTime() > 0) {
                 JSONUtils.field(jsonWriter, TaskConstants.TAG_MAX_EXEC_TIME, task.getMaxExecutionTime());
             }
+            if (task.getPriority() != 0) {
+                JSONUtils.field(jsonWriter, TaskConstants.TAG_PRIORITY, task.getPriority());
+            }
+            if (!task.getDependencies().isEmpty()) {
+                JSONUtils.serializeStringList(jsonWriter, TaskConstants.TAG_DEPENDS_ON, task.getDependencies());
+            }
             jsonWriter.endObject();
         }
-        jsonWriter.endObject();
+        // Task object is nested in the configuration object
+        return buffer.toString().replace("\n", "\n\t");
+    }
+
+    /**
+     * Listener of tasks scheduled as dependencies of another task
+     */
+    private static class DependencyExecutionListener implements DBTTaskExecutionListener {
+        @Override
+        public void taskStarted(@Nullable DBTTask task) {
+        }
+
+        @Override
+        public void taskFinished(@Nullable DBTTask task, @Nullable Object result, @Nullable Throwable error, @Nullable Object settings) {
+            if (error != null && task != null) {
+                log.error("Dependency task '" + task.getName() + "' failed", error);
+            }
+        }
+
+        @Override
+        public void subTaskFinished(@Nullable DBTTask task, @Nullable Throwable error, @Nullable Object settings) {
+        }
     }
 
     private class ServiceJob extends Job {
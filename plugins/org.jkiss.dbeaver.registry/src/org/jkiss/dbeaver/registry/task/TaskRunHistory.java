@@ -0,0 +1,298 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only run history of a task.
+ * <p>
+ * History is a sequence of segment files in the task statistics folder. Each line of a segment is a JSON record:
+ * a run (added or updated, the latest record of a run wins) or a removal marker of a run.
+ * New records are appended to the last segment, so adding a run doesn't rewrite the whole history.
+ * When there are too many segments, history is compacted: the last {@link #MAX_RUNS} runs are written
+ * to a new segment and old segments are deleted, so history never has more than a few hundred records.
+ * <p>
+ * Runs are ordered by start time, newest first. A run is written when it starts and again when it ends,
+ * so position of its latest record doesn't reflect order of runs.
+ * <p>
+ * Legacy statistics file ({@link TaskImpl#META_FILE_NAME}) is converted on the first write. It is kept as is,
+ * so older versions still can read runs made before the conversion.
+ */
+class TaskRunHistory {
+
+    private static final Log log = Log.getLog(TaskRunHistory.class);
+
+    static final int MAX_RUNS = 100;
+
+    private static final String SEGMENT_PREFIX = "runs-";
+    private static final String SEGMENT_EXT = ".jsonl";
+    private static final int MAX_SEGMENT_RECORDS = 50;
+    private static final int MAX_SEGMENTS = 4;
+    private static final String ATTR_ID = "id";
+    private static final String ATTR_REMOVED = "removed";
+    // Newest runs first. Sort is stable, so runs started at the same time keep their order
+    private static final Comparator<TaskRunImpl> RUN_ORDER = Comparator.comparing(
+        TaskRunImpl::getStartTime,
+        Comparator.nullsLast(Comparator.<Date>reverseOrder()));
+
+    private final Path folder;
+    private final Gson gson;
+    // Last run is shown in tasks tree for every task, so it is cached
+    private TaskRunImpl lastRun;
+    private boolean lastRunLoaded;
+
+    TaskRunHistory(@NotNull Path folder, @NotNull Gson gson) {
+        this.folder = folder;
+        this.gson = gson;
+    }
+
+    @Nullable
+    synchronized TaskRunImpl getLastRun() {
+        if (!lastRunLoaded) {
+            List<TaskRunImpl> runs = readRuns(0, 1);
+            lastRun = runs.isEmpty() ? null : runs.get(0);
+            lastRunLoaded = true;
+        }
+        return lastRun;
+    }
+
+    /**
+     * Reads a page of runs, newest runs first
+     */
+    @NotNull
+    synchronized List<TaskRunImpl> readRuns(int offset, int maxCount) {
+        if (maxCount <= 0) {
+            return new ArrayList<>();
+        }
+        List<TaskRunImpl> runs = readAllRuns();
+        int fromIndex = Math.min(Math.max(offset, 0), runs.size());
+        int toIndex = (int) Math.min((long) fromIndex + maxCount, runs.size());
+        return new ArrayList<>(runs.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Appends new or updated run
+     */
+    synchronized void writeRun(@NotNull TaskRunImpl run) {
+        appendRecord(gson.toJsonTree(run).getAsJsonObject());
+        if (!lastRunLoaded) {
+            // Last run is unknown, it is read on demand
+            return;
+        }
+        if (lastRun == null || lastRun.getId().equals(run.getId()) || RUN_ORDER.compare(run, lastRun) <= 0) {
+            lastRun = run;
+        }
+    }
+
+    synchronized void removeRun(@NotNull String runId) {
+        JsonObject record = new JsonObject();
+        record.addProperty(ATTR_ID, runId);
+        record.addProperty(ATTR_REMOVED, true);
+        appendRecord(record);
+        if (lastRun != null && lastRun.getId().equals(runId)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops cached state, so history is read from disk again (e.g. after another process has added a run)
+     */
+    synchronized void invalidate() {
+        lastRun = null;
+        lastRunLoaded = false;
+    }
+
+    private void appendRecord(@NotNull JsonObject record) {
+        try {
+            Files.createDirectories(folder);
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                // Convert legacy statistics
+                List<TaskRunImpl> legacyRuns = loadLegacyRuns();
+                if (!legacyRuns.isEmpty()) {
+                    List<JsonObject> records = new ArrayList<>();
+                    for (TaskRunImpl run : legacyRuns) {
+                        records.add(gson.toJsonTree(run).getAsJsonObject());
+                    }
+                    writeSegment(getSegmentPath(1), records);
+                    segments = listSegments();
+                }
+            }
+            Path segment = segments.isEmpty() ? getSegmentPath(1) : segments.get(segments.size() - 1);
+            if (Files.exists(segment) && countRecords(segment) >= MAX_SEGMENT_RECORDS) {
+                segment = getSegmentPath(getSegmentNumber(segment) + 1);
+                segments.add(segment);
+            }
+            Files.writeString(
+                segment,
+                gson.toJson(record) + "\n",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (segments.size() > MAX_SEGMENTS) {
+                compact(segments);
+            }
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+    }
+
+    /**
+     * Returns all runs, newest first
+     */
+    @NotNull
+    private List<TaskRunImpl> readAllRuns() {
+        List<TaskRunImpl> runs = new ArrayList<>();
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            runs.addAll(loadLegacyRuns());
+        } else {
+            // Run keeps position of its first record, its state is taken from the latest record
+            Map<String, JsonObject> runRecords = new LinkedHashMap<>();
+            for (Path segment : segments) {
+                for (JsonObject record : readSegment(segment)) {
+                    if (record.has(ATTR_ID)) {
+                        runRecords.put(record.get(ATTR_ID).getAsString(), record);
+                    }
+                }
+            }
+            for (JsonObject record : runRecords.values()) {
+                if (!record.has(ATTR_REMOVED)) {
+                    runs.add(gson.fromJson(record, TaskRunImpl.class));
+                }
+            }
+        }
+        // Records are ordered from the oldest run
+        Collections.reverse(runs);
+        runs.sort(RUN_ORDER);
+        return runs;
+    }
+
+    /**
+     * Writes the last runs into a new segment and deletes old segments
+     */
+    private void compact(@NotNull List<Path> segments) throws IOException {
+        List<TaskRunImpl> runs = readRuns(0, MAX_RUNS);
+        Collections.reverse(runs);
+        List<JsonObject> records = new ArrayList<>(runs.size());
+        for (TaskRunImpl run : runs) {
+            records.add(gson.toJsonTree(run).getAsJsonObject());
+        }
+        // New segment is complete before old ones are deleted. If compaction is interrupted, history
+        // has duplicate records which are resolved on read.
+        writeSegment(getSegmentPath(getSegmentNumber(segments.get(segments.size() - 1)) + 1), records);
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private void writeSegment(@NotNull Path segment, @NotNull List<JsonObject> records) throws IOException {
+        Path tempFile = segment.resolveSibling(segment.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (JsonObject record : records) {
+                writer.write(gson.toJson(record));
+                writer.write('\n');
+            }
+        }
+        Files.move(tempFile, segment, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @NotNull
+    private List<JsonObject> readSegment(@NotNull Path segment) {
+        List<JsonObject> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(JsonParser.parseString(line).getAsJsonObject());
+                } catch (Exception e) {
+                    // Last line may be incomplete if process was killed during append
+                    log.debug("Skip broken task run record in " + segment.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading task run history segment " + segment, e);
+        }
+        return records;
+    }
+
+    private static long countRecords(@NotNull Path segment) throws IOException {
+        try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    @NotNull
+    private List<TaskRunImpl> loadLegacyRuns() {
+        return TaskUtils.loadRunStatistics(folder.resolve(TaskImpl.META_FILE_NAME), gson);
+    }
+
+    /**
+     * Returns segments ordered by their numbers
+     */
+    @NotNull
+    private List<Path> listSegments() {
+        if (!Files.isDirectory(folder)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files
+                .filter(file -> getSegmentNumber(file) >= 0)
+                .sorted(Comparator.comparingLong(TaskRunHistory::getSegmentNumber))
+                .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            log.error("Error reading task run history folder " + folder, e);
+            return new ArrayList<>();
+        }
+    }
+
+    @NotNull
+    private Path getSegmentPath(long number) {
+        return folder.resolve(SEGMENT_PREFIX + String.format("%06d", number) + SEGMENT_EXT);
+    }
+
+    private static long getSegmentNumber(@NotNull Path file) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_EXT)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_EXT.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -35,6 +35,8 @@ public class TaskRunImpl implements DBTTaskRun {
     private String errorMessage;
     private String errorStackTrace;
     private String extraMessage;
+    // Time (ms) the run waited in task scheduler queue
+    private long queueTime;
 
     protected TaskRunImpl(
         @NotNull String id,
@@ -84,6 +86,14 @@ public class TaskRunImpl implements DBTTaskRun {
         this.duration = duration;
     }
 
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
     @Override
     public boolean isRunSuccess() {
         return errorMessage == null;
@@ -69,6 +69,10 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
 
     private boolean canceledByTimeOut = false;
 
+    private long queueStartTime;
+    private String skipReason;
+    private volatile TaskRunImpl taskRun;
+
     public TaskRunJob(TaskImpl task, Locale locale, DBTTaskExecutionListener executionListener) {
         super("Task [" + task.getType().getName() + "] runner - " + task.getName());
         setUser(true);
@@ -91,6 +95,10 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
             System.getProperty(StandardConstants.ENV_USER_NAME),
             GeneralUtils.getProductTitle(),
             null, null);
+        if (queueStartTime > 0) {
+            taskRun.setQueueTime(startTime.getTime() - queueStartTime);
+        }
+        this.taskRun = taskRun;
         task.getTaskStatsFolder(true);
         Path logFile = Objects.requireNonNull(task.getRunLog(taskRun)); // must exist on local machine
         task.addNewRun(taskRun);
@@ -101,6 +109,9 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
             taskLog.info(String.format("Task '%s' (%s) started", task.getName(), task.getId()));
             monitor.beginTask("Run task '" + task.getName() + " (" + task.getType().getName() + ")", 1);
             try {
+                if (skipReason != null) {
+                    throw new DBException(skipReason);
+                }
                 taskRunStatus = executeTask(new TaskLoggingProgressMonitor(monitor, task), logStream);
                 taskRun.setExtraMessage(taskRunStatus.getResultMessage());
             } catch (Throwable e) {
@@ -110,7 +121,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
                 monitor.done();
              
                 taskRun.setRunDuration(elapsedTime);
-                if (activeMonitor.isCanceled() || monitor.isCanceled()) {
+                if ((activeMonitor != null && activeMonitor.isCanceled()) || monitor.isCanceled()) {
                     taskRun.setErrorMessage("Canceled");
                     taskLog.info(String.format("Task '%s' (%s) cancelled after %s ms", task.getName(), task.getId(), elapsedTime));
                 } else if (taskError != null) {
@@ -157,6 +168,35 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
         runnable.run(activeMonitor);
     }
 
+    @NotNull
+    public TaskImpl getTask() {
+        return task;
+    }
+
+    /**
+     * Returns run record of this job or null if job didn't start yet
+     */
+    @Nullable
+    public TaskRunImpl getTaskRun() {
+        return taskRun;
+    }
+
+    void setQueueStartTime(long queueStartTime) {
+        this.queueStartTime = queueStartTime;
+    }
+
+    /**
+     * Job will record a failed run with specified reason instead of task execution
+     */
+    void setSkipReason(@NotNull String skipReason) {
+        this.skipReason = skipReason;
+    }
+
+    @Nullable
+    String getSkipReason() {
+        return skipReason;
+    }
+
     @NotNull
     public DBTTaskRunStatus getTaskRunStatus() {
         return taskRunStatus;
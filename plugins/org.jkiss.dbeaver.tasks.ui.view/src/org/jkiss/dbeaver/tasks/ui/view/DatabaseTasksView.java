@@ -90,6 +90,7 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
     public static final String GROUP_TASK_CMD_ID = "org.jkiss.dbeaver.task.group";
 
     private static final ArrayList<Object> EMPTY_TASK_RUN_LIST = new ArrayList<>();
+    private static final int RUN_PAGE_SIZE = 50;
 
     private DatabaseTasksTree tasksTree;
 
@@ -172,7 +173,9 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
         taskRunColumnController.addColumn(TaskUIViewMessages.db_tasks_view_column_controller_add_name_duration, TaskUIViewMessages.db_tasks_view_column_controller_add_descr_task_duration, SWT.LEFT, true, false, true, null, new TaskRunLabelProviderEx() {
             @Override
             public String getText(Object element, boolean forUI) {
-                DBTTaskRun taskRun = (DBTTaskRun) element;
+                if (!(element instanceof DBTTaskRun taskRun)) {
+                    return "";
+                }
                 return !taskRun.isFinished() ? "N/A" :
                     (forUI ? RuntimeUtils.formatExecutionTime(taskRun.getRunDuration()) : String.valueOf(taskRun.getRunDuration()));
             }
@@ -206,7 +209,15 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
         MenuManager menuMgr = createTaskRunContextMenu(taskRunViewer);
         getSite().registerContextMenu(DatabaseTasksView.TASK_RUNS_MENU_ID, menuMgr, taskRunViewer);
 
-        taskRunViewer.addDoubleClickListener(event -> new ViewRunLogAction().run());
+        taskRunViewer.addDoubleClickListener(event -> {
+            if (event.getSelection() instanceof IStructuredSelection selection
+                && selection.getFirstElement() instanceof MoreRunsNode moreRunsNode
+            ) {
+                loadMoreRuns(moreRunsNode);
+            } else {
+                new ViewRunLogAction().run();
+            }
+        });
     }
 
     private MenuManager createTaskContextMenu(TreeViewer viewer) {
@@ -431,10 +442,12 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
                 monitor.beginTask("Refresh task runs", IProgressMonitor.UNKNOWN);
                 try {
                     selectedTask.refreshRunStatistics();
-                    List<DBTTaskRun> runs = Arrays.stream(selectedTask.getAllRuns())
-                        .sorted(Comparator.comparing(DBTTaskRun::getStartTime).reversed())
-                        .toList();
-                    UIUtils.asyncExec(() -> taskRunViewer.setInput(runs));
+                    List<Object> runs = readRunsPage(selectedTask, 0);
+                    UIUtils.asyncExec(() -> {
+                        if (currentTask == selectedTask) {
+                            taskRunViewer.setInput(runs);
+                        }
+                    });
                 } finally {
                     monitor.done();
                 }
@@ -443,6 +456,47 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
         }.schedule();
     }
 
+    private void loadMoreRuns(@NotNull MoreRunsNode moreRunsNode) {
+        DBTTask task = currentTask;
+        if (task == null || !(taskRunViewer.getInput() instanceof List<?> currentRuns)) {
+            return;
+        }
+        new AbstractJob("Load task runs") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                monitor.beginTask("Load task runs", IProgressMonitor.UNKNOWN);
+                try {
+                    List<Object> runs = readRunsPage(task, moreRunsNode.offset);
+                    UIUtils.asyncExec(() -> {
+                        if (currentTask != task || taskRunViewer.getInput() != currentRuns) {
+                            return;
+                        }
+                        List<Object> allRuns = new ArrayList<>(currentRuns);
+                        allRuns.remove(moreRunsNode);
+                        allRuns.addAll(runs);
+                        taskRunViewer.setInput(allRuns);
+                    });
+                } finally {
+                    monitor.done();
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    /**
+     * Reads a page of runs (newest first). If there are more runs, the last element is a node which loads the next page.
+     */
+    @NotNull
+    private static List<Object> readRunsPage(@NotNull DBTTask task, int offset) {
+        DBTTaskRun[] runs = task.getRuns(offset, RUN_PAGE_SIZE + 1);
+        List<Object> page = new ArrayList<>(Arrays.asList(runs).subList(0, Math.min(runs.length, RUN_PAGE_SIZE)));
+        if (runs.length > RUN_PAGE_SIZE) {
+            page.add(new MoreRunsNode(offset + RUN_PAGE_SIZE));
+        }
+        return page;
+    }
+
     private static class TreeRunContentProvider implements ITreeContentProvider {
         @Override
         public Object[] getElements(Object inputElement) {
@@ -480,6 +534,19 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
         }
     }
 
+    private static class MoreRunsNode {
+        final int offset;
+
+        MoreRunsNode(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public String toString() {
+            return TaskUIViewMessages.db_tasks_view_run_load_more;
+        }
+    }
+
     private static class TaskCategoryNode {
         final DBPProject project;
         final TaskCategoryNode parent;
@@ -518,8 +585,12 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
     private abstract class TaskRunLabelProvider extends ColumnLabelProvider {
         @Override
         public final void update(ViewerCell cell) {
-            DBTTaskRun taskRun = (DBTTaskRun) cell.getElement();
-            if (taskRun != null && !taskRun.isRunSuccess()) {
+            if (!(cell.getElement() instanceof DBTTaskRun taskRun)) {
+                cell.setBackground(null);
+                cell.setText(cell.getColumnIndex() == 0 ? String.valueOf(cell.getElement()) : "");
+                return;
+            }
+            if (!taskRun.isRunSuccess()) {
                 cell.setBackground(tasksTree.getColorError());
             } else {
                 cell.setBackground(null);
@@ -74,7 +74,7 @@ public class TaskHandlerRun extends AbstractHandler implements IElementUpdater {
 
         try {
             TaskProcessorUI listener = new TaskProcessorUI(UIUtils.getDialogRunnableContext(), task);
-            task.getProject().getTaskManager().scheduleTask(task, listener);
+            task.getProject().getTaskManager().scheduleTask(task, listener, false);
         } catch (Exception e) {
             DBWorkbench.getPlatformUI().showError("Task run", "Error running task '" + task.getName() + "'", e);
         }
@@ -266,7 +266,7 @@ public abstract class TaskConfigurationWizard<SETTINGS extends DBTTaskSettings>
                 // Execute directly in wizard
                 executor.executeTask();
             } else {
-                task.getProject().getTaskManager().scheduleTask(task, executor);
+                task.getProject().getTaskManager().scheduleTask(task, executor, false);
             }
         } catch (DBException e) {
             DBWorkbench.getPlatformUI().showError("Task run error", e.getMessage(), e);
@@ -25,6 +25,7 @@ import org.eclipse.ui.progress.UIJob;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.LocalCacheProgressMonitor;
@@ -106,6 +107,8 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
 
         if (refresh) {
             fetchFlags |= DBSDataContainer.FLAG_REFRESH;
+            // Refreshed values must be read from the database
+            ContentDiskCache.getInstance().invalidateDataSource(getExecutionContext().getDataSource().getContainer());
         }
         long finalFlags = fetchFlags;
 
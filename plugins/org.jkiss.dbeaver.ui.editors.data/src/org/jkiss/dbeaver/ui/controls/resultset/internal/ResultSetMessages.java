@@ -221,6 +221,8 @@ public class ResultSetMessages extends NLS {
     public static String dialog_filter_value_edit_table_options_checkbox_show_row_count_description;
     public static String dialog_filter_value_edit_table_options_checkbox_show_distinct_values_count_label;
     public static String dialog_filter_value_edit_table_options_checkbox_show_distinct_values_count_description;
+    public static String dialog_filter_value_edit_table_options_checkbox_use_sampling_label;
+    public static String dialog_filter_value_edit_table_options_checkbox_use_sampling_description;
 
     public static String dialog_control_label_massage;
     public static String dialog_cursor_view_monitor_rows_fetched;
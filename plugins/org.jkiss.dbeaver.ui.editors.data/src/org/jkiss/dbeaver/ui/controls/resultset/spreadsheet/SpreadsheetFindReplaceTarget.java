@@ -34,6 +34,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPMessageType;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDValueRow;
@@ -311,6 +312,7 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
             if (replaceAll) {
                 processedCells.add(selection);
             }
+            owner.getSearchIndex().updateCellText(selection.row, selection.col, newValue);
         } catch (DBException e) {
             log.error("Error updating cell value", e);
         } finally {
@@ -423,6 +425,23 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
         }
         this.searchPattern = pattern;
 
+        // Cell texts are indexed in background. Record mode grid is small, it is scanned directly.
+        SpreadsheetSearchIndex searchIndex = recordMode ? null : owner.getSearchIndex();
+        if (searchIndex != null) {
+            searchIndex.refresh();
+            long[] matches = searchIndex.getMatches(pattern);
+            if (matches != null) {
+                return findIndexedMatch(spreadsheet, matches, pattern, startPos, searchForward, firstRow, lastRow, minColumn);
+            }
+            searchIndex.findAll(pattern, () -> {
+                long[] found = searchIndex.getMatches(pattern);
+                if (found != null && !spreadsheet.isDisposed()) {
+                    owner.getController().setStatus(found.length + " matches found", DBPMessageType.INFORMATION);
+                    spreadsheet.redraw();
+                }
+            });
+        }
+
         GridPos currentPos = new GridPos(startPos.col, startPos.row);
         boolean wrapped = false;
         int totalCells = (lastRow - firstRow + 1) * (columnCount - minColumn);
@@ -431,7 +450,10 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
         while (checked <= totalCells) {
             if (isCellInScope(currentPos, firstRow, lastRow, minColumn, columnCount)) {
                 if (!replaceAll || !processedCells.contains(currentPos)) {
-                    String cellText = getCellText(spreadsheet, currentPos, recordMode, minColumn);
+                    String cellText = searchIndex == null ? null : searchIndex.getCellText(currentPos.row, currentPos.col);
+                    if (cellText == null) {
+                        cellText = getCellText(spreadsheet, currentPos, recordMode, minColumn);
+                    }
                     if (cellText != null && pattern.matcher(cellText).find()) {
                         selectCell(spreadsheet, currentPos, minColumn);
                         storeLastFoundPosition(currentPos);
@@ -456,6 +478,41 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
         return -1; // No matches found
     }
 
+    // Finds next match using positions found by search index
+    private int findIndexedMatch(
+        @NotNull Spreadsheet spreadsheet,
+        @NotNull long[] matches,
+        @NotNull Pattern pattern,
+        @NotNull GridPos startPos,
+        boolean searchForward,
+        int firstRow,
+        int lastRow,
+        int minColumn
+    ) {
+        int columnCount = spreadsheet.getColumnCount();
+        int startIndex = Arrays.binarySearch(matches, (long) startPos.row * columnCount + startPos.col);
+        if (startIndex < 0) {
+            // Insertion point is the first match after start position
+            startIndex = searchForward ? -startIndex - 1 : -startIndex - 2;
+        }
+        for (int i = 0; i < matches.length; i++) {
+            long position = matches[Math.floorMod(searchForward ? startIndex + i : startIndex - i, matches.length)];
+            GridPos pos = new GridPos((int) (position % columnCount), (int) (position / columnCount));
+            if (pos.row < firstRow || pos.row > lastRow || (replaceAll && processedCells.contains(pos))) {
+                continue;
+            }
+            // Cell may be changed after it was indexed
+            String cellText = getCellText(spreadsheet, pos, false, minColumn);
+            if (cellText != null && pattern.matcher(cellText).find()) {
+                selectCell(spreadsheet, pos, minColumn);
+                storeLastFoundPosition(pos);
+                return pos.row;
+            }
+        }
+        processedCells.clear();
+        return -1;
+    }
+
     private Pattern createSearchPattern(
         @NotNull String findString,
         boolean caseSensitive,
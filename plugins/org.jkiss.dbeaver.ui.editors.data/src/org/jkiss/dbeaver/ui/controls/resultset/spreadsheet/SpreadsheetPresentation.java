@@ -153,11 +153,20 @@ public class SpreadsheetPresentation extends AbstractPresentation
     private boolean colorizeDataTypes = true;
     private final Map<DBPDataKind, Color> dataTypesForegrounds = new IdentityHashMap<>();
     private DBDDisplayFormat gridValueFormat;
+    private SpreadsheetSearchIndex searchIndex;
 
     public Spreadsheet getSpreadsheet() {
         return spreadsheet;
     }
 
+    @NotNull
+    SpreadsheetSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SpreadsheetSearchIndex(spreadsheet);
+        }
+        return searchIndex;
+    }
+
     @Override
     public boolean isDirty() {
         return activeInlineEditor != null &&
@@ -237,6 +246,10 @@ public class SpreadsheetPresentation extends AbstractPresentation
     public void dispose() {
         closeEditors();
         clearMetaData();
+        if (searchIndex != null) {
+            searchIndex.dispose();
+            searchIndex = null;
+        }
 
         UIUtils.dispose(this.cellHeaderSelectionBackground);
         super.dispose();
@@ -2283,7 +2296,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
             {
                 // Background
                 info.background = getCellBackground(
-                    attr, row, cellValue, rowElement.getVisualPosition(), selected, false);
+                    colElement, attr, row, cellValue, rowElement.getVisualPosition(), selected, false);
 
                 // Foreground
                 info.foreground = getCellForeground(attr, row, cellValue, info.background, selected);
@@ -2503,6 +2516,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
         }
 
         private Color getCellBackground(
+            IGridColumn colElement,
             DBDAttributeBinding attribute,
             ResultSetRow row,
             Object cellValue,
@@ -2531,7 +2545,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
             }
 
             if (cellSelected) {
-                Color normalColor = getCellBackground(attribute, row, cellValue, rowPosition, false, true);
+                Color normalColor = getCellBackground(colElement, attribute, row, cellValue, rowPosition, false, true);
                 if (normalColor == null || normalColor == backgroundDefault || isHighContrastTheme) {
                     return ResultSetThemeSettings.instance.backgroundSelected;
                 }
@@ -2555,8 +2569,13 @@ public class SpreadsheetPresentation extends AbstractPresentation
                 if (!hasScope || inScope) {
                     java.util.regex.Pattern searchPattern = findReplaceTarget.getSearchPattern();
                     if (searchPattern != null) {
-                        String cellText = CommonUtils.toString(cellValue);
-                        if (searchPattern.matcher(cellText).find()) {
+                        // Use find-all results if they are ready, so highlighted cells are the same find-next visits
+                        Boolean matched = searchIndex == null || controller.isRecordMode() ?
+                            null : searchIndex.isMatch(searchPattern, colElement, rowPosition);
+                        if (matched == null) {
+                            matched = searchPattern.matcher(CommonUtils.toString(cellValue)).find();
+                        }
+                        if (matched) {
                             return ResultSetThemeSettings.instance.backgroundMatched;
                         }
                     }
@@ -2567,7 +2586,7 @@ public class SpreadsheetPresentation extends AbstractPresentation
             }
 
             if (!ignoreRowSelection && highlightRowsWithSelectedCells && spreadsheet.isRowSelected(rowPosition)) {
-                Color normalColor = getCellBackground(attribute, row, cellValue, rowPosition, false, true);
+                Color normalColor = getCellBackground(colElement, attribute, row, cellValue, rowPosition, false, true);
                 Color selectedCellColor;
                 if (normalColor == null || normalColor == backgroundDefault || isHighContrastTheme) {
                     selectedCellColor = ResultSetThemeSettings.instance.backgroundSelected;
@@ -0,0 +1,292 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.spreadsheet;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.impl.data.CellTextIndex;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.RunnableWithResult;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.lightgrid.IGridColumn;
+import org.jkiss.dbeaver.ui.controls.lightgrid.IGridContentProvider;
+import org.jkiss.dbeaver.ui.controls.lightgrid.IGridRow;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Search index over spreadsheet cells.
+ * <p>
+ * Keeps texts of grid cells (the same strings find/replace matches) so search doesn't format values again.
+ * Index is built by a background job. Result set model is changed in UI thread, so the job reads cell texts
+ * there, in chunks of rows. When grid is refreshed, rows which are still in place keep their texts,
+ * so after fetch of the next page only new rows are indexed.
+ * <p>
+ * Find-all runs in background too. It produces ordered positions of matched cells which are used by find-next
+ * and for highlighting of matched cells.
+ * Must be accessed from UI thread (except jobs).
+ */
+class SpreadsheetSearchIndex {
+
+    private static final Log log = Log.getLog(SpreadsheetSearchIndex.class);
+
+    // Number of rows read in UI thread at once
+    private static final int INDEX_CHUNK_SIZE = 500;
+
+    private final Spreadsheet spreadsheet;
+    private volatile CellTextIndex state;
+    private IndexJob indexJob;
+    private FindAllJob findAllJob;
+    private Pattern matchesPattern;
+    private long[] matches;
+
+    SpreadsheetSearchIndex(@NotNull Spreadsheet spreadsheet) {
+        this.spreadsheet = spreadsheet;
+    }
+
+    /**
+     * Syncs index with current grid rows and columns and schedules indexing of new rows
+     */
+    void refresh() {
+        int columnCount = spreadsheet.getColumnCount();
+        int rowCount = spreadsheet.getItemCount();
+        IGridColumn[] columns = new IGridColumn[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = spreadsheet.getColumn(i);
+        }
+        IGridRow[] rows = new IGridRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = spreadsheet.getRow(i);
+        }
+        CellTextIndex oldState = this.state;
+        if (oldState != null && oldState.isSameLayout(columns, rows)) {
+            scheduleIndexing();
+            return;
+        }
+        cancelJobs();
+        this.state = oldState == null ? new CellTextIndex(columns, rows) : new CellTextIndex(columns, rows, oldState);
+        this.matchesPattern = null;
+        this.matches = null;
+        scheduleIndexing();
+    }
+
+    /**
+     * Returns indexed cell text or null if cell isn't indexed yet
+     */
+    @Nullable
+    String getCellText(int row, int col) {
+        CellTextIndex curState = this.state;
+        return curState == null ? null : curState.getText(row, col);
+    }
+
+    /**
+     * Updates text of a changed cell (e.g. after replace)
+     */
+    void updateCellText(int row, int col, @Nullable String text) {
+        CellTextIndex curState = this.state;
+        if (curState != null) {
+            curState.setText(row, col, text);
+        }
+    }
+
+    /**
+     * Returns ordered positions ({@code row * columnCount + col}) of all cells matching the pattern,
+     * or null if find-all wasn't finished yet for this pattern.
+     */
+    @Nullable
+    long[] getMatches(@NotNull Pattern pattern) {
+        return isSamePattern(pattern, matchesPattern) ? matches : null;
+    }
+
+    /**
+     * Checks whether cell was matched by the last finished find-all with the same pattern.
+     *
+     * @return match flag or null if there are no find-all results for this pattern
+     */
+    @Nullable
+    Boolean isMatch(@NotNull Pattern pattern, @NotNull IGridColumn column, int row) {
+        CellTextIndex curState = this.state;
+        long[] curMatches = getMatches(pattern);
+        if (curState == null || curMatches == null) {
+            return null;
+        }
+        return curState.isMatch(curMatches, row, curState.getColumnIndex(column));
+    }
+
+    /**
+     * Starts background search of all cells matching the pattern. Previous search is canceled.
+     *
+     * @param onFinish called in UI thread when matches are ready
+     */
+    void findAll(@NotNull Pattern pattern, @NotNull Runnable onFinish) {
+        if (state == null || (findAllJob != null && isSamePattern(pattern, findAllJob.pattern))) {
+            return;
+        }
+        if (findAllJob != null) {
+            findAllJob.cancel();
+        }
+        findAllJob = new FindAllJob(state, pattern, onFinish);
+        findAllJob.schedule();
+    }
+
+    void dispose() {
+        cancelJobs();
+        state = null;
+        matches = null;
+    }
+
+    private void scheduleIndexing() {
+        CellTextIndex curState = this.state;
+        if (!curState.isComplete() && (indexJob == null || indexJob.state != curState)) {
+            indexJob = new IndexJob(curState);
+            indexJob.schedule();
+        }
+    }
+
+    private void cancelJobs() {
+        if (indexJob != null) {
+            indexJob.cancel();
+            indexJob = null;
+        }
+        if (findAllJob != null) {
+            findAllJob.cancel();
+            findAllJob = null;
+        }
+    }
+
+    private static boolean isSamePattern(@NotNull Pattern pattern, @Nullable Pattern other) {
+        return other != null && other.pattern().equals(pattern.pattern()) && other.flags() == pattern.flags();
+    }
+
+    /**
+     * Indexes rows of the state. It is called from both index and find-all jobs, rows are indexed once.
+     *
+     * @return false if indexing was canceled
+     */
+    private boolean indexRows(@NotNull CellTextIndex indexState, @NotNull DBRProgressMonitor monitor) {
+        synchronized (indexState) {
+            while (!indexState.isComplete()) {
+                if (monitor.isCanceled() || indexState != state) {
+                    return false;
+                }
+                int firstRow = indexState.getIndexedRows();
+                int lastRow = Math.min(indexState.getRowCount(), firstRow + INDEX_CHUNK_SIZE);
+                String[][] chunk = UIUtils.syncExec(new RunnableWithResult<>() {
+                    @Override
+                    public String[][] runWithResult() {
+                        return readRows(indexState, firstRow, lastRow);
+                    }
+                });
+                if (chunk == null) {
+                    return false;
+                }
+                for (String[] rowTexts : chunk) {
+                    indexState.addRow(rowTexts);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads texts of grid rows. Must be called in UI thread.
+     *
+     * @return row texts or null if grid was changed
+     */
+    @Nullable
+    private String[][] readRows(@NotNull CellTextIndex indexState, int firstRow, int lastRow) {
+        if (spreadsheet.isDisposed() || indexState != state) {
+            return null;
+        }
+        IGridContentProvider contentProvider = spreadsheet.getContentProvider();
+        String[][] result = new String[lastRow - firstRow][];
+        for (int row = firstRow; row < lastRow; row++) {
+            IGridRow gridRow = (IGridRow) indexState.getRow(row);
+            String[] rowTexts = new String[indexState.getColumnCount()];
+            for (int col = 0; col < rowTexts.length; col++) {
+                try {
+                    rowTexts[col] = CommonUtils.toString(
+                        contentProvider.getCellValue((IGridColumn) indexState.getColumn(col), gridRow, false));
+                } catch (Exception e) {
+                    // Text stays empty, find-next checks such cells directly
+                    log.debug("Error reading cell [" + row + ":" + col + "] text for search", e);
+                }
+            }
+            result[row - firstRow] = rowTexts;
+        }
+        return result;
+    }
+
+    private class IndexJob extends AbstractJob {
+        private final CellTextIndex state;
+
+        IndexJob(@NotNull CellTextIndex state) {
+            super("Index result set for search");
+            this.state = state;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            indexRows(state, monitor);
+            return Status.OK_STATUS;
+        }
+    }
+
+    private class FindAllJob extends AbstractJob {
+        private final CellTextIndex state;
+        private final Pattern pattern;
+        private final Runnable onFinish;
+
+        FindAllJob(@NotNull CellTextIndex state, @NotNull Pattern pattern, @NotNull Runnable onFinish) {
+            super("Find in result set");
+            this.state = state;
+            this.pattern = pattern;
+            this.onFinish = onFinish;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (!indexRows(state, monitor)) {
+                return Status.CANCEL_STATUS;
+            }
+            long[] result = state.findAll(pattern, monitor);
+            if (result == null) {
+                return Status.CANCEL_STATUS;
+            }
+            UIUtils.asyncExec(() -> {
+                if (spreadsheet.isDisposed() || SpreadsheetSearchIndex.this.state != state || findAllJob != this) {
+                    return;
+                }
+                findAllJob = null;
+                matchesPattern = pattern;
+                matches = result;
+                onFinish.run();
+            });
+            return Status.OK_STATUS;
+        }
+    }
+
+}
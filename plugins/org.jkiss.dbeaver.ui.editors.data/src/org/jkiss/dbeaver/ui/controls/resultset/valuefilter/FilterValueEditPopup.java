@@ -59,6 +59,7 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
     private static final String PROP_SHOW_DISTINCT_VALUES_COUNT = "showDistinctValuesCount";
     private static final String PROP_QUERY_DATABASE = "queryDatabase";
     private static final String PROP_CASE_INSENSITIVE_SEARCH = "caseInsensitiveSearch";
+    private static final String PROP_USE_SAMPLING = "useSampling";
 
     private static final NumberFormat NUMBER_FORMAT = NumberFormat.getInstance();
 
@@ -68,6 +69,7 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
     private Button caseInsensitiveSearchCheck;
     private Button showRowCountCheck;
     private Button showDistinctValuesCountCheck;
+    private Button useSamplingCheck;
 
     public FilterValueEditPopup(Shell parentShell, @NotNull ResultSetViewer viewer, @NotNull DBDAttributeBinding attr, @NotNull ResultSetRow[] rows) {
         super(parentShell, NLS.bind(ResultSetMessages.dialog_filter_value_edit_title, attr.getFullyQualifiedName(DBPEvaluationContext.UI)));
@@ -240,6 +242,9 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
                     if (caseInsensitiveSearchCheck != null) {
                         caseInsensitiveSearchCheck.setEnabled(isEnabled);
                     }
+                    if (useSamplingCheck != null) {
+                        useSamplingCheck.setEnabled(isEnabled);
+                    }
                     reloadFilterValues();
                 }
             });
@@ -272,6 +277,24 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
 
             closeOnFocusLost(showRowCountCheck);
             closeOnFocusLost(showDistinctValuesCountCheck);
+
+            if (filter.isSamplingSupported()) {
+                useSamplingCheck = UIUtils.createCheckbox(
+                    optionsGroup,
+                    ResultSetMessages.dialog_filter_value_edit_table_options_checkbox_use_sampling_label,
+                    ResultSetMessages.dialog_filter_value_edit_table_options_checkbox_use_sampling_description,
+                    isUseSamplingEnabled(),
+                    1);
+                useSamplingCheck.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        getDialogBoundsSettings().put(PROP_USE_SAMPLING, useSamplingCheck.getSelection());
+                        reloadFilterValues();
+                    }
+                });
+                useSamplingCheck.setEnabled(isQueryDatabaseEnabled());
+                closeOnFocusLost(useSamplingCheck);
+            }
         }
 
         filter.createFilterButton(ResultSetMessages.sql_editor_resultset_filter_panel_btn_apply, new SelectionAdapter() {
@@ -305,6 +328,10 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
         return CommonUtils.getBoolean(getDialogBoundsSettings().getBoolean(PROP_CASE_INSENSITIVE_SEARCH), true);
     }
 
+    private boolean isUseSamplingEnabled() {
+        return getDialogBoundsSettings().getBoolean(PROP_USE_SAMPLING);
+    }
+
     private boolean isAttributeSupportsLike() {
         final DBDAttributeBinding attribute = filter.getAttribute();
         return ArrayUtils.contains(DBUtils.getAttributeOperators(attribute), DBCLogicalOperator.LIKE)
@@ -316,6 +343,7 @@ public class FilterValueEditPopup extends AbstractPopupPanel {
         filter.setShowRowCount(isRowCountEnabled());
         filter.setShowDistinctValuesCount(isDistinctValuesCountEnabled());
         filter.setCaseInsensitiveSearch(isCaseInsensitiveSearchEnabled());
+        filter.setUseSampling(isUseSamplingEnabled());
         filter.loadValues(result ->
             UIUtils.asyncExec(() -> {
                 Table table = filter.getTableViewer().getTable();
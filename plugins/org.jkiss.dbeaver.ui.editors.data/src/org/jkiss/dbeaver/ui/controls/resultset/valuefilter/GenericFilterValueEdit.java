@@ -39,6 +39,7 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.impl.data.AttributeEnumerationCache;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
@@ -92,6 +93,7 @@ class GenericFilterValueEdit {
     private boolean showRowCount;
     private boolean showDistinctValuesCount;
     private boolean caseInsensitiveSearch;
+    private boolean useSampling;
 
     private transient volatile KeyLoadJob loadJob;
 
@@ -345,22 +347,58 @@ class GenericFilterValueEdit {
 
             @Override
             List<DBDLabelValuePair> readEnumeration(DBRProgressMonitor monitor) throws DBException {
+                final AttributeEnumerationCache cache = AttributeEnumerationCache.getInstance();
+                final boolean sampled = useSampling && attributeEnumerable.supportsSampledValueEnumeration();
+                final String options = (sampled ? "sampled" : "exact") + "," + showRowCount + "," + caseInsensitiveSearch;
+                // Values list is filtered by pattern locally, so complete (or approximate) enumeration
+                // doesn't need to be read again when pattern changes
+                final List<DBDLabelValuePair> allValues = cache.getValues(attributeEnumerable, options);
+                if (allValues != null && (filterPattern == null || canFilterLocally(sampled, allValues))) {
+                    return allValues;
+                }
+                final String patternOptions = filterPattern == null ? options : options + "," + filterPattern;
+                if (filterPattern != null) {
+                    final List<DBDLabelValuePair> patternValues = cache.getValues(attributeEnumerable, patternOptions);
+                    if (patternValues != null) {
+                        return patternValues;
+                    }
+                }
                 DBExecUtils.tryExecuteRecover(monitor, attributeEnumerable.getDataSource(), param -> {
                     try (DBCSession session = DBUtils.openUtilSession(monitor, attributeEnumerable, "Read value enumeration")) {
-                        result = attributeEnumerable.getValueEnumeration(
-                            session,
-                            filterPattern,
-                            MAX_MULTI_VALUES,
-                            showRowCount,
-                            true,
-                            caseInsensitiveSearch);
+                        result = null;
+                        if (sampled && filterPattern == null) {
+                            result = attributeEnumerable.getSampledValueEnumeration(session, MAX_MULTI_VALUES, true);
+                        }
+                        if (result == null) {
+                            result = attributeEnumerable.getValueEnumeration(
+                                session,
+                                filterPattern,
+                                MAX_MULTI_VALUES,
+                                showRowCount,
+                                true,
+                                caseInsensitiveSearch);
+                        }
                     } catch (DBException e) {
                         throw new InvocationTargetException(e);
                     }
                 });
+                if (result != null && !monitor.isCanceled()) {
+                    cache.putValues(attributeEnumerable, patternOptions, result);
+                }
                 return result;
             }
 
+            private boolean canFilterLocally(boolean sampled, @NotNull List<DBDLabelValuePair> allValues) {
+                if (sampled) {
+                    // Approximate values are always filtered locally
+                    return true;
+                }
+                // Local filter is a case-insensitive substring match, the same as a database one for strings
+                return allValues.size() < MAX_MULTI_VALUES
+                    && attribute.getDataKind() == DBPDataKind.STRING
+                    && caseInsensitiveSearch;
+            }
+
             @Nullable
             @Override
             protected Long readDistinctValuesCount(@NotNull DBRProgressMonitor monitor) throws DBException {
@@ -671,6 +709,15 @@ class GenericFilterValueEdit {
         this.caseInsensitiveSearch = caseInsensitiveSearch;
     }
 
+    void setUseSampling(boolean useSampling) {
+        this.useSampling = useSampling;
+    }
+
+    boolean isSamplingSupported() {
+        return attribute.getEntityAttribute() instanceof DBSAttributeEnumerable attributeEnumerable
+            && attributeEnumerable.supportsSampledValueEnumeration();
+    }
+
     private abstract class KeyLoadJob extends AbstractJob {
         private final Consumer<Result> onFinish;
         KeyLoadJob(String name, @Nullable Consumer<Result> onFinish) {
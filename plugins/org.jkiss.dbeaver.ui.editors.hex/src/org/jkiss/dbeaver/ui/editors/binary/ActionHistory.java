@@ -20,7 +20,6 @@ import org.jkiss.dbeaver.ui.editors.binary.BinaryContent.Range;
 import org.jkiss.dbeaver.utils.ContentUtils;
 
 import java.io.Closeable;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,7 +48,7 @@ public class ActionHistory {
 
     private BinaryContent.Range actionLastRange = null;
     private BinaryContent content = null;
-    private List<Integer> deletedList = null;  // of Integers
+    private BinaryByteList deletedList = null;
     private boolean isBackspace = false;
     private List<Object[]> actionList = null;  // contains ArrayLists (from currentAction)
     private int actionsIndex = 0;
@@ -105,38 +104,38 @@ public class ActionHistory {
 
 
     /**
-     * Adds a list of deleted integers to the current action. If possible, merges integerList with the list
+     * Adds a list of deleted bytes to the current action. If possible, merges byteList with the list
      * in the previous call to this method.
      *
-     * @param position    starting delete point
-     * @param integerList deleted integers
-     * @param isSingle    used when integerList.size == 1 to tell whether it is a single or a piece of a block
-     *                    delete. When integerList.size() > 1 (a block delete for sure) isSingle is ignored.
+     * @param position starting delete point
+     * @param byteList deleted bytes
+     * @param isSingle used when byteList.size == 1 to tell whether it is a single or a piece of a block
+     *                 delete. When byteList.size() > 1 (a block delete for sure) isSingle is ignored.
      */
-    void addDeleted(long position, List<Integer> integerList, boolean isSingle)
+    void addDeleted(long position, BinaryByteList byteList, boolean isSingle)
     {
-        if (integerList.size() > 1L || !isSingle) {  // block delete
-            BinaryContent.Range range = newRangeFromIntegerList(position, integerList);
+        if (byteList.size() > 1L || !isSingle) {  // block delete
+            BinaryContent.Range range = newRangeFromByteList(position, byteList);
             List<Range> oneElementList = new ArrayList<>();
             oneElementList.add(range);
             addLostRanges(oneElementList);
         } else {
-            addLostByte(position, integerList.get(0));
+            addLostByte(position, byteList.get(0));
         }
         previousTime = System.currentTimeMillis();
     }
 
 
-    void addLostByte(long position, Integer integer)
+    void addLostByte(long position, int value)
     {
         if (deletedList == null)
-            deletedList = new ArrayList<>();
+            deletedList = new BinaryByteList();
 
         updateNewRange(position);
         if (isBackspace) {
-            deletedList.add(0, integer);
+            deletedList.add(0, value);
         } else {  // delete(Del) or overwrite
-            deletedList.add(integer);
+            deletedList.add(value);
         }
         previousTime = System.currentTimeMillis();
     }
@@ -330,23 +329,9 @@ public class ActionHistory {
     }
 
 
-    private ByteBuffer newBufferFromIntegerList(List<Integer> integerList)
+    private BinaryContent.Range newRangeFromByteList(long position, BinaryByteList byteList)
     {
-        ByteBuffer store = ByteBuffer.allocate(integerList.size());
-        for (Integer anIntegerList : integerList) {
-            store.put(anIntegerList.byteValue());
-        }
-        store.position(0);
-
-        return store;
-    }
-
-
-    private BinaryContent.Range newRangeFromIntegerList(long position, List<Integer> integerList)
-    {
-        ByteBuffer store = newBufferFromIntegerList(integerList);
-
-        return new BinaryContent.Range(position, store, true);
+        return new BinaryContent.Range(position, byteList.toByteBuffer(), true);
     }
 
 
@@ -357,7 +342,7 @@ public class ActionHistory {
             if (deletedList == null)
                 return;
 
-            newRange = newRangeFromIntegerList(newRangePosition, deletedList);
+            newRange = newRangeFromByteList(newRangePosition, deletedList);
             deletedList = null;
         } else {  // currentActionType == INSERT || currentActionType == OVERWRITE
             if (newRangePosition < 0L)
@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable list of bytes backed by a primitive array.
+ * Keeps pending single byte edits without boxing each byte.
+ */
+final class BinaryByteList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] data;
+    private int size;
+
+    BinaryByteList()
+    {
+        data = new byte[DEFAULT_CAPACITY];
+    }
+
+    private BinaryByteList(byte[] data, int size)
+    {
+        this.data = data;
+        this.size = size;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return unsigned byte value at the index
+     */
+    int get(int index)
+    {
+        checkIndex(index, size);
+        return data[index] & 0x0ff;
+    }
+
+    void set(int index, int value)
+    {
+        checkIndex(index, size);
+        data[index] = (byte) value;
+    }
+
+    void add(int value)
+    {
+        ensureCapacity(size + 1);
+        data[size++] = (byte) value;
+    }
+
+    void add(int index, int value)
+    {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = (byte) value;
+        size++;
+    }
+
+    /**
+     * Copy of bytes from fromIndex (inclusive) to toIndex (exclusive)
+     */
+    BinaryByteList copyOf(int fromIndex, int toIndex)
+    {
+        checkRange(fromIndex, toIndex);
+        return new BinaryByteList(Arrays.copyOfRange(data, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    void removeRange(int fromIndex, int toIndex)
+    {
+        checkRange(fromIndex, toIndex);
+        System.arraycopy(data, toIndex, data, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * Copies bytes starting from index to the buffer
+     *
+     * @return number of copied bytes
+     */
+    int copyTo(ByteBuffer dst, int index)
+    {
+        int length = Math.min(dst.remaining(), size - index);
+        if (length <= 0) {
+            return 0;
+        }
+        dst.put(data, index, length);
+        return length;
+    }
+
+    /**
+     * New buffer with all bytes of the list, positioned at 0
+     */
+    ByteBuffer toByteBuffer()
+    {
+        return ByteBuffer.wrap(Arrays.copyOf(data, size));
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    private void checkRange(int fromIndex, int toIndex)
+    {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + size);
+        }
+    }
+
+    private static void checkIndex(int index, int limit)
+    {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + limit);
+        }
+    }
+
+}
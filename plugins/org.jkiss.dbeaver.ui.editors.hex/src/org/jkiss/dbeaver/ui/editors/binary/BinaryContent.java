@@ -35,6 +35,8 @@ import java.util.*;
  * modified.
  * Keeps track of the positions where changes have been done. Files that back this content must not be
  * modified while the content is still in use.
+ * Files are read through a cache of file pages (see {@link PagedFileContent}), pending byte
+ * edits are kept in a primitive byte list until they are committed to a range.
  *
  * @author Jordi
  */
@@ -82,7 +84,7 @@ public class BinaryContent {
             this(aPosition, aFile.length());
             if (length < 0L) throw new IOException("File error");
 
-            data = new RandomAccessFile(aFile, "r");
+            data = new PagedFileContent(aFile);
             dirty = isDirty;
         }
 
@@ -132,7 +134,7 @@ public class BinaryContent {
     private long exclusiveEnd = -1L;
     private long lastUpperNibblePosition = -1L;
     private List<ModifyListener> listeners = null;
-    private List<Integer> changeList = null;
+    private BinaryByteList changeList = null;
     private boolean changesInserted = false;
     private long changesPosition = -1L;
     private TreeSet<Range> ranges = new TreeSet<>();
@@ -214,11 +216,7 @@ public class BinaryContent {
     {
         if (changeList == null) return;
 
-        ByteBuffer store = ByteBuffer.allocate(changeList.size());
-        for (Integer myChange : changeList) {
-            store.put(myChange.byteValue());
-        }
-        store.position(0);
+        ByteBuffer store = changeList.toByteBuffer();
         changeList = null;
         if (changesInserted)
             insertRange(new Range(changesPosition, store, true));
@@ -249,13 +247,13 @@ public class BinaryContent {
         if (changeList != null && changesInserted && changesPosition <= position &&
             changesPosition + changeList.size() >= position + length) {
             int deleteStart = (int) (position - changesPosition);
-            List<Integer> subList = changeList.subList(deleteStart, deleteStart + (int) length);
+            int deleteEnd = deleteStart + (int) length;
             if (actions != null) {
-                actions.addDeleted(position, subList, length == 1L);
+                actions.addDeleted(position, changeList.copyOf(deleteStart, deleteEnd), length == 1L);
                 if (length > 1) actions.endAction();
             }
             if (length < changeList.size()) {
-                subList.clear();
+                changeList.removeRange(deleteStart, deleteEnd);
             } else {  // length == changeList.size()
                 changeList = null;
 //			splitAndShift(position, 0);  // mark them as dirty
@@ -377,13 +375,7 @@ public class BinaryContent {
         if (relativePosition < 0L || relativePosition >= changesSize)
             return 0;
 
-        int remaining = dst.remaining();
-        int i = (int) relativePosition;
-        for (; remaining > 0 && i < changesSize; ++i, --remaining) {
-            dst.put(changeList.get(i).byteValue());
-        }
-
-        return i - (int) relativePosition;
+        return changeList.copyTo(dst, (int) relativePosition);
     }
 
 
@@ -399,18 +391,11 @@ public class BinaryContent {
                 src.limit(src.position() + Math.min(dst.remaining(), maxCopyLength));
             }
             dst.put(src);
-        } else if (sourceRange.data instanceof RandomAccessFile) {
-            RandomAccessFile src = (RandomAccessFile) sourceRange.data;
+        } else if (sourceRange.data instanceof PagedFileContent) {
+            PagedFileContent src = (PagedFileContent) sourceRange.data;
             long start = sourceRange.dataOffset + overlapBytes;
             int length = (int) Math.min(sourceRange.length - overlapBytes, maxCopyLength);
-            int limit = -1;
-            if (dst.remaining() > length) {
-                limit = dst.limit();
-                dst.limit(dst.position() + length);
-            }
-            src.getChannel().read(dst, start);
-            if (limit > 0)
-                dst.limit(limit);
+            src.read(dst, start, length);
         }
 
         return dst.position() - dstInitialPosition;
@@ -612,10 +597,8 @@ public class BinaryContent {
                 data.limit(data.capacity());
                 data.position((int) range.dataOffset);
                 result = data.get((int) (position - range.position)) & 0x0ff;
-            } else if (value instanceof RandomAccessFile) {
-                RandomAccessFile randomFile = (RandomAccessFile) value;
-                randomFile.seek(position);
-                result = randomFile.read();
+            } else if (value instanceof PagedFileContent) {
+                result = ((PagedFileContent) value).get(range.dataOffset + position - range.position);
             }
         }
 
@@ -661,7 +644,7 @@ public class BinaryContent {
         if (actions != null)
             actions.eventPreModify(ActionHistory.ActionType.INSERT, position, true);
         updateChanges(position, true);
-        changeList.set((int) (position - changesPosition), source & 0x0ff);
+        changeList.set((int) (position - changesPosition), source);
         notifyListeners();
     }
 
@@ -1076,7 +1059,7 @@ public class BinaryContent {
                 commitChanges();
             }
         }
-        changeList = new ArrayList<>();
+        changeList = new BinaryByteList();
         changeList.add(getFromRanges(position));
         changesInserted = insert;
         changesPosition = position;
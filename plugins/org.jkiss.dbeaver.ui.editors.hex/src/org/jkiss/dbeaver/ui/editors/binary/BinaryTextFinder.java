@@ -20,6 +20,7 @@ package org.jkiss.dbeaver.ui.editors.binary;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +52,8 @@ public class BinaryTextFinder {
     private int literalByteLength = -1;
     private Pattern pattern = null;
     private boolean stopSearching = false;
+    private int[] forwardShifts = null;   // Boyer-Moore-Horspool bad character shifts
+    private int[] backwardShifts = null;
 
 
     /**
@@ -103,31 +106,32 @@ public class BinaryTextFinder {
     private int findHexAsciiMatchInPart()
         throws IOException
     {
-        if (byteFindSequence == null) return -1;
-
-        int start = 0;
-        int inclusiveEnd = byteBuffer.limit() - byteFindSequence.length;
-        if (!directionForward) {
-            start = inclusiveEnd;
-            inclusiveEnd = 0;
-        }
-
-        for (int i = start;
-            directionForward && i <= inclusiveEnd || !directionForward && i >= inclusiveEnd;
-            i += directionForward ? 1 : -1)
-        {
-            boolean matchesSoFar = true;
-            for (int j = 0; j < byteFindSequence.length && matchesSoFar; ++j) {
-                byte existing = byteBuffer.get(i + j);
-                byte matcher = byteFindSequence[j];
-                if (existing != matcher) {
-                    if (caseSensitive || existing < 'A' || existing > 'z' || matcher < 'A' ||
-                        matcher > 'z' || existing - matcher != 32 && matcher - existing != 32)
-                        matchesSoFar = false;
+        if (byteFindSequence == null || byteFindSequence.length == 0) return -1;
+        if (forwardShifts == null) initShiftTables();
+
+        int length = byteFindSequence.length;
+        int inclusiveEnd = byteBuffer.limit() - length;
+        if (directionForward) {
+            int i = 0;
+            while (i <= inclusiveEnd) {
+                int j = length - 1;
+                while (j >= 0 && foldCase(byteBuffer.get(i + j)) == foldCase(byteFindSequence[j]))
+                    --j;
+                if (j < 0) {
+                    return i;
                 }
+                i += forwardShifts[foldCase(byteBuffer.get(i + length - 1))];
             }
-            if (matchesSoFar) {
-                return i;
+        } else {
+            int i = inclusiveEnd;
+            while (i >= 0) {
+                int j = 0;
+                while (j < length && foldCase(byteBuffer.get(i + j)) == foldCase(byteFindSequence[j]))
+                    ++j;
+                if (j == length) {
+                    return i;
+                }
+                i -= backwardShifts[foldCase(byteBuffer.get(i))];
             }
         }
 
@@ -135,6 +139,39 @@ public class BinaryTextFinder {
     }
 
 
+    /**
+     * Unsigned byte value, ascii letters are converted to upper case in case insensitive search
+     */
+    private int foldCase(byte value)
+    {
+        if (!caseSensitive && value >= 'a' && value <= 'z') {
+            return value - 32;
+        }
+        return value & 0x0ff;
+    }
+
+
+    /**
+     * Bad character shifts of Boyer-Moore-Horspool search.
+     * Forward: distance from the last occurrence of a byte (excluding the last one) to the sequence end.
+     * Backward: distance from the sequence start to the first occurrence of a byte (excluding the first one).
+     */
+    private void initShiftTables()
+    {
+        int length = byteFindSequence.length;
+        forwardShifts = new int[256];
+        backwardShifts = new int[256];
+        Arrays.fill(forwardShifts, length);
+        Arrays.fill(backwardShifts, length);
+        for (int i = 0; i < length - 1; ++i) {
+            forwardShifts[foldCase(byteFindSequence[i])] = length - 1 - i;
+        }
+        for (int i = length - 1; i > 0; --i) {
+            backwardShifts[foldCase(byteFindSequence[i])] = i;
+        }
+    }
+
+
     private int findUnicodeMatchInPart()
         throws IOException
     {
@@ -224,6 +261,7 @@ public class BinaryTextFinder {
         }
 
         literalByteLength = byteFindSequence.length;
+        forwardShifts = backwardShifts = null;
     }
 
 
@@ -269,6 +307,7 @@ public class BinaryTextFinder {
 
         if (isAsciiCompatible)
             byteFindSequence = tmpBytes;
+        forwardShifts = backwardShifts = null;
     }
 
 
@@ -340,6 +379,7 @@ public class BinaryTextFinder {
         if (caseSensitive == beSensitive) return;
 
         caseSensitive = beSensitive;
+        forwardShifts = backwardShifts = null;
         if (literal != null)
             initSearchUnicodeAscii();
     }
@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only file content split in fixed size pages.
+ * Pages are read with positional channel reads into heap buffers, recently used pages are kept in LRU cache,
+ * so random access (scrolling, single byte reads) and sequential scans (search, save) don't
+ * issue a file read per call. Pages are not memory-mapped: on Windows mapped regions keep the file
+ * locked until they are garbage collected, so the edited file couldn't be overwritten or renamed.
+ */
+final class PagedFileContent implements Closeable {
+
+    static final int PAGE_SIZE = 1024 * 1024;
+    private static final int MAX_CACHED_PAGES = 32;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+    private final Map<Long, ByteBuffer> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest)
+        {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    PagedFileContent(File aFile)
+        throws IOException
+    {
+        file = new RandomAccessFile(aFile, "r");
+        channel = file.getChannel();
+        length = file.length();
+    }
+
+    long length()
+    {
+        return length;
+    }
+
+    /**
+     * @return unsigned byte at the file offset or -1 if offset is out of file
+     */
+    synchronized int get(long offset)
+        throws IOException
+    {
+        if (offset < 0 || offset >= length) {
+            return -1;
+        }
+        ByteBuffer page = getPage(offset / PAGE_SIZE);
+        return page.get((int) (offset % PAGE_SIZE)) & 0x0ff;
+    }
+
+    /**
+     * Copies up to maxLength bytes starting from file offset into the buffer
+     *
+     * @return number of copied bytes
+     */
+    synchronized int read(ByteBuffer dst, long offset, int maxLength)
+        throws IOException
+    {
+        int copied = 0;
+        while (copied < maxLength && dst.hasRemaining() && offset < length) {
+            ByteBuffer page = getPage(offset / PAGE_SIZE).duplicate();
+            int pageOffset = (int) (offset % PAGE_SIZE);
+            int count = Math.min(Math.min(maxLength - copied, dst.remaining()), page.limit() - pageOffset);
+            page.position(pageOffset);
+            page.limit(pageOffset + count);
+            dst.put(page);
+            copied += count;
+            offset += count;
+        }
+        return copied;
+    }
+
+    private ByteBuffer getPage(long pageIndex)
+        throws IOException
+    {
+        ByteBuffer page = pages.get(pageIndex);
+        if (page == null) {
+            long pageStart = pageIndex * PAGE_SIZE;
+            int pageLength = (int) Math.min(PAGE_SIZE, length - pageStart);
+            page = ByteBuffer.allocate(pageLength);
+            while (page.hasRemaining()) {
+                if (channel.read(page, pageStart + page.position()) < 0) {
+                    break;
+                }
+            }
+            page.flip();
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        pages.clear();
+        file.close();
+    }
+
+}
@@ -43,6 +43,7 @@ import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.connection.DBPConnectionType;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.storage.ContentDiskCache;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.local.StatResultSet;
@@ -656,6 +657,10 @@ public class SQLQueryJob extends DataSourceJob
             statistics.addStatementsCount();
 
             curResult.setHasResultSet(hasResultSet);
+            if (!hasResultSet) {
+                // Statement may change data of any table, so LOB contents can't be taken from cache by row anymore
+                ContentDiskCache.getInstance().invalidateDataSource(getDataSourceContainer());
+            }
 
             long updateCount = -1;
             // Some databases (especially NoSQL) may produce a lot of
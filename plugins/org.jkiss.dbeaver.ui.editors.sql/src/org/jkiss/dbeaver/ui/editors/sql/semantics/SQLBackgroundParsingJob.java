@@ -27,6 +27,10 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
@@ -50,8 +54,10 @@ import org.jkiss.dbeaver.ui.editors.sql.SQLEditorUtils;
 import org.jkiss.dbeaver.utils.ListNode;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SQLBackgroundParsingJob {
 
@@ -101,6 +107,26 @@ public class SQLBackgroundParsingJob {
     @NotNull
     private final DocumentLifecycleListener documentListener = new DocumentLifecycleListener();
 
+    // Models of unchanged queries are reused after edits which shift or invalidate their script items
+    @NotNull
+    private final SQLQueryModelCache queryModelCache = new SQLQueryModelCache();
+    // Incremented on metadata changes of the edited data source, cached models of older versions are not used
+    private final AtomicLong metadataVersion = new AtomicLong();
+    @Nullable
+    private DBPDataSourceRegistry metadataEventsRegistry;
+    @Nullable
+    private volatile DBPDataSourceContainer metadataEventsContainer;
+    @NotNull
+    private final DBPEventListener metadataListener = event -> {
+        // Registry notifies about all its data sources
+        if (event.getAction() != DBPEvent.Action.BEFORE_CONNECT
+            && this.metadataEventsContainer != null
+            && DBUtils.getContainer(event.getObject()) == this.metadataEventsContainer
+        ) {
+            this.metadataVersion.incrementAndGet();
+        }
+    };
+
     public SQLBackgroundParsingJob(@NotNull SQLEditorBase editor) {
         this.editor = editor;
     }
@@ -144,6 +170,25 @@ public class SQLBackgroundParsingJob {
                     this.document.removeDocumentListener(this.documentListener);
                 }
             }
+            this.trackMetadataChanges(null);
+            this.queryModelCache.clear();
+        }
+    }
+
+    private void trackMetadataChanges(@Nullable DBPDataSourceContainer container) {
+        DBPDataSourceRegistry registry = container == null ? null : container.getRegistry();
+        synchronized (this.syncRoot) {
+            this.metadataEventsContainer = container;
+            if (registry == this.metadataEventsRegistry) {
+                return;
+            }
+            if (this.metadataEventsRegistry != null) {
+                this.metadataEventsRegistry.removeDataSourceListener(this.metadataListener);
+            }
+            this.metadataEventsRegistry = registry;
+            if (registry != null) {
+                registry.addDataSourceListener(this.metadataListener);
+            }
         }
     }
 
@@ -630,6 +675,10 @@ public class SQLBackgroundParsingJob {
             SQLDialect dialect = this.obtainCurrentSqlDialect(executionContext);
 
             SQLQueryRecognitionContext recognitionContext = new SQLQueryRecognitionContext(monitor, executionContext, useRealMetadata, syntaxManager, dialect);
+            if (useRealMetadata && executionContext != null && executionContext.getDataSource() != null) {
+                this.trackMetadataChanges(executionContext.getDataSource().getContainer());
+            }
+            long currentMetadataVersion = this.metadataVersion.get();
 
             int i = 1;
             for (SQLScriptElement element : elements) {
@@ -638,13 +687,31 @@ public class SQLBackgroundParsingJob {
                 }
                 try {
                     recognitionContext.reset();
-                    SQLQueryModel queryModel = element instanceof SQLControlCommand
-                        ? SQLCommandModelRecognizer.recognizeCommand(
+                    SQLQueryModel queryModel;
+                    List<SQLQueryRecognitionProblemInfo> problems;
+                    if (element instanceof SQLControlCommand) {
+                        queryModel = SQLCommandModelRecognizer.recognizeCommand(
                             recognitionContext,
                             element.getText(),
                             this.editor instanceof SQLEditor e ? e.getGlobalScriptContext() : null
-                        )
-                        : SQLQueryModelRecognizer.recognizeQuery(recognitionContext, element.getOriginalText());
+                        );
+                        problems = recognitionContext.getProblems();
+                    } else {
+                        SQLQueryModelCache.Key cacheKey = SQLQueryModelCache.makeKey(
+                            element.getOriginalText(), dialect, executionContext, useRealMetadata, currentMetadataVersion
+                        );
+                        SQLQueryModelCache.Entry cachedModel = this.queryModelCache.get(cacheKey);
+                        if (cachedModel != null) {
+                            queryModel = cachedModel.model();
+                            problems = new ArrayList<>(cachedModel.problems());
+                        } else {
+                            queryModel = SQLQueryModelRecognizer.recognizeQuery(recognitionContext, element.getOriginalText());
+                            problems = recognitionContext.getProblems();
+                            if (queryModel != null && !monitor.isCanceled()) {
+                                this.queryModelCache.put(cacheKey, queryModel, problems);
+                            }
+                        }
+                    }
 
                     if (queryModel != null) {
                         if (DEBUG) {
@@ -658,7 +725,6 @@ public class SQLBackgroundParsingJob {
                             element instanceof SQLQuery queryElement && Boolean.TRUE.equals(queryElement.isEndsWithDelimiter())
                         );
                         itemContext.clear();
-                        List<SQLQueryRecognitionProblemInfo> problems = recognitionContext.getProblems();
                         if (problems.size() >= SQLQueryRecognitionProblemInfo.PER_QUERY_LIMIT && queryModel.getQueryModel() != null) {
                             problems.add(new SQLQueryRecognitionProblemInfo(
                                 SQLQueryRecognitionProblemInfo.Severity.WARNING,
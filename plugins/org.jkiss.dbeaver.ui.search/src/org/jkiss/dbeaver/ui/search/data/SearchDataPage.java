@@ -60,6 +60,8 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
+    private static final String PROP_SKIP_SHORT_COLUMNS = "search.data.skip-short-columns"; //$NON-NLS-1$
+    private static final String PROP_MAX_THREADS = "search.data.max-threads"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
     private static final String PROP_SOURCES = "search.data.object-source"; //$NON-NLS-1$
@@ -216,6 +218,19 @@ public class SearchDataPage extends AbstractSearchPage {
             maxResultsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             maxResultsSpinner.addModifyListener(e -> params.maxResults = maxResultsSpinner.getSelection());
 
+            if (params.maxThreadsPerDataSource <= 0) {
+                params.maxThreadsPerDataSource = SearchDataQuery.DEFAULT_THREADS_PER_DATA_SOURCE;
+            }
+
+            final Spinner maxThreadsSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_max_threads,
+                UISearchMessages.dialog_data_search_spinner_max_threads_tip, params.maxThreadsPerDataSource,
+                1,
+                SearchDataQuery.MAX_THREADS);
+            maxThreadsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxThreadsSpinner.addModifyListener(e -> params.maxThreadsPerDataSource = maxThreadsSpinner.getSelection());
+
             final Button caseCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
                 UISearchMessages.dialog_search_objects_case_sensitive,
@@ -240,6 +255,17 @@ public class SearchDataPage extends AbstractSearchPage {
                 }
             });
 
+            final Button skipShortColumnsCheckbox = UIUtils.createCheckbox(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_checkbox_skip_short_columns,
+                UISearchMessages.dialog_data_search_checkbox_skip_short_columns_tip, params.skipShortColumns,
+                2);
+            skipShortColumnsCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    params.skipShortColumns = skipShortColumnsCheckbox.getSelection();
+                }
+            });
 
             final Button searchNumbersCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
@@ -320,7 +346,9 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchNumbers = store.getString(PROP_SEARCH_NUMBERS) == null || store.getBoolean(PROP_SEARCH_NUMBERS);
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
+        params.skipShortColumns = store.getString(PROP_SKIP_SHORT_COLUMNS) == null || store.getBoolean(PROP_SKIP_SHORT_COLUMNS);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.maxThreadsPerDataSource = store.getInt(PROP_MAX_THREADS);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -349,6 +377,8 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
         store.setValue(PROP_SEARCH_FOREIGN, params.searchForeignObjects);
+        store.setValue(PROP_SKIP_SHORT_COLUMNS, params.skipShortColumns);
+        store.setValue(PROP_MAX_THREADS, params.maxThreadsPerDataSource);
         saveTreeState(store);
 
         {
@@ -34,7 +34,9 @@ public class SearchDataParams {
     boolean searchNumbers;
     boolean searchLOBs;
     boolean searchForeignObjects;
+    boolean skipShortColumns;
     int maxResults;
+    int maxThreadsPerDataSource;
     List<DBNNode> selectedNodes = new ArrayList<>();
 
     public SearchDataParams()
@@ -105,6 +107,22 @@ public class SearchDataParams {
         this.maxResults = maxResults;
     }
 
+    public boolean isSkipShortColumns() {
+        return skipShortColumns;
+    }
+
+    public void setSkipShortColumns(boolean skipShortColumns) {
+        this.skipShortColumns = skipShortColumns;
+    }
+
+    public int getMaxThreadsPerDataSource() {
+        return maxThreadsPerDataSource;
+    }
+
+    public void setMaxThreadsPerDataSource(int maxThreadsPerDataSource) {
+        this.maxThreadsPerDataSource = maxThreadsPerDataSource;
+    }
+
     public List<DBNNode> getSelectedNodes() {
         return selectedNodes;
     }
@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.IsolatedContextHolder;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -55,11 +56,18 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
     private static final Log log = Log.getLog(SearchDataQuery.class);
 
+    static final int DEFAULT_THREADS_PER_DATA_SOURCE = 4;
+    static final int MAX_THREADS = 16;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
     private final SearchDataParams params;
     private SearchDataResult searchResult;
 
@@ -98,44 +106,96 @@ public class SearchDataQuery implements ISearchQuery {
             String searchString = params.getSearchString();
 
             //monitor.subTask("Collect tables");
-            Set<DBPDataSource> dataSources = new HashSet<>();
+            // Tables are searched in parallel, each data source has its own group of workers
+            Map<DBPDataSource, List<DBSDataContainer>> dataSourceTables = new LinkedHashMap<>();
             for (DBSDataContainer searcher : params.sources) {
-                dataSources.add(searcher.getDataSource());
+                dataSourceTables.computeIfAbsent(searcher.getDataSource(), ds -> new ArrayList<>()).add(searcher);
             }
 
             // Search
             DBNModel dbnModel = DBWorkbench.getPlatform().getNavigatorModel();
 
             DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
+            Map<DBSDataContainer, DBDDataFilter> editorFilters = collectEditorDataFilters();
 
-            int totalObjects = 0;
+            AtomicInteger totalObjects = new AtomicInteger();
 
             monitor.beginTask(
-                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
+                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSourceTables.size() + " database(s)",
                 params.sources.size());
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
-                    if (monitor.isCanceled()) {
-                        break;
+                List<SearchWorker> workers = new ArrayList<>();
+                for (Map.Entry<DBPDataSource, List<DBSDataContainer>> entry : dataSourceTables.entrySet()) {
+                    List<DBSDataContainer> tables = entry.getValue();
+                    // Search big tables first, so they don't delay finish of the whole search
+                    tables.sort(Comparator.comparingLong(SearchDataQuery::getEstimatedSize).reversed());
+                    Queue<DBSDataContainer> tableQueue = new ConcurrentLinkedQueue<>(tables);
+                    int threadCount = Math.min(getMaxThreads(entry.getKey()), tables.size());
+                    for (int i = 0; i < threadCount; i++) {
+                        workers.add(new SearchWorker(monitor, dbnModel, tableQueue, editorFilters, totalObjects, threadCount > 1));
                     }
-                    if (searchDataInContainer(monitor, dbnModel, dataContainer)) {
-                        totalObjects++;
+                }
+                if (workers.size() <= 1) {
+                    workers.forEach(SearchWorker::run);
+                } else {
+                    ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers.size(), MAX_THREADS), runnable -> {
+                        Thread thread = new Thread(runnable, "Data search " + THREAD_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    try {
+                        for (SearchWorker worker : workers) {
+                            executor.execute(worker);
+                        }
+                    } finally {
+                        // Workers check monitor themselves and stop after current table on cancel
+                        executor.shutdown();
+                        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
                     }
-                    monitor.worked(1);
                 }
             } finally {
                 monitor.done();
             }
 
-            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects));
+            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects.get()));
 
-            return Status.OK_STATUS;
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
         } catch (Exception e) {
             return GeneralUtils.makeExceptionStatus(e);
         }
     }
 
-    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer) {
+    private int getMaxThreads(@Nullable DBPDataSource dataSource) {
+        if (dataSource == null ||
+            dataSource.getContainer().getDriver().isSingleConnection() ||
+            dataSource.getContainer().isForceUseSingleConnection())
+        {
+            return 1;
+        }
+        if (params.maxThreadsPerDataSource <= 0) {
+            return DEFAULT_THREADS_PER_DATA_SOURCE;
+        }
+        return Math.min(params.maxThreadsPerDataSource, MAX_THREADS);
+    }
+
+    /**
+     * Returns table size from statistics or -1 if statistics isn't loaded.
+     * We do not read statistics here - it may be as slow as search itself.
+     */
+    private static long getEstimatedSize(@NotNull DBSDataContainer dataContainer) {
+        if (dataContainer instanceof DBPObjectStatistics statistics && statistics.hasStatistics()) {
+            return statistics.getStatObjectSize();
+        }
+        return -1;
+    }
+
+    private boolean searchDataInContainer(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBNModel dbnModel,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBCExecutionContext executionContext,
+        @Nullable DBDDataFilter editorFilter
+    ) {
         if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject && ((DBPForeignObject) dataContainer).isForeignObject()) {
             return false;
         }
@@ -146,13 +206,19 @@ public class SearchDataQuery implements ISearchQuery {
             log.warn("Can't find tree node for object \"" + objectName + "\"");
             return false;
         }
-        monitor.subTask("Search in '" + objectName + "'");
+        synchronized (monitor) {
+            monitor.subTask("Search in '" + objectName + "'");
+        }
         log.debug("Search in '" + objectName + "'");
         SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        String sessionTitle = "Search rows in " + objectName;
+        try (DBCSession session = executionContext != null ?
+            executionContext.openSession(searchMonitor, DBCExecutionPurpose.UTIL, sessionTitle) :
+            DBUtils.openUtilSession(searchMonitor, dataContainer, sessionTitle))
+        {
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
             try {
-                findRows(session, dataContainer, dataReceiver);
+                findRows(session, dataContainer, dataReceiver, editorFilter);
             } catch (DBCException e) {
                 // Search failed in some container - just write an error in log.
                 // We don't want to break whole search because of one single table.
@@ -173,7 +239,8 @@ public class SearchDataQuery implements ISearchQuery {
     private DBCStatistics findRows(
         @NotNull DBCSession session,
         @NotNull DBSDataContainer dataContainer,
-        @NotNull TestDataReceiver dataReceiver) throws DBCException
+        @NotNull TestDataReceiver dataReceiver,
+        @Nullable DBDDataFilter editorFilter) throws DBCException
     {
         DBSEntity entity;
         if (dataContainer instanceof DBSEntity) {
@@ -185,7 +252,8 @@ public class SearchDataQuery implements ISearchQuery {
         try {
 
             List<DBDAttributeConstraint> constraints = new ArrayList<>();
-            DBDDataFilter dataFilter = searchDataFilterForContainer(dataContainer, session.getProgressMonitor());
+            DBDDataFilter dataFilter = editorFilter != null ?
+                new DBDDataFilter(editorFilter) : ResultSetUtils.restoreDataFilter(dataContainer, session.getProgressMonitor());
             for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(session.getProgressMonitor()))) {
                 if (params.fastSearch) {
                     if (DBUtils.findAttributeIndex(session.getProgressMonitor(), attribute) == null) {
@@ -234,10 +302,13 @@ public class SearchDataQuery implements ISearchQuery {
                             continue;
                         }
                     case STRING:
-                        // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
-//                        if (attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length()) {
-//                            continue;
-//                        }
+                        // Value length check is optional. Some columns may be compressed/compacted/have special data type
+                        // and thus have length < than value length.
+                        if (params.skipShortColumns && attribute.getDataKind() == DBPDataKind.STRING &&
+                            attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length())
+                        {
+                            continue;
+                        }
 
                         if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
                             operator = DBCLogicalOperator.ILIKE;
@@ -305,30 +376,83 @@ public class SearchDataQuery implements ISearchQuery {
         return new SearchDataQuery(params);
     }
 
-    @Nullable
-    private DBDDataFilter searchDataFilterForContainer(@NotNull DBSDataContainer dataContainer, @NotNull DBRProgressMonitor monitor) {
-        DBDDataFilter dataFilter = null;
-        // First let's search in open editors
-        for (IEditorReference er : UIUtils.getActiveWorkbenchWindow().getActivePage().getEditorReferences()) {
-            IEditorPart editor = er.getEditor(false);
-            if (editor instanceof EntityEditor) {
-                IEditorPart pageEditor = ((EntityEditor) editor).getPageEditor(DatabaseDataEditor.class.getName());
-                if (pageEditor != null) {
-                    IResultSetController rsc = pageEditor.getAdapter(IResultSetController.class);
-                    if (rsc != null) {
-                        DBSDataContainer rscDataContainer = rsc.getDataContainer();
-                        if (rscDataContainer == dataContainer) {
-                            dataFilter = rsc.getDataFilter();
+    /**
+     * Collects data filters of open data editors. Filters are read in UI thread once, search workers then use them.
+     */
+    @NotNull
+    private Map<DBSDataContainer, DBDDataFilter> collectEditorDataFilters() {
+        Map<DBSDataContainer, DBDDataFilter> filters = new IdentityHashMap<>();
+        UIUtils.syncExec(() -> {
+            for (IEditorReference er : UIUtils.getActiveWorkbenchWindow().getActivePage().getEditorReferences()) {
+                IEditorPart editor = er.getEditor(false);
+                if (editor instanceof EntityEditor) {
+                    IEditorPart pageEditor = ((EntityEditor) editor).getPageEditor(DatabaseDataEditor.class.getName());
+                    if (pageEditor != null) {
+                        IResultSetController rsc = pageEditor.getAdapter(IResultSetController.class);
+                        if (rsc != null && rsc.getDataContainer() != null) {
+                            filters.put(rsc.getDataContainer(), rsc.getDataFilter());
                         }
                     }
                 }
             }
+        });
+        return filters;
+    }
+
+    /**
+     * Searches tables from the queue until it is empty.
+     * In parallel mode worker uses its own isolated context, so each worker holds at most one connection.
+     */
+    private class SearchWorker implements Runnable {
+
+        private final DBRProgressMonitor monitor;
+        private final DBNModel dbnModel;
+        private final Queue<DBSDataContainer> tableQueue;
+        private final Map<DBSDataContainer, DBDDataFilter> editorFilters;
+        private final AtomicInteger totalObjects;
+        private final boolean isolated;
+        private final IsolatedContextHolder contextHolder = new IsolatedContextHolder("Data search");
+
+        SearchWorker(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBNModel dbnModel,
+            @NotNull Queue<DBSDataContainer> tableQueue,
+            @NotNull Map<DBSDataContainer, DBDDataFilter> editorFilters,
+            @NotNull AtomicInteger totalObjects,
+            boolean isolated
+        ) {
+            this.monitor = monitor;
+            this.dbnModel = dbnModel;
+            this.tableQueue = tableQueue;
+            this.editorFilters = editorFilters;
+            this.totalObjects = totalObjects;
+            this.isolated = isolated;
         }
-        if (dataFilter == null) {
-            // Now we try to find saved data filters for container
-            dataFilter = ResultSetUtils.restoreDataFilter(dataContainer, monitor);
+
+        @Override
+        public void run() {
+            try {
+                for (DBSDataContainer dataContainer = tableQueue.poll(); dataContainer != null; dataContainer = tableQueue.poll()) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    try {
+                        DBCExecutionContext context = isolated ?
+                            contextHolder.getContext(new SearchTableMonitor(monitor), dataContainer) : null;
+                        if (searchDataInContainer(monitor, dbnModel, dataContainer, context, editorFilters.get(dataContainer))) {
+                            totalObjects.incrementAndGet();
+                        }
+                    } catch (Throwable e) {
+                        log.error("Error searching data in '" + dataContainer.getName() + "'", e);
+                    }
+                    synchronized (monitor) {
+                        monitor.worked(1);
+                    }
+                }
+            } finally {
+                contextHolder.close();
+            }
         }
-        return dataFilter;
     }
 
     private class SearchTableMonitor extends VoidProgressMonitor {
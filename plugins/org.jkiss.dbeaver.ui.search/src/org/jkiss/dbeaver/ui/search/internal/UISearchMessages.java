@@ -48,8 +48,12 @@ public class UISearchMessages extends NLS {
     public static String dialog_data_search_spinner_max_results;
     public static String dialog_data_search_spinner_max_results_tip;
     public static String dialog_data_search_checkbox_case_sensitive_tip;
+    public static String dialog_data_search_spinner_max_threads;
+    public static String dialog_data_search_spinner_max_threads_tip;
     public static String dialog_data_search_checkbox_fast_search;
     public static String dialog_data_search_checkbox_fast_search_tip;
+    public static String dialog_data_search_checkbox_skip_short_columns;
+    public static String dialog_data_search_checkbox_skip_short_columns_tip;
     public static String dialog_data_search_checkbox_search_in_numbers;
     public static String dialog_data_search_checkbox_search_in_numbers_tip;
     public static String dialog_data_search_checkbox_search_in_lob;
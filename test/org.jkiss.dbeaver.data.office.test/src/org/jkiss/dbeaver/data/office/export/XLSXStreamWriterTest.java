@@ -0,0 +1,174 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.export;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.xssf.usermodel.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+public class XLSXStreamWriterTest extends DBeaverUnitTest {
+
+    private static final Date DATE = new Date(1700000000000L);
+
+    private Path tempFolder;
+    private XLSXStreamWriter writer;
+
+    @Before
+    public void setUp() throws IOException {
+        tempFolder = Files.createTempDirectory("xlsx-test");
+        writer = new XLSXStreamWriter(tempFolder, BorderStyle.THIN, DataExporterXLSX.FontStyleProp.BOLD, "yyyy-MM-dd", 10);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        writer.close();
+        ContentUtils.deleteFileRecursive(tempFolder);
+    }
+
+    @Test
+    public void testCellTypesRoundTrip() throws IOException {
+        XLSXStreamWriter.Sheet sheet = writer.createSheet("Data");
+        sheet.startRow();
+        sheet.writeString(0, "Text <&> \"quoted\"", XLSXStreamWriter.STYLE_HEADER);
+        sheet.writeNumber(1, 42L, XLSXStreamWriter.STYLE_CELL);
+        sheet.writeNumber(2, 1.5d, XLSXStreamWriter.STYLE_CELL);
+        sheet.writeNumber(3, Double.NaN, XLSXStreamWriter.STYLE_CELL);
+        sheet.writeBoolean(4, true, XLSXStreamWriter.STYLE_CELL);
+        sheet.writeDate(5, DATE, XLSXStreamWriter.STYLE_DATE);
+        sheet.writeBlank(6, XLSXStreamWriter.STYLE_CELL);
+        sheet.writeString(7, null, XLSXStreamWriter.STYLE_CELL);
+        sheet.endRow();
+
+        try (XSSFWorkbook workbook = readWorkbook()) {
+            XSSFSheet result = workbook.getSheet("Data");
+            Assert.assertNotNull(result);
+            XSSFRow row = result.getRow(0);
+
+            Assert.assertEquals("Text <&> \"quoted\"", row.getCell(0).getStringCellValue());
+            Assert.assertTrue(row.getCell(0).getCellStyle().getFont().getBold());
+
+            Assert.assertEquals(CellType.NUMERIC, row.getCell(1).getCellType());
+            Assert.assertEquals(42d, row.getCell(1).getNumericCellValue(), 0);
+            Assert.assertEquals(1.5d, row.getCell(2).getNumericCellValue(), 0);
+            Assert.assertEquals(CellType.STRING, row.getCell(3).getCellType());
+            Assert.assertEquals("NaN", row.getCell(3).getStringCellValue());
+
+            Assert.assertEquals(CellType.BOOLEAN, row.getCell(4).getCellType());
+            Assert.assertTrue(row.getCell(4).getBooleanCellValue());
+
+            XSSFCell dateCell = row.getCell(5);
+            Assert.assertEquals(DATE, dateCell.getDateCellValue());
+            Assert.assertEquals("yyyy-MM-dd", dateCell.getCellStyle().getDataFormatString());
+            Assert.assertEquals(BorderStyle.THIN, dateCell.getCellStyle().getBorderLeft());
+
+            Assert.assertEquals(CellType.BLANK, row.getCell(6).getCellType());
+            Assert.assertEquals(CellType.BLANK, row.getCell(7).getCellType());
+        }
+    }
+
+    @Test
+    public void testCharCodeLiteralsAreEscaped() throws IOException {
+        XLSXStreamWriter.Sheet sheet = writer.createSheet("Data");
+        sheet.startRow();
+        sheet.writeString(0, "_x0041_", XLSXStreamWriter.STYLE_CELL);
+        sheet.writeString(1, "a_x000d_b_x0041__x0042_", XLSXStreamWriter.STYLE_CELL);
+        sheet.writeString(2, "bell\u0007", XLSXStreamWriter.STYLE_CELL);
+        sheet.writeString(3, "_x00_ _xZZZZ_ _x0041", XLSXStreamWriter.STYLE_CELL);
+        sheet.endRow();
+
+        try (XSSFWorkbook workbook = readWorkbook()) {
+            XSSFRow row = workbook.getSheet("Data").getRow(0);
+            Assert.assertEquals("_x0041_", row.getCell(0).getStringCellValue());
+            Assert.assertEquals("a_x000d_b_x0041__x0042_", row.getCell(1).getStringCellValue());
+            Assert.assertEquals("bell\u0007", row.getCell(2).getStringCellValue());
+            Assert.assertEquals("_x00_ _xZZZZ_ _x0041", row.getCell(3).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void testFilledDateKeepsFormat() throws IOException {
+        int cellStyle = writer.getCellStyle("255,0,0");
+        int dateStyle = writer.getDateStyle("255,0,0");
+        Assert.assertNotEquals(cellStyle, dateStyle);
+        Assert.assertEquals(cellStyle, writer.getCellStyle("255,0,0"));
+        Assert.assertEquals(dateStyle, writer.getDateStyle("255,0,0"));
+
+        XLSXStreamWriter.Sheet sheet = writer.createSheet("Data");
+        sheet.startRow();
+        sheet.writeString(0, "red", cellStyle);
+        sheet.writeDate(1, DATE, dateStyle);
+        sheet.endRow();
+
+        try (XSSFWorkbook workbook = readWorkbook()) {
+            XSSFRow row = workbook.getSheet("Data").getRow(0);
+
+            XSSFCellStyle textStyle = row.getCell(0).getCellStyle();
+            assertRedFill(textStyle);
+            Assert.assertEquals("General", textStyle.getDataFormatString());
+
+            XSSFCell dateCell = row.getCell(1);
+            assertRedFill(dateCell.getCellStyle());
+            Assert.assertEquals("yyyy-MM-dd", dateCell.getCellStyle().getDataFormatString());
+            Assert.assertEquals(DATE, dateCell.getDateCellValue());
+        }
+    }
+
+    @Test
+    public void testMultipleSheets() throws IOException {
+        for (String name : new String[]{"First", "Second"}) {
+            XLSXStreamWriter.Sheet sheet = writer.createSheet(name);
+            for (int i = 0; i < 3; i++) {
+                sheet.startRow();
+                sheet.writeString(0, name + i, XLSXStreamWriter.STYLE_CELL);
+                sheet.endRow();
+            }
+        }
+        Assert.assertTrue(writer.hasSheet("first"));
+
+        try (XSSFWorkbook workbook = readWorkbook()) {
+            Assert.assertEquals(2, workbook.getNumberOfSheets());
+            Assert.assertEquals("Second2", workbook.getSheet("Second").getRow(2).getCell(0).getStringCellValue());
+        }
+    }
+
+    @NotNull
+    private XSSFWorkbook readWorkbook() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writer.write(buffer);
+        return new XSSFWorkbook(new ByteArrayInputStream(buffer.toByteArray()));
+    }
+
+    private static void assertRedFill(@NotNull XSSFCellStyle style) {
+        Assert.assertEquals(FillPatternType.SOLID_FOREGROUND, style.getFillPattern());
+        Assert.assertEquals("FFFF0000", style.getFillForegroundXSSFColor().getARGBHex());
+    }
+}
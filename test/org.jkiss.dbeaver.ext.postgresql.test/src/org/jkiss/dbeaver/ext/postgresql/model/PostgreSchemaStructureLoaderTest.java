@@ -0,0 +1,138 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class PostgreSchemaStructureLoaderTest extends DBeaverUnitTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final List<PostgreSchema> bulkSchemas = new ArrayList<>();
+    private PostgreDatabase database;
+    private PostgreDataSource dataSource;
+    private PostgreSchemaStructureLoader loader;
+
+    @Before
+    public void setUp() {
+        dataSource = Mockito.mock(PostgreDataSource.class);
+        Mockito.when(dataSource.getBulkMetadataMaxTables()).thenReturn(10);
+        database = Mockito.mock(PostgreDatabase.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(dataSource).when(database).getDataSource();
+        loader = new PostgreSchemaStructureLoader(database) {
+            @Override
+            void loadBulk(@NotNull DBRProgressMonitor monitor, @NotNull List<PostgreSchema> schemas, int scope) {
+                bulkSchemas.addAll(schemas);
+            }
+        };
+    }
+
+    @Test
+    public void testEntitiesAreReadPerSchema() throws DBException {
+        PostgreSchema first = makeSchema(3);
+        PostgreSchema second = makeSchema(4);
+
+        loader.loadStructure(monitor, List.of(first, second), DBSObjectContainer.STRUCT_ENTITIES);
+        Assert.assertEquals(List.of(), bulkSchemas);
+        for (PostgreSchema schema : List.of(first, second)) {
+            Mockito.verify(schema).cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES);
+            Mockito.verify(schema, Mockito.never()).getTableCache();
+        }
+    }
+
+    @Test
+    public void testAttributesAndAssociationsAreReadInBulk() throws DBException {
+        PostgreSchema first = makeSchema(3);
+        PostgreSchema utility = makeSchema(1);
+        Mockito.when(utility.isUtility()).thenReturn(true);
+        PostgreSchema second = makeSchema(7);
+
+        loader.loadStructure(monitor, List.of(first, utility, second), DBSObjectContainer.STRUCT_ATTRIBUTES);
+        Assert.assertEquals(List.of(first, second), bulkSchemas);
+
+        bulkSchemas.clear();
+        loader.loadStructure(monitor, List.of(first, second), DBSObjectContainer.STRUCT_ASSOCIATIONS);
+        Assert.assertEquals(List.of(first, second), bulkSchemas);
+        for (PostgreSchema schema : List.of(first, utility, second)) {
+            Mockito.verify(schema, Mockito.never()).cacheStructure(ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+        }
+    }
+
+    @Test
+    public void testTooManyTablesAreReadPerSchema() throws DBException {
+        PostgreSchema first = makeSchema(6);
+        PostgreSchema second = makeSchema(5);
+        PostgreSchema third = makeSchema(1);
+
+        loader.loadStructure(monitor, List.of(first, second, third), DBSObjectContainer.STRUCT_ALL);
+        Assert.assertEquals(List.of(), bulkSchemas);
+        for (PostgreSchema schema : List.of(first, second, third)) {
+            Mockito.verify(schema).cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        }
+        // Tables are counted until the limit is exceeded
+        Mockito.verify(third, Mockito.never()).getTableCache();
+    }
+
+    @Test
+    public void testBulkReadingIsDisabled() throws DBException {
+        Mockito.when(dataSource.getBulkMetadataMaxTables()).thenReturn(0);
+        PostgreSchema first = makeSchema(1);
+        PostgreSchema second = makeSchema(1);
+
+        loader.loadStructure(monitor, List.of(first, second), DBSObjectContainer.STRUCT_ALL);
+        Assert.assertEquals(List.of(), bulkSchemas);
+        Mockito.verify(first).cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        Mockito.verify(first, Mockito.never()).getTableCache();
+    }
+
+    @Test
+    public void testDatabaseDoesNotReadEntitiesOfAllSchemas() throws DBException {
+        database.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES);
+        Mockito.verify(database, Mockito.never()).getSchemas(ArgumentMatchers.any());
+
+        Mockito.doReturn(List.of()).when(database).getSchemas(monitor);
+        database.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES);
+        Mockito.verify(database).getSchemas(monitor);
+    }
+
+    @NotNull
+    private PostgreSchema makeSchema(int tableCount) throws DBException {
+        PostgreSchema schema = Mockito.mock(PostgreSchema.class);
+        Mockito.when(schema.isPersisted()).thenReturn(true);
+        PostgreSchema.TableCache tableCache = Mockito.mock(PostgreSchema.TableCache.class);
+        Mockito.doReturn(Collections.nCopies(tableCount, Mockito.mock(PostgreTableRegular.class)))
+            .when(tableCache).getAllObjects(monitor, schema);
+        Mockito.when(schema.getTableCache()).thenReturn(tableCache);
+        return schema;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAssociation;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class SchemaEntityRankerTest extends DBeaverUnitTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+
+    @After
+    public void tearDown() {
+        SchemaContextCache.INSTANCE.invalidateAll();
+    }
+
+    @Test
+    public void testSplitIdentifiers() {
+        Assert.assertEquals(Set.of("order", "item"), SchemaEntityRanker.splitTerms("order_items"));
+        Assert.assertEquals(Set.of("order", "item"), SchemaEntityRanker.splitTerms("OrderItems"));
+        Assert.assertEquals(Set.of("user", "id"), SchemaEntityRanker.splitTerms("userId"));
+        Assert.assertEquals(Set.of("httpserver"), SchemaEntityRanker.splitTerms("HTTPServer"));
+        Assert.assertEquals(Set.of("sale", "2024"), SchemaEntityRanker.splitTerms("sales-2024"));
+    }
+
+    @Test
+    public void testSplitText() {
+        Assert.assertEquals(
+            List.of("show", "total", "of", "order", "by", "country"),
+            new ArrayList<>(SchemaEntityRanker.splitTerms("Show total of orders by country?")));
+        // Single letters are not terms
+        Assert.assertEquals(Set.of("table"), SchemaEntityRanker.splitTerms("a table x"));
+        Assert.assertEquals(Set.of(), SchemaEntityRanker.splitTerms(" _-. "));
+    }
+
+    @Test
+    public void testPluralEndings() {
+        Assert.assertEquals(Set.of("category"), SchemaEntityRanker.splitTerms("categories"));
+        Assert.assertEquals(Set.of("address"), SchemaEntityRanker.splitTerms("address"));
+        Assert.assertEquals(Set.of("tie"), SchemaEntityRanker.splitTerms("ties"));
+        // Too short to be a plural
+        Assert.assertEquals(Set.of("bus"), SchemaEntityRanker.splitTerms("bus"));
+    }
+
+    @Test
+    public void testEmptyQuestionKeepsOrder() {
+        List<DBSEntity> entities = List.of(makeEntity("orders"), makeEntity("customers"));
+        Assert.assertSame(entities, SchemaEntityRanker.rankEntities(monitor, entities, null));
+        Assert.assertSame(entities, SchemaEntityRanker.rankEntities(monitor, entities, "  "));
+    }
+
+    @Test
+    public void testNameMatchesRankFirst() {
+        DBSEntity customers = makeEntity("customers");
+        DBSEntity products = makeEntity("products");
+        DBSEntity orders = makeEntity("orders");
+        DBSEntity orderItems = makeEntity("order_items");
+
+        List<DBSEntity> ranked = SchemaEntityRanker.rankEntities(
+            monitor,
+            List.of(customers, products, orders, orderItems),
+            "How many orders were made last month?");
+        // Full name match is better than a term match. Entities with the same score keep their order.
+        Assert.assertEquals(List.of(orders, orderItems, customers, products), ranked);
+    }
+
+    @Test
+    public void testColumnMatchesRank() {
+        DBSEntity accounts = makeEntity("accounts", "id", "login");
+        DBSEntity contacts = makeEntity("contacts", "id", "email", "phone_number");
+
+        List<DBSEntity> ranked = SchemaEntityRanker.rankEntities(
+            monitor,
+            List.of(accounts, contacts),
+            "find email and phone");
+        Assert.assertEquals(List.of(contacts, accounts), ranked);
+    }
+
+    @Test
+    public void testRelatedEntitiesGetPartOfScore() throws DBException {
+        DBSEntity auditLog = makeEntity("audit_log");
+        DBSEntity customers = makeEntity("customers");
+        DBSEntity orders = makeEntity("orders");
+        DBSEntity payments = makeEntity("payments");
+        // orders references customers, payments references orders
+        setAssociations(orders, makeAssociation(orders, customers));
+        setReferences(orders, makeAssociation(payments, orders));
+
+        List<DBSEntity> ranked = SchemaEntityRanker.rankEntities(
+            monitor,
+            List.of(auditLog, customers, payments, orders),
+            "list recent orders");
+        Assert.assertEquals(List.of(orders, customers, payments, auditLog), ranked);
+
+        // Foreign keys are read for matched entities only
+        Mockito.verify(orders).getAssociations(ArgumentMatchers.any());
+        Mockito.verify(auditLog, Mockito.never()).getAssociations(ArgumentMatchers.any());
+        Mockito.verify(customers, Mockito.never()).getAssociations(ArgumentMatchers.any());
+        Mockito.verify(customers, Mockito.never()).getReferences(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testUnrelatedEntitiesAreNotBoosted() throws DBException {
+        DBSEntity orders = makeEntity("orders");
+        DBSEntity warehouses = makeEntity("warehouses");
+        DBSEntity stock = makeEntity("stock");
+        // Relation to an entity which isn't ranked is ignored
+        setAssociations(orders, makeAssociation(orders, makeEntity("regions")));
+        setAssociations(stock, makeAssociation(stock, warehouses));
+
+        List<DBSEntity> ranked = SchemaEntityRanker.rankEntities(monitor, List.of(warehouses, stock, orders), "orders");
+        Assert.assertEquals(List.of(orders, warehouses, stock), ranked);
+    }
+
+    @NotNull
+    private DBSEntity makeEntity(@NotNull String name, @NotNull String... columns) {
+        DBSEntity entity = Mockito.mock(DBSEntity.class);
+        Mockito.when(entity.getName()).thenReturn(name);
+        List<DBSEntityAttribute> attributes = new ArrayList<>();
+        for (String column : columns) {
+            DBSEntityAttribute attribute = Mockito.mock(DBSEntityAttribute.class);
+            Mockito.when(attribute.getName()).thenReturn(column);
+            attributes.add(attribute);
+        }
+        try {
+            Mockito.doReturn(attributes).when(entity).getAttributes(ArgumentMatchers.any());
+        } catch (DBException e) {
+            throw new IllegalStateException(e);
+        }
+        return entity;
+    }
+
+    @NotNull
+    private static DBSEntityAssociation makeAssociation(@NotNull DBSEntity owner, @NotNull DBSEntity target) {
+        DBSEntityAssociation association = Mockito.mock(DBSEntityAssociation.class);
+        Mockito.when(association.getParentObject()).thenReturn(owner);
+        Mockito.when(association.getAssociatedEntity()).thenReturn(target);
+        return association;
+    }
+
+    private static void setAssociations(@NotNull DBSEntity entity, @NotNull DBSEntityAssociation... associations) throws DBException {
+        Mockito.doReturn(List.of(associations)).when(entity).getAssociations(ArgumentMatchers.any());
+    }
+
+    private static void setReferences(@NotNull DBSEntity entity, @NotNull DBSEntityAssociation... references) throws DBException {
+        Mockito.doReturn(List.of(references)).when(entity).getReferences(ArgumentMatchers.any());
+    }
+}
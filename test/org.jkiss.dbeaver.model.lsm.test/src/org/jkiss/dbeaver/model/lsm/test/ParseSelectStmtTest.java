@@ -33,7 +33,7 @@ public class ParseSelectStmtTest extends DBeaverUnitTest {
     
     private static final String _selectStatementsSqlTextResourceName = "SelectStatements.sql.txt";
     
-    private static List<String> readStatements(InputStream stream) {
+    static List<String> readStatements(InputStream stream) {
         List<String> result = new LinkedList<>();
         
         try (Scanner scanner = new Scanner(stream)) {
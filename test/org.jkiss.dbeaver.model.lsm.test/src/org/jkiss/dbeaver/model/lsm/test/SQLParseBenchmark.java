@@ -0,0 +1,69 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parse throughput benchmark over the test SQL corpus.
+ * Compares full LL parsing with fresh parser per query (old analyzer behavior)
+ * and two-stage SLL/LL parsing with pooled parser of {@link SQLStandardAnalyzer}.
+ * <p>
+ * Not a unit test, run it with main method. Optional arguments: warmup iterations, measured iterations.
+ */
+public class SQLParseBenchmark {
+
+    public static void main(String[] args) {
+        int warmupIterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        List<String> corpus = ParseSelectStmtTest.readStatements(
+            SQLParseBenchmark.class.getResourceAsStream("SelectStatements.sql.txt"));
+
+        LSMAnalyzer analyzer = new SQLStandardAnalyzer(SQLStandardAnalyzerTest.DEFAULT_PARAMETERS);
+        STMSkippingErrorListener errorListener = new STMSkippingErrorListener();
+
+        run("Full LL", corpus, warmupIterations, iterations, text -> {
+            SQLStandardParser parser = SQLStandardAnalyzerTest.createLLParser(text);
+            parser.removeErrorListeners();
+            parser.sqlQuery();
+        });
+        run("Two-stage SLL/LL", corpus, warmupIterations, iterations,
+            text -> analyzer.parseSqlQueryTree(STMSource.fromString(text), errorListener));
+    }
+
+    private static void run(String name, List<String> corpus, int warmupIterations, int iterations, Consumer<String> parser) {
+        for (int i = 0; i < warmupIterations; i++) {
+            corpus.forEach(parser);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            corpus.forEach(parser);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        long statements = (long) corpus.size() * iterations;
+        System.out.printf("%-20s %10.1f statements/s (%d statements in %d ms)%n",
+            name, statements * 1e9 / elapsedNanos, statements, elapsedNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzer;
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardLexer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class SQLStandardAnalyzerTest extends DBeaverUnitTest {
+
+    static final LSMAnalyzerParameters DEFAULT_PARAMETERS = new LSMAnalyzerParameters(
+        Map.of(), false, false, '?', List.of(), false
+    );
+
+    @Test
+    public void testTwoStageParseMatchesFullLL() {
+        List<String> statements = ParseSelectStmtTest.readStatements(
+            ParseSelectStmtTest.class.getResourceAsStream("SelectStatements.sql.txt"));
+        LSMAnalyzer analyzer = new SQLStandardAnalyzer(DEFAULT_PARAMETERS);
+        // Parse twice to check pooled parser reuse
+        for (int i = 0; i < 2; i++) {
+            for (String text : statements) {
+                SQLStandardParser llParser = createLLParser(text);
+                String expected = llParser.sqlQuery().toStringTree(llParser);
+
+                CountingErrorListener errorListener = new CountingErrorListener();
+                STMTreeRuleNode tree = analyzer.parseSqlQueryTree(STMSource.fromString(text), errorListener);
+                Assert.assertNotNull(tree);
+                Assert.assertEquals(0, errorListener.errorCount);
+                Assert.assertEquals(expected, tree.toStringTree(llParser));
+            }
+        }
+    }
+
+    @Test
+    public void testErrorsReportedOnce() {
+        LSMAnalyzer analyzer = new SQLStandardAnalyzer(DEFAULT_PARAMETERS);
+        String text = "select a, from t where";
+
+        SQLStandardParser llParser = createLLParser(text);
+        CountingErrorListener llErrorListener = new CountingErrorListener();
+        llParser.removeErrorListeners();
+        llParser.addErrorListener(llErrorListener);
+        String expected = llParser.sqlQuery().toStringTree(llParser);
+
+        CountingErrorListener errorListener = new CountingErrorListener();
+        STMTreeRuleNode tree = analyzer.parseSqlQueryTree(STMSource.fromString(text), errorListener);
+        Assert.assertNotNull(tree);
+        Assert.assertTrue(errorListener.errorCount > 0);
+        Assert.assertEquals(llErrorListener.errorCount, errorListener.errorCount);
+        Assert.assertEquals(expected, tree.toStringTree(llParser));
+    }
+
+    static SQLStandardParser createLLParser(String text) {
+        SQLStandardLexer lexer = new SQLStandardLexer(CharStreams.fromString(text), DEFAULT_PARAMETERS);
+        SQLStandardParser parser = new SQLStandardParser(new CommonTokenStream(lexer), DEFAULT_PARAMETERS);
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        return parser;
+    }
+
+    private static class CountingErrorListener extends STMSkippingErrorListener {
+        private int errorCount;
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object o, int i, int i1, String s, RecognitionException e) {
+            errorCount++;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import com.google.gson.stream.JsonWriter;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
+import org.jkiss.dbeaver.model.DBPExternalConfiguration;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class DataSourceSerializationCacheTest extends DBeaverUnitTest {
+
+    private static final String DEFAULT_CONFIG = "data-sources.json";
+    private static final String OTHER_CONFIG = "data-sources-2.json";
+
+    private final TestConfigurationManager configurationManager = new TestConfigurationManager();
+    // Ids of data sources serialized by all serializers of the registry
+    private final List<String> serializedDataSources = new CopyOnWriteArrayList<>();
+    private DBPProject project;
+    private TestRegistry registry;
+    private DataSourceDescriptor first;
+    private DataSourceDescriptor second;
+    private DataSourceDescriptor other;
+
+    @Before
+    public void setUp() {
+        project = Mockito.mock(DBPProject.class);
+        Mockito.when(project.getName()).thenReturn("test");
+        registry = new TestRegistry(project, configurationManager);
+
+        DBPDriver driver = Mockito.mock(DBPDriver.class);
+        first = addDataSource(driver, configurationManager.defaultStorage, "first");
+        second = addDataSource(driver, configurationManager.defaultStorage, "second");
+        other = addDataSource(driver, configurationManager.otherStorage, "other");
+
+        registry.saveDataSources();
+        Assert.assertEquals(List.of(DEFAULT_CONFIG, OTHER_CONFIG), configurationManager.writtenFiles);
+        Assert.assertEquals(Set.of("first", "second", "other"), new HashSet<>(serializedDataSources));
+        resetCounters();
+    }
+
+    @Test
+    public void testRenameRewritesOnlyItsStorage() {
+        other.setName("renamed other");
+        registry.persistDataSourceUpdate(other);
+        // Default storage is saved from the cache and its contents are the same
+        Assert.assertEquals(List.of("other"), serializedDataSources);
+        Assert.assertEquals(List.of(OTHER_CONFIG), configurationManager.writtenFiles);
+        Assert.assertTrue(configurationManager.getContents(OTHER_CONFIG).contains("renamed other"));
+
+        resetCounters();
+        first.setName("renamed first");
+        registry.persistDataSourceUpdate(first);
+        Assert.assertEquals(List.of("first"), serializedDataSources);
+        Assert.assertEquals(List.of(DEFAULT_CONFIG), configurationManager.writtenFiles);
+        String contents = configurationManager.getContents(DEFAULT_CONFIG);
+        Assert.assertTrue(contents.contains("renamed first"));
+        Assert.assertTrue(contents.contains("second"));
+    }
+
+    @Test
+    public void testFlushReserializesAllDataSources() throws InterruptedException {
+        registry.flushConfig();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (serializedDataSources.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        // Config saver holds the registry lock until the save ends
+        synchronized (registry) {
+            Assert.assertEquals(Set.of("first", "second", "other"), new HashSet<>(serializedDataSources));
+            Assert.assertEquals(3, serializedDataSources.size());
+            // Configuration is the same, so files are not written
+            Assert.assertEquals(List.of(), configurationManager.writtenFiles);
+        }
+    }
+
+    @Test
+    public void testFailedWriteKeepsStorageChanged() {
+        configurationManager.failWrites = true;
+        first.setName("renamed first");
+        registry.persistDataSourceUpdate(first);
+        Assert.assertNotNull(registry.lastError);
+        Assert.assertFalse(configurationManager.getContents(DEFAULT_CONFIG).contains("renamed first"));
+
+        // Next save writes the storage again, even though nothing was changed after the failure
+        configurationManager.failWrites = false;
+        registry.saveDataSources(new VoidProgressMonitor());
+        Assert.assertNull(registry.lastError);
+        Assert.assertEquals(List.of(DEFAULT_CONFIG), configurationManager.writtenFiles);
+        Assert.assertTrue(configurationManager.getContents(DEFAULT_CONFIG).contains("renamed first"));
+    }
+
+    @Test
+    public void testReloadClearsFileDigests() {
+        registry.saveDataSources();
+        Assert.assertEquals(List.of(), configurationManager.writtenFiles);
+
+        // Files may be changed by another process, so they are written again after reload
+        Mockito.when(project.isOpen()).thenReturn(true);
+        registry.loadDataSources(configurationManager.getConfigurationStorages(), configurationManager, null, false, false);
+        registry.saveDataSources();
+        Assert.assertEquals(List.of(DEFAULT_CONFIG, OTHER_CONFIG), configurationManager.writtenFiles);
+    }
+
+    @NotNull
+    private DataSourceDescriptor addDataSource(
+        @NotNull DBPDriver driver,
+        @NotNull DBPDataSourceConfigurationStorage storage,
+        @NotNull String id
+    ) {
+        DataSourceDescriptor dataSource = new DataSourceDescriptor(
+            registry,
+            storage,
+            DataSourceOriginLocal.INSTANCE,
+            id,
+            driver,
+            new DBPConnectionConfiguration());
+        dataSource.setName(id);
+        registry.addDataSourceToList(dataSource);
+        return dataSource;
+    }
+
+    private void resetCounters() {
+        serializedDataSources.clear();
+        configurationManager.writtenFiles.clear();
+    }
+
+    private class TestRegistry extends DataSourceRegistry<DataSourceDescriptor> {
+        TestRegistry(@NotNull DBPProject project, @NotNull DataSourceConfigurationManager configurationManager) {
+            super(project, configurationManager, DBWorkbench.getPlatform().getPreferenceStore());
+        }
+
+        @NotNull
+        @Override
+        protected DataSourceSerializer<DataSourceDescriptor> createModernSerializer() {
+            return new TestSerializer(this);
+        }
+    }
+
+    /**
+     * Writes data source name only and reads nothing
+     */
+    private class TestSerializer extends DataSourceSerializerModern<DataSourceDescriptor> {
+        TestSerializer(@NotNull DataSourceRegistry<DataSourceDescriptor> registry) {
+            super(registry);
+        }
+
+        @Override
+        protected void serializeDataSource(
+            DataSourceConfigurationManager configurationManager,
+            @NotNull JsonWriter json,
+            @NotNull DataSourceDescriptor dataSource,
+            @NotNull Map<String, DBPExternalConfiguration> externalConfigurations
+        ) throws IOException {
+            serializedDataSources.add(dataSource.getId());
+            JSONUtils.field(json, RegistryConstants.ATTR_NAME, dataSource.getName());
+        }
+
+        @Override
+        public boolean parseDataSources(
+            @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+            @NotNull DataSourceConfigurationManager configurationManager,
+            @NotNull DataSourceRegistry.ParseResults parseResults,
+            @Nullable Collection<String> dataSourceIds
+        ) {
+            return false;
+        }
+    }
+
+    private static class TestConfigurationManager implements DataSourceConfigurationManager {
+        private final DBPDataSourceConfigurationStorage defaultStorage = makeStorage(DEFAULT_CONFIG, true);
+        private final DBPDataSourceConfigurationStorage otherStorage = makeStorage(OTHER_CONFIG, false);
+        private final Map<String, byte[]> files = new HashMap<>();
+        private final List<String> writtenFiles = new CopyOnWriteArrayList<>();
+        private volatile boolean failWrites;
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return true;
+        }
+
+        @Override
+        public List<DBPDataSourceConfigurationStorage> getConfigurationStorages() {
+            return List.of(defaultStorage, otherStorage);
+        }
+
+        @Override
+        public InputStream readConfiguration(@NotNull String name, @Nullable Collection<String> dataSourceIds) {
+            byte[] data = files.get(name);
+            return data == null ? null : new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public synchronized void writeConfiguration(@NotNull String name, @Nullable byte[] data) throws IOException {
+            if (failWrites) {
+                throw new IOException("Disk is full");
+            }
+            files.put(name, data);
+            writtenFiles.add(name);
+        }
+
+        @NotNull
+        synchronized String getContents(@NotNull String name) {
+            return new String(files.get(name), StandardCharsets.UTF_8);
+        }
+
+        @NotNull
+        private static DBPDataSourceConfigurationStorage makeStorage(@NotNull String name, boolean isDefault) {
+            DBPDataSourceConfigurationStorage storage = Mockito.mock(DBPDataSourceConfigurationStorage.class);
+            Mockito.when(storage.getStorageId()).thenReturn(name);
+            Mockito.when(storage.getStorageName()).thenReturn(name);
+            Mockito.when(storage.getStorageSubId()).thenReturn(isDefault ? "" : "2");
+            Mockito.when(storage.isDefault()).thenReturn(isDefault);
+            return storage;
+        }
+    }
+}
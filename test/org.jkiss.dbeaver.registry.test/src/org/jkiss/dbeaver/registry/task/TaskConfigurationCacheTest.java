@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class TaskConfigurationCacheTest extends DBeaverUnitTest {
+
+    private final TaskConfigurationCache cache = new TaskConfigurationCache();
+    // Names of serialized tasks
+    private final List<String> serialized = new ArrayList<>();
+
+    @Test
+    public void testTaskIsSerializedOnce() throws IOException {
+        TaskImpl task = makeTask("first");
+        Assert.assertEquals("first", cache.getConfiguration(task, this::serialize));
+        Assert.assertEquals("first", cache.getConfiguration(task, this::serialize));
+        Assert.assertEquals(List.of("first"), serialized);
+    }
+
+    @Test
+    public void testChangedTaskIsSerializedAgain() throws IOException {
+        TaskImpl first = makeTask("first");
+        TaskImpl second = makeTask("second");
+        cache.getConfiguration(first, this::serialize);
+        cache.getConfiguration(second, this::serialize);
+
+        Mockito.when(first.getName()).thenReturn("renamed");
+        cache.invalidate(first);
+        Assert.assertEquals("renamed", cache.getConfiguration(first, this::serialize));
+        Assert.assertEquals("second", cache.getConfiguration(second, this::serialize));
+        Assert.assertEquals(List.of("first", "second", "renamed"), serialized);
+
+        cache.invalidateAll();
+        cache.getConfiguration(first, this::serialize);
+        cache.getConfiguration(second, this::serialize);
+        Assert.assertEquals(List.of("first", "second", "renamed", "renamed", "second"), serialized);
+    }
+
+    @Test
+    public void testTaskChangedDuringSerializationIsNotCached() throws IOException {
+        TaskImpl task = makeTask("first");
+        // Task is changed by another thread after the save has read its old state
+        String configuration = cache.getConfiguration(task, changedTask -> {
+            String oldConfiguration = serialize(changedTask);
+            Mockito.when(changedTask.getName()).thenReturn("renamed");
+            cache.invalidate(changedTask);
+            return oldConfiguration;
+        });
+        Assert.assertEquals("first", configuration);
+
+        // Next save doesn't get the stale configuration
+        Assert.assertEquals("renamed", cache.getConfiguration(task, this::serialize));
+        Assert.assertEquals("renamed", cache.getConfiguration(task, this::serialize));
+        Assert.assertEquals(List.of("first", "renamed"), serialized);
+    }
+
+    @NotNull
+    private String serialize(@NotNull TaskImpl task) {
+        serialized.add(task.getName());
+        return task.getName();
+    }
+
+    @NotNull
+    private static TaskImpl makeTask(@NotNull String name) {
+        TaskImpl task = Mockito.mock(TaskImpl.class);
+        Mockito.when(task.getName()).thenReturn(name);
+        return task;
+    }
+}
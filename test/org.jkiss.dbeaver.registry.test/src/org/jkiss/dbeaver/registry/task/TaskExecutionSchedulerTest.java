@@ -0,0 +1,312 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
+import org.jkiss.dbeaver.model.task.DBTTaskHandler;
+import org.jkiss.dbeaver.model.task.DBTTaskInfoCollector;
+import org.jkiss.dbeaver.model.task.DBTTaskType;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class TaskExecutionSchedulerTest extends DBeaverUnitTest {
+
+    private TestScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+    }
+
+    @Test
+    public void testDataSourceLimit() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(2);
+        TaskRunJob first = makeJob(makeTask("first", 0, dataSource));
+        TaskRunJob second = makeJob(makeTask("second", 0, dataSource));
+        TaskRunJob third = makeJob(makeTask("third", 0, dataSource));
+        scheduler.enqueue(first, List.of(), true);
+        scheduler.enqueue(second, List.of(), true);
+        scheduler.enqueue(third, List.of(), true);
+
+        Assert.assertEquals(List.of(first, second), scheduler.startedJobs);
+        Assert.assertTrue(scheduler.hasQueuedJobs());
+
+        finish(first, true);
+        Assert.assertEquals(List.of(first, second, third), scheduler.startedJobs);
+        Assert.assertFalse(scheduler.hasQueuedJobs());
+    }
+
+    @Test
+    public void testQueuedJobsStartOnDispatch() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskImpl firstTask = makeTask("first", 0, dataSource);
+        TaskRunJob first = makeJob(firstTask);
+        TaskRunJob second = makeJob(makeTask("second", 0, dataSource));
+        synchronized (scheduler) {
+            scheduler.addToQueue(first, TaskExecutionScheduler.collectDataSources(firstTask), List.of(), true);
+            scheduler.addToQueue(second, Set.of(dataSource), List.of(), true);
+        }
+        Assert.assertEquals(List.of(), scheduler.startedJobs);
+
+        scheduler.dispatch();
+        Assert.assertEquals(List.of(first), scheduler.startedJobs);
+        finish(first, true);
+        Assert.assertEquals(List.of(first, second), scheduler.startedJobs);
+    }
+
+    @Test
+    public void testZeroLimitIsUnlimited() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(0);
+        for (int i = 0; i < 5; i++) {
+            scheduler.enqueue(makeJob(makeTask("task" + i, 0, dataSource)), List.of(), true);
+        }
+        Assert.assertEquals(5, scheduler.startedJobs.size());
+    }
+
+    @Test
+    public void testEachDataSourceIsLimited() throws DBException {
+        DBPDataSourceContainer source = makeDataSource(1);
+        DBPDataSourceContainer target = makeDataSource(1);
+        TaskRunJob transfer = makeJob(makeTask("transfer", 0, source, target));
+        TaskRunJob export = makeJob(makeTask("export", 0, source));
+        TaskRunJob load = makeJob(makeTask("load", 0, target));
+        scheduler.enqueue(transfer, List.of(), true);
+        scheduler.enqueue(export, List.of(), true);
+        scheduler.enqueue(load, List.of(), true);
+        Assert.assertEquals(List.of(transfer), scheduler.startedJobs);
+
+        finish(transfer, true);
+        Assert.assertEquals(List.of(transfer, export, load), scheduler.startedJobs);
+    }
+
+    @Test
+    public void testTasksWithoutDataSourcesAreNotLimited() throws DBException {
+        TaskImpl task = makeTask("script", 0);
+        Mockito.when(task.getType().createHandler()).thenReturn(Mockito.mock(DBTTaskHandler.class));
+        scheduler.enqueue(makeJob(task), List.of(), true);
+        scheduler.enqueue(makeJob(task), List.of(), true);
+        Assert.assertEquals(2, scheduler.startedJobs.size());
+    }
+
+    @Test
+    public void testUserRunsDontWaitForLimits() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskRunJob scheduled = makeJob(makeTask("scheduled", 0, dataSource));
+        TaskRunJob userRun = makeJob(makeTask("user", 0, dataSource));
+        TaskRunJob waiting = makeJob(makeTask("waiting", 0, dataSource));
+        scheduler.enqueue(scheduled, List.of(), true);
+        scheduler.enqueue(userRun, List.of(), false);
+        scheduler.enqueue(waiting, List.of(), true);
+        Assert.assertEquals(List.of(scheduled, userRun), scheduler.startedJobs);
+
+        // User run still counts toward the limit
+        finish(scheduled, true);
+        Assert.assertEquals(List.of(scheduled, userRun), scheduler.startedJobs);
+        finish(userRun, true);
+        Assert.assertEquals(List.of(scheduled, userRun, waiting), scheduler.startedJobs);
+    }
+
+    @Test
+    public void testDirectRunsCountTowardLimits() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskRunJob direct = makeJob(makeTask("direct", 0, dataSource));
+        TaskRunJob scheduled = makeJob(makeTask("scheduled", 0, dataSource));
+        scheduler.startDirect(direct);
+        scheduler.enqueue(scheduled, List.of(), true);
+        Assert.assertEquals(List.of(), scheduler.startedJobs);
+
+        scheduler.finishDirect(direct);
+        Assert.assertEquals(List.of(scheduled), scheduler.startedJobs);
+    }
+
+    @Test
+    public void testPriorityOrder() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskRunJob running = makeJob(makeTask("running", 0, dataSource));
+        TaskRunJob low = makeJob(makeTask("low", 0, dataSource));
+        TaskRunJob high = makeJob(makeTask("high", 10, dataSource));
+        TaskRunJob lowLater = makeJob(makeTask("lowLater", 0, dataSource));
+        scheduler.enqueue(running, List.of(), true);
+        scheduler.enqueue(low, List.of(), true);
+        scheduler.enqueue(high, List.of(), true);
+        scheduler.enqueue(lowLater, List.of(), true);
+
+        finish(running, true);
+        Assert.assertEquals(high, scheduler.getLastStarted());
+        finish(high, true);
+        // Same priority jobs start in order they were queued
+        Assert.assertEquals(low, scheduler.getLastStarted());
+        finish(low, true);
+        Assert.assertEquals(lowLater, scheduler.getLastStarted());
+    }
+
+    @Test
+    public void testJobWaitsForDependencies() throws DBException {
+        TaskRunJob dependency = makeJob(makeTask("dependency", 0));
+        TaskRunJob dependent = makeJob(makeTask("dependent", 0));
+        scheduler.enqueue(dependency, List.of(), true);
+        scheduler.enqueue(dependent, List.of(dependency), true);
+        Assert.assertEquals(List.of(dependency), scheduler.startedJobs);
+        Assert.assertSame(dependency, scheduler.getActiveJob(dependency.getTask()));
+
+        finish(dependency, true);
+        Assert.assertEquals(List.of(dependency, dependent), scheduler.startedJobs);
+        Assert.assertNull(scheduler.getActiveJob(dependency.getTask()));
+        Assert.assertNull(dependent.getSkipReason());
+    }
+
+    @Test
+    public void testFailedDependencySkipsJob() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskRunJob blocker = makeJob(makeTask("blocker", 0, dataSource));
+        TaskRunJob dependency = makeJob(makeTask("dependency", 0));
+        TaskRunJob dependent = makeJob(makeTask("dependent", 0, dataSource));
+        scheduler.enqueue(blocker, List.of(), true);
+        scheduler.enqueue(dependency, List.of(), true);
+        scheduler.enqueue(dependent, List.of(dependency), true);
+
+        finish(dependency, false);
+        // Skipped job starts to record its run even though data source is busy
+        Assert.assertEquals(dependent, scheduler.getLastStarted());
+        Assert.assertEquals("Skipped: dependency task 'dependency' failed", dependent.getSkipReason());
+    }
+
+    @Test
+    public void testFinishedDependencyIsChecked() throws DBException {
+        TaskRunJob succeeded = makeJob(makeTask("succeeded", 0));
+        TaskRunJob failed = makeJob(makeTask("failed", 0));
+        setTaskRun(succeeded, true);
+        setTaskRun(failed, false);
+
+        TaskRunJob afterSuccess = makeJob(makeTask("afterSuccess", 0));
+        scheduler.enqueue(afterSuccess, List.of(succeeded), true);
+        Assert.assertNull(afterSuccess.getSkipReason());
+
+        TaskRunJob afterFailure = makeJob(makeTask("afterFailure", 0));
+        scheduler.enqueue(afterFailure, List.of(succeeded, failed), true);
+        Assert.assertEquals("Skipped: dependency task 'failed' failed", afterFailure.getSkipReason());
+        Assert.assertEquals(List.of(afterSuccess, afterFailure), scheduler.startedJobs);
+    }
+
+    @Test
+    public void testCancelQueuedJobs() throws DBException {
+        DBPDataSourceContainer dataSource = makeDataSource(1);
+        TaskRunJob running = makeJob(makeTask("running", 0, dataSource));
+        TaskRunJob queued = makeJob(makeTask("queued", 0, dataSource));
+        TaskRunJob dependent = makeJob(makeTask("dependent", 0));
+        scheduler.enqueue(running, List.of(), true);
+        scheduler.enqueue(queued, List.of(), true);
+        scheduler.enqueue(dependent, List.of(queued), true);
+
+        scheduler.cancelQueuedJobs();
+        Assert.assertFalse(scheduler.hasQueuedJobs());
+        Assert.assertNull(scheduler.getActiveJob(queued.getTask()));
+        Assert.assertSame(running, scheduler.getActiveJob(running.getTask()));
+
+        finish(running, true);
+        Assert.assertEquals(List.of(running), scheduler.startedJobs);
+    }
+
+    private void finish(@NotNull TaskRunJob job, boolean success) {
+        setTaskRun(job, success);
+        scheduler.onJobFinished(job);
+    }
+
+    private static void setTaskRun(@NotNull TaskRunJob job, boolean success) {
+        TaskRunImpl taskRun = Mockito.mock(TaskRunImpl.class);
+        Mockito.when(taskRun.isRunSuccess()).thenReturn(success);
+        Mockito.doReturn(taskRun).when(job).getTaskRun();
+    }
+
+    @NotNull
+    private static DBPDataSourceContainer makeDataSource(int maxTasks) {
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.TASK_MAX_CONCURRENT_PER_DATASOURCE)).thenReturn(maxTasks);
+        DBPDataSourceContainer dataSource = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(dataSource.getPreferenceStore()).thenReturn(preferenceStore);
+        return dataSource;
+    }
+
+    @NotNull
+    private static TaskImpl makeTask(
+        @NotNull String name,
+        int priority,
+        @NotNull DBPDataSourceContainer... dataSources
+    ) throws DBException {
+        DBTTaskHandler handler = Mockito.mock(
+            DBTTaskHandler.class,
+            Mockito.withSettings().extraInterfaces(DBTTaskInfoCollector.class));
+        Mockito.doAnswer(invocation -> {
+            DBTTaskInfoCollector.TaskInformation information = invocation.getArgument(1);
+            for (DBPDataSourceContainer dataSource : dataSources) {
+                information.addDataSource(dataSource);
+            }
+            return null;
+        }).when((DBTTaskInfoCollector) handler).collectTaskInfo(ArgumentMatchers.any(), ArgumentMatchers.any());
+        DBTTaskType taskType = Mockito.mock(DBTTaskType.class);
+        Mockito.when(taskType.createHandler()).thenReturn(handler);
+
+        TaskImpl task = Mockito.mock(TaskImpl.class);
+        Mockito.when(task.getName()).thenReturn(name);
+        Mockito.when(task.getPriority()).thenReturn(priority);
+        Mockito.when(task.getType()).thenReturn(taskType);
+        return task;
+    }
+
+    @NotNull
+    private static TaskRunJob makeJob(@NotNull TaskImpl task) {
+        // Spy keeps job state, so skip reason set by scheduler can be checked
+        return Mockito.spy(new TaskRunJob(task, Locale.ENGLISH, Mockito.mock(DBTTaskExecutionListener.class)));
+    }
+
+    private static class TestScheduler extends TaskExecutionScheduler {
+        private final List<TaskRunJob> startedJobs = new ArrayList<>();
+
+        @Override
+        protected void addFinishListener(@NotNull TaskRunJob job) {
+            // Test finishes jobs explicitly
+        }
+
+        @Override
+        protected void startJob(@NotNull TaskRunJob job) {
+            Assert.assertFalse("Job is started under the scheduler lock", Thread.holdsLock(this));
+            startedJobs.add(job);
+        }
+
+        @NotNull
+        TaskRunJob getLastStarted() {
+            return startedJobs.get(startedJobs.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.task.DBTTask;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class TaskManagerImplTest extends DBeaverUnitTest {
+
+    private final Map<String, DBTTask> tasks = new HashMap<>();
+
+    @Test
+    public void testDependencyCycleIsFound() {
+        TaskImpl first = makeTask("first", "second");
+        makeTask("second", "third");
+        makeTask("third", "first");
+
+        DBException error = Assert.assertThrows(
+            DBException.class,
+            () -> TaskManagerImpl.checkDependencyCycles(first, tasks::get));
+        Assert.assertEquals("Task dependencies have a cycle: first -> second -> third -> first", error.getMessage());
+    }
+
+    @Test
+    public void testSelfDependencyIsFound() {
+        TaskImpl task = makeTask("task", "task");
+        Assert.assertThrows(DBException.class, () -> TaskManagerImpl.checkDependencyCycles(task, tasks::get));
+    }
+
+    @Test
+    public void testSharedDependenciesAreCheckedOnce() throws DBException {
+        // Each level depends on both tasks of the next level, so there are 2^30 paths to the last level
+        int levels = 30;
+        for (int level = 0; level < levels; level++) {
+            String[] dependencies = level == levels - 1 ? new String[0] : new String[]{"a" + (level + 1), "b" + (level + 1)};
+            makeTask("a" + level, dependencies);
+            makeTask("b" + level, dependencies);
+        }
+        AtomicInteger lookups = new AtomicInteger();
+        TaskManagerImpl.checkDependencyCycles((TaskImpl) tasks.get("a0"), id -> {
+            lookups.incrementAndGet();
+            return tasks.get(id);
+        });
+        Assert.assertTrue(lookups.get() <= levels * 4);
+    }
+
+    @Test
+    public void testMissingDependencyIsIgnored() throws DBException {
+        TaskImpl task = makeTask("task", "deleted");
+        TaskManagerImpl.checkDependencyCycles(task, tasks::get);
+    }
+
+    @NotNull
+    private TaskImpl makeTask(@NotNull String name, @NotNull String... dependencies) {
+        TaskImpl task = Mockito.mock(TaskImpl.class);
+        Mockito.when(task.getName()).thenReturn(name);
+        Mockito.when(task.getDependencies()).thenReturn(List.of(dependencies));
+        tasks.put(name, task);
+        return task;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TaskRunHistoryTest extends DBeaverUnitTest {
+
+    private static final long START_TIME = 1700000000000L;
+
+    private final Gson gson = new GsonBuilder()
+        .setDateFormat(GeneralUtils.DEFAULT_TIMESTAMP_PATTERN)
+        .create();
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("task-history-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ContentUtils.deleteFileRecursive(folder);
+    }
+
+    @Test
+    public void testRunsAreReadNewestFirst() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        Assert.assertNull(history.getLastRun());
+        for (int i = 0; i < 3; i++) {
+            history.writeRun(makeRun(i));
+        }
+
+        Assert.assertEquals(List.of("run2", "run1", "run0"), getIds(history.readRuns(0, 10)));
+        Assert.assertEquals(List.of("run1"), getIds(history.readRuns(1, 1)));
+        Assert.assertEquals(List.of(), getIds(history.readRuns(5, 10)));
+        Assert.assertEquals("run2", history.getLastRun().getId());
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson);
+        Assert.assertEquals(List.of("run2", "run1", "run0"), getIds(reloaded.readRuns(0, 10)));
+        Assert.assertEquals("run2", reloaded.getLastRun().getId());
+    }
+
+    @Test
+    public void testUpdatedRunKeepsItsPosition() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        TaskRunImpl longRun = makeRun(0);
+        history.writeRun(longRun);
+        history.writeRun(makeRun(1));
+        // The first run ends after the second one has started
+        longRun.setRunDuration(5000);
+        history.writeRun(longRun);
+
+        List<TaskRunImpl> runs = history.readRuns(0, 10);
+        Assert.assertEquals(List.of("run1", "run0"), getIds(runs));
+        Assert.assertEquals(5000, runs.get(1).getRunDuration());
+        Assert.assertEquals("run1", history.getLastRun().getId());
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson);
+        Assert.assertEquals("run1", reloaded.getLastRun().getId());
+        Assert.assertEquals(List.of("run1", "run0"), getIds(reloaded.readRuns(0, 10)));
+    }
+
+    @Test
+    public void testUpdateDoesNotReplaceUnknownLastRun() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        TaskRunImpl oldRun = makeRun(0);
+        history.writeRun(oldRun);
+        history.writeRun(makeRun(1));
+
+        // Another history instance didn't read the last run yet
+        TaskRunHistory other = new TaskRunHistory(folder, gson);
+        oldRun.setRunDuration(100);
+        other.writeRun(oldRun);
+        Assert.assertEquals("run1", other.getLastRun().getId());
+    }
+
+    @Test
+    public void testRemovedRunIsSkipped() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        for (int i = 0; i < 3; i++) {
+            history.writeRun(makeRun(i));
+        }
+        Assert.assertEquals("run2", history.getLastRun().getId());
+
+        history.removeRun("run2");
+        history.removeRun("run0");
+        Assert.assertEquals(List.of("run1"), getIds(history.readRuns(0, 10)));
+        Assert.assertEquals("run1", history.getLastRun().getId());
+        Assert.assertEquals(List.of("run1"), getIds(new TaskRunHistory(folder, gson).readRuns(0, 10)));
+    }
+
+    @Test
+    public void testHistoryIsCompacted() throws IOException {
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        int runCount = TaskRunHistory.MAX_RUNS * 3;
+        for (int i = 0; i < runCount; i++) {
+            history.writeRun(makeRun(i));
+        }
+
+        List<Path> segments = listSegments();
+        Assert.assertTrue("Too many segments: " + segments.size(), segments.size() <= 4);
+        long recordCount = 0;
+        for (Path segment : segments) {
+            recordCount += Files.readAllLines(segment, StandardCharsets.UTF_8).size();
+        }
+        Assert.assertTrue("History isn't compacted: " + recordCount + " records", recordCount < runCount);
+
+        // Compaction keeps the newest runs in the same order
+        List<TaskRunImpl> runs = history.readRuns(0, runCount);
+        Assert.assertTrue(runs.size() >= TaskRunHistory.MAX_RUNS);
+        for (int i = 0; i < runs.size(); i++) {
+            Assert.assertEquals("run" + (runCount - 1 - i), runs.get(i).getId());
+        }
+        Assert.assertEquals("run" + (runCount - 1), new TaskRunHistory(folder, gson).getLastRun().getId());
+    }
+
+    @Test
+    public void testLegacyStatisticsAreConverted() throws IOException {
+        Path metaFile = folder.resolve(TaskImpl.META_FILE_NAME);
+        // Legacy statistics are ordered from the oldest run
+        String legacyStatistics = gson.toJson(new RunStatistics(new ArrayList<>(List.of(makeRun(0), makeRun(1)))));
+        Files.writeString(metaFile, legacyStatistics);
+
+        TaskRunHistory history = new TaskRunHistory(folder, gson);
+        Assert.assertEquals(List.of("run1", "run0"), getIds(history.readRuns(0, 10)));
+        Assert.assertEquals("run1", history.getLastRun().getId());
+        Assert.assertTrue(listSegments().isEmpty());
+
+        history.writeRun(makeRun(2));
+        Assert.assertEquals(List.of("run2", "run1", "run0"), getIds(history.readRuns(0, 10)));
+        Assert.assertEquals(1, listSegments().size());
+        // Legacy file stays for older versions, but it isn't converted again
+        Assert.assertEquals(legacyStatistics, Files.readString(metaFile));
+
+        history.writeRun(makeRun(3));
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson);
+        Assert.assertEquals(List.of("run3", "run2", "run1", "run0"), getIds(reloaded.readRuns(0, 10)));
+    }
+
+    @NotNull
+    private static TaskRunImpl makeRun(int index) {
+        return new TaskRunImpl("run" + index, new Date(START_TIME + index * 1000L), "user", "test", null, null);
+    }
+
+    @NotNull
+    private static List<String> getIds(@NotNull List<TaskRunImpl> runs) {
+        return runs.stream().map(TaskRunImpl::getId).toList();
+    }
+
+    @NotNull
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jsonl")).toList();
+        }
+    }
+}
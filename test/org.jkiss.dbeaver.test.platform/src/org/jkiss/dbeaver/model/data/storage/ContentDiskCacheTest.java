@@ -0,0 +1,194 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.storage;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class ContentDiskCacheTest extends DBeaverUnitTest {
+
+    private static final String TABLE_KEY = "ds1/public.documents";
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final ContentDiskCache cache = new ContentDiskCache();
+    private DBPPreferenceStore preferenceStore;
+
+    @Before
+    public void setUp() {
+        preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+        preferenceStore.setValue(ModelPreferences.CONTENT_DISK_CACHE_MAX_SIZE, 1024L);
+        preferenceStore.setValue(ModelPreferences.CONTENT_DISK_CACHE_TTL, 3600L);
+    }
+
+    @After
+    public void tearDown() {
+        cache.clear();
+        preferenceStore.setToDefault(ModelPreferences.CONTENT_DISK_CACHE_MAX_SIZE);
+        preferenceStore.setToDefault(ModelPreferences.CONTENT_DISK_CACHE_TTL);
+    }
+
+    @Test
+    public void testRowKeyValuesDoNotCollide() {
+        Assert.assertNotEquals(
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of("a/b", "c")),
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of("a", "b/c")));
+        Assert.assertNotEquals(
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data/1", List.of(2)),
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of("1/2")));
+        Assert.assertEquals(
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of(1, "x")),
+            ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of("1", "x")));
+    }
+
+    @Test
+    public void testLookupHitAndMiss() throws IOException {
+        String key = makeRowKey(1);
+        store(key, "content").release();
+
+        CachedContentStorage storage = cache.lookup(key, 7, null);
+        Assert.assertNotNull(storage);
+        Assert.assertEquals(7, storage.getContentLength());
+        storage.release();
+
+        Assert.assertNull(cache.lookup(makeRowKey(2), 7, null));
+        // Length mismatch means the value was changed, the key is dropped
+        Assert.assertNull(cache.lookup(key, 8, null));
+        Assert.assertNull(cache.lookup(key, 7, null));
+        Assert.assertEquals("files=1, size=7, hits=1, misses=3", cache.getStatistics());
+    }
+
+    @Test
+    public void testEqualContentIsStoredOnce() throws IOException {
+        CachedContentStorage first = store(makeRowKey(1), "content");
+        CachedContentStorage second = store(makeRowKey(2), "content");
+        Assert.assertEquals(first.getContentHash(), second.getContentHash());
+        Assert.assertTrue(cache.getStatistics().startsWith("files=1, size=7"));
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedUnusedFileIsEvicted() throws IOException, InterruptedException {
+        preferenceStore.setValue(ModelPreferences.CONTENT_DISK_CACHE_MAX_SIZE, 10L);
+        store(makeRowKey(1), "first").release();
+        Thread.sleep(5);
+        store(makeRowKey(2), "other").release();
+        Thread.sleep(5);
+
+        CachedContentStorage third = store(makeRowKey(3), "third");
+        Assert.assertNull(cache.lookup(makeRowKey(1), 5, null));
+        CachedContentStorage second = cache.lookup(makeRowKey(2), 5, null);
+        Assert.assertNotNull(second);
+
+        // Files in use are never removed, even if the cache is full
+        CachedContentStorage fourth = store(makeRowKey(4), "4th!!");
+        Assert.assertEquals("other", readContent(second));
+        Assert.assertEquals("third", readContent(third));
+        Assert.assertTrue(cache.getStatistics().startsWith("files=3, size=15"));
+
+        // Released files are evicted when the cache is over its size
+        fourth.release();
+        Assert.assertTrue(cache.getStatistics().startsWith("files=2, size=10"));
+        Assert.assertNull(cache.lookup(makeRowKey(4), 5, null));
+        second.release();
+        third.release();
+    }
+
+    @Test
+    public void testExpiredFileIsNotReturned() throws IOException, InterruptedException {
+        preferenceStore.setValue(ModelPreferences.CONTENT_DISK_CACHE_TTL, 0L);
+        store(makeRowKey(1), "content").release();
+        Thread.sleep(5);
+        Assert.assertNull(cache.lookup(makeRowKey(1), 7, null));
+    }
+
+    @Test
+    public void testDataChangeInvalidatesRowKeys() throws IOException {
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getId()).thenReturn("ds1");
+        String otherKey = ContentDiskCache.makeRowKey("ds10/public.documents", "data", List.of(1));
+        store(makeRowKey(1), "first").release();
+        store(makeRowKey(2), "other").release();
+        store(otherKey, "third").release();
+
+        cache.invalidate(makeRowKey(1));
+        Assert.assertNull(cache.lookup(makeRowKey(1), 5, null));
+        Assert.assertNotNull(reuse(makeRowKey(2)));
+
+        cache.invalidateDataSource(container);
+        Assert.assertNull(cache.lookup(makeRowKey(2), 5, null));
+        // Data source prefix doesn't match other data sources
+        Assert.assertNotNull(reuse(otherKey));
+        // Dropped keys don't remove files
+        Assert.assertTrue(cache.getStatistics().startsWith("files=3"));
+    }
+
+    @NotNull
+    private static String makeRowKey(long id) {
+        return ContentDiskCache.makeRowKey(TABLE_KEY, "data", List.of(id));
+    }
+
+    @Nullable
+    private String reuse(@NotNull String key) {
+        CachedContentStorage storage = cache.lookup(key, 5, null);
+        if (storage == null) {
+            return null;
+        }
+        storage.release();
+        return storage.getContentHash();
+    }
+
+    @NotNull
+    private CachedContentStorage store(@NotNull String key, @NotNull String content) throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        Path spoolFile = cache.createSpoolFile(monitor);
+        Files.write(spoolFile, data);
+        MessageDigest digest = ContentDiskCache.createDigest();
+        digest.update(data);
+        return cache.store(key, data.length, spoolFile, digest, null);
+    }
+
+    @NotNull
+    private static String readContent(@NotNull CachedContentStorage storage) throws IOException {
+        try (InputStream stream = storage.getContentStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
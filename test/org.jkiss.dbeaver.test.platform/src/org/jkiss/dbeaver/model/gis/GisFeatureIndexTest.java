@@ -0,0 +1,231 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jkiss.code.NotNull;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.Map;
+
+public class GisFeatureIndexTest extends DBeaverUnitTest {
+
+    private final Gson gson = new Gson();
+    private final GeometryFactory factory = new GeometryFactory();
+
+    @Test
+    public void testAllFeaturesAreReturnedUnderLimit() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(point(10, 10), Map.of("id", "first"));
+        index.addFeature(point(-10, -10), null);
+        index.addFeature(point(0, 0), Map.of("id", "third"));
+
+        JsonObject result = queryWorld(index, 5);
+        JsonArray features = result.getAsJsonArray("features");
+        Assert.assertEquals(3, features.size());
+        Assert.assertEquals(0, result.getAsJsonArray("clusters").size());
+        // Result set order is kept
+        Assert.assertEquals("first", getTipId(features.get(0)));
+        Assert.assertTrue(features.get(1).getAsJsonObject().get("tip") == null
+            || features.get(1).getAsJsonObject().get("tip").isJsonNull());
+        Assert.assertEquals("third", getTipId(features.get(2)));
+    }
+
+    @Test
+    public void testFeaturesOutOfViewAreSkipped() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(point(10, 10), Map.of("id", "inside"));
+        index.addFeature(point(100, 50), Map.of("id", "outside"));
+
+        JsonObject result = parse(index.queryFeatures(0, 0, 20, 20, 5));
+        JsonArray features = result.getAsJsonArray("features");
+        Assert.assertEquals(1, features.size());
+        Assert.assertEquals("inside", getTipId(features.get(0)));
+    }
+
+    @Test
+    public void testFeaturesAreClusteredOverLimit() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 2);
+        index.addFeature(point(0, 0), Map.of("id", "a"));
+        index.addFeature(point(1, 1), Map.of("id", "b"));
+        index.addFeature(point(2, 0), Map.of("id", "c"));
+        index.addFeature(point(60, 50), Map.of("id", "alone"));
+
+        // Cluster cell is ~34 degrees at zoom 1
+        JsonObject result = queryWorld(index, 1);
+        JsonArray clusters = result.getAsJsonArray("clusters");
+        Assert.assertEquals(1, clusters.size());
+        JsonObject cluster = clusters.get(0).getAsJsonObject();
+        Assert.assertEquals(3, cluster.get("count").getAsInt());
+        Assert.assertEquals(1, cluster.get("lng").getAsDouble(), 1e-9);
+        Assert.assertEquals(1.0 / 3, cluster.get("lat").getAsDouble(), 1e-9);
+        JsonArray bounds = cluster.getAsJsonArray("bounds");
+        Assert.assertEquals(0, bounds.get(0).getAsDouble(), 0);
+        Assert.assertEquals(0, bounds.get(1).getAsDouble(), 0);
+        Assert.assertEquals(1, bounds.get(2).getAsDouble(), 0);
+        Assert.assertEquals(2, bounds.get(3).getAsDouble(), 0);
+
+        // A feature alone in its cell is rendered as is
+        JsonArray features = result.getAsJsonArray("features");
+        Assert.assertEquals(1, features.size());
+        Assert.assertEquals("alone", getTipId(features.get(0)));
+    }
+
+    @Test
+    public void testGeometriesAreSimplifiedForZoom() throws ParseException {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(zigzag(101), null);
+
+        int fullVertices = getVertexCount(queryWorld(index, 20));
+        int overviewVertices = getVertexCount(queryWorld(index, 0));
+        Assert.assertEquals(101, fullVertices);
+        Assert.assertTrue(overviewVertices < fullVertices);
+        Assert.assertTrue(overviewVertices >= 2);
+    }
+
+    @Test
+    public void testSimplifiedGeometriesCacheIsEvicted() throws ParseException {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(zigzag(101), null);
+
+        String overview = index.queryFeatures(-180, -85, 180, 85, 0);
+        // Only a few zoom levels are cached, these evict zoom 0
+        for (int zoom = 20; zoom > 16; zoom--) {
+            Assert.assertEquals(101, getVertexCount(queryWorld(index, zoom)));
+        }
+        Assert.assertEquals(overview, index.queryFeatures(-180, -85, 180, 85, 0));
+    }
+
+    @Test
+    public void testPointsAreNotSimplified() throws ParseException {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(point(1.23456, 6.54321), null);
+
+        JsonObject result = queryWorld(index, 0);
+        Geometry geometry = new WKTReader().read(
+            result.getAsJsonArray("features").get(0).getAsJsonObject().get("wkt").getAsString());
+        Assert.assertEquals(point(1.23456, 6.54321), geometry);
+    }
+
+    @Test
+    public void testZoomIsClamped() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 1);
+        // Cluster cell is ~0.00002 degrees at zoom 22, so these points are clustered at the max zoom level only
+        index.addFeature(point(0, 0), null);
+        index.addFeature(point(0.000001, 0.000001), null);
+        index.addFeature(zigzag(101), null);
+
+        String maxZoom = index.queryFeatures(-1, -1, 1, 1, 22);
+        Assert.assertEquals(1, parse(maxZoom).getAsJsonArray("clusters").size());
+        Assert.assertEquals(maxZoom, index.queryFeatures(-1, -1, 1, 1, 100));
+
+        String minZoom = index.queryFeatures(-1, -1, 1, 1, -5);
+        Assert.assertEquals(minZoom, index.queryFeatures(-1, -1, 1, 1, -100));
+    }
+
+    @Test
+    public void testOverviewContainsAllFeatures() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 20);
+        for (int i = 0; i < 100; i++) {
+            // Half of the features is a dense clump, others are spread over the data bounds
+            Geometry geometry = i < 50 ? point(i * 0.00001, 0) : point(i % 10 * 3, i / 10 * 3);
+            index.addFeature(geometry, Map.of("id", String.valueOf(i)));
+        }
+        Assert.assertEquals(100, index.getFeatureCount());
+
+        JsonObject overview = parse(index.getOverviewFeatures());
+        int count = overview.getAsJsonArray("features").size();
+        for (JsonElement cluster : overview.getAsJsonArray("clusters")) {
+            count += cluster.getAsJsonObject().get("count").getAsInt();
+        }
+        Assert.assertEquals(100, count);
+        Assert.assertTrue(overview.getAsJsonArray("clusters").size() > 0);
+    }
+
+    @Test
+    public void testOverviewOfSinglePoint() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, true, 20);
+        index.addFeature(point(5, 5), null);
+
+        JsonObject overview = parse(index.getOverviewFeatures());
+        Assert.assertEquals(1, overview.getAsJsonArray("features").size());
+        Assert.assertEquals(
+            "L.latLngBounds(L.latLng(5.000000, 5.000000), L.latLng(5.000000, 5.000000))",
+            index.getBoundsExpression());
+    }
+
+    @Test
+    public void testEmptyGeometriesAreSkipped() {
+        GisFeatureIndex index = new GisFeatureIndex(gson, false, 10);
+        index.addFeature(factory.createPoint(), null);
+        index.addFeature(factory.createLineString(), null);
+        index.addFeature(point(1, 1), null);
+
+        Assert.assertEquals(1, index.getFeatureCount());
+        Assert.assertEquals(1, queryWorld(index, 3).getAsJsonArray("features").size());
+    }
+
+    @NotNull
+    private Geometry point(double x, double y) {
+        return factory.createPoint(new Coordinate(x, y));
+    }
+
+    /**
+     * Line with small teeth which disappear at low zoom levels
+     */
+    @NotNull
+    private Geometry zigzag(int vertexCount) {
+        Coordinate[] coordinates = new Coordinate[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            coordinates[i] = new Coordinate(i * 0.01, (i % 2) * 0.001);
+        }
+        return factory.createLineString(coordinates);
+    }
+
+    @NotNull
+    private static JsonObject queryWorld(@NotNull GisFeatureIndex index, int zoom) {
+        return parse(index.queryFeatures(-180, -85, 180, 85, zoom));
+    }
+
+    @NotNull
+    private static JsonObject parse(@NotNull String json) {
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    @NotNull
+    private static String getTipId(@NotNull JsonElement feature) {
+        return feature.getAsJsonObject().getAsJsonObject("tip").get("id").getAsString();
+    }
+
+    private static int getVertexCount(@NotNull JsonObject result) throws ParseException {
+        JsonArray features = result.getAsJsonArray("features");
+        Assert.assertEquals(1, features.size());
+        String wkt = features.get(0).getAsJsonObject().get("wkt").getAsString();
+        return new WKTReader().read(wkt).getNumPoints();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class IsolatedContextHolderTest extends DBeaverUnitTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final IsolatedContextHolder holder = new IsolatedContextHolder("Test");
+
+    @Test
+    public void testContextIsReusedForSameInstance() throws DBException {
+        DBSInstance instance = makeInstance();
+        DBCExecutionContext context = holder.getContext(monitor, makeObject(instance));
+        Assert.assertNotNull(context);
+        Assert.assertSame(context, holder.getContext(monitor, makeObject(instance)));
+        Mockito.verify(instance, Mockito.times(1)).openIsolatedContext(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        holder.close();
+        Mockito.verify(context).close();
+    }
+
+    @Test
+    public void testPreviousContextIsClosedOnInstanceChange() throws DBException {
+        DBSInstance first = makeInstance();
+        DBSInstance second = makeInstance();
+
+        DBCExecutionContext firstContext = holder.getContext(monitor, makeObject(first));
+        Assert.assertNotNull(firstContext);
+        DBCExecutionContext secondContext = holder.getContext(monitor, makeObject(second));
+        Assert.assertNotSame(firstContext, secondContext);
+        // Only one connection is open at a time
+        Mockito.verify(firstContext).close();
+        Mockito.verify(secondContext, Mockito.never()).close();
+
+        // Returning to the first instance opens a new context
+        Assert.assertNotSame(firstContext, holder.getContext(monitor, makeObject(first)));
+        Mockito.verify(secondContext).close();
+        Mockito.verify(first, Mockito.times(2)).openIsolatedContext(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testFailedOpenIsNotRepeated() throws DBException {
+        DBSInstance instance = Mockito.mock(DBSInstance.class);
+        Mockito.when(instance.openIsolatedContext(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenThrow(new DBException("Too many connections"));
+
+        Assert.assertNull(holder.getContext(monitor, makeObject(instance)));
+        Assert.assertNull(holder.getContext(monitor, makeObject(instance)));
+        Mockito.verify(instance, Mockito.times(1)).openIsolatedContext(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+        holder.close();
+    }
+
+    @NotNull
+    private static DBSInstance makeInstance() throws DBException {
+        DBSInstance instance = Mockito.mock(DBSInstance.class);
+        Mockito.when(instance.openIsolatedContext(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenAnswer(invocation -> Mockito.mock(DBCExecutionContext.class));
+        return instance;
+    }
+
+    @NotNull
+    private static DBSObject makeObject(@NotNull DBSInstance instance) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getParentObject()).thenReturn(instance);
+        return object;
+    }
+}
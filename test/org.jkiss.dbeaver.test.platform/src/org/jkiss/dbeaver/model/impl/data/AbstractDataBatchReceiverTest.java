@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class AbstractDataBatchReceiverTest extends DBeaverUnitTest {
+
+    private DBCSession session;
+    private DBCResultSet resultSet;
+    private int rowNumber;
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(DBCSession.class);
+        resultSet = Mockito.mock(DBCResultSet.class);
+        rowNumber = 0;
+    }
+
+    @Test
+    public void testRowsAreDeliveredInBatches() throws Exception {
+        TestReceiver receiver = new TestReceiver(3, longColumn(false), objectColumn(false));
+        fetch(receiver, 7);
+
+        Assert.assertEquals(List.of(3, 3, 1), receiver.batchSizes);
+        Assert.assertEquals(7, receiver.rows.size());
+        for (int i = 0; i < 7; i++) {
+            Assert.assertArrayEquals(new Object[]{(long) i, "value" + i}, receiver.rows.get(i));
+        }
+        Assert.assertTrue(receiver.fetchEnded);
+    }
+
+    @Test
+    public void testBatchHandlerFillsPrimitiveColumn() throws Exception {
+        TestReceiver receiver = new TestReceiver(10, longColumn(false), objectColumn(false));
+        fetch(receiver, 2);
+
+        Assert.assertEquals(DBDDataBatch.ColumnKind.LONG, receiver.columnKinds[0]);
+        Assert.assertEquals(DBDDataBatch.ColumnKind.OBJECT, receiver.columnKinds[1]);
+    }
+
+    @Test
+    public void testEmptyResultProducesNoBatches() throws Exception {
+        TestReceiver receiver = new TestReceiver(3, longColumn(false));
+        fetch(receiver, 0);
+
+        Assert.assertTrue(receiver.batchSizes.isEmpty());
+        Assert.assertTrue(receiver.fetchEnded);
+    }
+
+    @Test
+    public void testObjectColumnErrorBecomesValueError() throws Exception {
+        TestReceiver receiver = new TestReceiver(10, objectColumn(true), longColumn(false));
+        fetch(receiver, 3);
+
+        Assert.assertEquals(3, receiver.rows.size());
+        for (int i = 0; i < 3; i++) {
+            Object[] row = receiver.rows.get(i);
+            Assert.assertTrue(row[0] instanceof DBDValueError);
+            // Other columns of the row are still read
+            Assert.assertEquals((long) i, row[1]);
+        }
+    }
+
+    @Test
+    public void testPrimitiveColumnErrorBecomesNull() throws Exception {
+        TestReceiver receiver = new TestReceiver(10, longColumn(true), objectColumn(false));
+        fetch(receiver, 2);
+
+        Assert.assertEquals(2, receiver.rows.size());
+        for (int i = 0; i < 2; i++) {
+            Object[] row = receiver.rows.get(i);
+            Assert.assertNull(row[0]);
+            Assert.assertEquals("value" + i, row[1]);
+        }
+    }
+
+    @Test
+    public void testUntypedColumnIsNull() throws Exception {
+        DBDAttributeBinding untyped = Mockito.mock(DBDAttributeBinding.class);
+        TestReceiver receiver = new TestReceiver(10, untyped, objectColumn(false));
+        fetch(receiver, 1);
+
+        Assert.assertArrayEquals(new Object[]{null, "value0"}, receiver.rows.get(0));
+    }
+
+    private void fetch(@NotNull TestReceiver receiver, int rowCount) throws DBCException {
+        receiver.fetchStart(session, resultSet, 0, 0);
+        for (rowNumber = 0; rowNumber < rowCount; rowNumber++) {
+            receiver.fetchRow(session, resultSet);
+        }
+        receiver.fetchEnd(session, resultSet);
+    }
+
+    private DBDAttributeBinding longColumn(boolean failing) throws DBCException {
+        DBDValueBatchHandler handler = Mockito.mock(DBDValueBatchHandler.class);
+        Mockito.when(handler.getBatchColumnKind(ArgumentMatchers.any())).thenReturn(DBDDataBatch.ColumnKind.LONG);
+        Mockito.doAnswer(invocation -> {
+            if (failing) {
+                throw new DBCException("Broken value");
+            }
+            DBDDataBatch.Column column = invocation.getArgument(4);
+            column.setLong(invocation.getArgument(5), rowNumber);
+            return null;
+        }).when(handler).fetchBatchValue(
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.anyInt(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+        return makeBinding(handler);
+    }
+
+    private DBDAttributeBinding objectColumn(boolean failing) throws DBCException {
+        DBDValueHandler handler = Mockito.mock(DBDValueHandler.class);
+        Mockito.when(handler.fetchValueObject(
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()
+        )).thenAnswer(invocation -> {
+            if (failing) {
+                throw new DBCException("Broken value");
+            }
+            return "value" + rowNumber;
+        });
+        return makeBinding(handler);
+    }
+
+    private static DBDAttributeBinding makeBinding(@NotNull DBDValueHandler handler) {
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(binding.getAttribute()).thenReturn(Mockito.mock(DBSAttributeBase.class));
+        Mockito.when(binding.getValueHandler()).thenReturn(handler);
+        Mockito.when(binding.getName()).thenReturn("column");
+        return binding;
+    }
+
+    private static class TestReceiver extends AbstractDataBatchReceiver {
+        private final DBDAttributeBinding[] bindings;
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private DBDDataBatch.ColumnKind[] columnKinds;
+        private boolean fetchEnded;
+
+        TestReceiver(int batchSize, @NotNull DBDAttributeBinding... bindings) {
+            super(batchSize);
+            this.bindings = bindings;
+        }
+
+        @NotNull
+        @Override
+        protected DBDAttributeBinding[] startFetch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) {
+            return bindings;
+        }
+
+        @Override
+        protected void fetchBatch(@NotNull DBCSession session, @NotNull DBDDataBatch batch) {
+            batchSizes.add(batch.getRowCount());
+            columnKinds = new DBDDataBatch.ColumnKind[batch.getColumnCount()];
+            for (int i = 0; i < columnKinds.length; i++) {
+                columnKinds[i] = batch.getColumn(i).getKind();
+            }
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                rows.add(batch.getRow(i));
+            }
+        }
+
+        @Override
+        protected void endFetch(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+            fetchEnded = true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePairExt;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class AttributeEnumerationCacheTest extends DBeaverUnitTest {
+
+    private final AttributeEnumerationCache cache = AttributeEnumerationCache.getInstance();
+
+    private DBPPreferenceStore preferenceStore;
+    private DBSEntity table;
+    private DBSEntityAttribute nameColumn;
+    private DBSEntityAttribute typeColumn;
+
+    @Before
+    public void setUp() {
+        preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        setTTL(300);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+
+        table = Mockito.mock(DBSEntity.class);
+        nameColumn = makeAttribute(table, dataSource, "name");
+        typeColumn = makeAttribute(table, dataSource, "type");
+    }
+
+    @After
+    public void tearDown() {
+        cache.invalidateAll();
+    }
+
+    @Test
+    public void testCachedValuesAreReturned() {
+        cache.putValues(nameColumn, "a%,count", List.of(new DBDLabelValuePair("alpha", "alpha")));
+
+        List<DBDLabelValuePair> values = cache.getValues(nameColumn, "a%,count");
+        Assert.assertNotNull(values);
+        Assert.assertEquals(1, values.size());
+        Assert.assertEquals("alpha", values.get(0).getValue());
+    }
+
+    @Test
+    public void testKeyIncludesAttributeAndOptions() {
+        cache.putValues(nameColumn, "a%,count", List.of(new DBDLabelValuePair("alpha", "alpha")));
+
+        Assert.assertNull(cache.getValues(nameColumn, "b%,count"));
+        Assert.assertNull(cache.getValues(nameColumn, "a%"));
+        Assert.assertNull(cache.getValues(typeColumn, "a%,count"));
+    }
+
+    @Test
+    public void testCountsAreCopied() {
+        DBDLabelValuePairExt pair = new DBDLabelValuePairExt("alpha", "alpha", 5);
+        cache.putValues(nameColumn, "count", List.of(pair));
+        // Changes of the source list must not affect cached values
+        pair.incCount();
+
+        List<DBDLabelValuePair> values = cache.getValues(nameColumn, "count");
+        Assert.assertNotNull(values);
+        Assert.assertEquals(5, ((DBDLabelValuePairExt) values.get(0)).getCount());
+        // Neither changes of the returned list
+        ((DBDLabelValuePairExt) values.get(0)).incCount();
+        values.clear();
+
+        List<DBDLabelValuePair> valuesAgain = cache.getValues(nameColumn, "count");
+        Assert.assertNotNull(valuesAgain);
+        Assert.assertEquals(1, valuesAgain.size());
+        Assert.assertEquals(5, ((DBDLabelValuePairExt) valuesAgain.get(0)).getCount());
+    }
+
+    @Test
+    public void testInvalidateDropsAllAttributesOfEntity() {
+        DBSEntity otherTable = Mockito.mock(DBSEntity.class);
+        DBSEntityAttribute otherColumn = makeAttribute(otherTable, nameColumn.getDataSource(), "name");
+        cache.putValues(nameColumn, "", List.of(new DBDLabelValuePair("alpha", "alpha")));
+        cache.putValues(typeColumn, "", List.of(new DBDLabelValuePair("beta", "beta")));
+        cache.putValues(otherColumn, "", List.of(new DBDLabelValuePair("gamma", "gamma")));
+
+        cache.invalidate(table);
+
+        Assert.assertNull(cache.getValues(nameColumn, ""));
+        Assert.assertNull(cache.getValues(typeColumn, ""));
+        Assert.assertNotNull(cache.getValues(otherColumn, ""));
+    }
+
+    @Test
+    public void testZeroTTLDisablesCache() {
+        setTTL(0);
+        cache.putValues(nameColumn, "", List.of(new DBDLabelValuePair("alpha", "alpha")));
+        Assert.assertNull(cache.getValues(nameColumn, ""));
+
+        // Values cached before the cache was disabled are not returned either
+        setTTL(300);
+        cache.putValues(nameColumn, "", List.of(new DBDLabelValuePair("alpha", "alpha")));
+        setTTL(0);
+        Assert.assertNull(cache.getValues(nameColumn, ""));
+    }
+
+    @Test
+    public void testValuesExpire() throws InterruptedException {
+        setTTL(1);
+        cache.putValues(nameColumn, "", List.of(new DBDLabelValuePair("alpha", "alpha")));
+        Assert.assertNotNull(cache.getValues(nameColumn, ""));
+
+        Thread.sleep(1100);
+        Assert.assertNull(cache.getValues(nameColumn, ""));
+    }
+
+    @Test
+    public void testEntityCacheSizeIsLimited() {
+        for (int i = 0; i <= 50; i++) {
+            cache.putValues(nameColumn, "pattern" + i, List.of(new DBDLabelValuePair("alpha", "alpha")));
+        }
+        // The least recently used enumeration is evicted
+        Assert.assertNull(cache.getValues(nameColumn, "pattern0"));
+        Assert.assertNotNull(cache.getValues(nameColumn, "pattern50"));
+    }
+
+    private void setTTL(long seconds) {
+        Mockito.when(preferenceStore.getLong(ModelPreferences.DICTIONARY_CACHE_TTL)).thenReturn(seconds);
+    }
+
+    @NotNull
+    private static DBSEntityAttribute makeAttribute(@NotNull DBSEntity entity, @NotNull DBPDataSource dataSource, @NotNull String name) {
+        DBSEntityAttribute attribute = Mockito.mock(DBSEntityAttribute.class);
+        Mockito.when(attribute.getParentObject()).thenReturn(entity);
+        Mockito.when(attribute.getDataSource()).thenReturn(dataSource);
+        Mockito.when(attribute.getName()).thenReturn(name);
+        return attribute;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.regex.Pattern;
+
+public class CellTextIndexTest extends DBeaverUnitTest {
+
+    private final Object[] columns = {"id", "name"};
+
+    @Test
+    public void testRowsAreIndexedSequentially() {
+        Object[] rows = makeRows(3);
+        CellTextIndex index = new CellTextIndex(columns, rows);
+        Assert.assertFalse(index.isComplete());
+        Assert.assertNull(index.getText(0, 0));
+
+        index.addRow(new String[]{"1", "alpha"});
+        Assert.assertEquals(1, index.getIndexedRows());
+        Assert.assertEquals("alpha", index.getText(0, 1));
+        // Not indexed yet
+        Assert.assertNull(index.getText(1, 1));
+
+        index.addRow(new String[]{"2", "beta"});
+        index.addRow(new String[]{"3", "gamma"});
+        Assert.assertTrue(index.isComplete());
+        Assert.assertThrows(IllegalStateException.class, () -> index.addRow(new String[]{"4", "delta"}));
+    }
+
+    @Test
+    public void testRowWidthIsChecked() {
+        CellTextIndex index = new CellTextIndex(columns, makeRows(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> index.addRow(new String[]{"1"}));
+    }
+
+    @Test
+    public void testAppendedPageKeepsIndexedRows() {
+        Object[] rows = makeRows(3);
+        CellTextIndex index = fill(new CellTextIndex(columns, rows));
+
+        Object[] moreRows = new Object[5];
+        System.arraycopy(rows, 0, moreRows, 0, rows.length);
+        moreRows[3] = new Object();
+        moreRows[4] = new Object();
+        Assert.assertFalse(index.isSameLayout(columns, moreRows));
+
+        CellTextIndex newIndex = new CellTextIndex(columns, moreRows, index);
+        Assert.assertEquals(3, newIndex.getIndexedRows());
+        Assert.assertEquals("name2", newIndex.getText(2, 1));
+        Assert.assertEquals(5, newIndex.getRowCount());
+    }
+
+    @Test
+    public void testChangedRowsAreIndexedAgain() {
+        Object[] rows = makeRows(3);
+        CellTextIndex index = fill(new CellTextIndex(columns, rows));
+
+        Object[] newRows = rows.clone();
+        newRows[1] = new Object();
+        CellTextIndex newIndex = new CellTextIndex(columns, newRows, index);
+        // Rows after the first changed row are dropped too
+        Assert.assertEquals(1, newIndex.getIndexedRows());
+
+        CellTextIndex otherColumns = new CellTextIndex(new Object[]{"id"}, rows, index);
+        Assert.assertEquals(0, otherColumns.getIndexedRows());
+    }
+
+    @Test
+    public void testFindAllReturnsOrderedPositions() {
+        CellTextIndex index = new CellTextIndex(columns, makeRows(3));
+        index.addRow(new String[]{"1", "apple"});
+        index.addRow(new String[]{"2", null});
+        index.addRow(new String[]{"app", "pineapple"});
+
+        long[] matches = index.findAll(Pattern.compile("app"), new VoidProgressMonitor());
+        Assert.assertNotNull(matches);
+        Assert.assertArrayEquals(new long[]{1, 4, 5}, matches);
+
+        Assert.assertTrue(index.isMatch(matches, 0, 1));
+        Assert.assertTrue(index.isMatch(matches, 2, 0));
+        Assert.assertFalse(index.isMatch(matches, 0, 0));
+        Assert.assertFalse(index.isMatch(matches, 1, 1));
+        Assert.assertFalse(index.isMatch(matches, 0, -1));
+    }
+
+    @Test
+    public void testFindAllIsCanceled() {
+        CellTextIndex index = fill(new CellTextIndex(columns, makeRows(2)));
+        DBRProgressMonitor monitor = Mockito.mock(DBRProgressMonitor.class);
+        Mockito.when(monitor.isCanceled()).thenReturn(true);
+        Assert.assertNull(index.findAll(Pattern.compile("name"), monitor));
+    }
+
+    @Test
+    public void testUpdatedTextIsSearched() {
+        CellTextIndex index = fill(new CellTextIndex(columns, makeRows(2)));
+        index.setText(1, 1, "replaced");
+        // Cells which aren't indexed are ignored
+        index.setText(5, 1, "replaced");
+
+        long[] matches = index.findAll(Pattern.compile("replaced"), new VoidProgressMonitor());
+        Assert.assertArrayEquals(new long[]{3}, matches);
+    }
+
+    @Test
+    public void testColumnIndexUsesIdentity() {
+        Object[] gridColumns = {new String("id"), new String("id")};
+        CellTextIndex index = new CellTextIndex(gridColumns, makeRows(1));
+        Assert.assertEquals(0, index.getColumnIndex(gridColumns[0]));
+        Assert.assertEquals(1, index.getColumnIndex(gridColumns[1]));
+        Assert.assertEquals(-1, index.getColumnIndex("id"));
+    }
+
+    @NotNull
+    private static Object[] makeRows(int count) {
+        Object[] rows = new Object[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object();
+        }
+        return rows;
+    }
+
+    @NotNull
+    private static CellTextIndex fill(@NotNull CellTextIndex index) {
+        for (int i = index.getIndexedRows(); i < index.getRowCount(); i++) {
+            index.addRow(new String[]{String.valueOf(i), "name" + i});
+        }
+        return index;
+    }
+}
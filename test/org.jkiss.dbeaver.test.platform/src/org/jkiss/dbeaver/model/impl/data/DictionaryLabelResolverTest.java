@@ -0,0 +1,226 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDictionary;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class DictionaryLabelResolverTest extends DBeaverUnitTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final DictionaryLabelResolver resolver = DictionaryLabelResolver.getInstance();
+    // Keys read from the dictionary
+    private final List<Object> readKeys = new ArrayList<>();
+
+    private DBPPreferenceStore preferenceStore;
+    private JDBCDataSource dataSource;
+    private DBSEntity table;
+    private DBSEntityAttribute keyColumn;
+
+    @Before
+    public void setUp() {
+        preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        setCacheLimits(100, 300);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(container.getDriver()).thenReturn(Mockito.mock(DBPDriver.class));
+        Mockito.when(container.getDefaultValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        dataSource = Mockito.mock(JDBCDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+
+        table = makeTable();
+        keyColumn = makeKeyColumn(table);
+    }
+
+    @After
+    public void tearDown() {
+        resolver.invalidateAll();
+    }
+
+    @Test
+    public void testLabelIsReadOnce() throws DBException {
+        DBDLabelValuePair label = resolve(table, 1);
+        Assert.assertNotNull(label);
+        Assert.assertEquals("label 1", label.getLabel());
+        // Numbers of different types get the same key
+        Assert.assertSame(label, resolve(table, 1L));
+        // Missing keys are cached too
+        Assert.assertNull(resolve(table, 404));
+        Assert.assertNull(resolve(table, 404));
+        Assert.assertEquals(List.of(1, 404), readKeys);
+    }
+
+    @Test
+    public void testDefaultReaderQueriesDictionary() throws DBException {
+        DBDLabelValuePair label = new DBDLabelValuePair("label 1", 1);
+        Mockito.when(((DBSDictionary) table).getDictionaryValues(
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.any(), ArgumentMatchers.anyBoolean(), ArgumentMatchers.anyBoolean(), ArgumentMatchers.anyBoolean()))
+            .thenReturn(List.of(label));
+
+        Assert.assertSame(label, resolver.resolveLabel(monitor, (DBSDictionary) table, keyColumn, 1));
+        Assert.assertSame(label, resolver.resolveLabel(monitor, (DBSDictionary) table, keyColumn, 1));
+        Mockito.verify((DBSDictionary) table, Mockito.times(1)).getDictionaryValues(
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.any(), ArgumentMatchers.anyBoolean(), ArgumentMatchers.anyBoolean(), ArgumentMatchers.anyBoolean());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedLabelIsEvicted() throws DBException {
+        setCacheLimits(2, 300);
+        resolve(table, 1);
+        resolve(table, 2);
+        resolve(table, 1);
+        resolve(table, 3);
+
+        resolve(table, 1);
+        resolve(table, 2);
+        Assert.assertEquals(List.of(1, 2, 3, 2), readKeys);
+    }
+
+    @Test
+    public void testLabelsExpire() throws DBException, InterruptedException {
+        setCacheLimits(100, 1);
+        resolve(table, 1);
+        resolve(table, 1);
+        Thread.sleep(1100);
+        resolve(table, 1);
+        Assert.assertEquals(List.of(1, 1), readKeys);
+    }
+
+    @Test
+    public void testZeroLimitsDisableCache() throws DBException {
+        setCacheLimits(100, 0);
+        resolve(table, 1);
+        resolve(table, 1);
+        setCacheLimits(0, 300);
+        resolve(table, 1);
+        resolve(table, 1);
+        Assert.assertEquals(List.of(1, 1, 1, 1), readKeys);
+    }
+
+    @Test
+    public void testInvalidateDropsLabelsOfEntity() throws DBException {
+        DBSEntity otherTable = makeTable();
+        resolve(table, 1);
+        resolve(otherTable, 1);
+
+        resolver.invalidate(table);
+        resolve(table, 1);
+        resolve(otherTable, 1);
+        Assert.assertEquals(List.of(1, 1, 1), readKeys);
+    }
+
+    @Test
+    public void testLabelsAreInvalidatedAfterCommit() throws Exception {
+        JDBCExecutionContext context = openContext();
+        DBCSession session = Mockito.mock(DBCSession.class);
+        resolve(table, 1);
+
+        // Changes were rolled back, so cached labels are still valid
+        context.runAfterCommit(() -> resolver.invalidate(table));
+        context.rollback(session, null);
+        context.commit(session);
+        resolve(table, 1);
+        Assert.assertEquals(List.of(1), readKeys);
+
+        // Data change is visible to other connections only after commit
+        context.runAfterCommit(() -> resolver.invalidate(table));
+        resolve(table, 1);
+        Assert.assertEquals(List.of(1), readKeys);
+        context.commit(session);
+        resolve(table, 1);
+        Assert.assertEquals(List.of(1, 1), readKeys);
+    }
+
+    @Nullable
+    private DBDLabelValuePair resolve(@NotNull DBSEntity entity, @NotNull Object keyValue) throws DBException {
+        return resolver.resolveLabel(monitor, (DBSDictionary) entity, entity == table ? keyColumn : makeKeyColumn(entity), keyValue, this::readLabels);
+    }
+
+    @NotNull
+    private List<DBDLabelValuePair> readLabels(@NotNull Object keyValue) {
+        readKeys.add(keyValue);
+        if (keyValue.equals(404)) {
+            return List.of();
+        }
+        return List.of(new DBDLabelValuePair("label " + keyValue, keyValue));
+    }
+
+    private void setCacheLimits(int maxSize, long ttlSeconds) {
+        Mockito.when(preferenceStore.getInt(ModelPreferences.DICTIONARY_CACHE_MAX_SIZE)).thenReturn(maxSize);
+        Mockito.when(preferenceStore.getLong(ModelPreferences.DICTIONARY_CACHE_TTL)).thenReturn(ttlSeconds);
+    }
+
+    /**
+     * Makes execution context with a mocked connection, without connecting to a database
+     */
+    @NotNull
+    private JDBCExecutionContext openContext() throws ReflectiveOperationException {
+        JDBCRemoteInstance instance = Mockito.mock(JDBCRemoteInstance.class);
+        Mockito.when(instance.getDataSource()).thenReturn(dataSource);
+        JDBCExecutionContext context = new JDBCExecutionContext(instance, true);
+        Field connectionField = JDBCExecutionContext.class.getDeclaredField("connection");
+        connectionField.setAccessible(true);
+        connectionField.set(context, Mockito.mock(Connection.class));
+        return context;
+    }
+
+    @NotNull
+    private static DBSEntity makeTable() {
+        return Mockito.mock(DBSEntity.class, Mockito.withSettings().extraInterfaces(DBSDictionary.class));
+    }
+
+    @NotNull
+    private DBSEntityAttribute makeKeyColumn(@NotNull DBSEntity entity) {
+        DBSEntityAttribute attribute = Mockito.mock(DBSEntityAttribute.class);
+        Mockito.when(attribute.getParentObject()).thenReturn(entity);
+        Mockito.when(attribute.getDataSource()).thenReturn(dataSource);
+        Mockito.when(attribute.getName()).thenReturn("id");
+        return attribute;
+    }
+}
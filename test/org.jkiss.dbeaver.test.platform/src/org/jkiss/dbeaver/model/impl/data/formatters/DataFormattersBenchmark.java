@@ -0,0 +1,87 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of shared number and date formatters used by 1 to 16 threads (like parallel data export does).
+ * <p>
+ * Not a unit test, run it with main method. Optional argument: measured milliseconds per threads count.
+ */
+public class DataFormattersBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws Exception {
+        long durationMs = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        NumberDataFormatter numberFormatter = new NumberDataFormatter();
+        numberFormatter.init(null, Locale.US, new NumberFormatSample().getDefaultProperties(Locale.US));
+        DateTimeDataFormatter dateFormatter = new DateTimeDataFormatter();
+        dateFormatter.init(null, Locale.US, Map.of(DateTimeDataFormatter.PROP_PATTERN, "yyyy-MM-dd HH:mm:ss.SSS"));
+
+        Object[] numbers = {12345L, 987654321, 12.5, 1234567890.012345, 42.0};
+        Object[] dates = {new Timestamp(System.currentTimeMillis()), new java.util.Date(0), new Timestamp(1234567890123L)};
+
+        for (int threads : THREAD_COUNTS) {
+            long numberOps = run(threads, durationMs, i -> numberFormatter.formatValue(numbers[i % numbers.length]));
+            long dateOps = run(threads, durationMs, i -> dateFormatter.formatValue(dates[i % dates.length]));
+            System.out.printf("%2d threads: numbers %12d ops/s, dates %12d ops/s%n",
+                threads, numberOps * 1000 / durationMs, dateOps * 1000 / durationMs);
+        }
+    }
+
+    private static long run(int threads, long durationMs, FormatTask task) throws InterruptedException {
+        AtomicLong operations = new AtomicLong();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                while (System.currentTimeMillis() < deadline[0]) {
+                    for (int i = 0; i < 1000; i++) {
+                        task.format(i);
+                    }
+                    count += 1000;
+                }
+                operations.addAndGet(count);
+                endLatch.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        deadline[0] = System.currentTimeMillis() + durationMs;
+        startLatch.countDown();
+        endLatch.await();
+        return operations.get();
+    }
+
+    private interface FormatTask {
+        void format(int index);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DataFormattersTest extends DBeaverUnitTest {
+
+    private static final Object[] NUMBERS = {
+        0, 1, -1, 999, 1000, -123456789, Long.MAX_VALUE, Long.MIN_VALUE, (short) -1234, (byte) 12,
+        0.0, -0.0, 3.0, -12345678.0, 1e15, 1.5, -0.125, 1234567890.012345, 12.0f, 1.25f,
+        new BigDecimal("12345.6789"), Double.NaN
+    };
+
+    @Test
+    public void testNumberFormatMatchesDecimalFormat() {
+        for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("ru", "RU")}) {
+            for (boolean grouping : new boolean[] {true, false}) {
+                Map<String, Object> properties = new NumberFormatSample().getDefaultProperties(locale);
+                properties.put(NumberFormatSample.PROP_USE_GROUPING, grouping);
+                NumberDataFormatter formatter = new NumberDataFormatter();
+                formatter.init(null, locale, properties);
+
+                DecimalFormat expectedFormat = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+                expectedFormat.setGroupingUsed(grouping);
+                for (Object value : NUMBERS) {
+                    Object expectedValue = value;
+                    if ((value instanceof Double || value instanceof Float) && !value.equals(Double.NaN)) {
+                        expectedValue = new BigDecimal(value.toString());
+                    }
+                    Assert.assertEquals(
+                        locale + " " + value,
+                        expectedFormat.format(expectedValue),
+                        formatter.formatValue(value));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDateFormatMatchesSimpleDateFormat() {
+        for (String pattern : new String[] {"yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd", "HH:mm:ss", "dd MMM yyyy"}) {
+            DateTimeDataFormatter formatter = new DateTimeDataFormatter();
+            formatter.init(null, Locale.US, Map.of(DateTimeDataFormatter.PROP_PATTERN, pattern));
+            SimpleDateFormat expectedFormat = new SimpleDateFormat(pattern, Locale.US);
+            Random random = new Random(1);
+            for (int i = 0; i < 1000; i++) {
+                // Years 1000..3000, before Gregorian cutover too
+                long time = -30610224000000L + (long) (random.nextDouble() * 63113904000000L);
+                Date date = i % 2 == 0 ? new Date(time) : new Timestamp(time);
+                Assert.assertEquals(pattern + " " + time, expectedFormat.format(date), formatter.formatValue(date));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentFormatting() throws Exception {
+        NumberDataFormatter formatter = new NumberDataFormatter();
+        formatter.init(null, Locale.US, new NumberFormatSample().getDefaultProperties(Locale.US));
+        List<String> expected = new ArrayList<>();
+        for (Object value : NUMBERS) {
+            expected.add(formatter.formatValue(value));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int index = i % NUMBERS.length;
+                        if (!expected.get(index).equals(formatter.formatValue(NUMBERS[index]))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.AbstractDataBatchReceiver;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStandardValueHandlerProvider;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.mockito.Mockito;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and allocation of the result set fetch pipeline: {@link JDBCResultSetImpl#next()} and
+ * value handlers' {@code fetchValueObject} for each column, rows collected the same way as result set viewer
+ * data receiver does.
+ * <p>
+ * Rows come from an in-memory driver result set, so measured time doesn't include network and driver decoding.
+ * The same rows are also read directly from the driver result set ("driver" numbers), the difference is
+ * the cost of DBeaver fetch pipeline. "Batch" numbers are for the same pipeline with rows read into
+ * column buffers ({@link DBDDataBatch}) the way {@link AbstractDataBatchReceiver} does.
+ * <p>
+ * Not a unit test, run it with main method. Optional arguments: rows per pass and number of measured passes.
+ */
+public class JDBCFetchBenchmark {
+
+    private static final int[] COLUMN_COUNTS = {1, 10, 50};
+    private static final int DISTINCT_ROWS = 1024;
+
+    private static final ColumnType[] COLUMN_TYPES = {
+        new ColumnType("INTEGER", Types.INTEGER, DBPDataKind.NUMERIC, 10, 0),
+        new ColumnType("DECIMAL", Types.DECIMAL, DBPDataKind.NUMERIC, 18, 4),
+        new ColumnType("DOUBLE", Types.DOUBLE, DBPDataKind.NUMERIC, 17, 0),
+        new ColumnType("VARCHAR", Types.VARCHAR, DBPDataKind.STRING, 16, 0),
+        new ColumnType("VARCHAR", Types.VARCHAR, DBPDataKind.STRING, 1024, 0),
+        new ColumnType("TIMESTAMP", Types.TIMESTAMP, DBPDataKind.DATETIME, 23, 3),
+        new ColumnType("VARBINARY", Types.VARBINARY, DBPDataKind.BINARY, 64, 0),
+    };
+
+    public static void main(String[] args) throws Exception {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        JDBCDataSource dataSource = Mockito.mock(JDBCDataSource.class, Mockito.withSettings().stubOnly());
+        Mockito.when(dataSource.getName()).thenReturn("Benchmark");
+        JDBCRemoteInstance instance = Mockito.mock(JDBCRemoteInstance.class, Mockito.withSettings().stubOnly());
+        Mockito.when(instance.getDataSource()).thenReturn(dataSource);
+        JDBCExecutionContext executionContext = new JDBCExecutionContext(instance, true);
+        JDBCSession session = createSession(dataSource, executionContext);
+        JDBCStandardValueHandlerProvider handlerProvider = new JDBCStandardValueHandlerProvider();
+        BenchmarkFormatSettings formatSettings = new BenchmarkFormatSettings();
+
+        System.out.printf("%-16s %7s %14s %14s %14s %12s %12s %12s%n",
+            "Type", "Columns", "Driver rows/s", "Fetch rows/s", "Batch rows/s", "Driver B/row", "Fetch B/row", "Batch B/row");
+        for (ColumnType columnType : COLUMN_TYPES) {
+            DBDValueHandler valueHandler = handlerProvider.getValueHandler(dataSource, formatSettings, columnType);
+            for (int columnCount : COLUMN_COUNTS) {
+                Object[][] data = generateData(columnType, columnCount);
+                DBDValueHandler[] handlers = new DBDValueHandler[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    handlers[i] = valueHandler;
+                }
+                // Warm up
+                for (int i = 0; i < 2; i++) {
+                    runDriver(data, rowCount);
+                    runFetch(session, columnType, handlers, data, rowCount);
+                    runBatchFetch(session, columnType, handlers, data, rowCount);
+                }
+                Measure driver = new Measure();
+                Measure fetch = new Measure();
+                Measure batchFetch = new Measure();
+                for (int i = 0; i < passes; i++) {
+                    driver.measure(rowCount, () -> runDriver(data, rowCount));
+                    fetch.measure(rowCount, () -> runFetch(session, columnType, handlers, data, rowCount));
+                    batchFetch.measure(rowCount, () -> runBatchFetch(session, columnType, handlers, data, rowCount));
+                }
+                System.out.printf("%-16s %7d %14d %14d %14d %12d %12d %12d%n",
+                    columnType.getFullTypeName(), columnCount,
+                    driver.getRowsPerSecond(), fetch.getRowsPerSecond(), batchFetch.getRowsPerSecond(),
+                    driver.getBytesPerRow(), fetch.getBytesPerRow(), batchFetch.getBytesPerRow());
+            }
+        }
+    }
+
+    private static void runDriver(Object[][] data, int rowCount) throws Exception {
+        try (ResultSet resultSet = createDriverResultSet(data, rowCount)) {
+            int columnCount = data[0].length;
+            while (resultSet.next()) {
+                for (int i = 1; i <= columnCount; i++) {
+                    resultSet.getObject(i);
+                }
+            }
+        }
+    }
+
+    private static void runFetch(
+        @NotNull JDBCSession session,
+        @NotNull DBSTypedObject columnType,
+        @NotNull DBDValueHandler[] handlers,
+        @NotNull Object[][] data,
+        int rowCount
+    ) throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        try (BenchmarkResultSet resultSet = new BenchmarkResultSet(session, createDriverResultSet(data, rowCount))) {
+            while (resultSet.nextRow()) {
+                Object[] row = new Object[handlers.length];
+                for (int i = 0; i < handlers.length; i++) {
+                    row[i] = handlers[i].fetchValueObject(session, resultSet, columnType, i);
+                }
+                rows.add(row);
+            }
+        }
+        if (rows.size() != rowCount) {
+            throw new IllegalStateException("Wrong number of rows fetched: " + rows.size());
+        }
+    }
+
+    private static void runBatchFetch(
+        @NotNull JDBCSession session,
+        @NotNull DBSTypedObject columnType,
+        @NotNull DBDValueHandler[] handlers,
+        @NotNull Object[][] data,
+        int rowCount
+    ) throws Exception {
+        DBDDataBatch.ColumnKind[] columnKinds = new DBDDataBatch.ColumnKind[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            columnKinds[i] = handlers[i] instanceof DBDValueBatchHandler batchHandler ?
+                batchHandler.getBatchColumnKind(columnType) : DBDDataBatch.ColumnKind.OBJECT;
+        }
+        DBDDataBatch batch = new DBDDataBatch(columnKinds, AbstractDataBatchReceiver.DEFAULT_BATCH_SIZE);
+        long fetched = 0;
+        try (BenchmarkResultSet resultSet = new BenchmarkResultSet(session, createDriverResultSet(data, rowCount))) {
+            while (resultSet.nextRow()) {
+                int row = batch.addRow();
+                for (int i = 0; i < handlers.length; i++) {
+                    DBDDataBatch.Column column = batch.getColumn(i);
+                    if (column.getKind() != DBDDataBatch.ColumnKind.OBJECT) {
+                        ((DBDValueBatchHandler) handlers[i]).fetchBatchValue(session, resultSet, columnType, i, column, row);
+                    } else {
+                        column.setObject(row, handlers[i].fetchValueObject(session, resultSet, columnType, i));
+                    }
+                }
+                if (batch.isFull()) {
+                    fetched += batch.getRowCount();
+                    batch.clear();
+                }
+            }
+        }
+        fetched += batch.getRowCount();
+        if (fetched != rowCount) {
+            throw new IllegalStateException("Wrong number of rows fetched: " + fetched);
+        }
+    }
+
+    private static Object[][] generateData(@NotNull ColumnType columnType, int columnCount) {
+        Object[][] data = new Object[DISTINCT_ROWS][columnCount];
+        for (int r = 0; r < DISTINCT_ROWS; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                long seed = (long) r * columnCount + c;
+                data[r][c] = switch (columnType.typeId) {
+                    case Types.INTEGER -> seed * 7919;
+                    case Types.DECIMAL -> BigDecimal.valueOf(seed * 104729, 4);
+                    case Types.DOUBLE -> seed / 3.0;
+                    case Types.TIMESTAMP -> new Timestamp(1_700_000_000_000L + seed * 1000);
+                    case Types.VARBINARY -> new byte[(int) columnType.maxLength];
+                    default -> "x".repeat((int) columnType.maxLength - 1) + (seed % 10);
+                };
+            }
+        }
+        return data;
+    }
+
+    /**
+     * In-memory driver result set. Rows are taken from data array cyclically.
+     */
+    private static ResultSet createDriverResultSet(@NotNull Object[][] data, int rowCount) {
+        InvocationHandler handler = new InvocationHandler() {
+            private int rowNum = -1;
+            private Object lastValue;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "next":
+                        return ++rowNum < rowCount;
+                    case "wasNull":
+                        return lastValue == null;
+                    case "close":
+                    case "getWarnings":
+                        return null;
+                    case "isClosed":
+                        return false;
+                }
+                if (method.getName().startsWith("get") && args != null && args[0] instanceof Integer index) {
+                    lastValue = data[rowNum % data.length][index - 1];
+                    return switch (method.getName()) {
+                        case "getLong" -> ((Number) lastValue).longValue();
+                        case "getInt" -> ((Number) lastValue).intValue();
+                        case "getDouble" -> ((Number) lastValue).doubleValue();
+                        case "getString" -> String.valueOf(lastValue);
+                        default -> lastValue;
+                    };
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(
+            JDBCFetchBenchmark.class.getClassLoader(), new Class[]{ResultSet.class}, handler);
+    }
+
+    private static JDBCSession createSession(@NotNull JDBCDataSource dataSource, @NotNull JDBCExecutionContext executionContext) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getExecutionContext":
+                    return executionContext;
+                case "getDataSource":
+                    return dataSource;
+                case "isUseNativeDateTimeFormat":
+                case "isUseNativeNumericFormat":
+                    return false;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        return (JDBCSession) Proxy.newProxyInstance(
+            JDBCFetchBenchmark.class.getClassLoader(), new Class[]{JDBCSession.class}, handler);
+    }
+
+    private static class BenchmarkResultSet extends JDBCResultSetImpl {
+        BenchmarkResultSet(@NotNull JDBCSession session, @NotNull ResultSet original) {
+            super(session, null, original, "Fetch benchmark", true);
+        }
+    }
+
+    private static class Measure {
+        private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private long rows;
+        private long nanos;
+        private long bytes;
+
+        void measure(int rowCount, @NotNull BenchmarkTask task) throws Exception {
+            long threadId = Thread.currentThread().getId();
+            long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+            long startTime = System.nanoTime();
+            task.run();
+            nanos += System.nanoTime() - startTime;
+            bytes += threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+            rows += rowCount;
+        }
+
+        long getRowsPerSecond() {
+            return rows * 1_000_000_000L / Math.max(nanos, 1);
+        }
+
+        long getBytesPerRow() {
+            return bytes / Math.max(rows, 1);
+        }
+    }
+
+    private interface BenchmarkTask {
+        void run() throws Exception;
+    }
+
+    private record ColumnType(
+        @NotNull String typeName,
+        int typeId,
+        @NotNull DBPDataKind dataKind,
+        long maxLength,
+        int scale
+    ) implements DBSTypedObject {
+        @NotNull
+        @Override
+        public String getTypeName() {
+            return typeName;
+        }
+
+        @NotNull
+        @Override
+        public String getFullTypeName() {
+            return typeName + "(" + maxLength + ")";
+        }
+
+        @Override
+        public int getTypeID() {
+            return typeId;
+        }
+
+        @NotNull
+        @Override
+        public DBPDataKind getDataKind() {
+            return dataKind;
+        }
+
+        @Override
+        public Integer getScale() {
+            return scale;
+        }
+
+        @Override
+        public Integer getPrecision() {
+            return (int) maxLength;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return maxLength;
+        }
+
+        @Override
+        public long getTypeModifiers() {
+            return 0;
+        }
+    }
+
+    private static class BenchmarkFormatSettings implements DBDFormatSettings {
+        @Nullable
+        @Override
+        public DBDDataFormatterProfile getDataFormatterProfile() {
+            return null;
+        }
+
+        @Override
+        public boolean isUseNativeDateTimeFormat() {
+            return false;
+        }
+
+        @Override
+        public boolean isUseNativeNumericFormat() {
+            return false;
+        }
+
+        @Override
+        public boolean isUseScientificNumericFormat() {
+            return false;
+        }
+
+        @NotNull
+        @Override
+        public DBDValueHandler getDefaultValueHandler() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class JDBCStatementCacheTest extends DBeaverUnitTest {
+
+    private Connection connection;
+    private JDBCExecutionContext context;
+
+    @Before
+    public void setUp() {
+        connection = Mockito.mock(Connection.class);
+
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        Mockito.when(preferenceStore.getInt(ModelPreferences.STATEMENT_CACHE_SIZE)).thenReturn(2);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        JDBCDataSource dataSource = Mockito.mock(JDBCDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        JDBCRemoteInstance instance = Mockito.mock(JDBCRemoteInstance.class);
+        Mockito.when(instance.getDataSource()).thenReturn(dataSource);
+        context = new JDBCExecutionContext(instance, true);
+    }
+
+    @Test
+    public void testReleasedStatementIsReused() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement statement = makeStatement();
+
+        Assert.assertNull(cache.acquire("select 1"));
+        Assert.assertTrue(cache.release("select 1", statement));
+        Assert.assertSame(statement, cache.acquire("select 1"));
+        // Statement in use is not shared
+        Assert.assertNull(cache.acquire("select 1"));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testStatementIsResetOnRelease() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement statement = makeStatement();
+        Mockito.when(statement.getMaxRows()).thenReturn(10);
+        Mockito.when(statement.getQueryTimeout()).thenReturn(30);
+        Mockito.when(statement.getFetchSize()).thenReturn(100);
+
+        Assert.assertTrue(cache.release("update t set a=?", statement));
+        Mockito.verify(statement).clearBatch();
+        Mockito.verify(statement).clearParameters();
+        Mockito.verify(statement).clearWarnings();
+        Mockito.verify(statement).setMaxRows(0);
+        Mockito.verify(statement).setQueryTimeout(0);
+        Mockito.verify(statement).setFetchSize(0);
+    }
+
+    @Test
+    public void testStatementWithoutBatchSupportIsCached() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement statement = makeStatement();
+        Mockito.doThrow(new SQLFeatureNotSupportedException()).when(statement).clearBatch();
+
+        Assert.assertTrue(cache.release("select 1", statement));
+        Mockito.verify(statement).clearParameters();
+        Assert.assertSame(statement, cache.acquire("select 1"));
+    }
+
+    @Test
+    public void testStatementIsNotCachedIfResetFails() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement failed = makeStatement();
+        Mockito.doThrow(new SQLException("Statement is broken")).when(failed).clearParameters();
+        PreparedStatement closed = makeStatement();
+        Mockito.when(closed.isClosed()).thenReturn(true);
+
+        Assert.assertFalse(cache.release("select 1", failed));
+        Assert.assertFalse(cache.release("select 2", closed));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testOnlyOneStatementOfQueryIsCached() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        Assert.assertTrue(cache.release("select 1", makeStatement()));
+        // The second statement was prepared while the first one was in use, caller closes it
+        Assert.assertFalse(cache.release("select 1", makeStatement()));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement first = makeStatement();
+        PreparedStatement second = makeStatement();
+        PreparedStatement third = makeStatement();
+        cache.release("select 1", first);
+        cache.release("select 2", second);
+        // Reuse makes the first statement the most recently used one
+        cache.release("select 1", cache.acquire("select 1"));
+        cache.release("select 3", third);
+
+        Mockito.verify(second).close();
+        Mockito.verify(first, Mockito.never()).close();
+        Mockito.verify(third, Mockito.never()).close();
+        Assert.assertNull(cache.acquire("select 2"));
+        Assert.assertSame(first, cache.acquire("select 1"));
+        Assert.assertSame(third, cache.acquire("select 3"));
+    }
+
+    @Test
+    public void testCloseClosesCachedStatements() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(connection, 2);
+        PreparedStatement cached = makeStatement();
+        PreparedStatement inUse = makeStatement();
+        cache.release("select 1", cached);
+
+        cache.close();
+        Mockito.verify(cached).close();
+        Assert.assertEquals(0, cache.size());
+        // Statements released after close are closed by their sessions
+        Assert.assertFalse(cache.release("select 2", inUse));
+    }
+
+    @Test
+    public void testContextCacheIsRecreatedForNewConnection() throws SQLException {
+        JDBCStatementCache cache = context.getStatementCache(connection);
+        Assert.assertNotNull(cache);
+        Assert.assertSame(cache, context.getStatementCache(connection));
+        PreparedStatement statement = makeStatement();
+        cache.release("select 1", statement);
+
+        // Reconnect
+        JDBCStatementCache newCache = context.getStatementCache(Mockito.mock(Connection.class));
+        Assert.assertNotSame(cache, newCache);
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void testContextCloseClosesCachedStatements() throws SQLException {
+        JDBCStatementCache cache = context.getStatementCache(connection);
+        Assert.assertNotNull(cache);
+        PreparedStatement statement = makeStatement();
+        cache.release("select 1", statement);
+
+        context.close();
+        Mockito.verify(statement).close();
+        Assert.assertNull(context.getStatementCache());
+    }
+
+    @Test
+    public void testRollbackClosesCachedStatements() throws Exception {
+        setConnection(context, connection);
+        DBCSession session = Mockito.mock(DBCSession.class);
+        JDBCStatementCache cache = context.getStatementCache(connection);
+        Assert.assertNotNull(cache);
+        PreparedStatement statement = makeStatement();
+        cache.release("select 1", statement);
+
+        context.commit(session);
+        Assert.assertSame(cache, context.getStatementCache());
+        Mockito.verify(statement, Mockito.never()).close();
+
+        context.rollback(session, null);
+        Mockito.verify(statement).close();
+        Assert.assertNull(context.getStatementCache());
+        Assert.assertNotSame(cache, context.getStatementCache(connection));
+    }
+
+    @NotNull
+    private static PreparedStatement makeStatement() {
+        return Mockito.mock(PreparedStatement.class);
+    }
+
+    /**
+     * Sets context connection without connecting to a database
+     */
+    private static void setConnection(@NotNull JDBCExecutionContext context, @NotNull Connection connection) throws ReflectiveOperationException {
+        Field connectionField = JDBCExecutionContext.class.getDeclaredField("connection");
+        connectionField.setAccessible(true);
+        connectionField.set(context, connection);
+    }
+}
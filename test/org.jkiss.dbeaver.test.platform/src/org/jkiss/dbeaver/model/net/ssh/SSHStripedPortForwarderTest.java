@@ -0,0 +1,326 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHPortForwardConfiguration;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Striped forwarding of connections. Stripes are plain sockets here.
+ */
+public class SSHStripedPortForwarderTest extends DBeaverUnitTest {
+
+    private static final int CONNECTION_COUNT = 4;
+    private static final int DATA_SIZE = 4 * 1024 * 1024;
+
+    private ServerSocket echoServer;
+    private ExecutorService executor;
+
+    @Before
+    public void startEchoServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        echoServer = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        executor.execute(() -> {
+            while (!echoServer.isClosed()) {
+                try {
+                    Socket socket = echoServer.accept();
+                    executor.execute(() -> echo(socket));
+                } catch (IOException e) {
+                    break;
+                }
+            }
+        });
+    }
+
+    @After
+    public void stopEchoServer() throws IOException {
+        echoServer.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testForwardConnectionsThroughStripes() throws Exception {
+        AtomicInteger[] stripeChannels = {new AtomicInteger(), new AtomicInteger()};
+        List<SSHStripedPortForwarder.ChannelOpener> stripes = new ArrayList<>();
+        for (AtomicInteger channelCount : stripeChannels) {
+            stripes.add((host, port) -> {
+                channelCount.incrementAndGet();
+                return openSocketChannel(host, port);
+            });
+        }
+        String loopback = InetAddress.getLoopbackAddress().getHostAddress();
+        SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        try (SSHStripedPortForwarder forwarder = new SSHStripedPortForwarder(
+            stripes,
+            new SSHPortForwardConfiguration(loopback, 0, loopback, echoServer.getLocalPort()),
+            statistics
+        )) {
+            SSHPortForwardConfiguration configuration = forwarder.start();
+            Assert.assertNotEquals(0, configuration.localPort());
+
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < CONNECTION_COUNT; i++) {
+                final int seed = i;
+                results.add(executor.submit(() -> transferData(loopback, configuration.localPort(), seed, DATA_SIZE)));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue("Echoed data differs", result.get(60, TimeUnit.SECONDS));
+            }
+            waitForInactiveConnections(statistics);
+        }
+
+        // Connections are opened concurrently, so stripes get about the same number of channels
+        Assert.assertTrue(stripeChannels[0].get() > 0 && stripeChannels[1].get() > 0);
+        Assert.assertEquals(CONNECTION_COUNT, stripeChannels[0].get() + stripeChannels[1].get());
+        Assert.assertEquals(CONNECTION_COUNT, statistics.getTotalConnections());
+        Assert.assertEquals(0, statistics.getFailedConnections());
+        Assert.assertEquals((long) CONNECTION_COUNT * DATA_SIZE, statistics.getBytesSent());
+        Assert.assertEquals((long) CONNECTION_COUNT * DATA_SIZE, statistics.getBytesReceived());
+    }
+
+    @Test
+    public void testFailedChannel() throws Exception {
+        String loopback = InetAddress.getLoopbackAddress().getHostAddress();
+        SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        try (SSHStripedPortForwarder forwarder = new SSHStripedPortForwarder(
+            List.of((host, port) -> {
+                throw new DBException("Channel open rejected");
+            }),
+            new SSHPortForwardConfiguration(loopback, 0, loopback, echoServer.getLocalPort()),
+            statistics
+        )) {
+            SSHPortForwardConfiguration configuration = forwarder.start();
+            try (Socket socket = new Socket(loopback, configuration.localPort())) {
+                socket.setSoTimeout(10000);
+                // Forwarder closes the connection
+                Assert.assertEquals(-1, socket.getInputStream().read());
+            }
+        }
+        Assert.assertEquals(1, statistics.getFailedConnections());
+        Assert.assertEquals(0, statistics.getTotalConnections());
+        Assert.assertEquals(0, statistics.getActiveConnections());
+    }
+
+    @Test
+    public void testConnectionsAreSpreadOverStripes() throws Exception {
+        AtomicInteger[] stripeChannels = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        List<SSHStripedPortForwarder.ChannelOpener> stripes = new ArrayList<>();
+        for (AtomicInteger channelCount : stripeChannels) {
+            stripes.add((host, port) -> {
+                channelCount.incrementAndGet();
+                return openSocketChannel(host, port);
+            });
+        }
+        String loopback = InetAddress.getLoopbackAddress().getHostAddress();
+        SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        List<Socket> sockets = new ArrayList<>();
+        try (SSHStripedPortForwarder forwarder = new SSHStripedPortForwarder(
+            stripes,
+            new SSHPortForwardConfiguration(loopback, 0, loopback, echoServer.getLocalPort()),
+            statistics
+        )) {
+            SSHPortForwardConfiguration configuration = forwarder.start();
+            // Each connection stays open, so the next one goes to the stripe with the least connections
+            for (int i = 0; i < 6; i++) {
+                Socket socket = new Socket(loopback, configuration.localPort());
+                sockets.add(socket);
+                socket.setSoTimeout(10000);
+                Assert.assertEquals("ping" + i, roundTrip(socket, "ping" + i));
+                int connections = i + 1;
+                Assert.assertEquals(connections, statistics.getActiveConnections());
+                for (AtomicInteger channelCount : stripeChannels) {
+                    int count = channelCount.get();
+                    Assert.assertTrue(count == connections / 3 || count == (connections + 2) / 3);
+                }
+            }
+            for (AtomicInteger channelCount : stripeChannels) {
+                Assert.assertEquals(2, channelCount.get());
+            }
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            waitForInactiveConnections(statistics);
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+        Assert.assertEquals(6, statistics.getTotalConnections());
+        // "ping0" .. "ping5" are sent and echoed back
+        Assert.assertEquals(6 * 5, statistics.getBytesSent());
+        Assert.assertEquals(6 * 5, statistics.getBytesReceived());
+    }
+
+    @Test
+    public void testCloseClosesConnections() throws Exception {
+        AtomicInteger channelRequests = new AtomicInteger();
+        CountDownLatch channelRequested = new CountDownLatch(2);
+        CountDownLatch openSecondChannel = new CountDownLatch(1);
+        String loopback = InetAddress.getLoopbackAddress().getHostAddress();
+        SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        SSHStripedPortForwarder forwarder = new SSHStripedPortForwarder(
+            List.of((host, port) -> {
+                channelRequested.countDown();
+                if (channelRequests.incrementAndGet() > 1) {
+                    // Second channel is opened slowly
+                    try {
+                        openSecondChannel.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new DBException("Interrupted", e);
+                    }
+                }
+                return openSocketChannel(host, port);
+            }),
+            new SSHPortForwardConfiguration(loopback, 0, loopback, echoServer.getLocalPort()),
+            statistics
+        );
+        SSHPortForwardConfiguration configuration = forwarder.start();
+        try (Socket active = new Socket(loopback, configuration.localPort())) {
+            active.setSoTimeout(10000);
+            Assert.assertEquals("ping", roundTrip(active, "ping"));
+            Socket pending = new Socket(loopback, configuration.localPort());
+            pending.setSoTimeout(10000);
+            Assert.assertTrue(channelRequested.await(10, TimeUnit.SECONDS));
+
+            forwarder.close();
+            Assert.assertEquals(0, statistics.getActiveConnections());
+            Assert.assertTrue(isClosedByPeer(active));
+            // Socket which channel isn't opened yet is closed too
+            Assert.assertTrue(isClosedByPeer(pending));
+
+            pending.close();
+
+            // Channel opened after close is closed at once
+            openSecondChannel.countDown();
+            for (int i = 0; i < 100 && statistics.getTotalConnections() + statistics.getFailedConnections() < 2; i++) {
+                Thread.sleep(50);
+            }
+            waitForInactiveConnections(statistics);
+        } finally {
+            openSecondChannel.countDown();
+            forwarder.close();
+        }
+    }
+
+    @NotNull
+    private static String roundTrip(@NotNull Socket socket, @NotNull String message) throws IOException {
+        byte[] data = message.getBytes(StandardCharsets.UTF_8);
+        socket.getOutputStream().write(data);
+        socket.getOutputStream().flush();
+        return new String(socket.getInputStream().readNBytes(data.length), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isClosedByPeer(@NotNull Socket socket) {
+        try {
+            return socket.getInputStream().read() < 0;
+        } catch (SocketException e) {
+            // Connection reset
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean transferData(@NotNull String host, int port, int seed, int dataSize) throws Exception {
+        byte[] data = new byte[dataSize];
+        new Random(seed).nextBytes(data);
+        try (Socket socket = new Socket(host, port)) {
+            socket.setSoTimeout(30000);
+            Future<byte[]> received = executor.submit(() -> socket.getInputStream().readAllBytes());
+            OutputStream out = socket.getOutputStream();
+            for (int offset = 0; offset < data.length; offset += 8192) {
+                out.write(data, offset, Math.min(8192, data.length - offset));
+            }
+            out.flush();
+            socket.shutdownOutput();
+            return Arrays.equals(data, received.get(30, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void waitForInactiveConnections(@NotNull SSHTunnelStatistics statistics) throws InterruptedException {
+        for (int i = 0; i < 100 && statistics.getActiveConnections() > 0; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, statistics.getActiveConnections());
+    }
+
+    private static void echo(@NotNull Socket socket) {
+        try (socket) {
+            socket.getInputStream().transferTo(socket.getOutputStream());
+            socket.shutdownOutput();
+        } catch (IOException e) {
+            // Connection closed
+        }
+    }
+
+    @NotNull
+    private static SSHDirectChannel openSocketChannel(@NotNull String host, int port) throws DBException {
+        try {
+            Socket socket = new Socket(host, port);
+            return new SSHDirectChannel() {
+                @NotNull
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return socket.getInputStream();
+                }
+
+                @NotNull
+                @Override
+                public OutputStream getOutputStream() throws IOException {
+                    // Closing of channel output sends EOF only, the same as SSH channels do
+                    return new FilterOutputStream(socket.getOutputStream()) {
+                        @Override
+                        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+                            out.write(b, off, len);
+                        }
+
+                        @Override
+                        public void close() throws IOException {
+                            socket.shutdownOutput();
+                        }
+                    };
+                }
+
+                @Override
+                public void close() throws IOException {
+                    socket.close();
+                }
+            };
+        } catch (IOException e) {
+            throw new DBException("Can't connect to " + host + ":" + port, e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.semantics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.semantics.model.SQLQueryModel;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.jkiss.junit.osgi.annotation.RunnerProxy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+@RunnerProxy(MockitoJUnitRunner.Silent.class)
+public class SQLQueryModelCacheTest extends DBeaverUnitTest {
+
+    private final SQLQueryModelCache cache = new SQLQueryModelCache();
+
+    @Test
+    public void testNewDialectInstanceHits() {
+        SQLQueryModel model = Mockito.mock(SQLQueryModel.class);
+        cache.put(makeKey("select 1", createDialect(), 0), model, List.of());
+
+        // Script dialect without connection is created for each parse
+        SQLQueryModelCache.Entry entry = cache.get(makeKey("select 1", createDialect(), 0));
+        Assert.assertNotNull(entry);
+        Assert.assertSame(model, entry.model());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeyMismatchMisses() {
+        cache.put(makeKey("select 1", createDialect(), 0), Mockito.mock(SQLQueryModel.class), List.of());
+
+        Assert.assertNull(cache.get(makeKey("select 2", createDialect(), 0)));
+        Assert.assertNull(cache.get(makeKey("select 1", BasicSQLDialect.INSTANCE, 0)));
+        Assert.assertNull(cache.get(makeKey("select 1", createDialect(), 1)));
+        Assert.assertNull(cache.get(SQLQueryModelCache.makeKey("select 1", createDialect(), null, true, 0)));
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeyIncludesDefaultSchema() {
+        DBCExecutionContext context = Mockito.mock(DBCExecutionContext.class);
+        DBCExecutionContextDefaults<?, ?> defaults = Mockito.mock(DBCExecutionContextDefaults.class);
+        Mockito.doReturn(defaults).when(context).getContextDefaults();
+        Mockito.doReturn(makeSchema("public")).when(defaults).getDefaultSchema();
+        SQLDialect dialect = createDialect();
+
+        cache.put(SQLQueryModelCache.makeKey("select 1", dialect, context, true, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        Assert.assertNotNull(cache.get(SQLQueryModelCache.makeKey("select 1", dialect, context, true, 0)));
+
+        Mockito.doReturn(makeSchema("other")).when(defaults).getDefaultSchema();
+        Assert.assertNull(cache.get(SQLQueryModelCache.makeKey("select 1", dialect, context, true, 0)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        SQLQueryModelCache cache = new SQLQueryModelCache(2, 1000);
+        SQLDialect dialect = createDialect();
+        cache.put(makeKey("select 1", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        cache.put(makeKey("select 2", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        Assert.assertNotNull(cache.get(makeKey("select 1", dialect, 0)));
+
+        cache.put(makeKey("select 3", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.get(makeKey("select 1", dialect, 0)));
+        Assert.assertNull(cache.get(makeKey("select 2", dialect, 0)));
+        Assert.assertNotNull(cache.get(makeKey("select 3", dialect, 0)));
+    }
+
+    @Test
+    public void testEntriesAreEvictedByTextLength() {
+        SQLQueryModelCache cache = new SQLQueryModelCache(100, 20);
+        SQLDialect dialect = createDialect();
+        cache.put(makeKey("select 1 from a", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        cache.put(makeKey("select 2", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNotNull(cache.get(makeKey("select 2", dialect, 0)));
+
+        // Replaced entry text is not counted twice
+        cache.put(makeKey("select 2", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        cache.put(makeKey("select 3", dialect, 0), Mockito.mock(SQLQueryModel.class), List.of());
+        Assert.assertEquals(2, cache.size());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @NotNull
+    private static SQLQueryModelCache.Key makeKey(@NotNull String text, @NotNull SQLDialect dialect, long metadataVersion) {
+        return SQLQueryModelCache.makeKey(text, dialect, null, false, metadataVersion);
+    }
+
+    @NotNull
+    private static SQLDialect createDialect() {
+        return new BasicSQLDialect() {
+        };
+    }
+
+    @NotNull
+    private static DBSSchema makeSchema(@NotNull String name) {
+        DBSSchema schema = Mockito.mock(DBSSchema.class);
+        Mockito.when(schema.getName()).thenReturn(name);
+        return schema;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.Utf8OutputWriter;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterXML;
+import org.mockito.Mockito;
+
+import java.io.*;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * Output throughput (MB/s of produced text) of stream exporters on wide tables.
+ * <p>
+ * Output goes to a stream which only counts bytes, so numbers show exporter and encoder costs without disk.
+ * Each exporter is measured with the UTF-8 writer used for UTF-8 exports and with the charset encoder
+ * writer used for other encodings.
+ * <p>
+ * Not a unit test, run it with main method. Optional arguments: rows per pass, columns and number of measured passes.
+ */
+public class DataExporterBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int columnCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int passes = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        DBDAttributeBinding[] columns = createColumns(columnCount);
+        Object[][] rows = generateRows(columnCount);
+
+        System.out.printf("%-8s %16s %16s%n", "Exporter", "UTF-8 MB/s", "Encoder MB/s");
+        benchmark("CSV", DataExporterCSV::new, columns, rows, rowCount, passes);
+        benchmark("JSON", DataExporterJSON::new, columns, rows, rowCount, passes);
+        benchmark("XML", DataExporterXML::new, columns, rows, rowCount, passes);
+    }
+
+    private static void benchmark(
+        @NotNull String name,
+        @NotNull Supplier<IStreamDataExporter> exporterFactory,
+        @NotNull DBDAttributeBinding[] columns,
+        @NotNull Object[][] rows,
+        int rowCount,
+        int passes
+    ) throws Exception {
+        double[] throughput = new double[2];
+        for (int mode = 0; mode < 2; mode++) {
+            // Warm up
+            runExport(exporterFactory.get(), columns, rows, rowCount, mode == 0);
+            double best = 0;
+            for (int i = 0; i < passes; i++) {
+                long start = System.nanoTime();
+                long bytes = runExport(exporterFactory.get(), columns, rows, rowCount, mode == 0);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                best = Math.max(best, bytes / seconds / (1024 * 1024));
+            }
+            throughput[mode] = best;
+        }
+        System.out.printf("%-8s %16.1f %16.1f%n", name, throughput[0], throughput[1]);
+    }
+
+    private static long runExport(
+        @NotNull IStreamDataExporter exporter,
+        @NotNull DBDAttributeBinding[] columns,
+        @NotNull Object[][] rows,
+        int rowCount,
+        boolean utf8Writer
+    ) throws Exception {
+        CountingOutputStream stream = new CountingOutputStream();
+        OutputStream bufferedStream = new BufferedOutputStream(stream, 100000);
+        Writer writer = utf8Writer ?
+            new Utf8OutputWriter(bufferedStream) :
+            new OutputStreamWriter(bufferedStream, StandardCharsets.UTF_8);
+        PrintWriter out = new PrintWriter(writer, true);
+
+        IStreamDataExporterSite site = Mockito.mock(IStreamDataExporterSite.class, Mockito.withSettings().stubOnly());
+        DBPNamedObject source = () -> "BENCHMARK_TABLE";
+        Mockito.when(site.getWriter()).thenReturn(out);
+        Mockito.when(site.getOutputStream()).thenReturn(bufferedStream);
+        Mockito.when(site.getAttributes()).thenReturn(columns);
+        Mockito.when(site.getSource()).thenReturn(source);
+        Mockito.when(site.getProperties()).thenReturn(new HashMap<>());
+        Mockito.when(site.getExportFormat()).thenReturn(DBDDisplayFormat.EDIT);
+        Mockito.when(site.getOutputEncoding()).thenReturn(StandardCharsets.UTF_8.name());
+
+        DBCSession session = Mockito.mock(DBCSession.class, Mockito.withSettings().stubOnly());
+        exporter.init(site);
+        exporter.exportHeader(session);
+        for (int i = 0; i < rowCount; i++) {
+            exporter.exportRow(session, null, rows[i % rows.length]);
+        }
+        exporter.exportFooter(null);
+        out.flush();
+        return stream.count;
+    }
+
+    private static DBDAttributeBinding[] createColumns(int columnCount) {
+        // Display string of the benchmark values is their toString
+        DBDValueHandler valueHandler = (DBDValueHandler) Proxy.newProxyInstance(
+            DBDValueHandler.class.getClassLoader(),
+            new Class[]{DBDValueHandler.class},
+            (proxy, method, args) -> "getValueDisplayString".equals(method.getName()) ? String.valueOf(args[1]) : null);
+        DBDAttributeBinding[] columns = new DBDAttributeBinding[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            DBDAttributeBinding column = Mockito.mock(DBDAttributeBinding.class, Mockito.withSettings().stubOnly());
+            Mockito.when(column.getName()).thenReturn("COLUMN_" + i);
+            Mockito.when(column.getLabel()).thenReturn("Column " + i);
+            Mockito.when(column.getDataKind()).thenReturn(i % 3 == 0 ? DBPDataKind.NUMERIC : DBPDataKind.STRING);
+            Mockito.when(column.getValueHandler()).thenReturn(valueHandler);
+            columns[i] = column;
+        }
+        return columns;
+    }
+
+    private static Object[][] generateRows(int columnCount) {
+        Object[][] rows = new Object[1024][];
+        for (int r = 0; r < rows.length; r++) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = switch (i % 3) {
+                    case 0 -> (long) r * 1_000 + i;
+                    case 1 -> "value " + r + " of column " + i;
+                    // Text which needs escaping in all formats
+                    default -> "\"quoted\" <" + r + "> & " + (r % 7 == 0 ? "line\nbreak" : "text");
+                };
+            }
+            rows[r] = row;
+        }
+        return rows;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.ParallelGzipOutputStream;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGzipOutputStreamTest extends DBeaverUnitTest {
+
+    @Test
+    public void compressedBlocksAreReadAsSingleStream() throws IOException {
+        Random random = new Random(1);
+        byte[] data = new byte[300_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(20));
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        // Small blocks to get many gzip members
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, Deflater.BEST_SPEED, 3, 10_000)) {
+            int position = 0;
+            while (position < data.length) {
+                int count = Math.min(data.length - position, random.nextInt(25_000));
+                out.write(data, position, count);
+                position += count;
+                if (random.nextInt(5) == 0) {
+                    out.flush();
+                }
+            }
+            out.write('z');
+        }
+        byte[] expected = new byte[data.length + 1];
+        System.arraycopy(data, 0, expected, 0, data.length);
+        expected[data.length] = 'z';
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertArrayEquals(expected, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void writeErrorBreaksStream() throws IOException {
+        IOException writeError = new IOException("Disk full");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        FailingOutputStream target = new FailingOutputStream(compressed, writeError);
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream(target, Deflater.BEST_SPEED, 1, 1000);
+        byte[] data = new byte[10_000];
+        IOException thrown = null;
+        try {
+            out.write(data);
+        } catch (IOException e) {
+            thrown = e;
+        }
+        Assert.assertSame(writeError, thrown);
+        // The same error is reported by all subsequent calls instead of executor errors
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, () -> out.write(data)));
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, out::flush));
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, out::finish));
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, out::close));
+        Assert.assertTrue(target.closed);
+        // Second close does nothing
+        out.close();
+    }
+
+    @Test
+    public void errorOnFinishIsReported() throws IOException {
+        IOException writeError = new IOException("Disk full");
+        FailingOutputStream target = new FailingOutputStream(new ByteArrayOutputStream(), writeError);
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream(target, Deflater.BEST_SPEED, 2, 1000);
+        // Less than a block, so nothing is written before finish
+        out.write(new byte[100]);
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, out::finish));
+        Assert.assertSame(writeError, Assert.assertThrows(IOException.class, out::finish));
+    }
+
+    @Test
+    public void streamsShareWorkerThreads() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, Deflater.BEST_SPEED, 4, 1000)) {
+                out.write(new byte[10_000]);
+            }
+        }
+        long workers = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().startsWith("Export compression "))
+            .count();
+        Assert.assertTrue(workers <= Runtime.getRuntime().availableProcessors());
+    }
+
+    private static class FailingOutputStream extends FilterOutputStream {
+        private final IOException error;
+        private boolean closed;
+
+        FailingOutputStream(OutputStream out, IOException error) {
+            super(out);
+            this.error = error;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw error;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            throw error;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+}
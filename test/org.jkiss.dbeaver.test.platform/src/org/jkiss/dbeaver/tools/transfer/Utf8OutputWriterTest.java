@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.Utf8OutputWriter;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.ExportTextUtils;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Consumer;
+
+public class Utf8OutputWriterTest extends DBeaverUnitTest {
+
+    @Test
+    public void encodeMixedText() throws IOException {
+        Random random = new Random(1);
+        for (int n = 0; n < 500; n++) {
+            String text = randomText(random, random.nextInt(200));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            // Small buffer to cover flushes in the middle of multibyte characters
+            try (Utf8OutputWriter writer = new Utf8OutputWriter(bytes, 16)) {
+                int position = 0;
+                while (position < text.length()) {
+                    int count = Math.min(text.length() - position, random.nextInt(30));
+                    if (random.nextBoolean()) {
+                        writer.write(text, position, count);
+                    } else {
+                        writer.write(text.toCharArray(), position, count);
+                    }
+                    position += count;
+                }
+            }
+            Assert.assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+        }
+    }
+
+    @Test
+    public void replaceUnpairedSurrogates() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Utf8OutputWriter writer = new Utf8OutputWriter(bytes)) {
+            writer.write("a\uD800b\uDC00c\uD800");
+        }
+        Assert.assertEquals("a?b?c?", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void escapeText() {
+        String value = "a\"b/c\\d\n\u0001<e&f>";
+        Assert.assertEquals(JSONUtils.escapeJsonString(value), escape(out -> ExportTextUtils.writeJsonEscaped(out, value)));
+        Assert.assertEquals(
+            JSONUtils.escapeJsonString(value),
+            escape(out -> ExportTextUtils.writeJsonEscaped(out, value.toCharArray(), 0, value.length())));
+        Assert.assertEquals("a\"b/c\\d\n\u0001&lt;e&amp;f&gt;", escape(out -> ExportTextUtils.writeXmlEscaped(out, value)));
+        Assert.assertEquals("\"\"a\"\"\"\"b", escape(out -> ExportTextUtils.writeQuotesDoubled(out, "\"a\"\"b", '"')));
+    }
+
+    private static String escape(Consumer<PrintWriter> writer) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        writer.accept(out);
+        out.flush();
+        return buffer.toString();
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(5)) {
+                case 0, 1 -> text.append((char) (32 + random.nextInt(95)));
+                case 2 -> text.append((char) (0x80 + random.nextInt(0x780)));
+                case 3 -> text.append((char) (0x800 + random.nextInt(0xC000)));
+                default -> text.appendCodePoint(0x10000 + random.nextInt(0x10000));
+            }
+        }
+        return text.toString();
+    }
+
+}